@@ -0,0 +1,115 @@
+package filip.custom.data_structs.trees.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import filip.custom.data_structs.trees.SearchTree;
+
+/**
+ * Benchmarks of the allocations done by the operations of a {@link SearchTree}.<br>
+ * 
+ * Meant to be run with the GC profiler (<code>-prof gc</code>), and read through the 
+ * <code>gc.alloc.rate.norm</code> metric, ie. the bytes allocated per operation:
+ * <ul>
+ * <li>{@link #get} should allocate nothing.</li>
+ * <li>{@link #removeInsert} should allocate exactly one node, since the removal allocates nothing,
+ * and the insertion allocates nothing but the new node.</li>
+ * </ul>
+ * 
+ * @author fiilip
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class AllocationBenchmark {
+	
+	/**
+	 * State holding a populated tree and it's keys.
+	 * 
+	 * @author fiilip
+	 *
+	 */
+	@State(Scope.Thread)
+	public static class Populated {
+		
+		/**
+		 * Number of entries in the tree.
+		 */
+		@Param({"100000"})
+		public int size;
+		
+		/**
+		 * Tree implementation being benchmarked.
+		 */
+		@Param({"RED_BLACK", "ARRAY_RED_BLACK", "BINARY"})
+		public TreeKind kind;
+		
+		/**
+		 * Populated tree.
+		 */
+		SearchTree<Integer, Integer> tree;
+		
+		/**
+		 * Keys stored in the tree, in the order they are accessed in.
+		 */
+		Integer[] keys;
+		
+		/**
+		 * Position in the <code>keys</code>.
+		 */
+		int cursor;
+		
+		/**
+		 * Populates the tree.
+		 */
+		@Setup(Level.Trial)
+		public void populate() {
+			Integer[] universe = new Integer[size];
+			for (int i = 0; i < size; i ++) {
+				universe[i] = i;
+			}
+			
+			keys = KeyPattern.RANDOM.insertionOrder(universe, new Random(KeysState.SEED));
+			tree = kind.create(keys);
+		}
+		
+		/**
+		 * Gets the next key to access.
+		 * 
+		 * @return Key stored in the tree.
+		 */
+		Integer next() {
+			Integer key = keys[cursor];
+			cursor = (cursor + 1) % size;
+			return key;
+		}
+	}
+
+	@Benchmark
+	public Integer get(Populated state) {
+		return state.tree.get(state.next());
+	}
+	
+	@Benchmark
+	public boolean removeInsert(Populated state) {
+		Integer key = state.next();
+		Integer value = state.tree.remove(key);
+		return state.tree.insert(key, value);
+	}
+}
@@ -0,0 +1,90 @@
+package filip.custom.data_structs.trees.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import filip.custom.data_structs.trees.SearchTree;
+import filip.custom.data_structs.trees.binary.red_black.RedBlackTree;
+import filip.custom.data_structs.trees.factories.BSTFactory;
+import filip.custom.data_structs.trees.factories.RBTFactory;
+
+/**
+ * Benchmarks of building a whole tree out of the sorted entries, 
+ * through {@link RBTFactory#createFromSorted(Object[], Object[])} against one insertion per entry.<br>
+ * 
+ * The one-by-one building of a <code>BinarySearchTree</code> isn't measured, since the sorted entries
+ * degenerate it into a linked list, which takes quadratic time to build.
+ * 
+ * @author fiilip
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class BulkLoadBenchmark {
+	
+	/**
+	 * State holding the sorted entries.
+	 * 
+	 * @author fiilip
+	 *
+	 */
+	@State(Scope.Benchmark)
+	public static class Entries {
+		
+		/**
+		 * Number of entries.
+		 */
+		@Param({"1000", "100000", "1000000", "10000000"})
+		public int size;
+		
+		/**
+		 * Keys in ascending order, each mapped to itself.
+		 */
+		Integer[] keys;
+		
+		/**
+		 * Creates the entries.
+		 */
+		@Setup(Level.Trial)
+		public void create() {
+			keys = new Integer[size];
+			for (int i = 0; i < size; i ++) {
+				keys[i] = i;
+			}
+		}
+	}
+	
+	@Benchmark
+	public SearchTree<Integer, Integer> insertEachRedBlack(Entries entries) {
+		RedBlackTree<Integer, Integer> tree = new RedBlackTree<>();
+		for (Integer key : entries.keys) {
+			tree.insert(key, key);
+		}
+		return tree;
+	}
+	
+	@Benchmark
+	public SearchTree<Integer, Integer> fromSortedRedBlack(Entries entries) {
+		return new RBTFactory<Integer, Integer>().createFromSorted(entries.keys, entries.keys);
+	}
+	
+	@Benchmark
+	public SearchTree<Integer, Integer> fromSortedBinary(Entries entries) {
+		return new BSTFactory<Integer, Integer>().createFromSorted(entries.keys, entries.keys);
+	}
+}
@@ -0,0 +1,155 @@
+package filip.custom.data_structs.trees.benchmarks;
+
+import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import filip.custom.data_structs.trees.binary.red_black.RedBlackTree;
+import filip.custom.data_structs.trees.comparators.KeyComparators;
+
+/**
+ * Benchmarks of the lookups and the insertions in a {@link RedBlackTree} ordered by the natural order of it's keys,
+ * by an extracted <code>int</code> key (see {@link KeyComparators#comparingInt(java.util.function.ToIntFunction)})
+ * and by a general {@link Comparator}.
+ * 
+ * @author fiilip
+ *
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class ComparatorBenchmark {
+	
+	/**
+	 * Order of the keys of a benchmarked tree.
+	 * 
+	 * @author fiilip
+	 * 
+	 */
+	public enum Ordering {
+		
+		NATURAL(null),
+		INT_KEYS(KeyComparators.comparingInt(Integer::intValue)),
+		COMPARATOR(Comparator.comparingInt(Integer::intValue));
+		
+		/**
+		 * Comparator of the keys, <code>null</code> for their natural order.
+		 */
+		final Comparator<Integer> comparator;
+		
+		Ordering(Comparator<Integer> comparator) {
+			this.comparator = comparator;
+		}
+	}
+	
+	/**
+	 * State holding the populated tree and the accessed keys.
+	 * 
+	 * @author fiilip
+	 * 
+	 */
+	@State(Scope.Thread)
+	public static class Trees {
+		
+		/**
+		 * Number of entries in the tree.
+		 */
+		@Param({"1000", "100000", "1000000"})
+		public int size;
+		
+		/**
+		 * Order of the keys of the tree.
+		 */
+		@Param({"NATURAL", "INT_KEYS", "COMPARATOR"})
+		public Ordering ordering;
+		
+		/**
+		 * Keys, in order of insertion.
+		 */
+		Integer[] insertionOrder;
+		
+		/**
+		 * Populated tree.
+		 */
+		RedBlackTree<Integer, Integer> tree;
+		
+		/**
+		 * Keys, in order of access.
+		 */
+		Integer[] accessOrder;
+		
+		/**
+		 * Position in the <code>accessOrder</code>.
+		 */
+		int cursor;
+		
+		/**
+		 * Populates the tree.
+		 */
+		@Setup(Level.Trial)
+		public void populate() {
+			Random random = new Random(KeysState.SEED);
+			
+			Integer[] universe = new Integer[size];
+			for (int i = 0; i < size; i ++) {
+				universe[i] = i;
+			}
+			
+			insertionOrder = KeyPattern.RANDOM.insertionOrder(universe, random);
+			tree = fill();
+			
+			accessOrder = KeyPattern.RANDOM.accessOrder(universe, KeysState.ACCESS_COUNT, random);
+			cursor = 0;
+		}
+		
+		/**
+		 * Creates a new tree of the benchmarked order, holding all of the keys.
+		 * 
+		 * @return Populated tree.
+		 */
+		RedBlackTree<Integer, Integer> fill() {
+			RedBlackTree<Integer, Integer> tree = new RedBlackTree<>(ordering.comparator);
+			for (Integer key : insertionOrder) {
+				tree.insert(key, key);
+			}
+			return tree;
+		}
+		
+		/**
+		 * Gets the next key to access.
+		 * 
+		 * @return Next key from the stream of accessed keys.
+		 */
+		Integer next() {
+			return accessOrder[cursor++ & (KeysState.ACCESS_COUNT - 1)];
+		}
+	}
+	
+	@Benchmark
+	public Integer get(Trees trees) {
+		return trees.tree.get(trees.next());
+	}
+	
+	/**
+	 * Inserts all of the keys into a new tree, in a random order.
+	 */
+	@Benchmark
+	public RedBlackTree<Integer, Integer> fill(Trees trees) {
+		return trees.fill();
+	}
+}
@@ -0,0 +1,186 @@
+package filip.custom.data_structs.trees.benchmarks;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import filip.custom.data_structs.trees.SearchTree;
+import filip.custom.data_structs.trees.binary.red_black.ConcurrentRedBlackTree;
+import filip.custom.data_structs.trees.binary.red_black.RedBlackTree;
+import filip.custom.data_structs.trees.binary.red_black.persistent.SnapshotRedBlackTree;
+
+/**
+ * Benchmarks of the {@link ConcurrentRedBlackTree} against a {@link RedBlackTree} guarded by <code>synchronized</code>,
+ * under a mix of reads and writes from many threads.<br>
+ * 
+ * The number of threads is set from the command line, so the scaling is measured by running the benchmark
+ * once for every thread count:
+ * <pre>
+ * for t in 1 2 4 8 16 32; do java -jar benchmarks.jar ConcurrentBenchmark -t $t; done
+ * </pre>
+ * 
+ * @author fiilip
+ *
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class ConcurrentBenchmark {
+	
+	/**
+	 * Ways of guarding a tree shared by the threads.
+	 * 
+	 * @author fiilip
+	 *
+	 */
+	public enum Guard {
+		
+		/**
+		 * {@link ConcurrentRedBlackTree}, with optimistic reads.
+		 */
+		STAMPED,
+		
+		/**
+		 * {@link SnapshotRedBlackTree}, with lock-free reads and path-copying writes.
+		 */
+		SNAPSHOT,
+		
+		/**
+		 * {@link RedBlackTree} with every call in a <code>synchronized</code> block.
+		 */
+		SYNCHRONIZED
+	}
+	
+	/**
+	 * State holding the tree shared by all the threads.
+	 * 
+	 * @author fiilip
+	 *
+	 */
+	@State(Scope.Benchmark)
+	public static class Shared {
+		
+		/**
+		 * Number of keys, half of which are in the tree at any time.
+		 */
+		@Param({"100000", "1000000"})
+		public int size;
+		
+		/**
+		 * Percentage of the operations that are reads.
+		 */
+		@Param({"90", "99"})
+		public int readPercent;
+		
+		/**
+		 * Way of guarding the tree.
+		 */
+		@Param({"STAMPED", "SNAPSHOT", "SYNCHRONIZED"})
+		public Guard guard;
+		
+		/**
+		 * Tree shared by all the threads.
+		 */
+		SearchTree<Integer, Integer> tree;
+		
+		/**
+		 * Keys, where <code>keys[i] == i</code>.
+		 */
+		Integer[] keys;
+		
+		/**
+		 * Populates the tree with every other key.
+		 */
+		@Setup(Level.Trial)
+		public void populate() {
+			keys = new Integer[size];
+			for (int i = 0; i < size; i ++) {
+				keys[i] = i;
+			}
+			
+			switch (guard) {
+			case STAMPED:
+				tree = new ConcurrentRedBlackTree<>();
+				break;
+			case SNAPSHOT:
+				tree = new SnapshotRedBlackTree<>();
+				break;
+			default:
+				tree = new RedBlackTree<>();
+			}
+			for (int i = 0; i < size; i += 2) {
+				tree.insert(keys[i], keys[i]);
+			}
+		}
+	}
+	
+	/**
+	 * State holding the random generator of a single thread.
+	 * 
+	 * @author fiilip
+	 *
+	 */
+	@State(Scope.Thread)
+	public static class Local {
+		
+		/**
+		 * Random generator of the thread.
+		 */
+		SplittableRandom random;
+		
+		/**
+		 * Creates the random generator.
+		 */
+		@Setup(Level.Trial)
+		public void create() {
+			random = new SplittableRandom(KeysState.SEED + Thread.currentThread().getId());
+		}
+	}
+	
+	/**
+	 * Reads a random key, or with the probability of <code>1 - readPercent / 100</code>, 
+	 * removes it if it's in the tree, and inserts it otherwise, so the tree keeps it's size.
+	 */
+	@Benchmark
+	public Object mixed(Shared shared, Local local) {
+		Integer key = shared.keys[local.random.nextInt(shared.size)];
+		boolean read = local.random.nextInt(100) < shared.readPercent;
+		
+		if (shared.guard != Guard.SYNCHRONIZED) {
+			return operate(shared.tree, key, read);
+		}
+		
+		synchronized (shared.tree) {
+			return operate(shared.tree, key, read);
+		}
+	}
+	
+	/**
+	 * Performs a single read, or a single write.
+	 * 
+	 * @param tree Tree of interest.
+	 * @param key Key being read or written.
+	 * @param read Whether or not the operation is a read.
+	 * @return Result of the operation.
+	 */
+	private static Object operate(SearchTree<Integer, Integer> tree, Integer key, boolean read) {
+		if (read) {
+			return tree.get(key);
+		}
+		return tree.remove(key) != null || tree.insert(key, key);
+	}
+}
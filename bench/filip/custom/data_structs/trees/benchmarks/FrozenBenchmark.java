@@ -0,0 +1,123 @@
+package filip.custom.data_structs.trees.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import filip.custom.data_structs.trees.SearchTree;
+import filip.custom.data_structs.trees.binary.eytzinger.EytzingerTree;
+import filip.custom.data_structs.trees.binary.red_black.RedBlackTree;
+
+/**
+ * Benchmarks of the lookups in a {@link RedBlackTree} against the lookups in it's frozen copy, an {@link EytzingerTree}.
+ * 
+ * @author fiilip
+ *
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class FrozenBenchmark {
+	
+	/**
+	 * State holding the live tree, it's frozen copy and the accessed keys.
+	 * 
+	 * @author fiilip
+	 * 
+	 */
+	@State(Scope.Thread)
+	public static class Trees {
+		
+		/**
+		 * Number of entries in the trees.
+		 */
+		@Param({"1000", "100000", "1000000", "10000000"})
+		public int size;
+		
+		/**
+		 * Pattern of the keys being inserted and accessed.
+		 */
+		@Param({"RANDOM", "ZIPFIAN"})
+		public KeyPattern pattern;
+		
+		/**
+		 * Populated live tree.
+		 */
+		RedBlackTree<Integer, Integer> live;
+		
+		/**
+		 * Frozen copy of the live tree.
+		 */
+		SearchTree<Integer, Integer> frozen;
+		
+		/**
+		 * Keys, in order of access.
+		 */
+		Integer[] accessOrder;
+		
+		/**
+		 * Position in the <code>accessOrder</code>.
+		 */
+		int cursor;
+		
+		/**
+		 * Populates and freezes the tree.
+		 */
+		@Setup(Level.Trial)
+		public void populate() {
+			Random random = new Random(KeysState.SEED);
+			
+			Integer[] universe = new Integer[size];
+			for (int i = 0; i < size; i ++) {
+				universe[i] = i;
+			}
+			
+			live = new RedBlackTree<>();
+			for (Integer key : pattern.insertionOrder(universe, random)) {
+				live.insert(key, key);
+			}
+			frozen = live.freeze();
+			
+			accessOrder = pattern.accessOrder(universe, KeysState.ACCESS_COUNT, random);
+			cursor = 0;
+		}
+		
+		/**
+		 * Gets the next key to access.
+		 * 
+		 * @return Next key from the stream of accessed keys.
+		 */
+		Integer next() {
+			return accessOrder[cursor++ & (KeysState.ACCESS_COUNT - 1)];
+		}
+	}
+	
+	@Benchmark
+	public Integer getLive(Trees trees) {
+		return trees.live.get(trees.next());
+	}
+	
+	@Benchmark
+	public Integer getFrozen(Trees trees) {
+		return trees.frozen.get(trees.next());
+	}
+	
+	@Benchmark
+	public SearchTree<Integer, Integer> freeze(Trees trees) {
+		return trees.live.freeze();
+	}
+}
@@ -0,0 +1,187 @@
+package filip.custom.data_structs.trees.benchmarks;
+
+import java.util.Random;
+
+/**
+ * Enumeration of key patterns the benchmarks are run with.<br>
+ * 
+ * All patterns work over the same key universe, <code>0 .. size - 1</code>, and differ only
+ * in the order the keys are inserted in, and the order the keys are accessed in afterwards:
+ * <ul>
+ * <li>{@link #RANDOM} - keys are inserted in a shuffled order, and accessed uniformly at random.</li>
+ * <li>{@link #SEQUENTIAL} - keys are inserted and accessed in ascending order.</li>
+ * <li>{@link #REVERSE} - keys are inserted and accessed in descending order.</li>
+ * <li>{@link #NEAR_SEQUENTIAL} - keys are inserted in ascending order, shuffled within small windows, and accessed 
+ * by a random walk of short steps, so every key is near the previous one.</li>
+ * <li>{@link #ZIPFIAN} - keys are inserted in a shuffled order, and accessed with a Zipfian
+ * skew, ie. a small set of hot keys (scattered across the key space) receives most of the accesses.</li>
+ * </ul>
+ * 
+ * @author fiilip
+ *
+ */
+public enum KeyPattern {
+
+	RANDOM {
+		@Override
+		public Integer[] insertionOrder(Integer[] universe, Random random) {
+			return shuffled(universe, random);
+		}
+
+		@Override
+		public Integer[] accessOrder(Integer[] universe, int count, Random random) {
+			Integer[] access = new Integer[count];
+			for (int i = 0; i < count; i ++) {
+				access[i] = universe[random.nextInt(universe.length)];
+			}
+			return access;
+		}
+	},
+	
+	SEQUENTIAL {
+		@Override
+		public Integer[] insertionOrder(Integer[] universe, Random random) {
+			return universe.clone();
+		}
+
+		@Override
+		public Integer[] accessOrder(Integer[] universe, int count, Random random) {
+			Integer[] access = new Integer[count];
+			for (int i = 0; i < count; i ++) {
+				access[i] = universe[i % universe.length];
+			}
+			return access;
+		}
+	},
+	
+	REVERSE {
+		@Override
+		public Integer[] insertionOrder(Integer[] universe, Random random) {
+			Integer[] order = new Integer[universe.length];
+			for (int i = 0; i < order.length; i ++) {
+				order[i] = universe[universe.length - 1 - i];
+			}
+			return order;
+		}
+
+		@Override
+		public Integer[] accessOrder(Integer[] universe, int count, Random random) {
+			Integer[] access = new Integer[count];
+			for (int i = 0; i < count; i ++) {
+				access[i] = universe[universe.length - 1 - (i % universe.length)];
+			}
+			return access;
+		}
+	},
+	
+	NEAR_SEQUENTIAL {
+		@Override
+		public Integer[] insertionOrder(Integer[] universe, Random random) {
+			Integer[] order = universe.clone();
+			
+			for (int from = 0; from < order.length; from += NEAR_DISTANCE) {
+				shuffle(order, from, Math.min(order.length, from + NEAR_DISTANCE), random);
+			}
+			return order;
+		}
+		
+		@Override
+		public Integer[] accessOrder(Integer[] universe, int count, Random random) {
+			Integer[] access = new Integer[count];
+			int index = universe.length / 2;
+			
+			for (int i = 0; i < count; i ++) {
+				index += random.nextInt(2 * NEAR_DISTANCE + 1) - NEAR_DISTANCE;
+				index = Math.max(0, Math.min(universe.length - 1, index));
+				access[i] = universe[index];
+			}
+			return access;
+		}
+	},
+	
+	ZIPFIAN {
+		@Override
+		public Integer[] insertionOrder(Integer[] universe, Random random) {
+			return shuffled(universe, random);
+		}
+
+		@Override
+		public Integer[] accessOrder(Integer[] universe, int count, Random random) {
+			// ranks are scattered so the hot keys are not all clustered in one subtree
+			Integer[] byRank = shuffled(universe, random);
+			ZipfianGenerator zipf = new ZipfianGenerator(universe.length, random);
+			
+			Integer[] access = new Integer[count];
+			for (int i = 0; i < count; i ++) {
+				access[i] = byRank[zipf.next()];
+			}
+			return access;
+		}
+	};
+	
+	/**
+	 * Greatest distance between the consecutive keys of the {@link #NEAR_SEQUENTIAL} pattern.
+	 */
+	private static final int NEAR_DISTANCE = 16;
+	
+	/**
+	 * Gets the order in which the keys of a given <code>universe</code> are inserted to a tree.
+	 * 
+	 * @param universe All the keys, in ascending order.
+	 * @param random Source of randomness.
+	 * @return Permutation of the <code>universe</code>.
+	 */
+	public abstract Integer[] insertionOrder(Integer[] universe, Random random);
+	
+	/**
+	 * Gets the stream of <code>count</code> keys in which the keys of a given <code>universe</code>
+	 * are accessed once they are stored in a tree.
+	 * 
+	 * @param universe All the keys, in ascending order.
+	 * @param count Length of the stream.
+	 * @param random Source of randomness.
+	 * @return Keys of the <code>universe</code> in the order they are accessed in.
+	 */
+	public abstract Integer[] accessOrder(Integer[] universe, int count, Random random);
+
+	/**
+	 * Checks whether or not the keys are inserted in an ascending or descending order, maybe shuffled locally,
+	 * which degenerates a binary search tree without balancing to a linked list.
+	 *
+	 * @return <code>true</code> for the {@link #SEQUENTIAL}, {@link #NEAR_SEQUENTIAL} and {@link #REVERSE} patterns,
+	 * and <code>false</code> otherwise.
+	 */
+	public boolean isOrdered() {
+		return this == SEQUENTIAL || this == NEAR_SEQUENTIAL || this == REVERSE;
+	}
+
+	/**
+	 * Creates a new shuffled copy of a given <code>array</code>.
+	 * 
+	 * @param array Array of interest.
+	 * @param random Source of randomness.
+	 * @return Shuffled copy of the <code>array</code>.
+	 */
+	private static Integer[] shuffled(Integer[] array, Random random) {
+		Integer[] copy = array.clone();
+		shuffle(copy, 0, copy.length, random);
+		return copy;
+	}
+	
+	/**
+	 * Shuffles the part of a given <code>array</code> from the index <code>from</code> to the index <code>to</code>.
+	 * 
+	 * @param array Array of interest.
+	 * @param from Index of the first element of the part, inclusive.
+	 * @param to Index of the last element of the part, exclusive.
+	 * @param random Source of randomness.
+	 */
+	private static void shuffle(Integer[] array, int from, int to, Random random) {
+		for (int i = to - 1; i > from; i --) {
+			int j = from + random.nextInt(i - from + 1);
+			Integer tmp = array[i];
+			array[i] = array[j];
+			array[j] = tmp;
+		}
+	}
+}
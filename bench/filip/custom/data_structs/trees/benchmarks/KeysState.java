@@ -0,0 +1,131 @@
+package filip.custom.data_structs.trees.benchmarks;
+
+import java.util.Random;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Benchmark state holding the keys of a benchmark run, for every combination of
+ * tree size, tree kind and key pattern.<br>
+ * 
+ * Keys are boxed upfront, so the benchmarks measure the trees and not the boxing.
+ * 
+ * @author fiilip
+ *
+ */
+@State(Scope.Benchmark)
+public class KeysState {
+	
+	/**
+	 * Length of the stream of accessed keys; a power of two.
+	 */
+	static final int ACCESS_COUNT = 1 << 20;
+	
+	/**
+	 * Seed of all the randomness, so that every run sees the same keys.
+	 */
+	static final long SEED = 0x5EED;
+	
+	/**
+	 * Greatest number of entries of a {@link TreeKind#BINARY} tree built from the keys of an ordered pattern
+	 * (see {@link KeyPattern#isOrdered()}). Such a tree degenerates to a linked list, so it's built in quadratic time,
+	 * and the recursive removal of a key deep in the list overflows the stack at about 50K entries.
+	 */
+	static final int DEGENERATE_SIZE = 10_000;
+
+	/**
+	 * Number of entries in a tree.
+	 */
+	@Param({"1000", "10000", "100000", "1000000", "10000000"})
+	public int size;
+	
+	/**
+	 * Tree implementation being benchmarked. The {@link TreeKind#BINARY} tree is left out of the default runs, since
+	 * it can't take the ordered patterns at the greater sizes (see {@link #DEGENERATE_SIZE}), and is run on its own
+	 * with <code>-p kind=BINARY</code>.
+	 */
+	@Param({"RED_BLACK", "RED_BLACK_FINGER", "TOP_DOWN_RED_BLACK", "ARRAY_RED_BLACK", "B_PLUS", "TREE_MAP"})
+	public TreeKind kind;
+	
+	/**
+	 * Pattern of the keys being inserted and accessed.
+	 */
+	@Param({"RANDOM", "SEQUENTIAL", "NEAR_SEQUENTIAL", "REVERSE", "ZIPFIAN"})
+	public KeyPattern pattern;
+	
+	/**
+	 * All the keys, in ascending order.
+	 */
+	Integer[] universe;
+	
+	/**
+	 * Keys, in order of insertion.
+	 */
+	Integer[] insertionOrder;
+	
+	/**
+	 * Keys, in order of removal.
+	 */
+	Integer[] removalOrder;
+	
+	/**
+	 * Keys, in order of access.
+	 */
+	Integer[] accessOrder;
+	
+	/**
+	 * Position in the <code>accessOrder</code>.
+	 */
+	private int cursor;
+	
+	/**
+	 * Generates the keys.
+	 * 
+	 * @throws IllegalStateException If the keys would degenerate a {@link TreeKind#BINARY} tree of more than 
+	 * {@link #DEGENERATE_SIZE} entries.
+	 */
+	@Setup(Level.Trial)
+	public void generate() throws IllegalStateException {
+		if (kind == TreeKind.BINARY && pattern.isOrdered() && size > DEGENERATE_SIZE) {
+			throw new IllegalStateException(String.format("A %s tree of %d %s keys degenerates to a list, "
+					+ "so it's run for up to %d keys only.", kind, size, pattern, DEGENERATE_SIZE));
+		}
+		
+		Random random = new Random(SEED);
+		
+		universe = new Integer[size];
+		for (int i = 0; i < size; i ++) {
+			universe[i] = i;
+		}
+		
+		insertionOrder = pattern.insertionOrder(universe, random);
+		removalOrder = pattern.insertionOrder(universe, random);
+		accessOrder = pattern.accessOrder(universe, ACCESS_COUNT, random);
+		cursor = 0;
+	}
+	
+	/**
+	 * Gets the next key to access.
+	 * 
+	 * @return Next key from the stream of accessed keys.
+	 */
+	Integer nextAccess() {
+		return accessOrder[cursor++ & (ACCESS_COUNT - 1)];
+	}
+	
+	/**
+	 * Gets the key that is <code>distance</code> places greater than the given <code>key</code>, or the greatest key
+	 * if there is no such key.
+	 * 
+	 * @param key Key of interest.
+	 * @param distance Distance from the <code>key</code>.
+	 * @return Key <code>distance</code> places greater than the <code>key</code>.
+	 */
+	Integer above(Integer key, int distance) {
+		return universe[Math.min(size - 1, key + distance)];
+	}
+}
@@ -0,0 +1,134 @@
+package filip.custom.data_structs.trees.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import filip.custom.data_structs.trees.binary.red_black.RedBlackTree;
+import filip.custom.data_structs.trees.binary.red_black.primitive.LongRedBlackTree;
+
+/**
+ * Benchmarks of the {@link LongRedBlackTree} against the generic <code>RedBlackTree&lt;Long, V&gt;</code>.<br>
+ * 
+ * The keys are random <code>long</code>s held in a primitive array, as they would be in an application
+ * keyed by timestamps, so the generic tree pays for boxing the keys just like it would in such an application.
+ * 
+ * @author fiilip
+ *
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class LongKeyBenchmark {
+	
+	/**
+	 * State holding the populated trees and their keys.
+	 * 
+	 * @author fiilip
+	 *
+	 */
+	@State(Scope.Thread)
+	public static class Trees {
+		
+		/**
+		 * Number of entries in the trees.
+		 */
+		@Param({"1000", "100000", "1000000", "10000000"})
+		public int size;
+		
+		/**
+		 * Keys stored in the trees, in random order.
+		 */
+		long[] keys;
+		
+		/**
+		 * Populated primitive tree.
+		 */
+		LongRedBlackTree<Object> primitive;
+		
+		/**
+		 * Populated generic tree.
+		 */
+		RedBlackTree<Long, Object> generic;
+		
+		/**
+		 * Position in the <code>keys</code>.
+		 */
+		int cursor;
+		
+		/**
+		 * Populates the trees.
+		 */
+		@Setup(Level.Trial)
+		public void populate() {
+			Random random = new Random(KeysState.SEED);
+			primitive = new LongRedBlackTree<>();
+			generic = new RedBlackTree<>();
+			
+			keys = new long[size];
+			for (int i = 0; i < size; i ++) {
+				long key;
+				do {
+					key = random.nextLong();
+				} while (!primitive.insert(key, VALUE));
+				
+				keys[i] = key;
+				generic.insert(key, VALUE);
+			}
+		}
+		
+		/**
+		 * Gets the next key to access.
+		 * 
+		 * @return Key stored in the trees.
+		 */
+		long next() {
+			long key = keys[cursor];
+			cursor = (cursor + 1) % size;
+			return key;
+		}
+	}
+	
+	/**
+	 * Value stored for every key.
+	 */
+	private static final Object VALUE = new Object();
+
+	@Benchmark
+	public Object getPrimitive(Trees trees) {
+		return trees.primitive.get(trees.next());
+	}
+	
+	@Benchmark
+	public Object getGeneric(Trees trees) {
+		return trees.generic.get(trees.next());
+	}
+	
+	@Benchmark
+	public boolean removeInsertPrimitive(Trees trees) {
+		long key = trees.next();
+		trees.primitive.remove(key);
+		return trees.primitive.insert(key, VALUE);
+	}
+	
+	@Benchmark
+	public boolean removeInsertGeneric(Trees trees) {
+		long key = trees.next();
+		trees.generic.remove(key);
+		return trees.generic.insert(key, VALUE);
+	}
+}
@@ -0,0 +1,71 @@
+package filip.custom.data_structs.trees.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import filip.custom.data_structs.trees.SearchTree;
+
+/**
+ * Benchmarks of the read-only operations of a {@link SearchTree}:
+ * <code>get</code>, <code>getInterval</code>, the full iteration and the sequential and parallel streams.
+ * 
+ * @author fiilip
+ *
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class LookupBenchmark {
+	
+	/**
+	 * Number of keys covered by a single <code>getInterval</code> call.
+	 */
+	private static final int INTERVAL_WIDTH = 100;
+
+	@Benchmark
+	public Integer get(KeysState keys, TreeState state) {
+		return state.tree.get(keys.nextAccess());
+	}
+	
+	/**
+	 * Gets an interval and visits all of it's entries, so that the trees returning live views
+	 * and the ones returning copies do the same amount of work.
+	 */
+	@Benchmark
+	public void getInterval(KeysState keys, TreeState state, Blackhole bh) {
+		Integer low = keys.nextAccess();
+		for (SearchTree.Entry<Integer, Integer> entry : state.tree.getInterval(low, keys.above(low, INTERVAL_WIDTH))) {
+			bh.consume(entry);
+		}
+	}
+	
+	@Benchmark
+	public void iterate(TreeState state, Blackhole bh) {
+		for (SearchTree.Entry<Integer, Integer> entry : state.tree) {
+			bh.consume(entry);
+		}
+	}
+	
+	@Benchmark
+	public long streamSum(TreeState state) {
+		return state.tree.stream().mapToLong(SearchTree.Entry::getValue).sum();
+	}
+	
+	/**
+	 * Sums the values in parallel, which scales with the cores only for the trees that split their nodes.
+	 */
+	@Benchmark
+	public long parallelStreamSum(TreeState state) {
+		return state.tree.parallelStream().mapToLong(SearchTree.Entry::getValue).sum();
+	}
+}
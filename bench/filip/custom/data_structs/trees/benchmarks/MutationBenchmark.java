@@ -0,0 +1,123 @@
+package filip.custom.data_structs.trees.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import filip.custom.data_structs.trees.SearchTree;
+
+/**
+ * Benchmarks of the mutating operations of a {@link SearchTree}: <code>insert</code> and <code>remove</code>.<br>
+ * 
+ * Every invocation of {@link #insert} builds a whole tree of <code>size</code> entries, and
+ * every invocation of {@link #remove} drains a whole tree. The per-entry throughput
+ * is reported through the <code>inserts</code> and <code>removals</code> counters.
+ * {@link #removeInsert} measures the steady state, in which the size of a tree doesn't change.
+ * 
+ * @author fiilip
+ *
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g", "-Xss64m"})
+public class MutationBenchmark {
+	
+	/**
+	 * Per-entry operation counters.
+	 * 
+	 * @author fiilip
+	 *
+	 */
+	@AuxCounters(AuxCounters.Type.OPERATIONS)
+	@State(Scope.Thread)
+	public static class Counters {
+		
+		/**
+		 * Number of entries inserted.
+		 */
+		public long inserts;
+		
+		/**
+		 * Number of entries removed.
+		 */
+		public long removals;
+		
+		/**
+		 * Resets the counters.
+		 */
+		@Setup(Level.Iteration)
+		public void reset() {
+			inserts = 0;
+			removals = 0;
+		}
+	}
+	
+	/**
+	 * A tree that is re-populated before every invocation, so it can be drained.
+	 * 
+	 * @author fiilip
+	 *
+	 */
+	@State(Scope.Thread)
+	public static class DrainedTree {
+		
+		/**
+		 * Populated tree.
+		 */
+		SearchTree<Integer, Integer> tree;
+		
+		/**
+		 * Populates the tree.
+		 * 
+		 * @param keys Keys to populate the tree with.
+		 */
+		@Setup(Level.Invocation)
+		public void populate(KeysState keys) {
+			tree = keys.kind.create(keys.insertionOrder);
+		}
+	}
+
+	@Benchmark
+	public SearchTree<Integer, Integer> insert(KeysState keys, Counters counters) {
+		SearchTree<Integer, Integer> tree = keys.kind.create();
+		
+		for (Integer key : keys.insertionOrder) {
+			tree.insert(key, key);
+		}
+		
+		counters.inserts += keys.size;
+		return tree;
+	}
+	
+	@Benchmark
+	public SearchTree<Integer, Integer> remove(KeysState keys, DrainedTree drained, Counters counters) {
+		SearchTree<Integer, Integer> tree = drained.tree;
+		
+		for (Integer key : keys.removalOrder) {
+			tree.remove(key);
+		}
+		
+		counters.removals += keys.size;
+		return tree;
+	}
+	
+	@Benchmark
+	public boolean removeInsert(KeysState keys, TreeState state) {
+		Integer key = keys.nextAccess();
+		Integer value = state.tree.remove(key);
+		return state.tree.insert(key, value);
+	}
+}
@@ -0,0 +1,138 @@
+package filip.custom.data_structs.trees.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import filip.custom.data_structs.trees.binary.red_black.offheap.OffHeapLongRedBlackTree;
+import filip.custom.data_structs.trees.binary.red_black.primitive.LongRedBlackTree;
+
+/**
+ * Benchmarks of the {@link OffHeapLongRedBlackTree} against the on-heap {@link LongRedBlackTree}.<br>
+ * 
+ * Run with <code>-prof gc</code> to see that the off-heap tree leaves the heap untouched, 
+ * both on lookups and on the steady-state removals and insertions.
+ * 
+ * @author fiilip
+ *
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g", "-XX:MaxDirectMemorySize=4g"})
+public class OffHeapBenchmark {
+	
+	/**
+	 * State holding the populated trees and their keys.
+	 * 
+	 * @author fiilip
+	 *
+	 */
+	@State(Scope.Thread)
+	public static class Trees {
+		
+		/**
+		 * Number of entries in the trees.
+		 */
+		@Param({"1000", "100000", "1000000", "10000000"})
+		public int size;
+		
+		/**
+		 * Keys stored in the trees, in random order.
+		 */
+		long[] keys;
+		
+		/**
+		 * Populated off-heap tree.
+		 */
+		OffHeapLongRedBlackTree offHeap;
+		
+		/**
+		 * Populated on-heap tree.
+		 */
+		LongRedBlackTree<Long> onHeap;
+		
+		/**
+		 * Position in the <code>keys</code>.
+		 */
+		int cursor;
+		
+		/**
+		 * Populates the trees.
+		 */
+		@Setup(Level.Trial)
+		public void populate() {
+			Random random = new Random(KeysState.SEED);
+			offHeap = new OffHeapLongRedBlackTree(size);
+			onHeap = new LongRedBlackTree<>();
+			
+			keys = new long[size];
+			for (int i = 0; i < size; i ++) {
+				long key;
+				do {
+					key = random.nextLong();
+				} while (!offHeap.insert(key, key));
+				
+				keys[i] = key;
+				onHeap.insert(key, Long.valueOf(key));
+			}
+		}
+		
+		/**
+		 * Releases the memory of the off-heap tree.
+		 */
+		@TearDown(Level.Trial)
+		public void release() {
+			offHeap.close();
+		}
+		
+		/**
+		 * Gets the next key to access.
+		 * 
+		 * @return Key stored in the trees.
+		 */
+		long next() {
+			long key = keys[cursor];
+			cursor = (cursor + 1) % size;
+			return key;
+		}
+	}
+
+	@Benchmark
+	public long getOffHeap(Trees trees) {
+		return trees.offHeap.get(trees.next(), 0L);
+	}
+	
+	@Benchmark
+	public Long getOnHeap(Trees trees) {
+		return trees.onHeap.get(trees.next());
+	}
+	
+	@Benchmark
+	public boolean removeInsertOffHeap(Trees trees) {
+		long key = trees.next();
+		trees.offHeap.remove(key);
+		return trees.offHeap.insert(key, key);
+	}
+	
+	@Benchmark
+	public boolean removeInsertOnHeap(Trees trees) {
+		long key = trees.next();
+		trees.onHeap.remove(key);
+		return trees.onHeap.insert(key, Long.valueOf(key));
+	}
+}
@@ -0,0 +1,132 @@
+package filip.custom.data_structs.trees.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import filip.custom.data_structs.trees.SearchTree;
+import filip.custom.data_structs.trees.binary.red_black.RedBlackTree;
+
+/**
+ * Benchmarks of merging two large trees, through the join-based {@link RedBlackTree#union(RedBlackTree)},
+ * {@link RedBlackTree#intersection(RedBlackTree)} and {@link RedBlackTree#difference(RedBlackTree)}, 
+ * against one insertion or removal per entry of the other tree.<br>
+ * 
+ * The set operations run in the common {@link java.util.concurrent.ForkJoinPool}, whose size is set by
+ * <code>-Djava.util.concurrent.ForkJoinPool.common.parallelism</code>.
+ * 
+ * @author fiilip
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms8g", "-Xmx8g"})
+public class SetOperationBenchmark {
+	
+	/**
+	 * State holding the trees, which are rebuilt before every invocation, since the operations consume them.
+	 * 
+	 * @author fiilip
+	 * 
+	 */
+	@State(Scope.Thread)
+	public static class Trees {
+		
+		/**
+		 * Number of entries in each of the trees.
+		 */
+		@Param({"1000000", "10000000"})
+		public int size;
+		
+		/**
+		 * Multiples of <code>2</code>, each mapped to itself.
+		 */
+		Integer[] even;
+		
+		/**
+		 * Multiples of <code>3</code>, each mapped to itself, a third of which are in both of the trees.
+		 */
+		Integer[] triple;
+		
+		/**
+		 * Tree of the multiples of <code>2</code>.
+		 */
+		RedBlackTree<Integer, Integer> first;
+		
+		/**
+		 * Tree of the multiples of <code>3</code>.
+		 */
+		RedBlackTree<Integer, Integer> second;
+		
+		/**
+		 * Creates the keys.
+		 */
+		@Setup(Level.Trial)
+		public void create() {
+			even = new Integer[size];
+			triple = new Integer[size];
+			for (int i = 0; i < size; i ++) {
+				even[i] = 2 * i;
+				triple[i] = 3 * i;
+			}
+		}
+		
+		/**
+		 * Builds both of the trees.
+		 */
+		@Setup(Level.Invocation)
+		public void build() {
+			first = new RedBlackTree<>();
+			first.buildFromSorted(even, even);
+			second = new RedBlackTree<>();
+			second.buildFromSorted(triple, triple);
+		}
+	}
+	
+	@Benchmark
+	public SearchTree<Integer, Integer> union(Trees trees) {
+		trees.first.union(trees.second);
+		return trees.first;
+	}
+	
+	@Benchmark
+	public SearchTree<Integer, Integer> unionInsertEach(Trees trees) {
+		for (SearchTree.Entry<Integer, Integer> entry : trees.second) {
+			trees.first.insert(entry.getKey(), entry.getValue());
+		}
+		return trees.first;
+	}
+	
+	@Benchmark
+	public SearchTree<Integer, Integer> intersection(Trees trees) {
+		trees.first.intersection(trees.second);
+		return trees.first;
+	}
+	
+	@Benchmark
+	public SearchTree<Integer, Integer> difference(Trees trees) {
+		trees.first.difference(trees.second);
+		return trees.first;
+	}
+	
+	@Benchmark
+	public SearchTree<Integer, Integer> differenceRemoveEach(Trees trees) {
+		for (SearchTree.Entry<Integer, Integer> entry : trees.second) {
+			trees.first.remove(entry.getKey());
+		}
+		return trees.first;
+	}
+}
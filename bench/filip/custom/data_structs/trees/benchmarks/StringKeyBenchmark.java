@@ -0,0 +1,166 @@
+package filip.custom.data_structs.trees.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import filip.custom.data_structs.trees.binary.red_black.RedBlackTree;
+import filip.custom.data_structs.trees.binary.red_black.primitive.StringRedBlackTree;
+
+/**
+ * Benchmarks of the {@link StringRedBlackTree} against the generic <code>RedBlackTree&lt;String, V&gt;</code>.<br>
+ * 
+ * The keys are URLs of a few hosts, all starting with <code>https://www.</code>, and sharing the host and
+ * the first path segments with many other keys, so that a full {@link String#compareTo(String)} goes over
+ * a long common prefix on most levels of the descent.
+ * 
+ * @author fiilip
+ *
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class StringKeyBenchmark {
+	
+	/**
+	 * Hosts of the generated URLs.
+	 */
+	private static final String[] HOSTS = {
+			"example", "wikipedia", "github", "stackoverflow", "openjdk", "apache", "mozilla", "kernel"
+	};
+	
+	/**
+	 * Path segments of the generated URLs.
+	 */
+	private static final String[] SEGMENTS = {
+			"api", "v1", "v2", "users", "projects", "issues", "docs", "static", "images", "articles", "search", "wiki"
+	};
+	
+	/**
+	 * State holding the populated trees and their keys.
+	 * 
+	 * @author fiilip
+	 * 
+	 */
+	@State(Scope.Thread)
+	public static class Trees {
+		
+		/**
+		 * Number of entries in the trees.
+		 */
+		@Param({"1000", "100000", "1000000"})
+		public int size;
+		
+		/**
+		 * Keys stored in the trees, in random order.
+		 */
+		String[] keys;
+		
+		/**
+		 * Populated string tree.
+		 */
+		StringRedBlackTree<Object> string;
+		
+		/**
+		 * Populated generic tree.
+		 */
+		RedBlackTree<String, Object> generic;
+		
+		/**
+		 * Position in the <code>keys</code>.
+		 */
+		int cursor;
+		
+		/**
+		 * Populates the trees.
+		 */
+		@Setup(Level.Trial)
+		public void populate() {
+			Random random = new Random(KeysState.SEED);
+			string = new StringRedBlackTree<>();
+			generic = new RedBlackTree<>();
+			
+			keys = new String[size];
+			for (int i = 0; i < size; i ++) {
+				String key;
+				do {
+					key = url(random);
+				} while (!string.insert(key, VALUE));
+				
+				keys[i] = key;
+				generic.insert(key, VALUE);
+			}
+		}
+		
+		/**
+		 * Gets the next key to access.
+		 * 
+		 * @return Key stored in the trees.
+		 */
+		String next() {
+			String key = keys[cursor];
+			cursor = (cursor + 1) % size;
+			return key;
+		}
+	}
+	
+	/**
+	 * Value stored for every key.
+	 */
+	private static final Object VALUE = new Object();
+	
+	/**
+	 * Generates a random URL, such as <code>https://www.github.com/api/v2/issues/48213</code>.
+	 * 
+	 * @param random Source of randomness.
+	 * @return Generated URL.
+	 */
+	private static String url(Random random) {
+		StringBuilder builder = new StringBuilder("https://www.")
+				.append(HOSTS[random.nextInt(HOSTS.length)]).append(".com");
+		
+		int segments = 1 + random.nextInt(3);
+		for (int i = 0; i < segments; i ++) {
+			builder.append('/').append(SEGMENTS[random.nextInt(SEGMENTS.length)]);
+		}
+		return builder.append('/').append(random.nextInt(1_000_000)).toString();
+	}
+	
+	@Benchmark
+	public Object getString(Trees trees) {
+		return trees.string.get(trees.next());
+	}
+	
+	@Benchmark
+	public Object getGeneric(Trees trees) {
+		return trees.generic.get(trees.next());
+	}
+	
+	@Benchmark
+	public boolean removeInsertString(Trees trees) {
+		String key = trees.next();
+		trees.string.remove(key);
+		return trees.string.insert(key, VALUE);
+	}
+	
+	@Benchmark
+	public boolean removeInsertGeneric(Trees trees) {
+		String key = trees.next();
+		trees.generic.remove(key);
+		return trees.generic.insert(key, VALUE);
+	}
+}
@@ -0,0 +1,89 @@
+package filip.custom.data_structs.trees.benchmarks;
+
+import java.util.Collections;
+
+import filip.custom.data_structs.trees.SearchTree;
+import filip.custom.data_structs.trees.binary.red_black.RedBlackTree;
+import filip.custom.data_structs.trees.factories.ArrayRBTFactory;
+import filip.custom.data_structs.trees.factories.BPlusTreeFactory;
+import filip.custom.data_structs.trees.factories.BSTFactory;
+import filip.custom.data_structs.trees.factories.RBTFactory;
+import filip.custom.data_structs.trees.factories.TopDownRBTFactory;
+import filip.custom.data_structs.trees.factories.TreeFactory;
+
+/**
+ * Enumeration of the {@link SearchTree} implementations being benchmarked.<br>
+ * 
+ * {@link #TREE_MAP} is not a part of this library, and is used as a baseline only.
+ * 
+ * @author fiilip
+ *
+ */
+public enum TreeKind {
+
+	RED_BLACK(new RBTFactory<>()),
+	
+	/**
+	 * {@link RedBlackTree} with the finger search on.
+	 */
+	RED_BLACK_FINGER(entries -> {
+		RedBlackTree<Integer, Integer> tree = new RedBlackTree<>();
+		tree.setFingerSearch(true);
+		entries.forEach(tree::insert);
+		return tree;
+	}),
+	
+	/**
+	 * Red-black tree balanced top-down, with no parent pointers.
+	 */
+	TOP_DOWN_RED_BLACK(new TopDownRBTFactory<>()),
+	
+	ARRAY_RED_BLACK(new ArrayRBTFactory<>()),
+	
+	/**
+	 * B+ tree of the default fanout.
+	 */
+	B_PLUS(new BPlusTreeFactory<>()),
+	
+	BINARY(new BSTFactory<>()),
+	
+	TREE_MAP(TreeMapSearchTree::new);
+	
+	/**
+	 * Factory of the trees of this kind.
+	 */
+	private final TreeFactory<Integer, Integer> factory;
+	
+	/**
+	 * Creates a new {@link TreeKind}.
+	 * 
+	 * @param factory Factory of the trees of this kind.
+	 */
+	private TreeKind(TreeFactory<Integer, Integer> factory) {
+		this.factory = factory;
+	}
+	
+	/**
+	 * Creates a new empty tree of this kind.
+	 * 
+	 * @return New empty tree.
+	 */
+	public SearchTree<Integer, Integer> create() {
+		return factory.createFromMap(Collections.emptyMap());
+	}
+	
+	/**
+	 * Creates a new tree of this kind populated with the given <code>keys</code>,
+	 * inserted in the given order. Each key is mapped to itself.
+	 * 
+	 * @param keys Keys to populate the tree with.
+	 * @return New populated tree.
+	 */
+	public SearchTree<Integer, Integer> create(Integer[] keys) {
+		SearchTree<Integer, Integer> tree = create();
+		for (Integer key : keys) {
+			tree.insert(key, key);
+		}
+		return tree;
+	}
+}
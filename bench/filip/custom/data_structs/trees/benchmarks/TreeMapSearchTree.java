@@ -0,0 +1,190 @@
+package filip.custom.data_structs.trees.benchmarks;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+import filip.custom.data_structs.trees.SearchTree;
+
+/**
+ * Adapter of the {@link TreeMap} to the {@link SearchTree} interface, used as
+ * a baseline in the benchmarks.<br>
+ * 
+ * Range methods return live views of the {@link NavigableMap}, created in constant time, just like the
+ * implementations in this library do. The iterator reuses a single entry object, so that
+ * the iteration of the baseline doesn't allocate more than {@link TreeMap} itself does.
+ * 
+ * @author fiilip
+ *
+ * @param <K> Type of keys stored in this tree.
+ * @param <V> Type of values stored in this tree.
+ */
+public class TreeMapSearchTree<K extends Comparable<K>, V> implements SearchTree<K, V> {
+	
+	/**
+	 * Map that holds the entries of this tree.
+	 */
+	private final NavigableMap<K, V> map;
+	
+	/**
+	 * Creates a new instance of {@link TreeMapSearchTree}, populated with the given <code>entries</code>.
+	 * 
+	 * @param entries Entries of the new tree.
+	 */
+	public TreeMapSearchTree(Map<K, V> entries) {
+		this(new TreeMap<>(entries), false);
+	}
+	
+	/**
+	 * Creates a new instance of {@link TreeMapSearchTree}, backed by a given <code>map</code>, which is not copied.
+	 * 
+	 * @param map Map that holds the entries of the new tree, usually a view of another map.
+	 * @param copy Always <code>false</code>, only distinguishes this constructor from the copying one.
+	 */
+	private TreeMapSearchTree(NavigableMap<K, V> map, boolean copy) {
+		this.map = map;
+	}
+
+	@Override
+	public boolean insert(K key, V value) throws IllegalArgumentException {
+		nullCheckKey(key);
+		return map.putIfAbsent(key, value) == null;
+	}
+
+	@Override
+	public V remove(K key) throws IllegalArgumentException {
+		nullCheckKey(key);
+		return map.remove(key);
+	}
+
+	@Override
+	public boolean contains(K key) throws IllegalArgumentException {
+		return get(key) != null;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return map.isEmpty();
+	}
+
+	@Override
+	public void clear() {
+		map.clear();
+	}
+
+	@Override
+	public SearchTree<K, V> getGreaterThan(K toCompare) {
+		return getInterval(toCompare, null);
+	}
+
+	@Override
+	public SearchTree<K, V> getLessThan(K toCompare) {
+		return getInterval(null, toCompare);
+	}
+
+	/**
+	 * Gets a live view of the entries within the interval, without copying them.
+	 */
+	@Override
+	public SearchTree<K, V> getInterval(K fromKey, K toKey) {
+		NavigableMap<K, V> view;
+		
+		if (fromKey == null) {
+			view = toKey == null ? map : map.headMap(toKey, false);
+		} else if (toKey == null) {
+			view = map.tailMap(fromKey, false);
+		} else {
+			// an empty interval is viewed as the one between the fromKey and itself
+			view = map.subMap(fromKey, false, fromKey.compareTo(toKey) < 0 ? toKey : fromKey, false);
+		}
+		
+		return new TreeMapSearchTree<>(view, false);
+	}
+
+	@Override
+	public int size() {
+		return map.size();
+	}
+
+	@Override
+	public V get(K key) throws IllegalArgumentException {
+		nullCheckKey(key);
+		return map.get(key);
+	}
+
+	/**
+	 * {@link TreeMap} doesn't expose it's structure, so the depth is not available.
+	 * 
+	 * @throws UnsupportedOperationException Always.
+	 */
+	@Override
+	public int depth() {
+		throw new UnsupportedOperationException("TreeMap doesn't expose it's depth.");
+	}
+
+	@Override
+	public Iterator<Entry<K, V>> iterator() {
+		Iterator<Map.Entry<K, V>> it = map.entrySet().iterator();
+		
+		return new Iterator<Entry<K, V>>() {
+			
+			/**
+			 * Entry that is reused for all the iterated elements.
+			 */
+			private final ReusedEntry entry = new ReusedEntry();
+			
+			@Override
+			public boolean hasNext() {
+				return it.hasNext();
+			}
+
+			@Override
+			public Entry<K, V> next() {
+				entry.current = it.next();
+				return entry;
+			}
+		};
+	}
+	
+	/**
+	 * Checks if the given <code>key</code> is <code>null</code>.<br>
+	 * 
+	 * @param key Key of interest.
+	 * @throws IllegalArgumentException if a given <code>key</code> is <code>null</code>.
+	 */
+	private void nullCheckKey(K key) throws IllegalArgumentException {
+		if (key == null) {
+			throw new IllegalArgumentException("Key should not be null.");
+		}
+	}
+	
+	/**
+	 * {@link SearchTree.Entry} that views the {@link Map.Entry} currently being iterated over.
+	 * 
+	 * @author fiilip
+	 *
+	 */
+	private class ReusedEntry implements Entry<K, V> {
+		
+		/**
+		 * Entry currently being viewed.
+		 */
+		private Map.Entry<K, V> current;
+
+		@Override
+		public K getKey() {
+			return current.getKey();
+		}
+
+		@Override
+		public V getValue() {
+			return current.getValue();
+		}
+
+		@Override
+		public void setValue(V value) {
+			current.setValue(value);
+		}
+	}
+}
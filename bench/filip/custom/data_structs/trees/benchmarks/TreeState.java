@@ -0,0 +1,34 @@
+package filip.custom.data_structs.trees.benchmarks;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import filip.custom.data_structs.trees.SearchTree;
+
+/**
+ * Benchmark state holding a tree populated with all the keys of a {@link KeysState}, 
+ * shared by all the iterations of a trial.
+ * 
+ * @author fiilip
+ *
+ */
+@State(Scope.Benchmark)
+public class TreeState {
+	
+	/**
+	 * Populated tree.
+	 */
+	SearchTree<Integer, Integer> tree;
+	
+	/**
+	 * Populates the tree.
+	 * 
+	 * @param keys Keys to populate the tree with.
+	 */
+	@Setup(Level.Trial)
+	public void populate(KeysState keys) {
+		tree = keys.kind.create(keys.insertionOrder);
+	}
+}
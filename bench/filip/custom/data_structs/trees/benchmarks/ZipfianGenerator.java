@@ -0,0 +1,91 @@
+package filip.custom.data_structs.trees.benchmarks;
+
+import java.util.Random;
+
+/**
+ * Generator of Zipfian distributed ranks in range <code>0 .. items - 1</code>, rank <code>0</code>
+ * being the most frequent one.<br>
+ * 
+ * The algorithm is the one from <i>Quickly Generating Billion-Record Synthetic Databases</i>
+ * by Gray et al., which is also used by the YCSB benchmark.
+ * 
+ * @author fiilip
+ *
+ */
+final class ZipfianGenerator {
+	
+	/**
+	 * Skew of the distribution used by default (the YCSB one).
+	 */
+	static final double DEFAULT_THETA = 0.99;
+
+	/**
+	 * Number of distinct ranks.
+	 */
+	private final int items;
+	
+	/**
+	 * Skew of the distribution.
+	 */
+	private final double theta;
+	
+	/**
+	 * Zeta constant of all the <code>items</code>.
+	 */
+	private final double zetan;
+	
+	/**
+	 * Pre-calculated constants of the algorithm.
+	 */
+	private final double alpha, eta;
+	
+	/**
+	 * Source of randomness.
+	 */
+	private final Random random;
+	
+	/**
+	 * Creates a new instance of {@link ZipfianGenerator} with the {@link #DEFAULT_THETA} skew.
+	 * 
+	 * @param items Number of distinct ranks.
+	 * @param random Source of randomness.
+	 */
+	ZipfianGenerator(int items, Random random) {
+		this.items = items;
+		this.theta = DEFAULT_THETA;
+		this.random = random;
+		this.zetan = zeta(items, theta);
+		this.alpha = 1.0 / (1.0 - theta);
+		this.eta = (1 - Math.pow(2.0 / items, 1 - theta)) / (1 - zeta(2, theta) / zetan);
+	}
+	
+	/**
+	 * Generates the next rank.
+	 * 
+	 * @return Rank in range <code>0 .. items - 1</code>.
+	 */
+	int next() {
+		double u = random.nextDouble();
+		double uz = u * zetan;
+		
+		if (uz < 1.0) return 0;
+		if (uz < 1.0 + Math.pow(0.5, theta)) return Math.min(1, items - 1);
+		
+		return Math.min(items - 1, (int) (items * Math.pow(eta * u - eta + 1, alpha)));
+	}
+	
+	/**
+	 * Calculates the zeta constant, <code>sum(1 / i^theta)</code> for <code>i = 1 .. n</code>.
+	 * 
+	 * @param n Number of items.
+	 * @param theta Skew of the distribution.
+	 * @return Zeta constant.
+	 */
+	private static double zeta(int n, double theta) {
+		double sum = 0;
+		for (int i = 1; i <= n; i ++) {
+			sum += 1 / Math.pow(i, theta);
+		}
+		return sum;
+	}
+}
@@ -0,0 +1,71 @@
+package filip.custom.data_structs.trees.events.jfr;
+
+import jdk.jfr.EventType;
+
+import filip.custom.data_structs.trees.events.TreeEvent;
+import filip.custom.data_structs.trees.events.TreeEvents;
+
+/**
+ * {@link TreeEvents} recorded by the JDK Flight Recorder, which {@link TreeEvents} loads by it's name
+ * whenever this class is on the class path.<br>
+ * 
+ * An event is created only while it's enabled in a running recording. It's threshold can be changed 
+ * in the settings of the recording, eg. by a <code>.jfc</code> file setting the <code>threshold</code>
+ * of the <code>filip.custom.data_structs.trees.Insert</code> event to <code>100 us</code>.
+ * 
+ * @author fiilip
+ *
+ */
+public final class FlightRecorderEvents extends TreeEvents {
+	
+	/**
+	 * Type of the insertion events.
+	 */
+	private static final EventType INSERT = EventType.getEventType(InsertEvent.class);
+	
+	/**
+	 * Type of the removal events.
+	 */
+	private static final EventType REMOVE = EventType.getEventType(RemoveEvent.class);
+	
+	/**
+	 * Type of the events of the iterations over an interval.
+	 */
+	private static final EventType INTERVAL = EventType.getEventType(IntervalEvent.class);
+	
+	/**
+	 * Type of the events of the iterations over a whole tree.
+	 */
+	private static final EventType ITERATION = EventType.getEventType(IterationEvent.class);
+	
+	@Override
+	protected TreeEvent newInsert() {
+		return INSERT.isEnabled() ? begin(new InsertEvent()) : null;
+	}
+	
+	@Override
+	protected TreeEvent newRemove() {
+		return REMOVE.isEnabled() ? begin(new RemoveEvent()) : null;
+	}
+	
+	@Override
+	protected TreeEvent newInterval() {
+		return INTERVAL.isEnabled() ? begin(new IntervalEvent()) : null;
+	}
+	
+	@Override
+	protected TreeEvent newIteration() {
+		return ITERATION.isEnabled() ? begin(new IterationEvent()) : null;
+	}
+	
+	/**
+	 * Begins timing a given <code>event</code>.
+	 * 
+	 * @param event Event of interest.
+	 * @return The same event.
+	 */
+	private static TreeEvent begin(TreeOperationEvent event) {
+		event.begin();
+		return event;
+	}
+}
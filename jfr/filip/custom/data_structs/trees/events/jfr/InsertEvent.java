@@ -0,0 +1,19 @@
+package filip.custom.data_structs.trees.events.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * A Flight Recorder event of an insertion, with the inserted key as both the low and the high key.
+ * 
+ * @author fiilip
+ *
+ */
+@Name("filip.custom.data_structs.trees.Insert")
+@Label("Tree Insert")
+@Description("Insertion of an entry into a tree")
+@Threshold("1 ms")
+final class InsertEvent extends MutationEvent {
+}
@@ -0,0 +1,19 @@
+package filip.custom.data_structs.trees.events.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * A Flight Recorder event of an iteration over an interval of a tree, with the exclusive bounds of the interval as the low and the high key.
+ * 
+ * @author fiilip
+ *
+ */
+@Name("filip.custom.data_structs.trees.Interval")
+@Label("Tree Interval Iteration")
+@Description("Iteration over the entries between two keys")
+@Threshold("20 ms")
+final class IntervalEvent extends TraversalEvent {
+}
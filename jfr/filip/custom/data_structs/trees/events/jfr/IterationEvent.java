@@ -0,0 +1,19 @@
+package filip.custom.data_structs.trees.events.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * A Flight Recorder event of an iteration over a whole tree, which has no low and high key.
+ * 
+ * @author fiilip
+ *
+ */
+@Name("filip.custom.data_structs.trees.Iteration")
+@Label("Tree Iteration")
+@Description("Iteration over all the entries of a tree")
+@Threshold("20 ms")
+final class IterationEvent extends TraversalEvent {
+}
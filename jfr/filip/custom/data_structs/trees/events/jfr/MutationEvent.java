@@ -0,0 +1,38 @@
+package filip.custom.data_structs.trees.events.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+
+/**
+ * A Flight Recorder event of an operation changing a tree, with the length of it's path down the tree,
+ * and the number of rotations done rebalancing it.
+ * 
+ * @author fiilip
+ *
+ */
+abstract class MutationEvent extends TreeOperationEvent {
+	
+	/**
+	 * Number of the nodes visited on the way down the tree.
+	 */
+	@Label("Depth")
+	@Description("Number of the nodes visited on the way down the tree")
+	int depth;
+	
+	/**
+	 * Number of the single rotations.
+	 */
+	@Label("Rotations")
+	@Description("Number of the single rotations rebalancing the tree")
+	int rotations;
+	
+	@Override
+	public void setDepth(int depth) {
+		this.depth = depth;
+	}
+	
+	@Override
+	public void setRotations(int rotations) {
+		this.rotations = rotations;
+	}
+}
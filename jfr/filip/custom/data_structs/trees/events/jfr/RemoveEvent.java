@@ -0,0 +1,19 @@
+package filip.custom.data_structs.trees.events.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * A Flight Recorder event of a removal, with the removed key as both the low and the high key.
+ * 
+ * @author fiilip
+ *
+ */
+@Name("filip.custom.data_structs.trees.Remove")
+@Label("Tree Remove")
+@Description("Removal of an entry from a tree")
+@Threshold("1 ms")
+final class RemoveEvent extends MutationEvent {
+}
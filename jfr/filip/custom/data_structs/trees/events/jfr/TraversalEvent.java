@@ -0,0 +1,24 @@
+package filip.custom.data_structs.trees.events.jfr;
+
+import jdk.jfr.Label;
+
+/**
+ * A Flight Recorder event of an iteration, timed from the creation of the iterator until it ran out of entries,
+ * with the number of entries iterated over.
+ * 
+ * @author fiilip
+ *
+ */
+abstract class TraversalEvent extends TreeOperationEvent {
+	
+	/**
+	 * Number of entries iterated over.
+	 */
+	@Label("Entries")
+	int entries;
+	
+	@Override
+	public void setEntries(int entries) {
+		this.entries = entries;
+	}
+}
@@ -0,0 +1,80 @@
+package filip.custom.data_structs.trees.events.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+
+import filip.custom.data_structs.trees.events.TreeEvent;
+
+/**
+ * A Flight Recorder event of a single tree operation, with the fields every operation has:
+ * the class of the tree, the range of the keys and the size of the tree.<br>
+ * 
+ * The keys are turned into strings only once the event is known to be committed.
+ * 
+ * @author fiilip
+ *
+ */
+@Category("Search Trees")
+@StackTrace(true)
+abstract class TreeOperationEvent extends Event implements TreeEvent {
+	
+	/**
+	 * Class of the tree the operation was called on.
+	 */
+	@Label("Tree Class")
+	Class<?> tree;
+	
+	/**
+	 * Least key, or the exclusive lower bound of the keys, <code>null</code> if there is none.
+	 */
+	@Label("Low Key")
+	String lowKey;
+	
+	/**
+	 * Greatest key, or the exclusive upper bound of the keys, <code>null</code> if there is none.
+	 */
+	@Label("High Key")
+	String highKey;
+	
+	/**
+	 * Number of entries of the tree.
+	 */
+	@Label("Size")
+	int size;
+	
+	@Override
+	public boolean stop() {
+		end();
+		return shouldCommit();
+	}
+	
+	@Override
+	public void setTree(Class<?> tree) {
+		this.tree = tree;
+	}
+	
+	@Override
+	public void setKeys(Object low, Object high) {
+		this.lowKey = low == null ? null : String.valueOf(low);
+		this.highKey = high == null ? null : String.valueOf(high);
+	}
+	
+	@Override
+	public void setSize(int size) {
+		this.size = size;
+	}
+	
+	@Override
+	public void setDepth(int depth) {
+	}
+	
+	@Override
+	public void setRotations(int rotations) {
+	}
+	
+	@Override
+	public void setEntries(int entries) {
+	}
+}
@@ -1,6 +1,10 @@
 package filip.custom.data_structs.trees;
 
+import java.util.Comparator;
 import java.util.Map;
+import java.util.Spliterator;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import filip.custom.data_structs.trees.factories.TreeFactory;
 
@@ -70,10 +74,11 @@ public interface SearchTree<K extends Comparable<K>, V> extends Iterable<SearchT
 	/**
 	 * Gets all the elements with a key greater than the given key <code>toCompare</code>.
 	 * 
-	 * @param toCompare The key being compared to. This method returns a new {@link SearchTree}
+	 * @param toCompare The key being compared to. This method returns a {@link SearchTree}
 	 * containing all the elements with a key greater than this key.
-	 * @return new instance of {@link SearchTree} containing only the elements with key greater than <code>toCompare</code>.
+	 * @return {@link SearchTree} containing only the elements with key greater than <code>toCompare</code>.
 	 * If no such elements are found in the tree, an empty {@link SearchTree} is returned.
+	 * @see #getInterval(Comparable, Comparable)
 	 */
 	SearchTree<K, V> getGreaterThan(K toCompare);
 	
@@ -81,19 +86,23 @@ public interface SearchTree<K extends Comparable<K>, V> extends Iterable<SearchT
 	 * Gets all the elements with a key less than the given key <code>toCompare</code>.
 	 * 
 	 * @param toCompare The key being compared to. This method returns all the elements with a key less than this key.
-	 * @return new instance of {@link SearchTree} containing only the elements with key less than <code>toCompare</code>.
+	 * @return {@link SearchTree} containing only the elements with key less than <code>toCompare</code>.
 	 * If no such elements are found in the tree, an empty {@link SearchTree} is returned.
+	 * @see #getInterval(Comparable, Comparable)
 	 */
 	SearchTree<K, V> getLessThan(K toCompare);
 	
 	/**
-	 * Gets all the elements with the key greater than to the <code>start</code> key, and 
-	 * less than the <code>end</code> key.
+	 * Gets all the elements with the key greater than the <code>fromKey</code>, and 
+	 * less than the <code>toKey</code>.<br>
 	 * 
-	 * @param fromKey Start of the interval.
-	 * @param toKey End of the interval.
-	 * @return {@link SearchTree} of elements with the key greater than or equal to <code>fromKey</code> and
-	 * less than or equal to <code>toKey</code>. If no such elements exist, empty {@link SearchTree} is returned.
+	 * Depending on the implementation, the returned tree is either a copy of the elements, 
+	 * or a live view of this tree, which reflects all of it's later changes.
+	 * 
+	 * @param fromKey Start of the interval, exclusive, or <code>null</code> if the interval has no start.
+	 * @param toKey End of the interval, exclusive, or <code>null</code> if the interval has no end.
+	 * @return {@link SearchTree} of elements with the key greater than <code>fromKey</code> and
+	 * less than <code>toKey</code>. If no such elements exist, empty {@link SearchTree} is returned.
 	 */
 	SearchTree<K, V> getInterval(K fromKey, K toKey);
 	
@@ -121,6 +130,50 @@ public interface SearchTree<K extends Comparable<K>, V> extends Iterable<SearchT
 	 */
 	int depth();
 	
+	/**
+	 * Gets the comparator ordering the keys of this tree.<br>
+	 * 
+	 * This implementation returns <code>null</code>, and the trees ordered by a comparator override it.
+	 * 
+	 * @return Comparator of the keys, or <code>null</code> if they are in their natural order.
+	 */
+	default Comparator<? super K> comparator() {
+		return null;
+	}
+	
+	/**
+	 * Creates a {@link Spliterator} over the entries of this tree in-order, which knows the size of this tree,
+	 * and is {@link Spliterator#SORTED} by the keys in the order of {@link #comparator()}.<br>
+	 * 
+	 * This implementation splits the entries in batches read from {@link #iterator()} (see {@link SortedEntrySpliterator}).
+	 * Trees that can split their nodes directly override it.
+	 * 
+	 * @return Spliterator over the entries of this tree.
+	 */
+	@Override
+	default Spliterator<Entry<K, V>> spliterator() {
+		return new SortedEntrySpliterator<>(iterator(), size(), comparator());
+	}
+	
+	/**
+	 * Creates a sequential {@link Stream} over the entries of this tree in-order.
+	 * 
+	 * @return Stream over the entries of this tree.
+	 */
+	default Stream<Entry<K, V>> stream() {
+		return StreamSupport.stream(spliterator(), false);
+	}
+	
+	/**
+	 * Creates a parallel {@link Stream} over the entries of this tree, which splits the entries 
+	 * through {@link #spliterator()}.
+	 * 
+	 * @return Parallel stream over the entries of this tree.
+	 */
+	default Stream<Entry<K, V>> parallelStream() {
+		return StreamSupport.stream(spliterator(), true);
+	}
+	
 	/**
 	 * Statically creates a new instance of a {@link SearchTree} populated with the given <code>entries</code>.<br>
 	 * The concrete type of a returned tree will depend on a given {@link TreeFactory}.
@@ -0,0 +1,68 @@
+package filip.custom.data_structs.trees;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+
+import filip.custom.data_structs.trees.comparators.KeyComparators;
+
+/**
+ * A {@link Spliterator} over the entries of a {@link SearchTree} read from its iterator in-order,
+ * which splits the entries in batches (see {@link Spliterators.AbstractSpliterator}).<br>
+ *
+ * It has the same characteristics as the spliterators that split the nodes of a tree directly,
+ * so it is {@link #SORTED} by the keys of the entries, in the order of the tree.
+ *
+ * @author fiilip
+ *
+ * @param <K> Type of keys stored in a tree.
+ * @param <V> Type of values stored in a tree.
+ */
+public class SortedEntrySpliterator<K extends Comparable<K>, V> extends Spliterators.AbstractSpliterator<SearchTree.Entry<K, V>> {
+
+	/**
+	 * Iterator over the entries of a tree.
+	 */
+	private final Iterator<SearchTree.Entry<K, V>> entries;
+
+	/**
+	 * Comparator of the keys, <code>null</code> for their natural order.
+	 */
+	private final Comparator<? super K> comparator;
+
+	/**
+	 * Creates a new instance of {@link SortedEntrySpliterator}.
+	 *
+	 * @param entries Iterator over the entries of a tree, in-order.
+	 * @param size Number of entries in the tree.
+	 * @param comparator Comparator of the keys, <code>null</code> for their natural order.
+	 */
+	public SortedEntrySpliterator(Iterator<SearchTree.Entry<K, V>> entries, int size, Comparator<? super K> comparator) {
+		super(size, ORDERED | SORTED | DISTINCT | NONNULL | SIZED);
+		this.entries = entries;
+		this.comparator = comparator;
+	}
+
+	@Override
+	public boolean tryAdvance(Consumer<? super SearchTree.Entry<K, V>> action) {
+		if (!entries.hasNext()) return false;
+
+		action.accept(entries.next());
+		return true;
+	}
+
+	@Override
+	public void forEachRemaining(Consumer<? super SearchTree.Entry<K, V>> action) {
+		entries.forEachRemaining(action);
+	}
+
+	/**
+	 * Orders the entries by their keys, the same way as the tree does.
+	 */
+	@Override
+	public Comparator<? super SearchTree.Entry<K, V>> getComparator() {
+		return (a, b) -> KeyComparators.compare(comparator, a.getKey(), b.getKey());
+	}
+}
@@ -1,14 +1,27 @@
 package filip.custom.data_structs.trees.binary;
 
+import java.util.Comparator;
 import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Spliterator;
 
 import filip.custom.data_structs.trees.SearchTree;
+import filip.custom.data_structs.trees.binary.eytzinger.EytzingerTree;
 import filip.custom.data_structs.trees.binary.iterators.BSTIterator;
-import filip.custom.data_structs.trees.binary.traversal.InOrderBSTreeTraversal;
+import filip.custom.data_structs.trees.binary.iterators.BSTSpliterator;
 import filip.custom.data_structs.trees.binary.util.BSTStringBuilder;
+import filip.custom.data_structs.trees.comparators.IntKeyComparator;
+import filip.custom.data_structs.trees.comparators.KeyComparators;
+import filip.custom.data_structs.trees.comparators.LongKeyComparator;
+import filip.custom.data_structs.trees.events.TreeEvent;
+import filip.custom.data_structs.trees.events.TreeEvents;
 import filip.custom.data_structs.trees.operations.EntryInsertion;
 import filip.custom.data_structs.trees.operations.EntryRemoval;
-import filip.custom.data_structs.trees.traversal.visitors.FilterTreeVisitor;
+import filip.custom.data_structs.trees.stats.CountingOperation;
+import filip.custom.data_structs.trees.stats.OperationCounts;
+import filip.custom.data_structs.trees.stats.TreeStatistics;
+import filip.custom.data_structs.trees.stats.TreeStatistics.Operation;
 
 /**
  * An abstract class that represents any tree that conforms to the rules of
@@ -32,14 +45,206 @@ public abstract class AbstractBST<K extends Comparable<K>, V> implements SearchT
 	private int size;
 	
 	/**
-	 * Creates a new instance of {@link AbstractBST}.
+	 * Entry insertion used by this tree.<br>
+	 * The same object is reused for every insertion, so an insertion allocates nothing but the new node.
+	 */
+	private final EntryInsertion<K, V> insertion;
+	
+	/**
+	 * Entry removal used by this tree.<br>
+	 * The same object is reused for every removal, so a removal allocates nothing.
+	 */
+	private final EntryRemoval<K, V> removal;
+	
+	/**
+	 * Comparator of the keys, <code>null</code> for their natural order.
+	 */
+	private final Comparator<? super K> comparator;
+	
+	/**
+	 * The <code>comparator</code>, if it's an {@link IntKeyComparator}, and <code>null</code> otherwise.
+	 */
+	private final IntKeyComparator<? super K> intKeys;
+	
+	/**
+	 * The <code>comparator</code>, if it's a {@link LongKeyComparator}, and <code>null</code> otherwise.
+	 */
+	private final LongKeyComparator<? super K> longKeys;
+	
+	/**
+	 * Statistics of the operations on this tree, <code>null</code> if they were never turned on.
+	 */
+	private TreeStatistics statistics;
+	
+	/**
+	 * Tallies of the work of the current insertion or removal, <code>null</code> while the statistics are off.
+	 */
+	private OperationCounts counts;
+	
+	/**
+	 * Tallies of the work of an insertion or removal being recorded as a {@link TreeEvent} while the statistics are off,
+	 * <code>null</code> until the first such operation.
+	 */
+	private OperationCounts eventCounts;
+	
+	/**
+	 * Creates a new instance of {@link AbstractBST}, ordered by the natural order of it's keys.
+	 * 
+	 * @param insertion Type of entry insertion being used by this tree.
+	 * @param removal Type of entry removal being used by this tree.
+	 */
+	protected AbstractBST(EntryInsertion<K, V> insertion, EntryRemoval<K, V> removal) {
+		this(insertion, removal, null);
+	}
+	
+	/**
+	 * Creates a new instance of {@link AbstractBST}, ordered by a given <code>comparator</code>.<br>
+	 * 
+	 * The <code>insertion</code> and the <code>removal</code> must order the keys by the same comparator.
 	 * 
 	 * @param insertion Type of entry insertion being used by this tree.
 	 * @param removal Type of entry removal being used by this tree.
+	 * @param comparator Comparator of the keys, <code>null</code> for their natural order.
 	 */
-	protected AbstractBST() {
+	protected AbstractBST(EntryInsertion<K, V> insertion, EntryRemoval<K, V> removal, Comparator<? super K> comparator) {
 		this.size = 0;
 		this.root = null;
+		this.insertion = Objects.requireNonNull(insertion);
+		this.removal = Objects.requireNonNull(removal);
+		this.comparator = comparator;
+		this.intKeys = KeyComparators.asIntKeys(comparator);
+		this.longKeys = KeyComparators.asLongKeys(comparator);
+	}
+	
+	/**
+	 * Gets the comparator ordering the keys of this tree.
+	 * 
+	 * @return Comparator of the keys, or <code>null</code> if they are in their natural order.
+	 */
+	@Override
+	public Comparator<? super K> comparator() {
+		return comparator;
+	}
+	
+	/**
+	 * Turns the statistics of the operations on this tree on or off.<br>
+	 * 
+	 * While they are on, every lookup, insertion and removal adds the key comparisons, the rotations,
+	 * the recolorings, the iterations of the fix-up loops and the length of it's path down the tree
+	 * to the {@link TreeStatistics} of this tree. The insertions and the removals tally their work
+	 * only if they implement the {@link CountingOperation}. While the statistics are off, every operation
+	 * only checks that they are off.<br>
+	 * 
+	 * Turning them on starts new, empty statistics. Turning them off stops collecting them, 
+	 * and keeps the collected ones, which can be still read through {@link #getStatistics()}.
+	 * 
+	 * @param enabled Whether or not the statistics are collected.
+	 */
+	public void setStatisticsEnabled(boolean enabled) {
+		if (enabled == isStatisticsEnabled()) return;
+		
+		if (enabled) {
+			statistics = new TreeStatistics();
+			counts = new OperationCounts();
+		} else {
+			counts = null;
+		}
+		setOperationCounts(counts);
+	}
+	
+	/**
+	 * Gives the tallies to the insertion and the removal of this tree, if they are {@link CountingOperation}s.
+	 * 
+	 * @param counts Tallies of the work, or <code>null</code> to stop counting.
+	 */
+	private void setOperationCounts(OperationCounts counts) {
+		if (insertion instanceof CountingOperation) {
+			((CountingOperation) insertion).setCounts(counts);
+		}
+		if (removal instanceof CountingOperation) {
+			((CountingOperation) removal).setCounts(counts);
+		}
+	}
+	
+	/**
+	 * Checks whether or not the statistics are on (see {@link #setStatisticsEnabled(boolean)}).
+	 * 
+	 * @return <code>true</code> if the statistics are on, and <code>false</code> otherwise.
+	 */
+	public boolean isStatisticsEnabled() {
+		return counts != null;
+	}
+	
+	/**
+	 * Gets the statistics of the operations on this tree, collected since they were last turned on.
+	 * 
+	 * @return Statistics of the operations, or <code>null</code> if they were never turned on.
+	 */
+	public TreeStatistics getStatistics() {
+		return statistics;
+	}
+	
+	/**
+	 * Adds a lookup done by a subclass to the statistics, if they are on.
+	 * 
+	 * @param visited Number of the nodes visited, and compared to the key, on the way down.
+	 */
+	protected void recordLookup(int visited) {
+		if (counts != null) statistics.recordLookup(visited);
+	}
+	
+	/**
+	 * Starts tallying the work of an operation recorded as a given <code>event</code>.<br>
+	 * 
+	 * While the statistics are on, the operation tallies it's work anyway. Otherwise, it's given tallies
+	 * of it's own for the single call.
+	 * 
+	 * @param event Event of the operation, <code>null</code> if it's not recorded.
+	 * @return The same event.
+	 */
+	private TreeEvent beginCounting(TreeEvent event) {
+		if (event != null && counts == null) {
+			if (eventCounts == null) eventCounts = new OperationCounts();
+			eventCounts.reset();
+			setOperationCounts(eventCounts);
+		}
+		return event;
+	}
+	
+	/**
+	 * Commits the <code>event</code> of an insertion or a removal of a given <code>key</code>, 
+	 * if it took longer than it's threshold, and stops tallying it's work (see {@link #beginCounting(TreeEvent)}).
+	 * 
+	 * @param event Event of the operation.
+	 * @param key Key inserted or removed.
+	 */
+	private void commit(TreeEvent event, K key) {
+		boolean slow = event.stop();
+		OperationCounts tally = counts != null ? counts : eventCounts;
+		
+		if (slow) {
+			event.setTree(getClass());
+			event.setKeys(key, key);
+			event.setSize(size);
+			event.setDepth(tally.getPathLength());
+			event.setRotations(tally.getRotations());
+			event.commit();
+		}
+		if (counts == null) setOperationCounts(null);
+	}
+	
+	/**
+	 * Begins the <code>event</code> of an iteration over this tree, which the iterator commits once it runs out of entries.
+	 * 
+	 * @param event Event of the iteration, <code>null</code> if it's not recorded.
+	 * @return The same event.
+	 */
+	TreeEvent beginIteration(TreeEvent event) {
+		if (event != null) {
+			event.setTree(getClass());
+			event.setSize(size);
+		}
+		return event;
 	}
 	
 	/**
@@ -47,25 +252,32 @@ public abstract class AbstractBST<K extends Comparable<K>, V> implements SearchT
 	 * 
 	 * @return Specific {@link EntryInsertion}.
 	 */
-	protected abstract EntryInsertion<K, V> getInsertion();
+	protected EntryInsertion<K, V> getInsertion() {
+		return insertion;
+	}
 	
 	/**
 	 * Gets the concrete removal used by the {@link #remove(K)} method.
 	 * 
 	 * @return Specific {@link EntryRemoval}.
 	 */
-	protected abstract EntryRemoval<K, V> getRemoval();
+	protected EntryRemoval<K, V> getRemoval() {
+		return removal;
+	}
 	
 	@Override
 	public boolean insert(K key, V value) throws IllegalArgumentException {
 		nullCheckKey(key);
 		
-		EntryInsertion<K, V> insertion = getInsertion();
-		root = (BSTNode<K, V>) insertion.insert(key, value);
+		TreeEvent event = beginCounting(TreeEvents.beginInsert());
+		
+		root = (BSTNode<K, V>) insertion.insert(root, key, value);
 		
 		boolean inserted = insertion.isInserted();
 		
 		if (inserted) size ++;
+		if (event != null) commit(event, key);
+		if (counts != null) statistics.record(Operation.INSERT, counts);
 		
 		return inserted;
 	}
@@ -74,12 +286,15 @@ public abstract class AbstractBST<K extends Comparable<K>, V> implements SearchT
 	public V remove(K key) throws IllegalArgumentException {
 		nullCheckKey(key);
 		
-		EntryRemoval<K, V> removal = getRemoval();
-		root = (BSTNode<K, V>) removal.remove(key);
+		TreeEvent event = beginCounting(TreeEvents.beginRemove());
+		
+		root = (BSTNode<K, V>) removal.remove(root, key);
 		
 		V value = removal.getValueRemoved();
 		
 		if (value != null) size --;
+		if (event != null) commit(event, key);
+		if (counts != null) statistics.record(Operation.REMOVE, counts);
 		
 		return value;
 	}
@@ -96,7 +311,7 @@ public abstract class AbstractBST<K extends Comparable<K>, V> implements SearchT
 
 	@Override
 	public void clear() {
-		root = null;
+		replace(null, 0);
 	}
 
 	@Override
@@ -109,21 +324,66 @@ public abstract class AbstractBST<K extends Comparable<K>, V> implements SearchT
 		return getInterval(low, null);
 	}
 
+	/**
+	 * Gets a live view of the entries within the interval, which is created in constant time,
+	 * and reflects all the later changes of this tree (see {@link BSTIntervalView}).
+	 */
 	@Override
 	public SearchTree<K, V> getInterval(K low, K high) {
-		FilterTreeVisitor<K, V> v = new FilterTreeVisitor<>(low, high, this.getClass());	
-		new InOrderBSTreeTraversal<>(root, v).traverse();			
-		return v.getFiltered();
+		return new BSTIntervalView<>(this, low, high);
 	}
 
+	/**
+	 * Counts the entries with keys greater than <code>low</code> and less than <code>high</code>.<br>
+	 * 
+	 * This implementation visits every entry within the interval, and takes <code>O(log n + k)</code> time
+	 * on a balanced tree. Trees that know the sizes of their subtrees count in <code>O(log n)</code> time.
+	 * 
+	 * @param low Exclusive lower bound of the keys, <code>null</code> if there is none.
+	 * @param high Exclusive upper bound of the keys, <code>null</code> if there is none.
+	 * @return Number of entries within the interval.
+	 */
+	public int countInRange(K low, K high) {
+		int count = 0;
+		for (Iterator<Entry<K, V>> it = new BSTIterator<>(root, low, high, comparator); it.hasNext(); it.next()) {
+			count ++;
+		}
+		return count;
+	}
+
+	/**
+	 * Creates an immutable copy of this tree, laid out in a pair of arrays for the fastest lookups
+	 * (see {@link EytzingerTree}).<br>
+	 * 
+	 * The copy is ordered by the same comparator as this tree. It takes linear time,
+	 * and doesn't reflect any later change of this tree.
+	 * 
+	 * @return Immutable copy of this tree.
+	 */
+	public SearchTree<K, V> freeze() {
+		return new EytzingerTree<>(this, comparator);
+	}
+	
 	@Override
 	public String toString() {
 		return new BSTStringBuilder<>(root).build();
 	}
 
+	/**
+	 * Iterates over the entries in-order. An iteration that runs out of entries, and took longer 
+	 * than it's threshold, is recorded as a {@link TreeEvent} (see {@link TreeEvents#beginIteration()}).
+	 */
 	@Override
 	public Iterator<Entry<K, V>> iterator() {
-		return new BSTIterator<>(root);
+		return new BSTIterator<>(root, null, null, comparator, beginIteration(TreeEvents.beginIteration()));
+	}
+	
+	/**
+	 * Creates a {@link BSTSpliterator}, which splits this tree at it's root, and then at the roots of the subtrees.
+	 */
+	@Override
+	public Spliterator<Entry<K, V>> spliterator() {
+		return new BSTSpliterator<>(root, size, null, comparator);
 	}
 
 	@Override
@@ -131,10 +391,51 @@ public abstract class AbstractBST<K extends Comparable<K>, V> implements SearchT
 		return size;
 	}
 
+	/**
+	 * Gets the value for a given <code>key</code>.<br>
+	 * 
+	 * Each kind of ordering is searched by a loop of it's own, so that the comparison within every loop 
+	 * keeps calling the same code, and the JIT compiler can inline it. With an {@link IntKeyComparator} or 
+	 * a {@link LongKeyComparator}, the number the <code>key</code> is ordered by is extracted only once.
+	 */
 	@Override
 	public V get(K key) {
 		nullCheckKey(key);
-				
+		
+		BSTNode<K, V> node;
+		if (counts != null) {
+			node = findCounting(key);
+		} else if (intKeys != null) {
+			node = find(intKeys, intKeys.extract(key));
+		} else if (longKeys != null) {
+			node = find(longKeys, longKeys.extract(key));
+		} else if (comparator != null) {
+			node = find(comparator, key);
+		} else {
+			node = find(key);
+		}
+		
+		return node == null ? null : node.getValue();
+	}
+	
+	/**
+	 * Compares two keys the way this tree orders them.
+	 * 
+	 * @param a First key.
+	 * @param b Second key.
+	 * @return Negative number, zero, or a positive number, if the first key is less than, equal to, or greater than the second one.
+	 */
+	protected int compare(K a, K b) {
+		return comparator == null ? a.compareTo(b) : comparator.compare(a, b);
+	}
+	
+	/**
+	 * Finds the node with a given <code>key</code> in a tree of the naturally ordered keys.
+	 * 
+	 * @param key Key of interest.
+	 * @return Node with the <code>key</code>, or <code>null</code> if there is none.
+	 */
+	private BSTNode<K, V> find(K key) {
 		BSTNode<K, V> tmp = root;
 		
 		while (tmp != null) {
@@ -149,7 +450,7 @@ public abstract class AbstractBST<K extends Comparable<K>, V> implements SearchT
 				tmp = tmp.getLeft();
 			} else {
 				// search hit
-				return tmp.getValue();
+				return tmp;
 			}
 		}
 		
@@ -157,6 +458,105 @@ public abstract class AbstractBST<K extends Comparable<K>, V> implements SearchT
 		return null;
 	}
 	
+	/**
+	 * Finds the node with a given <code>key</code>, and adds the lookup to the statistics.
+	 * 
+	 * @param key Key of interest.
+	 * @return Node with the <code>key</code>, or <code>null</code> if there is none.
+	 */
+	private BSTNode<K, V> findCounting(K key) {
+		BSTNode<K, V> tmp = root;
+		int visited = 0;
+		
+		while (tmp != null) {
+			visited ++;
+			int compared = compare(key, tmp.getKey());
+			
+			if (compared < 0) {
+				tmp = tmp.getLeft();
+			} else if (compared > 0) {
+				tmp = tmp.getRight();
+			} else {
+				break;
+			}
+		}
+		
+		recordLookup(visited);
+		return tmp;
+	}
+	
+	/**
+	 * Finds the node with a given <code>key</code> in a tree ordered by a given <code>comparator</code>.
+	 * 
+	 * @param comparator Comparator of the keys.
+	 * @param key Key of interest.
+	 * @return Node with the <code>key</code>, or <code>null</code> if there is none.
+	 */
+	private BSTNode<K, V> find(Comparator<? super K> comparator, K key) {
+		BSTNode<K, V> tmp = root;
+		
+		while (tmp != null) {
+			int compared = comparator.compare(tmp.getKey(), key);
+			
+			if (compared < 0) {
+				tmp = tmp.getRight();
+			} else if (compared > 0) {
+				tmp = tmp.getLeft();
+			} else {
+				return tmp;
+			}
+		}
+		return null;
+	}
+	
+	/**
+	 * Finds the node of a given <code>key</code> in a tree ordered by an {@link IntKeyComparator}.
+	 * 
+	 * @param intKeys Comparator of the keys.
+	 * @param key Number the key of interest is ordered by.
+	 * @return Node of the <code>key</code>, or <code>null</code> if there is none.
+	 */
+	private BSTNode<K, V> find(IntKeyComparator<? super K> intKeys, int key) {
+		BSTNode<K, V> tmp = root;
+		
+		while (tmp != null) {
+			int compared = Integer.compare(intKeys.extract(tmp.getKey()), key);
+			
+			if (compared < 0) {
+				tmp = tmp.getRight();
+			} else if (compared > 0) {
+				tmp = tmp.getLeft();
+			} else {
+				return tmp;
+			}
+		}
+		return null;
+	}
+	
+	/**
+	 * Finds the node of a given <code>key</code> in a tree ordered by a {@link LongKeyComparator}.
+	 * 
+	 * @param longKeys Comparator of the keys.
+	 * @param key Number the key of interest is ordered by.
+	 * @return Node of the <code>key</code>, or <code>null</code> if there is none.
+	 */
+	private BSTNode<K, V> find(LongKeyComparator<? super K> longKeys, long key) {
+		BSTNode<K, V> tmp = root;
+		
+		while (tmp != null) {
+			int compared = Long.compare(longKeys.extract(tmp.getKey()), key);
+			
+			if (compared < 0) {
+				tmp = tmp.getRight();
+			} else if (compared > 0) {
+				tmp = tmp.getLeft();
+			} else {
+				return tmp;
+			}
+		}
+		return null;
+	}
+	
 	@Override
 	public int depth() {		
 		return depth(root);
@@ -177,6 +577,124 @@ public abstract class AbstractBST<K extends Comparable<K>, V> implements SearchT
 		return 1 + Math.max(depth(node.getLeft()), depth(node.getRight()));
 	}
 
+	/**
+	 * Replaces the content of this tree with the given <code>entries</code>, 
+	 * sorted by their keys in a strictly ascending order.<br>
+	 * 
+	 * Instead of inserting the entries one by one, the tree is built bottom-up in linear time, 
+	 * with no comparison other than the one checking the order of the entries. 
+	 * The built tree is perfectly balanced: all of it's levels are full, 
+	 * except maybe the lowest one (see {@link #createNode(Object, Object, BSTNode, BSTNode, boolean)}).
+	 * 
+	 * @param entries Iterator over the entries sorted by their keys.
+	 * @param size Number of entries the <code>entries</code> iterator returns.
+	 * @throws IllegalArgumentException If a key is <code>null</code>, the keys are not strictly ascending, 
+	 * or there are less than <code>size</code> entries. The tree is left unchanged in that case.
+	 */
+	public void buildFromSorted(Iterator<? extends Map.Entry<? extends K, ? extends V>> entries, int size) throws IllegalArgumentException {
+		build(new SortedSource(entries, null, null), size);
+	}
+	
+	/**
+	 * Replaces the content of this tree with the entries made of the given <code>keys</code> and <code>values</code>, 
+	 * where the keys are sorted in a strictly ascending order.<br>
+	 * 
+	 * The tree is built in linear time, the same way as it's built by {@link #buildFromSorted(Iterator, int)}.
+	 * 
+	 * @param keys Keys of the entries sorted in ascending order.
+	 * @param values Values of the entries, where <code>values[i]</code> is the value of the key <code>keys[i]</code>.
+	 * @throws IllegalArgumentException If the arrays are of different lengths, a key is <code>null</code>, 
+	 * or the keys are not strictly ascending. The tree is left unchanged in that case.
+	 */
+	public void buildFromSorted(K[] keys, V[] values) throws IllegalArgumentException {
+		if (keys.length != values.length) {
+			throw new IllegalArgumentException(String.format(
+					"There are %d keys, and %d values.", keys.length, values.length));
+		}
+		
+		build(new SortedSource(null, keys, values), keys.length);
+	}
+	
+	/**
+	 * Replaces the content of this tree with a given subtree, whose nodes are taken over by this tree.<br>
+	 * 
+	 * Every change of this tree other than an insertion or a removal of a single entry goes through this method.
+	 * 
+	 * @param root Root of the subtree, possibly <code>null</code>.
+	 * @param size Number of entries in the subtree.
+	 */
+	protected void replace(BSTNode<K, V> root, int size) {
+		this.root = root;
+		this.size = size;
+	}
+	
+	/**
+	 * Creates a node of a tree being built from the sorted entries.<br>
+	 * 
+	 * The nodes are created bottom-up, so both of the subtrees of a node already exist when it's created.
+	 * All the levels of a built tree are full, except maybe the lowest one. The nodes of that level, 
+	 * if it isn't full, are marked as <code>red</code>, which is what a <b>Red-Black Tree</b> needs 
+	 * to keep the same number of black nodes on every path. Other trees can ignore the mark.
+	 * 
+	 * @param key Key of the node.
+	 * @param value Value of the node.
+	 * @param left Root of the left subtree, possibly <code>null</code>.
+	 * @param right Root of the right subtree, possibly <code>null</code>.
+	 * @param red Whether or not the node is on the lowest level of a tree that isn't full.
+	 * @return New node.
+	 */
+	protected BSTNode<K, V> createNode(K key, V value, BSTNode<K, V> left, BSTNode<K, V> right, boolean red) {
+		BSTNode<K, V> node = new BSTNode<>(key, value);
+		node.setLeft(left);
+		node.setRight(right);
+		return node;
+	}
+	
+	/**
+	 * Replaces the content of this tree with the tree built from a given <code>source</code>.
+	 * 
+	 * @param source Source of the sorted entries.
+	 * @param size Number of entries the <code>source</code> holds.
+	 * @throws IllegalArgumentException If the <code>source</code> can't be built from.
+	 */
+	private void build(SortedSource source, int size) throws IllegalArgumentException {
+		if (size < 0) {
+			throw new IllegalArgumentException("Size should not be negative: " + size);
+		}
+		
+		// the deepest level is red, unless it's full
+		int redLevel = 0;
+		for (int m = size - 1; m >= 0; m = m / 2 - 1) {
+			redLevel ++;
+		}
+		
+		replace(build(source, 0, 0, size - 1, redLevel), size);
+	}
+	
+	/**
+	 * Recursively builds a subtree out of the entries from the <code>low</code>-th to the <code>high</code>-th one.
+	 * 
+	 * @param source Source of the sorted entries, positioned at the <code>low</code>-th entry.
+	 * @param level Level of the root of the subtree, where the root of the tree is on level <code>0</code>.
+	 * @param low Index of the first entry of the subtree.
+	 * @param high Index of the last entry of the subtree.
+	 * @param redLevel Level on which the nodes are red.
+	 * @return Root of the built subtree.
+	 */
+	private BSTNode<K, V> build(SortedSource source, int level, int low, int high, int redLevel) {
+		if (high < low) return null;
+		
+		int middle = (low + high) >>> 1;
+		
+		BSTNode<K, V> left = build(source, level + 1, low, middle - 1, redLevel);
+		source.next();
+		K key = source.key;
+		V value = source.value;
+		BSTNode<K, V> right = build(source, level + 1, middle + 1, high, redLevel);
+		
+		return createNode(key, value, left, right, level == redLevel);
+	}
+
 	/**
 	 * Checks if the given <code>key</code> is <code>null</code>.<br>
 	 * 
@@ -188,4 +706,86 @@ public abstract class AbstractBST<K extends Comparable<K>, V> implements SearchT
 			throw new IllegalArgumentException("Key should not be null.");
 		}
 	}
+	
+	/**
+	 * Source of the sorted entries a tree is built from, either an iterator or a pair of arrays.
+	 * 
+	 * @author fiilip
+	 *
+	 */
+	private class SortedSource {
+		
+		/**
+		 * Iterator over the entries, or <code>null</code> if the entries are in the arrays.
+		 */
+		private final Iterator<? extends Map.Entry<? extends K, ? extends V>> entries;
+		
+		/**
+		 * Keys of the entries.
+		 */
+		private final K[] keys;
+		
+		/**
+		 * Values of the entries.
+		 */
+		private final V[] values;
+		
+		/**
+		 * Index of the current entry.
+		 */
+		private int index = -1;
+		
+		/**
+		 * Key of the current entry.
+		 */
+		private K key;
+		
+		/**
+		 * Value of the current entry.
+		 */
+		private V value;
+		
+		/**
+		 * Creates a new instance of {@link SortedSource}.
+		 * 
+		 * @param entries Iterator over the entries, or <code>null</code> if the entries are in the arrays.
+		 * @param keys Keys of the entries.
+		 * @param values Values of the entries.
+		 */
+		SortedSource(Iterator<? extends Map.Entry<? extends K, ? extends V>> entries, K[] keys, V[] values) {
+			this.entries = entries;
+			this.keys = keys;
+			this.values = values;
+		}
+		
+		/**
+		 * Moves to the next entry, checking that it's key is greater than the key of the previous one.
+		 * 
+		 * @throws IllegalArgumentException If there is no next entry, or it's key is out of order.
+		 */
+		void next() throws IllegalArgumentException {
+			K previous = key;
+			index ++;
+			
+			if (entries == null) {
+				key = keys[index];
+				value = values[index];
+			} else {
+				if (!entries.hasNext()) {
+					throw new IllegalArgumentException("Expected more than " + index + " entries.");
+				}
+				
+				Map.Entry<? extends K, ? extends V> entry = entries.next();
+				key = entry.getKey();
+				value = entry.getValue();
+			}
+			
+			nullCheckKey(key);
+			
+			if (previous != null && compare(previous, key) >= 0) {
+				throw new IllegalArgumentException(String.format(
+						"Keys should be strictly ascending, but %s comes after %s.", key, previous));
+			}
+		}
+	}
 }
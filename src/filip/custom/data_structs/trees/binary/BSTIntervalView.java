@@ -0,0 +1,220 @@
+package filip.custom.data_structs.trees.binary;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+
+import filip.custom.data_structs.trees.SearchTree;
+import filip.custom.data_structs.trees.binary.iterators.BSTIterator;
+import filip.custom.data_structs.trees.events.TreeEvents;
+
+/**
+ * A live view of the entries of an {@link AbstractBST} with keys greater than <code>low</code>
+ * and less than <code>high</code>.<br>
+ * 
+ * The view holds no entries of it's own, so creating it takes constant time, and all the changes
+ * of the viewed tree are visible through it right away. The lookups take <code>O(log n)</code> time,
+ * while the iteration and {@link #clear()} visit only the <code>O(log n + k)</code> nodes 
+ * on the path to the interval and within it. {@link #size()} takes as long as counting the entries 
+ * within the interval takes for the viewed tree.<br>
+ * 
+ * Entries can be inserted through the view only if their keys are within the interval.
+ * 
+ * @author fiilip
+ *
+ * @param <K> Type of keys stored in the viewed tree.
+ * @param <V> Type of values stored in the viewed tree.
+ */
+class BSTIntervalView<K extends Comparable<K>, V> implements SearchTree<K, V> {
+	
+	/**
+	 * Tree being viewed.
+	 */
+	private final AbstractBST<K, V> tree;
+	
+	/**
+	 * Exclusive lower bound of the keys, <code>null</code> if there is none.
+	 */
+	private final K low;
+	
+	/**
+	 * Exclusive upper bound of the keys, <code>null</code> if there is none.
+	 */
+	private final K high;
+	
+	/**
+	 * Creates a new instance of {@link BSTIntervalView}.
+	 * 
+	 * @param tree Tree being viewed.
+	 * @param low Exclusive lower bound of the keys, <code>null</code> if there is none.
+	 * @param high Exclusive upper bound of the keys, <code>null</code> if there is none.
+	 */
+	BSTIntervalView(AbstractBST<K, V> tree, K low, K high) {
+		this.tree = tree;
+		this.low = low;
+		this.high = high;
+	}
+
+	/**
+	 * @throws IllegalArgumentException If the <code>key</code> is <code>null</code>, or out of the interval.
+	 */
+	@Override
+	public boolean insert(K key, V value) throws IllegalArgumentException {
+		if (!inRange(key)) {
+			throw new IllegalArgumentException("Key is out of the interval: " + key);
+		}
+		return tree.insert(key, value);
+	}
+
+	@Override
+	public V remove(K key) throws IllegalArgumentException {
+		return inRange(key) ? tree.remove(key) : null;
+	}
+
+	@Override
+	public boolean contains(K key) throws IllegalArgumentException {
+		return inRange(key) && tree.contains(key);
+	}
+	
+	@Override
+	public V get(K key) throws IllegalArgumentException {
+		return inRange(key) ? tree.get(key) : null;
+	}
+
+	/**
+	 * Checks whether there are no entries within the interval, by a single descent towards the least key 
+	 * greater than <code>low</code>, which stops at the first node within the interval.
+	 */
+	@Override
+	public boolean isEmpty() {
+		BSTNode<K, V> node = tree.root;
+		
+		while (node != null) {
+			if (low != null && tree.compare(node.getKey(), low) <= 0) {
+				node = node.getRight();
+			} else if (high != null && tree.compare(node.getKey(), high) >= 0) {
+				node = node.getLeft();
+			} else {
+				return false;
+			}
+		}
+		
+		return true;
+	}
+
+	/**
+	 * Removes all the entries within the interval from the viewed tree.
+	 */
+	@Override
+	public void clear() {
+		List<K> keys = new ArrayList<>();
+		iterator().forEachRemaining(e -> keys.add(e.getKey()));
+		keys.forEach(tree::remove);
+	}
+
+	@Override
+	public SearchTree<K, V> getGreaterThan(K toCompare) {
+		return getInterval(toCompare, null);
+	}
+
+	@Override
+	public SearchTree<K, V> getLessThan(K toCompare) {
+		return getInterval(null, toCompare);
+	}
+
+	/**
+	 * Gets a view of the entries within both this interval, and the given one.
+	 */
+	@Override
+	public SearchTree<K, V> getInterval(K fromKey, K toKey) {
+		K narrowLow = low == null || (fromKey != null && tree.compare(fromKey, low) > 0) ? fromKey : low;
+		K narrowHigh = high == null || (toKey != null && tree.compare(toKey, high) < 0) ? toKey : high;
+		
+		return new BSTIntervalView<>(tree, narrowLow, narrowHigh);
+	}
+
+	/**
+	 * Gets the comparator of the viewed tree, so that the spliterator of this view is sorted the same way.
+	 */
+	@Override
+	public Comparator<? super K> comparator() {
+		return tree.comparator();
+	}
+
+	/**
+	 * Counts the entries within the interval (see {@link AbstractBST#countInRange(Comparable, Comparable)}).
+	 */
+	@Override
+	public int size() {
+		return tree.countInRange(low, high);
+	}
+
+	/**
+	 * Gets the depth of the nodes within the interval, which is the depth the viewed tree would have,
+	 * if all the nodes out of the interval were spliced out of it.<br>
+	 * 
+	 * Only the <code>O(log n + k)</code> nodes on the paths to the interval and within it are visited.
+	 */
+	@Override
+	public int depth() {
+		return depth(tree.root);
+	}
+	
+	/**
+	 * Calculates the depth of the nodes within the interval, of a subtree rooted at a given <code>node</code>.<br>
+	 * 
+	 * A node out of the interval isn't counted, and only it's child towards the interval is visited.
+	 * 
+	 * @param node Root of the subtree, possibly <code>null</code>.
+	 * @return Depth of the nodes within the interval.
+	 */
+	private int depth(BSTNode<K, V> node) {
+		if (node == null) {
+			return 0;
+		}
+		if (low != null && tree.compare(node.getKey(), low) <= 0) {
+			return depth(node.getRight());
+		}
+		if (high != null && tree.compare(node.getKey(), high) >= 0) {
+			return depth(node.getLeft());
+		}
+		
+		return 1 + Math.max(depth(node.getLeft()), depth(node.getRight()));
+	}
+
+	@Override
+	public Iterator<Entry<K, V>> iterator() {
+		return new BSTIterator<>(tree.root, low, high, tree.comparator(), tree.beginIteration(TreeEvents.beginInterval()));
+	}
+	
+	/**
+	 * Lists the entries within the interval in-order, since the view has no shape to print.
+	 */
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder("[");
+		
+		for (Iterator<Entry<K, V>> it = iterator(); it.hasNext(); ) {
+			builder.append(it.next());
+			if (it.hasNext()) builder.append(", ");
+		}
+		
+		return builder.append(']').toString();
+	}
+	
+	/**
+	 * Checks whether a given <code>key</code> is within the interval.
+	 * 
+	 * @param key Key of interest.
+	 * @return <code>true</code> if the <code>key</code> is within the interval, and <code>false</code> otherwise.
+	 * @throws IllegalArgumentException if a given <code>key</code> is <code>null</code>.
+	 */
+	private boolean inRange(K key) throws IllegalArgumentException {
+		if (key == null) {
+			throw new IllegalArgumentException("Key should not be null.");
+		}
+		
+		return (low == null || tree.compare(key, low) > 0) && (high == null || tree.compare(key, high) < 0);
+	}
+}
@@ -1,10 +1,10 @@
 package filip.custom.data_structs.trees.binary;
 
+import java.util.Comparator;
+
 import filip.custom.data_structs.trees.SearchTree;
 import filip.custom.data_structs.trees.binary.oper.insert.BSTInsertion;
 import filip.custom.data_structs.trees.binary.oper.remove.BSTRecRemoval;
-import filip.custom.data_structs.trees.operations.EntryInsertion;
-import filip.custom.data_structs.trees.operations.EntryRemoval;
 
 /**
  * This class represents any <b>Binary Search Tree</b>.<br>
@@ -23,13 +23,22 @@ import filip.custom.data_structs.trees.operations.EntryRemoval;
  */
 public class BinarySearchTree<K extends Comparable<K>, V> extends AbstractBST<K, V>  {
 	
-	@Override
-	protected EntryInsertion<K, V> getInsertion() {
-		return new BSTInsertion<>(root);
+	/**
+	 * Creates a new, empty instance of {@link BinarySearchTree}.
+	 */
+	public BinarySearchTree() {
+		this(null);
 	}
-
-	@Override
-	protected EntryRemoval<K, V> getRemoval() {
-		return new BSTRecRemoval<>(root);
+	
+	/**
+	 * Creates a new, empty instance of {@link BinarySearchTree}, ordered by a given <code>comparator</code>.<br>
+	 * 
+	 * As for the {@link filip.custom.data_structs.trees.binary.red_black.RedBlackTree}, <code>Comparator.reverseOrder()</code>
+	 * needs a type witness, eg. <code>Comparator.&lt;Integer&gt;reverseOrder()</code>.
+	 * 
+	 * @param comparator Comparator of the keys, <code>null</code> for their natural order.
+	 */
+	public BinarySearchTree(Comparator<? super K> comparator) {
+		super(new BSTInsertion<K, V>(comparator), new BSTRecRemoval<K, V>(comparator), comparator);
 	}
 }
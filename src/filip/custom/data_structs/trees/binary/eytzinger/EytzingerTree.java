@@ -0,0 +1,412 @@
+package filip.custom.data_structs.trees.binary.eytzinger;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import filip.custom.data_structs.trees.SearchTree;
+import filip.custom.data_structs.trees.binary.AbstractBST;
+import filip.custom.data_structs.trees.comparators.KeyComparators;
+
+/**
+ * An immutable <b>Binary Search Tree</b> stored in the <i>Eytzinger</i> layout, ie. in the breadth-first order
+ * of a complete binary tree, in which the children of the node at index <code>k</code> are at the indices
+ * <code>2k</code> and <code>2k + 1</code>, and the root is at index <code>1</code>.<br>
+ *
+ * There are no node objects and no links: the keys and the values are held in two arrays, and a lookup
+ * computes the next index instead of loading it. The top levels of the tree are packed into the first few
+ * cache lines, which every lookup shares, and the <code>16</code> descendants four levels below a node are
+ * adjacent, so the hardware prefetcher loads the keys ahead of the descent. The descent itself never leaves
+ * the loop early, which keeps it's only branch predictable; the key is compared for equality just once, at the end.<br>
+ *
+ * A tree is created from any other tree (see {@link AbstractBST#freeze()}), and never changes afterwards.
+ * All of the methods changing it throw an {@link UnsupportedOperationException}.
+ *
+ * @author fiilip
+ *
+ * @param <K> Type of keys stored in this tree.
+ * @param <V> Type of values stored in this tree.
+ */
+public class EytzingerTree<K extends Comparable<K>, V> implements SearchTree<K, V> {
+
+	/**
+	 * Keys in the Eytzinger order; index <code>0</code> is unused.
+	 */
+	private final Object[] keys;
+	
+	/**
+	 * Values of the keys at the same indices.
+	 */
+	private final Object[] values;
+	
+	/**
+	 * Number of entries of this tree.
+	 */
+	private final int size;
+	
+	/**
+	 * Comparator of the keys, <code>null</code> for their natural order.
+	 */
+	private final Comparator<? super K> comparator;
+	
+	/**
+	 * Creates a new, immutable copy of a given <code>tree</code>, ordered by the natural order of it's keys.
+	 * 
+	 * @param tree Tree being copied.
+	 */
+	public EytzingerTree(SearchTree<K, V> tree) {
+		this(tree, null);
+	}
+	
+	/**
+	 * Creates a new, immutable copy of a given <code>tree</code>, ordered by a given <code>comparator</code>,
+	 * which must be the comparator the <code>tree</code> itself is ordered by.
+	 * 
+	 * @param tree Tree being copied.
+	 * @param comparator Comparator of the keys, <code>null</code> for their natural order.
+	 */
+	public EytzingerTree(SearchTree<K, V> tree, Comparator<? super K> comparator) {
+		this(tree.iterator(), tree.size(), comparator);
+	}
+	
+	/**
+	 * Creates a new, immutable tree of the given entries, sorted by their keys in a strictly ascending order.
+	 * 
+	 * @param entries Iterator over the sorted entries.
+	 * @param size Number of entries the <code>entries</code> iterator returns.
+	 * @param comparator Comparator of the keys, <code>null</code> for their natural order.
+	 */
+	private EytzingerTree(Iterator<Entry<K, V>> entries, int size, Comparator<? super K> comparator) {
+		this.keys = new Object[size + 1];
+		this.values = new Object[size + 1];
+		this.size = size;
+		this.comparator = comparator;
+		
+		// an in-order walk of the implicit tree visits the indices in the order of the keys
+		for (int k = first(); k != 0; k = successor(k)) {
+			Entry<K, V> entry = entries.next();
+			keys[k] = entry.getKey();
+			values[k] = entry.getValue();
+		}
+	}
+	
+	/**
+	 * Always throws an {@link UnsupportedOperationException}, as this tree is immutable.
+	 */
+	@Override
+	public boolean insert(K key, V value) throws IllegalArgumentException {
+		throw new UnsupportedOperationException("Frozen tree can't be changed.");
+	}
+	
+	/**
+	 * Always throws an {@link UnsupportedOperationException}, as this tree is immutable.
+	 */
+	@Override
+	public V remove(K key) throws IllegalArgumentException {
+		throw new UnsupportedOperationException("Frozen tree can't be changed.");
+	}
+	
+	@Override
+	public boolean contains(K key) throws IllegalArgumentException {
+		return find(key) != 0;
+	}
+	
+	@Override
+	public boolean isEmpty() {
+		return size == 0;
+	}
+	
+	/**
+	 * Always throws an {@link UnsupportedOperationException}, as this tree is immutable.
+	 */
+	@Override
+	public void clear() {
+		throw new UnsupportedOperationException("Frozen tree can't be changed.");
+	}
+	
+	@Override
+	public SearchTree<K, V> getGreaterThan(K toCompare) {
+		return getInterval(toCompare, null);
+	}
+	
+	@Override
+	public SearchTree<K, V> getLessThan(K toCompare) {
+		return getInterval(null, toCompare);
+	}
+	
+	/**
+	 * Gets an immutable copy of the entries within the interval.
+	 */
+	@Override
+	public SearchTree<K, V> getInterval(K fromKey, K toKey) {
+		List<Entry<K, V>> entries = new ArrayList<>();
+		
+		int k = fromKey == null ? first() : higher(fromKey);
+		for (; k != 0 && (toKey == null || compare(key(k), toKey) < 0); k = successor(k)) {
+			entries.add(new IndexEntry(k));
+		}
+		return new EytzingerTree<>(entries.iterator(), entries.size(), comparator);
+	}
+	
+	/**
+	 * Gets the comparator ordering the keys of this tree.
+	 * 
+	 * @return Comparator of the keys, or <code>null</code> if they are in their natural order.
+	 */
+	@Override
+	public Comparator<? super K> comparator() {
+		return comparator;
+	}
+	
+	@Override
+	public int size() {
+		return size;
+	}
+	
+	@Override
+	public V get(K key) throws IllegalArgumentException {
+		int k = find(key);
+		return k == 0 ? null : value(k);
+	}
+	
+	/**
+	 * Gets the depth of this tree, which is the least depth of a binary tree of it's size.
+	 */
+	@Override
+	public int depth() {
+		return 32 - Integer.numberOfLeadingZeros(size);
+	}
+	
+	/**
+	 * Iterates over the entries in-order. The returned entries are immutable.
+	 */
+	@Override
+	public Iterator<Entry<K, V>> iterator() {
+		return new Iterator<Entry<K, V>>() {
+			
+			/**
+			 * Index returned by the next call to {@link #next()}.
+			 */
+			private int next = first();
+			
+			@Override
+			public boolean hasNext() {
+				return next != 0;
+			}
+			
+			@Override
+			public Entry<K, V> next() {
+				if (next == 0) throw new NoSuchElementException("No more elements in a tree.");
+				
+				int k = next;
+				next = successor(k);
+				return new IndexEntry(k);
+			}
+		};
+	}
+	
+	@Override
+	public String toString() {
+		if (size == 0) return "(empty)";
+		
+		StringBuilder builder = new StringBuilder();
+		build(builder, 1, "", true);
+		return builder.toString();
+	}
+	
+	/**
+	 * Builds a textual representation of a tree, in the same format as the other trees of this library.
+	 * 
+	 * @param builder Builder the text is appended to.
+	 * @param k Index currently being added to the string being built.
+	 * @param prefix String that is built until the moment of calling.
+	 * @param isTail Whether or not the current index should be printed as tail.
+	 */
+	private void build(StringBuilder builder, int k, String prefix, boolean isTail) {
+		builder.append(prefix).append(isTail ? "└── " : "├── ")
+			.append('(').append(keys[k]).append(", ").append(values[k]).append(')')
+			.append(System.lineSeparator());
+		
+		int left = 2 * k;
+		int right = left + 1;
+		
+		if (left <= size) build(builder, left, prefix + (isTail ? "    " : "│   "), right > size);
+		if (right <= size) build(builder, right, prefix + (isTail ? "    " : "│   "), true);
+	}
+	
+	/**
+	 * Finds the index of a given <code>key</code>.<br>
+	 * 
+	 * The descent goes right whenever the <code>key</code> is greater than the key of the current index,
+	 * all the way down to the bottom of the tree. The bits of the final index record the turns taken, so
+	 * the last left turn, which was taken at the least key not less than the <code>key</code>, is found by
+	 * stripping the trailing right turns.
+	 * 
+	 * @param key Key being searched for.
+	 * @return Index of the <code>key</code> if such exists, and <code>0</code> otherwise.
+	 * @throws IllegalArgumentException If the <code>key</code> is <code>null</code>.
+	 */
+	private int find(K key) throws IllegalArgumentException {
+		nullCheckKey(key);
+		
+		Object[] keys = this.keys;
+		int n = size;
+		int k = 1;
+		
+		while (k <= n) {
+			k = 2 * k + (compare(key, key(keys[k])) > 0 ? 1 : 0);
+		}
+		k >>>= Integer.numberOfTrailingZeros(~k) + 1;
+		
+		return k != 0 && compare(key, key(keys[k])) == 0 ? k : 0;
+	}
+	
+	/**
+	 * Finds the index of the least key greater than a given <code>key</code>, the same way as {@link #find(Comparable)}.
+	 * 
+	 * @param key Key of interest.
+	 * @return Index of the least key greater than the <code>key</code>, or <code>0</code> if there is no such key.
+	 */
+	private int higher(K key) {
+		int k = 1;
+		
+		while (k <= size) {
+			k = 2 * k + (compare(key, key(keys[k])) >= 0 ? 1 : 0);
+		}
+		return k >>> (Integer.numberOfTrailingZeros(~k) + 1);
+	}
+	
+	/**
+	 * Finds the index of the least key, ie. the left-most index.
+	 * 
+	 * @return Index of the least key, or <code>0</code> if this tree is empty.
+	 */
+	private int first() {
+		if (size == 0) return 0;
+		
+		int k = 1;
+		while (2 * k <= size) k *= 2;
+		return k;
+	}
+	
+	/**
+	 * Finds the in-order successor of a given index <code>k</code>.
+	 * 
+	 * @param k Index of interest.
+	 * @return Index of the next greater key, or <code>0</code> if <code>k</code> holds the greatest one.
+	 */
+	private int successor(int k) {
+		if (2 * k + 1 <= size) {
+			// the left-most index of the right subtree
+			k = 2 * k + 1;
+			while (2 * k <= size) k *= 2;
+			return k;
+		}
+		
+		// climb while coming from the right, and once more
+		return k >>> (Integer.numberOfTrailingZeros(~k) + 1);
+	}
+	
+	/**
+	 * Compares two keys in the order of this tree.
+	 * 
+	 * @param a First key.
+	 * @param b Second key.
+	 * @return Negative number, zero, or positive number if <code>a</code> is less than, equal to, or greater than <code>b</code>.
+	 */
+	private int compare(K a, K b) {
+		return KeyComparators.compare(comparator, a, b);
+	}
+	
+	/**
+	 * Gets the key stored at a given index <code>k</code>.
+	 * 
+	 * @param k Index of interest.
+	 * @return Key stored at the index.
+	 */
+	private K key(int k) {
+		return key(keys[k]);
+	}
+	
+	/**
+	 * Casts a stored key.
+	 * 
+	 * @param key Key of interest.
+	 * @return The same key.
+	 */
+	@SuppressWarnings("unchecked")
+	private K key(Object key) {
+		return (K) key;
+	}
+	
+	/**
+	 * Gets the value stored at a given index <code>k</code>.
+	 * 
+	 * @param k Index of interest.
+	 * @return Value stored at the index.
+	 */
+	@SuppressWarnings("unchecked")
+	private V value(int k) {
+		return (V) values[k];
+	}
+	
+	/**
+	 * Checks if the given <code>key</code> is <code>null</code>.<br>
+	 * 
+	 * @param key Key of interest.
+	 * @throws IllegalArgumentException if a given <code>key</code> is <code>null</code>.
+	 */
+	private void nullCheckKey(K key) throws IllegalArgumentException {
+		if (key == null) {
+			throw new IllegalArgumentException("Key should not be null.");
+		}
+	}
+	
+	/**
+	 * Immutable {@link SearchTree.Entry} that views a single index of this tree.
+	 * 
+	 * @author fiilip
+	 * 
+	 */
+	private class IndexEntry implements Entry<K, V> {
+		
+		/**
+		 * Index being viewed.
+		 */
+		private final int index;
+		
+		/**
+		 * Creates a new instance of {@link IndexEntry}.
+		 * 
+		 * @param index Index being viewed.
+		 */
+		IndexEntry(int index) {
+			this.index = index;
+		}
+		
+		@Override
+		public K getKey() {
+			return key(index);
+		}
+		
+		@Override
+		public V getValue() {
+			return value(index);
+		}
+		
+		/**
+		 * Always throws an {@link UnsupportedOperationException}, as a frozen tree is immutable.
+		 */
+		@Override
+		public void setValue(V value) {
+			throw new UnsupportedOperationException("Frozen tree can't be changed.");
+		}
+		
+		@Override
+		public String toString() {
+			return "(" + keys[index] + ", " + values[index] + ")";
+		}
+	}
+}
@@ -1,16 +1,23 @@
 package filip.custom.data_structs.trees.binary.iterators;
 
+import java.util.Comparator;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
-import java.util.Objects;
 import java.util.Stack;
 
 import filip.custom.data_structs.trees.SearchTree;
 import filip.custom.data_structs.trees.binary.BSTNode;
 import filip.custom.data_structs.trees.binary.BinarySearchTree;
+import filip.custom.data_structs.trees.comparators.KeyComparators;
+import filip.custom.data_structs.trees.events.TreeEvent;
 
 /**
- * Iterates over the {@link BinarySearchTree} in-order.
+ * Iterates over the {@link BinarySearchTree} in-order, optionally only over the keys within an interval.<br>
+ * 
+ * Only the nodes on the path to the first key of the interval, and the nodes within the interval are visited,
+ * so iterating over <code>k</code> entries of a balanced tree takes <code>O(log n + k)</code> time.<br>
+ * 
+ * An iterator given a {@link TreeEvent} commits it once it runs out of entries, if it took long enough.
  * 
  * @author fiilip
  *
@@ -25,18 +32,93 @@ public class BSTIterator<K extends Comparable<K>, V> implements Iterator<SearchT
 	private final Stack<BSTNode<K, V>> stack;
 	
 	/**
-	 * Creates a new instance of {@link BSTIterator}.
+	 * Exclusive lower bound of the keys, <code>null</code> if there is none.
+	 */
+	private final K low;
+	
+	/**
+	 * Exclusive upper bound of the keys, <code>null</code> if there is none.
+	 */
+	private final K high;
+	
+	/**
+	 * Comparator of the keys, <code>null</code> for their natural order.
+	 */
+	private final Comparator<? super K> comparator;
+	
+	/**
+	 * Event of this iteration, <code>null</code> if it's not recorded, or was already stopped.
+	 */
+	private TreeEvent event;
+	
+	/**
+	 * Number of entries returned so far.
+	 */
+	private int returned;
+	
+	/**
+	 * Creates a new instance of {@link BSTIterator} over all the entries of a tree.
+	 * 
+	 * @param root Root of the tree, possibly <code>null</code> if the tree is empty.
 	 */
 	public BSTIterator(BSTNode<K, V> root) {
-		Objects.requireNonNull(root);
+		this(root, null, null);
+	}
+	
+	/**
+	 * Creates a new instance of {@link BSTIterator} over the entries of a tree 
+	 * with keys greater than <code>low</code> and less than <code>high</code>.
+	 * 
+	 * @param root Root of the tree, possibly <code>null</code> if the tree is empty.
+	 * @param low Exclusive lower bound of the keys, <code>null</code> if there is none.
+	 * @param high Exclusive upper bound of the keys, <code>null</code> if there is none.
+	 */
+	public BSTIterator(BSTNode<K, V> root, K low, K high) {
+		this(root, low, high, null);
+	}
+	
+	/**
+	 * Creates a new instance of {@link BSTIterator} over the entries of a tree ordered by a given <code>comparator</code>,
+	 * with keys greater than <code>low</code> and less than <code>high</code>.
+	 * 
+	 * @param root Root of the tree, possibly <code>null</code> if the tree is empty.
+	 * @param low Exclusive lower bound of the keys, <code>null</code> if there is none.
+	 * @param high Exclusive upper bound of the keys, <code>null</code> if there is none.
+	 * @param comparator Comparator of the keys, <code>null</code> for their natural order.
+	 */
+	public BSTIterator(BSTNode<K, V> root, K low, K high, Comparator<? super K> comparator) {
+		this(root, low, high, comparator, null);
+	}
+	
+	/**
+	 * Creates a new instance of {@link BSTIterator} over the entries of a tree ordered by a given <code>comparator</code>,
+	 * with keys greater than <code>low</code> and less than <code>high</code>, which commits a begun <code>event</code>
+	 * once it runs out of entries.
+	 * 
+	 * @param root Root of the tree, possibly <code>null</code> if the tree is empty.
+	 * @param low Exclusive lower bound of the keys, <code>null</code> if there is none.
+	 * @param high Exclusive upper bound of the keys, <code>null</code> if there is none.
+	 * @param comparator Comparator of the keys, <code>null</code> for their natural order.
+	 * @param event Event of the iteration, <code>null</code> if it's not recorded.
+	 */
+	public BSTIterator(BSTNode<K, V> root, K low, K high, Comparator<? super K> comparator, TreeEvent event) {
 		this.stack = new Stack<>();
+		this.low = low;
+		this.high = high;
+		this.comparator = comparator;
+		this.event = event;
 		
-		pushAll(root);
+		pushFrom(root, low);
 	}
 	
 	@Override
 	public boolean hasNext() {
-		return !stack.isEmpty();
+		if (!stack.isEmpty() && (high == null || KeyComparators.compare(comparator, stack.peek().getKey(), high) < 0)) {
+			return true;
+		}
+		
+		if (event != null) commit();
+		return false;
 	}
 
 	@Override
@@ -45,10 +127,54 @@ public class BSTIterator<K extends Comparable<K>, V> implements Iterator<SearchT
 		
 		BSTNode<K, V> node = stack.pop();
 		pushAll(node.getRight());
+		returned ++;
 		return node;
 	}
+	
+	/**
+	 * Commits the event of this iteration, if it took longer than it's threshold, and forgets it.
+	 */
+	private void commit() {
+		TreeEvent event = this.event;
+		this.event = null;
+		
+		if (event.stop()) {
+			event.setKeys(low, high);
+			event.setEntries(returned);
+			event.commit();
+		}
+	}
 
+	/**
+	 * Pushes the nodes on the path from the <code>root</code> to the least key greater than <code>low</code>,
+	 * that are greater than <code>low</code> themselves.
+	 * 
+	 * @param node Root of the tree, possibly <code>null</code>.
+	 * @param low Exclusive lower bound of the keys, <code>null</code> if there is none.
+	 */
+	private void pushFrom(BSTNode<K, V> node, K low) {
+		if (low == null) {
+			pushAll(node);
+			return;
+		}
+		
+		while (node != null) {
+			if (KeyComparators.compare(comparator, node.getKey(), low) <= 0) {
+				// the node and it's left subtree are out of the interval
+				node = node.getRight();
+			} else {
+				stack.push(node);
+				node = node.getLeft();
+			}
+		}
+	}
+	
+	/**
+	 * Pushes the leftmost path of a subtree rooted at a given <code>node</code> to the stack.
+	 * 
+	 * @param node Root of the subtree, possibly <code>null</code>.
+	 */
 	private void pushAll(BSTNode<K, V> node) {
-        for (; node != null; stack.push(node), node = node.getLeft());
-    }
+		for (; node != null; stack.push(node), node = node.getLeft());
+	}
 }
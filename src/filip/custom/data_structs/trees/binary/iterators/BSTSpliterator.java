@@ -0,0 +1,228 @@
+package filip.custom.data_structs.trees.binary.iterators;
+
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.ToIntFunction;
+
+import filip.custom.data_structs.trees.SearchTree;
+import filip.custom.data_structs.trees.binary.BSTNode;
+import filip.custom.data_structs.trees.comparators.KeyComparators;
+
+/**
+ * A {@link Spliterator} over the entries of a <b>Binary Search Tree</b> in-order, 
+ * which splits by descending into the subtrees.<br>
+ * 
+ * The remaining entries are held the same way as by {@link BSTIterator}: a stack of the nodes, each of which is 
+ * followed by it's right subtree. A split hands the nodes above the bottom one over to a new spliterator, 
+ * which leaves the bottom node and it's right subtree to this one, and the first split of a tree thus
+ * splits it at the root. When the bottom node is the only one, it's right subtree is split between the two
+ * spliterators at the root of that subtree, and a <code>fence</code> node marks where the new spliterator ends.<br>
+ * 
+ * If the nodes know the sizes of their subtrees, every split knows it's exact size,
+ * and this spliterator is {@link #SUBSIZED}. Otherwise, only the spliterator of a whole tree is {@link #SIZED},
+ * and the splits estimate their sizes by halving it.
+ * 
+ * @author fiilip
+ *
+ * @param <K> Type of keys stored in a tree.
+ * @param <V> Type of values stored in a tree.
+ */
+public class BSTSpliterator<K extends Comparable<K>, V> implements Spliterator<SearchTree.Entry<K, V>> {
+	
+	/**
+	 * Nodes left to visit, each followed by it's right subtree, with the next one on top.
+	 */
+	private final Deque<BSTNode<K, V>> stack;
+	
+	/**
+	 * Sizes of the subtrees, <code>null</code> if the nodes don't know them.
+	 */
+	private final ToIntFunction<BSTNode<K, V>> sizes;
+	
+	/**
+	 * Comparator of the keys, <code>null</code> for their natural order.
+	 */
+	private final Comparator<? super K> comparator;
+	
+	/**
+	 * First node after the entries of this spliterator, which ends a subtree early, <code>null</code> if there is none.
+	 */
+	private BSTNode<K, V> fence;
+	
+	/**
+	 * Number of the remaining entries, exact if this spliterator is {@link #SIZED}, and estimated otherwise.
+	 */
+	private long size;
+	
+	/**
+	 * Whether or not the <code>size</code> is exact.
+	 */
+	private boolean exact;
+	
+	/**
+	 * Creates a new instance of {@link BSTSpliterator} over all the entries of a tree.
+	 * 
+	 * @param root Root of the tree, possibly <code>null</code> if the tree is empty.
+	 * @param size Number of entries in the tree.
+	 * @param sizes Sizes of the subtrees, <code>null</code> if the nodes don't know them.
+	 */
+	public BSTSpliterator(BSTNode<K, V> root, int size, ToIntFunction<BSTNode<K, V>> sizes) {
+		this(root, size, sizes, null);
+	}
+	
+	/**
+	 * Creates a new instance of {@link BSTSpliterator} over all the entries of a tree ordered by a given <code>comparator</code>.
+	 * 
+	 * @param root Root of the tree, possibly <code>null</code> if the tree is empty.
+	 * @param size Number of entries in the tree.
+	 * @param sizes Sizes of the subtrees, <code>null</code> if the nodes don't know them.
+	 * @param comparator Comparator of the keys, <code>null</code> for their natural order.
+	 */
+	public BSTSpliterator(BSTNode<K, V> root, int size, ToIntFunction<BSTNode<K, V>> sizes, Comparator<? super K> comparator) {
+		this(new ArrayDeque<>(), null, size, true, sizes, comparator);
+		pushAll(root);
+	}
+	
+	/**
+	 * Creates a new instance of {@link BSTSpliterator} split off another one.
+	 * 
+	 * @param stack Nodes left to visit.
+	 * @param fence First node after the entries of the spliterator.
+	 * @param size Number of the remaining entries.
+	 * @param exact Whether or not the <code>size</code> is exact.
+	 * @param sizes Sizes of the subtrees.
+	 * @param comparator Comparator of the keys.
+	 */
+	private BSTSpliterator(Deque<BSTNode<K, V>> stack, BSTNode<K, V> fence, long size, boolean exact, 
+			ToIntFunction<BSTNode<K, V>> sizes, Comparator<? super K> comparator) {
+		this.stack = stack;
+		this.fence = fence;
+		this.size = size;
+		this.exact = exact;
+		this.sizes = sizes;
+		this.comparator = comparator;
+	}
+	
+	@Override
+	public boolean tryAdvance(Consumer<? super SearchTree.Entry<K, V>> action) {
+		if (stack.isEmpty()) return false;
+		
+		BSTNode<K, V> node = stack.pop();
+		pushAll(node.getRight());
+		if (size > 0) size --;
+		
+		action.accept(node);
+		return true;
+	}
+	
+	@Override
+	public void forEachRemaining(Consumer<? super SearchTree.Entry<K, V>> action) {
+		while (!stack.isEmpty()) {
+			BSTNode<K, V> node = stack.pop();
+			pushAll(node.getRight());
+			action.accept(node);
+		}
+		size = 0;
+	}
+	
+	@Override
+	public Spliterator<SearchTree.Entry<K, V>> trySplit() {
+		if (stack.isEmpty()) return null;
+		
+		BSTNode<K, V> bottom = stack.peekLast();
+		
+		if (stack.size() > 1) {
+			// the nodes above the bottom one, and their right subtrees, all precede the bottom node
+			Deque<BSTNode<K, V>> prefix = new ArrayDeque<>(stack);
+			prefix.pollLast();
+			
+			stack.clear();
+			stack.push(bottom);
+			
+			return split(prefix, null, bottom.getRight());
+		}
+		
+		// the right subtree of the only node ends at the fence, if the fence is on it's leftmost path
+		BSTNode<K, V> subtree = bottom.getRight();
+		for (BSTNode<K, V> tmp = subtree; tmp != null; tmp = tmp.getLeft()) {
+			if (tmp == fence) {
+				subtree = fence.getLeft();
+				break;
+			}
+		}
+		if (subtree == null) return null;
+		
+		// the new spliterator gets the bottom node and the left subtree of the split one
+		Deque<BSTNode<K, V>> prefix = new ArrayDeque<>();
+		prefix.push(bottom);
+		
+		stack.clear();
+		stack.push(subtree);
+		
+		return split(prefix, subtree, subtree.getRight());
+	}
+	
+	@Override
+	public long estimateSize() {
+		return size;
+	}
+	
+	@Override
+	public int characteristics() {
+		return ORDERED | SORTED | DISTINCT | NONNULL | (exact ? SIZED : 0) | (sizes != null ? SUBSIZED : 0);
+	}
+	
+	/**
+	 * Orders the entries by their keys, the same way as the tree does.
+	 */
+	@Override
+	public Comparator<? super SearchTree.Entry<K, V>> getComparator() {
+		return (a, b) -> KeyComparators.compare(comparator, a.getKey(), b.getKey());
+	}
+	
+	/**
+	 * Creates a new spliterator over the first part of the entries of this one, and updates the size of this one.
+	 * 
+	 * @param prefix Nodes left to visit by the new spliterator.
+	 * @param prefixFence First node after the entries of the new spliterator.
+	 * @param right Right subtree of the only node left to this spliterator.
+	 * @return New spliterator.
+	 */
+	private BSTSpliterator<K, V> split(Deque<BSTNode<K, V>> prefix, BSTNode<K, V> prefixFence, BSTNode<K, V> right) {
+		BSTSpliterator<K, V> split;
+		
+		if (exact && sizes != null) {
+			long remaining = 1 + sizes.applyAsInt(right);
+			split = new BSTSpliterator<>(prefix, prefixFence, size - remaining, true, sizes, comparator);
+			size = remaining;
+		} else {
+			split = new BSTSpliterator<>(prefix, prefixFence, size >>> 1, false, sizes, comparator);
+			size -= split.size;
+			exact = false;
+		}
+		return split;
+	}
+	
+	/**
+	 * Pushes the leftmost path of a subtree rooted at a given <code>node</code> to the stack,
+	 * except for the fence, and the nodes above it, which follow the entries of this spliterator.
+	 * 
+	 * @param node Root of the subtree, possibly <code>null</code>.
+	 */
+	private void pushAll(BSTNode<K, V> node) {
+		int depth = stack.size();
+		
+		for (; node != null; node = node.getLeft()) {
+			if (node == fence) {
+				while (stack.size() > depth) {
+					stack.pop();
+				}
+			} else {
+				stack.push(node);
+			}
+		}
+	}
+}
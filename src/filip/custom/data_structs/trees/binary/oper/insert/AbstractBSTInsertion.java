@@ -2,6 +2,8 @@ package filip.custom.data_structs.trees.binary.oper.insert;
 
 import filip.custom.data_structs.trees.binary.BSTNode;
 import filip.custom.data_structs.trees.operations.EntryInsertion;
+import filip.custom.data_structs.trees.stats.CountingOperation;
+import filip.custom.data_structs.trees.stats.OperationCounts;
 
 /**
  * A class that represents any insertion to a <b>Binary Search Tree</b>.<br>
@@ -12,10 +14,13 @@ import filip.custom.data_structs.trees.operations.EntryInsertion;
  * @param <K> Type of keys stored in a tree.
  * @param <V> Type of values stored in a tree.
  */
-public abstract class AbstractBSTInsertion<K extends Comparable<K>, V> implements EntryInsertion<K, V> {
+public abstract class AbstractBSTInsertion<K extends Comparable<K>, V> implements EntryInsertion<K, V>, CountingOperation {
 	
 	/**
-	 * Root of the tree calling this insertion.
+	 * Root of the tree this insertion is currently working upon.<br>
+	 * 
+	 * Only set for the duration of a single call, since the same insertion
+	 * object is reused for all the insertions to a tree.
 	 */
 	protected BSTNode<K, V> root;
 	
@@ -25,14 +30,35 @@ public abstract class AbstractBSTInsertion<K extends Comparable<K>, V> implement
 	 */
 	protected boolean inserted;
 
+	/**
+	 * Tallies of the work of the current call, <code>null</code> if the work isn't counted.
+	 */
+	protected OperationCounts counts;
+	
 	/**
 	 * Creates a new instance of {@link AbstractBSTInsertion}.
-	 * 
-	 * @param root Root of the tree this insertion is being called upon.
 	 */
-	public AbstractBSTInsertion(BSTNode<K, V> root) {
-		this.root = root;
+	public AbstractBSTInsertion() {
+		this.root = null;
 		this.inserted = false;
+		this.counts = null;
+	}
+	
+	@Override
+	public void setCounts(OperationCounts counts) {
+		this.counts = counts;
+	}
+	
+	/**
+	 * Ends the current call of this insertion, so that it doesn't keep the nodes
+	 * of the tree reachable in between the calls.
+	 * 
+	 * @return Root of the tree after this insertion.
+	 */
+	protected BSTNode<K, V> release() {
+		BSTNode<K, V> newRoot = root;
+		root = null;
+		return newRoot;
 	}
 	
 	@Override
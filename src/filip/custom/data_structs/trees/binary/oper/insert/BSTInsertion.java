@@ -1,6 +1,10 @@
 package filip.custom.data_structs.trees.binary.oper.insert;
 
+import java.util.Comparator;
+
 import filip.custom.data_structs.trees.binary.BSTNode;
+import filip.custom.data_structs.trees.comparators.KeyComparators;
+import filip.custom.data_structs.trees.nodes.SearchTreeNode;
 
 /**
  * A class that represents an insertion to a <b>Binary Search Tree</b>.<br>
@@ -14,36 +18,51 @@ import filip.custom.data_structs.trees.binary.BSTNode;
  */
 public class BSTInsertion<K extends Comparable<K>, V> extends AbstractBSTInsertion<K, V> {
 	
+	/**
+	 * Comparator of the keys, <code>null</code> for their natural order.
+	 */
+	private final Comparator<? super K> comparator;
+	
 	/**
 	 * Creates a new instance of {@link BSTInsertion}.
+	 */
+	public BSTInsertion() {
+		this(null);
+	}
+	
+	/**
+	 * Creates a new instance of {@link BSTInsertion} into a tree ordered by a given <code>comparator</code>.
 	 * 
-	 * @param root Root of the tree calling this insertion.
+	 * @param comparator Comparator of the keys, <code>null</code> for their natural order.
 	 */
-	public BSTInsertion(BSTNode<K, V> root) {
-		super(root);
+	public BSTInsertion(Comparator<? super K> comparator) {
+		super();
+		this.comparator = comparator;
 	}
 
 	@Override
-	public BSTNode<K, V> insert(K key, V value) {
-		// 1) create a node to insert
-		BSTNode<K, V> toInsert = new BSTNode<>(key, value);
-
-		// 2) find a place to insert it
+	public BSTNode<K, V> insert(SearchTreeNode<K, V> treeRoot, K key, V value) {
+		root = (BSTNode<K, V>) treeRoot;
+		
+		// 1) find a place to insert it
 		if (root == null) {
-			root = toInsert;
+			root = new BSTNode<>(key, value);
 			inserted = true;
-			return root;
+			return release();
 		}
 
 		BSTNode<K, V> tmp = root;
+		int visited = 0;
 
 		while (true) {
-			int compared = key.compareTo(tmp.getKey());
+			visited ++;
+			int compared = KeyComparators.compare(comparator, key, tmp.getKey());
 
 			if (compared < 0) {
 				// go left
 				if (tmp.getLeft() == null) {
-					tmp.setLeft(toInsert);
+					// 2) create a node to insert, only once the key is known to be new
+					tmp.setLeft(new BSTNode<>(key, value));
 					inserted = true;
 					break;
 				} else {
@@ -52,7 +71,7 @@ public class BSTInsertion<K extends Comparable<K>, V> extends AbstractBSTInserti
 			} else if (compared > 0) {
 				// go right
 				if (tmp.getRight() == null) {
-					tmp.setRight(toInsert);
+					tmp.setRight(new BSTNode<>(key, value));
 					inserted = true;
 					break;
 				} else {
@@ -65,6 +84,7 @@ public class BSTInsertion<K extends Comparable<K>, V> extends AbstractBSTInserti
 			}
 		}
 		
-		return root;
+		if (counts != null) counts.addDescent(visited);
+		return release();
 	}
 }
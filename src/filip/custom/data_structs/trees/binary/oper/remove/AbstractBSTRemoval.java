@@ -1,7 +1,10 @@
 package filip.custom.data_structs.trees.binary.oper.remove;
 
 import filip.custom.data_structs.trees.binary.BSTNode;
+import filip.custom.data_structs.trees.nodes.SearchTreeNode;
 import filip.custom.data_structs.trees.operations.EntryRemoval;
+import filip.custom.data_structs.trees.stats.CountingOperation;
+import filip.custom.data_structs.trees.stats.OperationCounts;
 
 /**
  * A class that represents any type of removal of an element from a <b>Binary Search Tree</b>.<br>
@@ -12,26 +15,50 @@ import filip.custom.data_structs.trees.operations.EntryRemoval;
  * @param <K> Type of keys stored in a tree.
  * @param <V> Type of values stored in a tree.
  */
-public abstract class AbstractBSTRemoval<K extends Comparable<K>, V> implements EntryRemoval<K, V> {
+public abstract class AbstractBSTRemoval<K extends Comparable<K>, V> implements EntryRemoval<K, V>, CountingOperation {
 
 	/**
-	 * Root of the tree calling this removal.
+	 * Root of the tree this removal is currently working upon.<br>
+	 * 
+	 * Only set for the duration of a single call, since the same removal
+	 * object is reused for all the removals from a tree.
 	 */
 	protected BSTNode<K, V> root;
 	
 	/**
-	 * Value of the entry removed by the last call to method {@link #remove(K)}.
+	 * Value of the entry removed by the last call to method {@link #remove(SearchTreeNode, K)}.
 	 */
 	protected V removed;
 	
+	/**
+	 * Tallies of the work of the current call, <code>null</code> if the work isn't counted.
+	 */
+	protected OperationCounts counts;
+	
 	/**
 	 * Creates a new instance of {@link AbstractBSTRemoval}.
-	 * 
-	 * @param root Root of the tree this removal is called upon.
 	 */
-	public AbstractBSTRemoval(BSTNode<K, V> root) {
-		this.root = root;
+	public AbstractBSTRemoval() {
+		this.root = null;
 		this.removed = null;
+		this.counts = null;
+	}
+	
+	@Override
+	public void setCounts(OperationCounts counts) {
+		this.counts = counts;
+	}
+	
+	/**
+	 * Ends the current call of this removal, so that it doesn't keep the nodes
+	 * of the tree reachable in between the calls.
+	 * 
+	 * @return Root of the tree after this removal.
+	 */
+	protected BSTNode<K, V> release() {
+		BSTNode<K, V> newRoot = root;
+		root = null;
+		return newRoot;
 	}
 	
 	@Override
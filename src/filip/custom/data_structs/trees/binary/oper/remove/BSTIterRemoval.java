@@ -18,26 +18,32 @@ public class BSTIterRemoval<K extends Comparable<K>, V> extends AbstractBSTRemov
 		
 	/**
 	 * Creates a new instance of {@link BSTIterRemoval}.
-	 * 
-	 * @param root Root of the tree calling this removal.
 	 */
-	public BSTIterRemoval(BSTNode<K, V> root) {
-		super(root);
+	public BSTIterRemoval() {
+		super();
 	}
 
 	@Override
-	public SearchTreeNode<K, V> remove(K key) {
+	public SearchTreeNode<K, V> remove(SearchTreeNode<K, V> treeRoot, K key) {
+		root = (BSTNode<K, V>) treeRoot;
+		
 		/* 1) Find the node to be deleted and it's parent */
 		BSTNode<K, V> parent = null;
 		BSTNode<K, V> toDelete = root;
 
 		// if the node to be deleted is left child of it's parent
 		boolean isLeft = false;
+		int visited = 0;
 
 		while (true) {
 			// searched object not found if
-			if (toDelete == null) removed = null;
+			if (toDelete == null) {
+				if (counts != null) counts.addDescent(visited);
+				removed = null;
+				return release();
+			}
 
+			visited ++;
 			int compared = key.compareTo(toDelete.getKey());
 
 			if (compared > 0) {
@@ -55,6 +61,9 @@ public class BSTIterRemoval<K extends Comparable<K>, V> extends AbstractBSTRemov
 				break;
 			}
 		}
+		
+		if (counts != null) counts.addDescent(visited);
+		
 		/* At this point, the node to delete and it's parent are found */
 		removed = toDelete.getValue();
 
@@ -114,6 +123,7 @@ public class BSTIterRemoval<K extends Comparable<K>, V> extends AbstractBSTRemov
 			BSTNode<K, V> tmpPar = maxRight;
 
 			while (maxRight.getRight() != null) {
+				if (counts != null) counts.addPath(1);
 				tmpPar = maxRight;
 				maxRight = maxRight.getRight();
 			}
@@ -144,6 +154,6 @@ public class BSTIterRemoval<K extends Comparable<K>, V> extends AbstractBSTRemov
 					String.format("Can't delete a node with an illegal number of child nodes: %d.", children));
 		}
 
-		return root;
+		return release();
 	}
 }
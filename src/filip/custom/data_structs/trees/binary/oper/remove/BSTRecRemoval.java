@@ -1,6 +1,9 @@
 package filip.custom.data_structs.trees.binary.oper.remove;
 
+import java.util.Comparator;
+
 import filip.custom.data_structs.trees.binary.BSTNode;
+import filip.custom.data_structs.trees.comparators.KeyComparators;
 import filip.custom.data_structs.trees.nodes.SearchTreeNode;
 
 /**
@@ -16,18 +19,32 @@ import filip.custom.data_structs.trees.nodes.SearchTreeNode;
  */
 public class BSTRecRemoval<K extends Comparable<K>, V> extends AbstractBSTRemoval<K, V> {
 	
+	/**
+	 * Comparator of the keys, <code>null</code> for their natural order.
+	 */
+	private final Comparator<? super K> comparator;
+	
 	/**
 	 * Creates a new instance of {@link BSTRecRemoval}.
+	 */
+	public BSTRecRemoval() {
+		this(null);
+	}
+	
+	/**
+	 * Creates a new instance of {@link BSTRecRemoval} from a tree ordered by a given <code>comparator</code>.
 	 * 
-	 * @param root Root of the tree this removal works upon.
+	 * @param comparator Comparator of the keys, <code>null</code> for their natural order.
 	 */
-	public BSTRecRemoval(BSTNode<K, V> root) {
-		super(root);
+	public BSTRecRemoval(Comparator<? super K> comparator) {
+		super();
+		this.comparator = comparator;
 	}
 
 	@Override
-	public SearchTreeNode<K, V> remove(K key) {
-		return remove(root, key);
+	public SearchTreeNode<K, V> remove(SearchTreeNode<K, V> treeRoot, K key) {
+		removed = null;
+		return remove((BSTNode<K, V>) treeRoot, key);
 	}
 
 	/**
@@ -39,8 +56,9 @@ public class BSTRecRemoval<K extends Comparable<K>, V> extends AbstractBSTRemova
 	 */
 	private BSTNode<K, V> remove(BSTNode<K, V> node, K key) {
 		if (node == null) return node;
+		if (counts != null) counts.addDescent(1);
 		
-		int compared = key.compareTo(node.getKey());
+		int compared = KeyComparators.compare(comparator, key, node.getKey());
 		if (compared < 0) {
 			// go left
 			node.setLeft(remove(node.getLeft(), key));
@@ -49,6 +67,7 @@ public class BSTRecRemoval<K extends Comparable<K>, V> extends AbstractBSTRemova
 			node.setRight(remove(node.getRight(), key));
 		} else {
 			// search hit
+			removed = node.getValue();
 			int children = node.getNumberOfChildren();
 			
 			switch (children) {
@@ -128,6 +147,7 @@ public class BSTRecRemoval<K extends Comparable<K>, V> extends AbstractBSTRemova
 	 */
 	private BSTNode<K, V> findMin(BSTNode<K, V> node) {
 		while(node.getLeft() != null) {
+			if (counts != null) counts.addPath(1);
 			node = node.getLeft();
 		}
 		return node;
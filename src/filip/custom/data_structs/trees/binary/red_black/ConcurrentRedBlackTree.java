@@ -0,0 +1,393 @@
+package filip.custom.data_structs.trees.binary.red_black;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.locks.StampedLock;
+
+import filip.custom.data_structs.trees.SearchTree;
+import filip.custom.data_structs.trees.binary.BSTNode;
+
+/**
+ * A thread-safe {@link SearchTree}, backed by a {@link RedBlackTree} and guarded by a {@link StampedLock}.<br>
+ * 
+ * The writes take the lock exclusively. The reads first run without taking the lock at all, in the optimistic
+ * mode of the {@link StampedLock}, and succeed if no write happened in the meantime. Otherwise, a read is retried 
+ * under the shared read lock. The optimistic reads might see a tree in the middle of a rotation, so they walk the
+ * nodes with a bound on the number of steps, and treat any failure as a conflict, which is then retried.<br>
+ * 
+ * The range queries and the iteration return snapshots taken at a single point in time, which stay valid
+ * regardless of the later changes of this tree.
+ * 
+ * @author fiilip
+ *
+ * @param <K> Type of keys stored in this tree.
+ * @param <V> Type of values stored in this tree.
+ */
+public class ConcurrentRedBlackTree<K extends Comparable<K>, V> implements SearchTree<K, V> {
+	
+	/**
+	 * Greatest depth of a red-black tree of at most {@link Integer#MAX_VALUE} entries.
+	 */
+	private static final int MAX_DEPTH = 64;
+	
+	/**
+	 * Tree holding the entries.
+	 */
+	private final RedBlackTree<K, V> tree;
+	
+	/**
+	 * Lock guarding the <code>tree</code>.
+	 */
+	private final StampedLock lock;
+	
+	/**
+	 * Creates a new, empty instance of {@link ConcurrentRedBlackTree}.
+	 */
+	public ConcurrentRedBlackTree() {
+		this(new RedBlackTree<>());
+	}
+	
+	/**
+	 * Creates a new instance of {@link ConcurrentRedBlackTree}, backed by a given <code>tree</code>,
+	 * for the tests of the optimistic reads.
+	 * 
+	 * @param tree Tree holding the entries, not used by anything else.
+	 */
+	ConcurrentRedBlackTree(RedBlackTree<K, V> tree) {
+		this.tree = tree;
+		this.lock = new StampedLock();
+	}
+
+	@Override
+	public boolean insert(K key, V value) throws IllegalArgumentException {
+		long stamp = lock.writeLock();
+		try {
+			return tree.insert(key, value);
+		} finally {
+			lock.unlockWrite(stamp);
+		}
+	}
+
+	@Override
+	public V remove(K key) throws IllegalArgumentException {
+		long stamp = lock.writeLock();
+		try {
+			return tree.remove(key);
+		} finally {
+			lock.unlockWrite(stamp);
+		}
+	}
+	
+	@Override
+	public void clear() {
+		long stamp = lock.writeLock();
+		try {
+			tree.clear();
+		} finally {
+			lock.unlockWrite(stamp);
+		}
+	}
+
+	@Override
+	public V get(K key) throws IllegalArgumentException {
+		nullCheckKey(key);
+		
+		long stamp = lock.tryOptimisticRead();
+		if (stamp != 0) {
+			try {
+				BSTNode<K, V> node = find(key);
+				V value = node == null ? null : node.getValue();
+				
+				if (lock.validate(stamp)) {
+					return value;
+				}
+			} catch (RuntimeException e) {
+				// an inconsistent view of the tree, retried under the read lock
+			}
+		}
+		
+		stamp = lock.readLock();
+		try {
+			return tree.get(key);
+		} finally {
+			lock.unlockRead(stamp);
+		}
+	}
+
+	@Override
+	public boolean contains(K key) throws IllegalArgumentException {
+		return get(key) != null;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return size() == 0;
+	}
+
+	@Override
+	public Comparator<? super K> comparator() {
+		return tree.comparator();
+	}
+
+	@Override
+	public int size() {
+		long stamp = lock.tryOptimisticRead();
+		int size = tree.size();
+		
+		if (!lock.validate(stamp)) {
+			stamp = lock.readLock();
+			try {
+				size = tree.size();
+			} finally {
+				lock.unlockRead(stamp);
+			}
+		}
+		return size;
+	}
+
+	@Override
+	public SearchTree<K, V> getGreaterThan(K toCompare) {
+		return getInterval(toCompare, null);
+	}
+
+	@Override
+	public SearchTree<K, V> getLessThan(K toCompare) {
+		return getInterval(null, toCompare);
+	}
+
+	/**
+	 * Gets a snapshot of the entries within the interval, as a new {@link RedBlackTree},
+	 * built in <code>O(log n + k)</code> time.
+	 */
+	@Override
+	public SearchTree<K, V> getInterval(K fromKey, K toKey) {
+		List<Entry<K, V>> entries = snapshot(fromKey, toKey);
+		
+		@SuppressWarnings({"unchecked", "rawtypes"})
+		K[] keys = (K[]) new Comparable[entries.size()];
+		@SuppressWarnings("unchecked")
+		V[] values = (V[]) new Object[entries.size()];
+		
+		for (int i = 0; i < keys.length; i ++) {
+			keys[i] = entries.get(i).getKey();
+			values[i] = entries.get(i).getValue();
+		}
+		
+		RedBlackTree<K, V> copy = new RedBlackTree<>();
+		copy.buildFromSorted(keys, values);
+		return copy;
+	}
+	
+	/**
+	 * Iterates over a snapshot of all the entries, taken when this method is called.
+	 */
+	@Override
+	public Iterator<Entry<K, V>> iterator() {
+		return snapshot(null, null).iterator();
+	}
+
+	/**
+	 * Splits a snapshot of all the entries, taken when this method is called.
+	 */
+	@Override
+	public Spliterator<Entry<K, V>> spliterator() {
+		return snapshot(null, null).spliterator();
+	}
+
+	@Override
+	public int depth() {
+		long stamp = lock.readLock();
+		try {
+			return tree.depth();
+		} finally {
+			lock.unlockRead(stamp);
+		}
+	}
+	
+	@Override
+	public String toString() {
+		long stamp = lock.readLock();
+		try {
+			return tree.toString();
+		} finally {
+			lock.unlockRead(stamp);
+		}
+	}
+	
+	/**
+	 * Gets the tree holding the entries, for the checks of its structure.
+	 * 
+	 * @return Tree holding the entries.
+	 */
+	RedBlackTree<K, V> tree() {
+		return tree;
+	}
+	
+	/**
+	 * Copies the entries with keys greater than <code>low</code> and less than <code>high</code>,
+	 * optimistically first, and under the read lock if that fails.
+	 * 
+	 * @param low Exclusive lower bound of the keys, <code>null</code> if there is none.
+	 * @param high Exclusive upper bound of the keys, <code>null</code> if there is none.
+	 * @return Copies of the entries within the interval, in-order.
+	 */
+	private List<Entry<K, V>> snapshot(K low, K high) {
+		long stamp = lock.tryOptimisticRead();
+		if (stamp != 0) {
+			try {
+				List<Entry<K, V>> entries = collect(low, high, true);
+				
+				if (entries != null && lock.validate(stamp)) {
+					return entries;
+				}
+			} catch (RuntimeException e) {
+				// an inconsistent view of the tree, retried under the read lock
+			}
+		}
+		
+		stamp = lock.readLock();
+		try {
+			return collect(low, high, false);
+		} finally {
+			lock.unlockRead(stamp);
+		}
+	}
+	
+	/**
+	 * Copies the entries within the interval in-order.
+	 * 
+	 * @param low Exclusive lower bound of the keys, <code>null</code> if there is none.
+	 * @param high Exclusive upper bound of the keys, <code>null</code> if there is none.
+	 * @param optimistic Whether or not the tree might change during the call.
+	 * @return Copies of the entries, or <code>null</code> if the tree was seen changing.
+	 */
+	private List<Entry<K, V>> collect(K low, K high, boolean optimistic) {
+		// a tree that doesn't change holds no more than size() entries, on no more than MAX_DEPTH levels
+		int steps = optimistic ? tree.size() + MAX_DEPTH : Integer.MAX_VALUE;
+		
+		List<Entry<K, V>> entries = new ArrayList<>();
+		Deque<BSTNode<K, V>> stack = new ArrayDeque<>();
+		
+		for (BSTNode<K, V> node = tree.root(); node != null; ) {
+			if (-- steps < 0) return null;
+			
+			if (low != null && node.getKey().compareTo(low) <= 0) {
+				node = node.getRight();
+			} else {
+				stack.push(node);
+				node = node.getLeft();
+			}
+		}
+		
+		while (!stack.isEmpty()) {
+			BSTNode<K, V> node = stack.pop();
+			if (high != null && node.getKey().compareTo(high) >= 0) break;
+			
+			entries.add(new SnapshotEntry<>(node.getKey(), node.getValue()));
+			
+			for (node = node.getRight(); node != null; node = node.getLeft()) {
+				if (-- steps < 0) return null;
+				stack.push(node);
+			}
+		}
+		return entries;
+	}
+	
+	/**
+	 * Finds the node with a given <code>key</code>, while the tree might be changing.
+	 * 
+	 * @param key Key of interest.
+	 * @return Node with the <code>key</code>, or <code>null</code> if there is none, or the tree was seen changing.
+	 */
+	private BSTNode<K, V> find(K key) {
+		int steps = MAX_DEPTH;
+		BSTNode<K, V> tmp = tree.root();
+		
+		while (tmp != null && -- steps >= 0) {
+			int compared = tmp.getKey().compareTo(key);
+			
+			if (compared < 0) {
+				tmp = tmp.getRight();
+			} else if (compared > 0) {
+				tmp = tmp.getLeft();
+			} else {
+				return tmp;
+			}
+		}
+		return null;
+	}
+	
+	/**
+	 * Checks if the given <code>key</code> is <code>null</code>.
+	 * 
+	 * @param key Key of interest.
+	 * @throws IllegalArgumentException if a given <code>key</code> is <code>null</code>.
+	 */
+	private static void nullCheckKey(Object key) throws IllegalArgumentException {
+		if (key == null) {
+			throw new IllegalArgumentException("Key should not be null.");
+		}
+	}
+	
+	/**
+	 * An immutable copy of an entry, as it was when a snapshot was taken.
+	 * 
+	 * @author fiilip
+	 *
+	 * @param <K> Type of the key.
+	 * @param <V> Type of the value.
+	 */
+	private static class SnapshotEntry<K, V> implements Entry<K, V> {
+		
+		/**
+		 * Key of the entry.
+		 */
+		private final K key;
+		
+		/**
+		 * Value of the entry when the snapshot was taken.
+		 */
+		private final V value;
+		
+		/**
+		 * Creates a new instance of {@link SnapshotEntry}.
+		 * 
+		 * @param key Key of the entry.
+		 * @param value Value of the entry.
+		 */
+		SnapshotEntry(K key, V value) {
+			this.key = key;
+			this.value = value;
+		}
+
+		@Override
+		public K getKey() {
+			return key;
+		}
+
+		@Override
+		public V getValue() {
+			return value;
+		}
+
+		/**
+		 * A snapshot can't be changed.
+		 * 
+		 * @throws UnsupportedOperationException Always.
+		 */
+		@Override
+		public void setValue(V value) throws UnsupportedOperationException {
+			throw new UnsupportedOperationException("Snapshot entries can't be changed.");
+		}
+		
+		@Override
+		public String toString() {
+			return "(" + key + ", " + value + ")";
+		}
+	}
+}
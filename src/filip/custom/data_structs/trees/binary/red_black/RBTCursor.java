@@ -0,0 +1,289 @@
+package filip.custom.data_structs.trees.binary.red_black;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import filip.custom.data_structs.trees.SearchTree;
+import filip.custom.data_structs.trees.comparators.KeyComparators;
+
+/**
+ * A cursor over the entries of a {@link RedBlackTree}, that can be positioned at any key,
+ * and moved from there in both directions.<br>
+ * 
+ * Positioning the cursor takes <code>O(log n)</code> time. Moving it to the next or the previous entry
+ * follows the parent pointers of the {@link RBTNode}s, and takes amortized <code>O(1)</code> time,
+ * so scanning <code>k</code> entries from any key takes <code>O(log n + k)</code> time in total.<br>
+ * 
+ * A cursor is either positioned at an entry, which it then exposes as a {@link SearchTree.Entry},
+ * or it's invalid, when it moved beyond the first or the last entry, or nothing was found by a seek.
+ * After an entry is removed from the tree, a cursor positioned at it must be positioned again, 
+ * through one of the seek methods.
+ * 
+ * @author fiilip
+ *
+ * @param <K> Type of keys stored in a tree.
+ * @param <V> Type of values stored in a tree.
+ */
+public class RBTCursor<K extends Comparable<K>, V> implements SearchTree.Entry<K, V> {
+	
+	/**
+	 * Tree the cursor moves over.
+	 */
+	private final RedBlackTree<K, V> tree;
+	
+	/**
+	 * Node the cursor is positioned at, <code>null</code> if the cursor is invalid.
+	 */
+	private RBTNode<K, V> node;
+	
+	/**
+	 * Creates a new, invalid instance of {@link RBTCursor}.
+	 * 
+	 * @param tree Tree the cursor moves over.
+	 */
+	RBTCursor(RedBlackTree<K, V> tree) {
+		this.tree = tree;
+		this.node = null;
+	}
+	
+	/**
+	 * Positions this cursor at the entry with the least key greater than or equal to a given <code>key</code>.
+	 * 
+	 * @param key Key of interest.
+	 * @return <code>true</code> if such an entry exists, and <code>false</code> if the cursor is invalid.
+	 * @throws IllegalArgumentException if a given <code>key</code> is <code>null</code>.
+	 */
+	public boolean seek(K key) throws IllegalArgumentException {
+		return seek(key, true);
+	}
+	
+	/**
+	 * Positions this cursor at the entry with the least key greater than a given <code>key</code>,
+	 * or equal to it if the key is <code>inclusive</code>.
+	 * 
+	 * @param key Key of interest.
+	 * @param inclusive Whether or not the entry with the <code>key</code> itself can be found.
+	 * @return <code>true</code> if such an entry exists, and <code>false</code> if the cursor is invalid.
+	 * @throws IllegalArgumentException if a given <code>key</code> is <code>null</code>.
+	 */
+	public boolean seek(K key, boolean inclusive) throws IllegalArgumentException {
+		if (key == null) {
+			throw new IllegalArgumentException("Key should not be null.");
+		}
+		
+		RBTNode<K, V> tmp = tree.root();
+		RBTNode<K, V> found = null;
+		
+		while (tmp != null) {
+			int compared = KeyComparators.compare(tree.comparator(), tmp.getKey(), key);
+			
+			if (compared > 0 || (compared == 0 && inclusive)) {
+				// candidate, but there might be a lesser one on the left
+				found = tmp;
+				tmp = left(tmp);
+			} else {
+				tmp = right(tmp);
+			}
+		}
+		
+		node = found;
+		return isValid();
+	}
+	
+	/**
+	 * Positions this cursor at the entry with the least key.
+	 * 
+	 * @return <code>true</code> if the tree isn't empty, and <code>false</code> if the cursor is invalid.
+	 */
+	public boolean first() {
+		node = minimum(tree.root());
+		return isValid();
+	}
+	
+	/**
+	 * Positions this cursor at the entry with the greatest key.
+	 * 
+	 * @return <code>true</code> if the tree isn't empty, and <code>false</code> if the cursor is invalid.
+	 */
+	public boolean last() {
+		node = maximum(tree.root());
+		return isValid();
+	}
+	
+	/**
+	 * Informs whether or not this cursor is positioned at an entry.
+	 * 
+	 * @return <code>true</code> if the cursor is positioned at an entry, and <code>false</code> otherwise.
+	 */
+	public boolean isValid() {
+		return node != null;
+	}
+	
+	/**
+	 * Moves this cursor to the entry with the next greater key.
+	 * 
+	 * @return <code>true</code> if such an entry exists, and <code>false</code> if the cursor is invalid.
+	 * @throws NoSuchElementException If this cursor is invalid.
+	 */
+	public boolean next() throws NoSuchElementException {
+		node = successor(current());
+		return isValid();
+	}
+	
+	/**
+	 * Moves this cursor to the entry with the next lesser key.
+	 * 
+	 * @return <code>true</code> if such an entry exists, and <code>false</code> if the cursor is invalid.
+	 * @throws NoSuchElementException If this cursor is invalid.
+	 */
+	public boolean prev() throws NoSuchElementException {
+		node = predecessor(current());
+		return isValid();
+	}
+	
+	/**
+	 * @throws NoSuchElementException If this cursor is invalid.
+	 */
+	@Override
+	public K getKey() throws NoSuchElementException {
+		return current().getKey();
+	}
+
+	/**
+	 * @throws NoSuchElementException If this cursor is invalid.
+	 */
+	@Override
+	public V getValue() throws NoSuchElementException {
+		return current().getValue();
+	}
+
+	/**
+	 * @throws NoSuchElementException If this cursor is invalid.
+	 */
+	@Override
+	public void setValue(V value) throws NoSuchElementException {
+		current().setValue(value);
+	}
+	
+	/**
+	 * Creates an iterator over the entries from the current position of this cursor onwards, in-order.<br>
+	 * The iterator moves independently of this cursor.
+	 * 
+	 * @return Iterator starting at the current entry, which has no elements if this cursor is invalid.
+	 */
+	public Iterator<SearchTree.Entry<K, V>> iterator() {
+		RBTNode<K, V> start = node;
+		
+		return new Iterator<SearchTree.Entry<K, V>>() {
+			
+			/**
+			 * Node returned by the next call to {@link #next()}.
+			 */
+			private RBTNode<K, V> next = start;
+
+			@Override
+			public boolean hasNext() {
+				return next != null;
+			}
+
+			@Override
+			public SearchTree.Entry<K, V> next() {
+				if (next == null) throw new NoSuchElementException("No more elements in a tree.");
+				
+				RBTNode<K, V> n = next;
+				next = successor(n);
+				return n;
+			}
+		};
+	}
+	
+	@Override
+	public String toString() {
+		return isValid() ? node.toString() : "(invalid)";
+	}
+	
+	/**
+	 * Gets the node this cursor is positioned at.
+	 * 
+	 * @return Current node.
+	 * @throws NoSuchElementException If this cursor is invalid.
+	 */
+	private RBTNode<K, V> current() throws NoSuchElementException {
+		if (node == null) {
+			throw new NoSuchElementException("Cursor is not positioned at an entry.");
+		}
+		return node;
+	}
+	
+	/**
+	 * Finds the in-order successor of a given node <code>n</code>.
+	 * 
+	 * @param n Node of interest.
+	 * @return The node with the next greater key, or <code>null</code> if <code>n</code> is the greatest one.
+	 */
+	private static <K extends Comparable<K>, V> RBTNode<K, V> successor(RBTNode<K, V> n) {
+		if (n.getRight() != null) {
+			return minimum(right(n));
+		}
+		
+		RBTNode<K, V> p = n.getParent();
+		while (p != null && n == p.getRight()) {
+			n = p;
+			p = p.getParent();
+		}
+		return p;
+	}
+	
+	/**
+	 * Finds the in-order predecessor of a given node <code>n</code>.
+	 * 
+	 * @param n Node of interest.
+	 * @return The node with the next lesser key, or <code>null</code> if <code>n</code> is the least one.
+	 */
+	private static <K extends Comparable<K>, V> RBTNode<K, V> predecessor(RBTNode<K, V> n) {
+		if (n.getLeft() != null) {
+			return maximum(left(n));
+		}
+		
+		RBTNode<K, V> p = n.getParent();
+		while (p != null && n == p.getLeft()) {
+			n = p;
+			p = p.getParent();
+		}
+		return p;
+	}
+	
+	/**
+	 * Finds the node with the least key in a subtree rooted at a given node <code>n</code>.
+	 * 
+	 * @param n Root of the subtree, possibly <code>null</code>.
+	 * @return The least node, or <code>null</code> if the subtree is empty.
+	 */
+	private static <K extends Comparable<K>, V> RBTNode<K, V> minimum(RBTNode<K, V> n) {
+		if (n == null) return null;
+		
+		while (n.getLeft() != null) n = left(n);
+		return n;
+	}
+	
+	/**
+	 * Finds the node with the greatest key in a subtree rooted at a given node <code>n</code>.
+	 * 
+	 * @param n Root of the subtree, possibly <code>null</code>.
+	 * @return The greatest node, or <code>null</code> if the subtree is empty.
+	 */
+	private static <K extends Comparable<K>, V> RBTNode<K, V> maximum(RBTNode<K, V> n) {
+		if (n == null) return null;
+		
+		while (n.getRight() != null) n = right(n);
+		return n;
+	}
+	
+	private static <K extends Comparable<K>, V> RBTNode<K, V> left(RBTNode<K, V> n) {
+		return (RBTNode<K, V>) n.getLeft();
+	}
+	
+	private static <K extends Comparable<K>, V> RBTNode<K, V> right(RBTNode<K, V> n) {
+		return (RBTNode<K, V>) n.getRight();
+	}
+}
@@ -3,7 +3,12 @@ package filip.custom.data_structs.trees.binary.red_black;
 import filip.custom.data_structs.trees.binary.BSTNode;
 
 /**
- * A class that represents a node of a <b>Red-Black Tree</b>.
+ * A class that represents a node of a <b>Red-Black Tree</b>.<br>
+ * 
+ * The color of a node is stored as a single <code>boolean</code> rather than
+ * a reference to a {@link Color}, so that it fits into the padding of the node object.
+ * The same padding holds the size of the subtree rooted at the node, which makes 
+ * the order statistics of a {@link RedBlackTree} take <code>O(log n)</code> time.
  * 
  * @author fiilip
  *
@@ -21,15 +26,20 @@ public class RBTNode<K extends Comparable<K>, V> extends BSTNode<K, V> {
 	public static enum Color {RED, BLACK}
 	
 	/**
-	 * Color of this node.
+	 * Color of this node, <code>true</code> if the node is red and <code>false</code> if it is black.
 	 */
-	private Color color;
+	private boolean red;
 	
 	/**
 	 * Parent of this node.
 	 */
 	private RBTNode<K, V> parent;
 	
+	/**
+	 * Number of nodes in the subtree rooted at this node, including this node.
+	 */
+	private int size;
+	
 	/**
 	 * Creates a new {@link RBTNode}.
 	 * 
@@ -40,8 +50,9 @@ public class RBTNode<K extends Comparable<K>, V> extends BSTNode<K, V> {
 	 */
 	public RBTNode(K key, V value, Color color, RBTNode<K, V> parent) {
 		super(key, value);
-		this.color = color;
+		this.red = color == Color.RED;
 		this.parent = parent;
+		this.size = 1;
 	}
 	
 	/**
@@ -50,7 +61,7 @@ public class RBTNode<K extends Comparable<K>, V> extends BSTNode<K, V> {
 	 * @return Color of this node.
 	 */
 	public Color getColor() {
-		return color;
+		return red ? Color.RED : Color.BLACK;
 	}
 	
 	/**
@@ -59,7 +70,16 @@ public class RBTNode<K extends Comparable<K>, V> extends BSTNode<K, V> {
 	 * @param color New color of this node.
 	 */
 	public void setColor(Color color) {
-		this.color = color;
+		this.red = color == Color.RED;
+	}
+	
+	/**
+	 * Checks whether this node is red.
+	 * 
+	 * @return <code>true</code> if this node is red, and <code>false</code> if it is black.
+	 */
+	public boolean isRed() {
+		return red;
 	}
 	
 	/**
@@ -79,4 +99,34 @@ public class RBTNode<K extends Comparable<K>, V> extends BSTNode<K, V> {
 	public void setParent(RBTNode<K, V> parent) {
 		this.parent = parent;
 	}
+	
+	/**
+	 * Gets the number of nodes in the subtree rooted at this node, including this node.
+	 * 
+	 * @return Size of the subtree.
+	 */
+	public int getSize() {
+		return size;
+	}
+	
+	/**
+	 * Recalculates the data this node keeps about it's subtree out of the same data of it's children,
+	 * which is the size of the subtree in this class.<br>
+	 * 
+	 * The operations on a tree call this method for every node whose subtree changed, from the bottom up,
+	 * so subclasses keeping more data about the subtree, such as an aggregate of it's values, override it.
+	 */
+	public void update() {
+		this.size = 1 + sizeOf(getLeft()) + sizeOf(getRight());
+	}
+	
+	/**
+	 * Gets the size of the subtree rooted at a given <code>node</code>.
+	 * 
+	 * @param node Node of interest, possibly <code>null</code>.
+	 * @return Size of the subtree, or <code>0</code> if the <code>node</code> is <code>null</code>.
+	 */
+	public static int sizeOf(BSTNode<?, ?> node) {
+		return node == null ? 0 : ((RBTNode<?, ?>) node).size;
+	}
 }
@@ -0,0 +1,29 @@
+package filip.custom.data_structs.trees.binary.red_black;
+
+import filip.custom.data_structs.trees.binary.red_black.RBTNode.Color;
+
+/**
+ * Creates the nodes of a {@link RedBlackTree}.<br>
+ * 
+ * Trees that keep more data in their nodes than the {@link RBTNode} does, supply a factory
+ * of their own node type, which both the insertion and the building from sorted entries use.
+ * 
+ * @author fiilip
+ *
+ * @param <K> Type of keys stored in nodes.
+ * @param <V> Type of values stored in nodes.
+ */
+@FunctionalInterface
+public interface RBTNodeFactory<K extends Comparable<K>, V> {
+	
+	/**
+	 * Creates a new node with no children.
+	 * 
+	 * @param key Key contained by the node.
+	 * @param value Value contained by the node.
+	 * @param color Color of the node.
+	 * @param parent Parent node of the node.
+	 * @return New node.
+	 */
+	RBTNode<K, V> create(K key, V value, Color color, RBTNode<K, V> parent);
+}
@@ -1,11 +1,24 @@
 package filip.custom.data_structs.trees.binary.red_black;
 
 
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+
 import filip.custom.data_structs.trees.binary.AbstractBST;
+import filip.custom.data_structs.trees.binary.BSTNode;
+import filip.custom.data_structs.trees.binary.iterators.BSTSpliterator;
+import filip.custom.data_structs.trees.binary.red_black.RBTNode.Color;
 import filip.custom.data_structs.trees.binary.red_black.oper.insert.RBTInsertion;
+import filip.custom.data_structs.trees.binary.red_black.oper.join.RBTJoin;
+import filip.custom.data_structs.trees.binary.red_black.oper.join.RBTSetOperation;
+import filip.custom.data_structs.trees.binary.red_black.oper.join.RBTSetOperation.Kind;
 import filip.custom.data_structs.trees.binary.red_black.oper.remove.RBTRemoval;
-import filip.custom.data_structs.trees.operations.EntryInsertion;
-import filip.custom.data_structs.trees.operations.EntryRemoval;
+import filip.custom.data_structs.trees.comparators.IntKeyComparator;
+import filip.custom.data_structs.trees.comparators.KeyComparators;
+import filip.custom.data_structs.trees.comparators.LongKeyComparator;
 
 /**
  * A class that represents a <b>Red-Black Tree</b>.<br>
@@ -16,7 +29,17 @@ import filip.custom.data_structs.trees.operations.EntryRemoval;
  * 
  * This kind of behavior is accomplished by the feature of auto-balancing that this
  * data structure implements, meaning that the left and a right subtree of any given node
- * of this tree will be balanced.
+ * of this tree will be balanced.<br>
+ * 
+ * Every entry is stored in a single {@link RBTNode} of 40 bytes on a 64-bit JVM with compressed
+ * references (header, key, value, left, right, parent, color and subtree size), not counting the key and value
+ * objects themselves. Before the nodes stopped storing their text and the color reference,
+ * an entry took about 96 bytes.<br>
+ * 
+ * The keys are ordered by their natural order, or by a {@link Comparator} given to the constructor. 
+ * The comparators made by {@link filip.custom.data_structs.trees.comparators.KeyComparators#comparingInt(java.util.function.ToIntFunction)} 
+ * and {@link filip.custom.data_structs.trees.comparators.KeyComparators#comparingLong(java.util.function.ToLongFunction)} 
+ * are compared without being called by the lookups and the insertions.
  * 
  * @author fiilip
  *
@@ -25,13 +48,551 @@ import filip.custom.data_structs.trees.operations.EntryRemoval;
  */
 public class RedBlackTree<K extends Comparable<K>, V> extends AbstractBST<K, V> {
 
+	/**
+	 * Factory of the nodes of this tree.
+	 */
+	private final RBTNodeFactory<K, V> nodes;
+	
+	/**
+	 * The comparator, if it's an {@link IntKeyComparator}, and <code>null</code> otherwise.
+	 */
+	private final IntKeyComparator<? super K> intKeys;
+	
+	/**
+	 * The comparator, if it's a {@link LongKeyComparator}, and <code>null</code> otherwise.
+	 */
+	private final LongKeyComparator<? super K> longKeys;
+	
+	/**
+	 * Whether or not the lookups and the insertions start at the <code>finger</code>.
+	 */
+	private boolean fingerSearch;
+	
+	/**
+	 * Node of the last lookup or insertion, <code>null</code> if there is none, or it might no longer be in this tree.
+	 */
+	private RBTNode<K, V> finger;
+
+	/**
+	 * Creates a new, empty instance of {@link RedBlackTree}.
+	 */
+	public RedBlackTree() {
+		this(RBTNode::new, null);
+	}
+	
+	/**
+	 * Creates a new, empty instance of {@link RedBlackTree}, ordered by a given <code>comparator</code>.<br>
+	 * 
+	 * The type arguments of <code>new RedBlackTree&lt;&gt;(comparator)</code> are inferred for a lambda, or a comparator
+	 * of a known type. <code>javac</code> can't infer them for <code>Comparator.reverseOrder()</code> against the bound
+	 * of the keys, so it needs a type witness, eg. <code>Comparator.&lt;Integer&gt;reverseOrder()</code>,
+	 * or <code>Collections.reverseOrder()</code> instead.
+	 * 
+	 * @param comparator Comparator of the keys, <code>null</code> for their natural order.
+	 */
+	public RedBlackTree(Comparator<? super K> comparator) {
+		this(RBTNode::new, comparator);
+	}
+	
+	/**
+	 * Creates a new, empty instance of {@link RedBlackTree}, whose nodes are created by a given factory,
+	 * ordered by a given <code>comparator</code>.<br>
+	 * 
+	 * There is no constructor taking just the factory, since it would overload {@link #RedBlackTree(Comparator)},
+	 * and make <code>new RedBlackTree&lt;&gt;((a, b) -&gt; ...)</code> ambiguous.
+	 * 
+	 * @param nodes Factory of the nodes of this tree.
+	 * @param comparator Comparator of the keys, <code>null</code> for their natural order.
+	 */
+	protected RedBlackTree(RBTNodeFactory<K, V> nodes, Comparator<? super K> comparator) {
+		super(new RBTInsertion<>(nodes, comparator), new RBTRemoval<K, V>(comparator), comparator);
+		this.nodes = nodes;
+		this.intKeys = KeyComparators.asIntKeys(comparator);
+		this.longKeys = KeyComparators.asLongKeys(comparator);
+		this.fingerSearch = false;
+	}
+	
+	/**
+	 * Turns the finger search on or off.<br>
+	 * 
+	 * With the finger search on, this tree remembers the node of the last lookup or insertion, and the next 
+	 * lookup or insertion starts there instead of at the root. It climbs the parent pointers from that node up to 
+	 * the smallest subtree the key belongs to, and descends from there, so a key <code>d</code> places away from 
+	 * the previous one takes <code>O(log d)</code> comparisons instead of <code>O(log n)</code>.<br>
+	 * 
+	 * The keys are compared the same way as by the lookups and the insertions starting at the root, so 
+	 * the comparators of {@link KeyComparators} are still compared without being called.<br>
+	 * 
+	 * Even the lookups change the remembered node, so the finger search makes the lookups unsafe 
+	 * to run concurrently with each other. It's off by default.
+	 * 
+	 * @param fingerSearch Whether or not the finger search is on.
+	 */
+	public void setFingerSearch(boolean fingerSearch) {
+		this.fingerSearch = fingerSearch;
+		this.finger = null;
+	}
+	
+	/**
+	 * Checks whether or not the finger search is on (see {@link #setFingerSearch(boolean)}).
+	 * 
+	 * @return <code>true</code> if the finger search is on, and <code>false</code> otherwise.
+	 */
+	public boolean isFingerSearch() {
+		return fingerSearch;
+	}
+	
 	@Override
-	protected EntryInsertion<K, V> getInsertion() {
-		return new RBTInsertion<>((RBTNode<K, V>) root);
+	public boolean insert(K key, V value) throws IllegalArgumentException {
+		if (!fingerSearch) {
+			return super.insert(key, value);
+		}
+		
+		RBTInsertion<K, V> insertion = (RBTInsertion<K, V>) getInsertion();
+		insertion.setStart(key == null ? null : fingerStart(key, intKeyOf(key), longKeyOf(key)));
+		
+		boolean inserted = super.insert(key, value);
+		finger = insertion.getNode();
+		return inserted;
 	}
-
+	
+	/**
+	 * Forgets the node of the last lookup or insertion, since the removal might have taken it out of this tree.
+	 */
+	@Override
+	public V remove(K key) throws IllegalArgumentException {
+		finger = null;
+		return super.remove(key);
+	}
+	
+	@Override
+	public V get(K key) throws IllegalArgumentException {
+		if (!fingerSearch) {
+			return super.get(key);
+		}
+		if (key == null) {
+			throw new IllegalArgumentException("Key should not be null.");
+		}
+		
+		int intKey = intKeyOf(key);
+		long longKey = longKeyOf(key);
+		
+		RBTNode<K, V> tmp = fingerStart(key, intKey, longKey);
+		int visited = 0;
+		
+		while (tmp != null) {
+			finger = tmp;
+			visited ++;
+			int compared = compare(key, intKey, longKey, tmp.getKey());
+			
+			if (compared < 0) {
+				tmp = (RBTNode<K, V>) tmp.getLeft();
+			} else if (compared > 0) {
+				tmp = (RBTNode<K, V>) tmp.getRight();
+			} else {
+				break;
+			}
+		}
+		
+		recordLookup(visited);
+		return tmp == null ? null : tmp.getValue();
+	}
+	
+	/**
+	 * Creates a new, invalid cursor over the entries of this tree, 
+	 * which needs to be positioned by one of it's seek methods first.
+	 * 
+	 * @return New cursor.
+	 */
+	public RBTCursor<K, V> cursor() {
+		return new RBTCursor<>(this);
+	}
+	
+	/**
+	 * Iterates over the entries in-order, starting at the least key greater than <code>fromKey</code>,
+	 * or equal to it, if it's <code>inclusive</code>.<br>
+	 * 
+	 * Finding the first entry takes <code>O(log n)</code> time, and every next one amortized <code>O(1)</code> time.
+	 * 
+	 * @param fromKey Key to start at.
+	 * @param inclusive Whether or not the entry with the <code>fromKey</code> itself is iterated over.
+	 * @return Iterator over the entries from the <code>fromKey</code> onwards.
+	 * @throws IllegalArgumentException if a given <code>fromKey</code> is <code>null</code>.
+	 */
+	public Iterator<Entry<K, V>> iterator(K fromKey, boolean inclusive) throws IllegalArgumentException {
+		RBTCursor<K, V> cursor = cursor();
+		cursor.seek(fromKey, inclusive);
+		return cursor.iterator();
+	}
+	
+	/**
+	 * Gets the rank of a given <code>key</code>, which is the number of keys in this tree less than the <code>key</code>.<br>
+	 * If the <code>key</code> is in this tree, it's rank is it's zero-based position in the order of keys.
+	 * 
+	 * @param key Key of interest, not necessarily in this tree.
+	 * @return Rank of the <code>key</code>.
+	 * @throws IllegalArgumentException if a given <code>key</code> is <code>null</code>.
+	 */
+	public int rank(K key) throws IllegalArgumentException {
+		return countLess(key, false);
+	}
+	
+	/**
+	 * Gets the entry with the <code>index</code>-th least key, which is the entry of rank <code>index</code>.<br>
+	 * For example, <code>select(size() * 99 / 100)</code> gets the entry at the 99th percentile.
+	 * 
+	 * @param index Zero-based position of the entry in the order of keys.
+	 * @return Entry at the position.
+	 * @throws IndexOutOfBoundsException If the <code>index</code> is negative, or not less than {@link #size()}.
+	 */
+	public Entry<K, V> select(int index) throws IndexOutOfBoundsException {
+		if (index < 0 || index >= size()) {
+			throw new IndexOutOfBoundsException(String.format("Index %d is out of a tree of size %d.", index, size()));
+		}
+		
+		BSTNode<K, V> tmp = root;
+		
+		while (true) {
+			int leftSize = RBTNode.sizeOf(tmp.getLeft());
+			
+			if (index < leftSize) {
+				// go left
+				tmp = tmp.getLeft();
+			} else if (index > leftSize) {
+				// go right, skipping the left subtree and this node
+				index -= leftSize + 1;
+				tmp = tmp.getRight();
+			} else {
+				return tmp;
+			}
+		}
+	}
+	
+	/**
+	 * Counts the entries with keys greater than <code>low</code> and less than <code>high</code>
+	 * out of the subtree sizes, in <code>O(log n)</code> time.
+	 */
+	@Override
+	public int countInRange(K low, K high) {
+		int below = low == null ? 0 : countLess(low, true);
+		int belowHigh = high == null ? size() : countLess(high, false);
+		
+		return Math.max(0, belowHigh - below);
+	}
+	
+	/**
+	 * Creates a {@link BSTSpliterator}, which knows the exact size of every split out of the subtree sizes.
+	 */
+	@Override
+	public Spliterator<Entry<K, V>> spliterator() {
+		return new BSTSpliterator<>(root, size(), RBTNode::sizeOf, comparator());
+	}
+	
+	/**
+	 * Counts the keys less than a given <code>key</code>, or equal to it if it's <code>inclusive</code>.
+	 * 
+	 * @param key Key of interest.
+	 * @param inclusive Whether or not the <code>key</code> itself is counted.
+	 * @return Number of such keys.
+	 * @throws IllegalArgumentException if a given <code>key</code> is <code>null</code>.
+	 */
+	private int countLess(K key, boolean inclusive) throws IllegalArgumentException {
+		if (key == null) {
+			throw new IllegalArgumentException("Key should not be null.");
+		}
+		
+		int count = 0;
+		BSTNode<K, V> tmp = root;
+		
+		while (tmp != null) {
+			int compared = compare(key, tmp.getKey());
+			
+			if (compared < 0 || (compared == 0 && !inclusive)) {
+				tmp = tmp.getLeft();
+			} else {
+				// the left subtree and this node are less than the key
+				count += RBTNode.sizeOf(tmp.getLeft()) + 1;
+				tmp = tmp.getRight();
+			}
+		}
+		return count;
+	}
+	
+	/**
+	 * Moves the entries of a given tree of <code>greater</code> keys into this tree, along with a new entry
+	 * whose key is between the keys of both trees, in <code>O(log n)</code> time.<br>
+	 * 
+	 * All the keys of this tree must be less than the <code>key</code>, which must be less than all
+	 * the keys of the <code>greater</code> tree. The <code>greater</code> tree is left empty.
+	 * 
+	 * @param key Key of the new entry.
+	 * @param value Value of the new entry.
+	 * @param greater Tree of the keys greater than the <code>key</code>, of the same class as this tree.
+	 * @throws IllegalArgumentException If the <code>key</code> is <code>null</code>, the keys aren't ordered
+	 * as described, or the trees can't be joined.
+	 */
+	public void join(K key, V value, RedBlackTree<K, V> greater) throws IllegalArgumentException {
+		if (key == null) {
+			throw new IllegalArgumentException("Key should not be null.");
+		}
+		checkJoinable(greater);
+		
+		RBTCursor<K, V> cursor = cursor();
+		if (cursor.last() && compare(cursor.getKey(), key) >= 0) {
+			throw new IllegalArgumentException(String.format("Key %s is not greater than %s.", key, cursor.getKey()));
+		}
+		
+		cursor = greater.cursor();
+		if (cursor.first() && compare(cursor.getKey(), key) <= 0) {
+			throw new IllegalArgumentException(String.format("Key %s is not less than %s.", key, cursor.getKey()));
+		}
+		
+		RBTNode<K, V> pivot = nodes.create(key, value, Color.BLACK, null);
+		adopt(new RBTJoin<K, V>(comparator()).join(root(), pivot, greater.root()));
+		greater.clear();
+	}
+	
+	/**
+	 * Moves the entries with keys greater than or equal to a given <code>key</code> out of this tree,
+	 * into a new tree, in <code>O(log n)</code> time. This tree keeps the entries with keys less than the <code>key</code>.
+	 * 
+	 * @param key Key to split this tree by.
+	 * @return New tree with the entries with keys greater than or equal to the <code>key</code>.
+	 * @throws IllegalArgumentException if a given <code>key</code> is <code>null</code>.
+	 */
+	public RedBlackTree<K, V> split(K key) throws IllegalArgumentException {
+		if (key == null) {
+			throw new IllegalArgumentException("Key should not be null.");
+		}
+		
+		RBTJoin<K, V> oper = new RBTJoin<K, V>(comparator());
+		oper.split(root(), key);
+		RBTNode<K, V> less = oper.getLess();
+		RBTNode<K, V> greater = oper.getFound() == null
+				? oper.getGreater()
+				: oper.join(null, oper.getFound(), oper.getGreater());
+		
+		RedBlackTree<K, V> split = createEmpty();
+		split.adopt(greater);
+		adopt(less);
+		return split;
+	}
+	
+	/**
+	 * Moves the entries of a given tree into this tree, leaving the other tree empty.
+	 * The entries of this tree are kept over the ones of the other tree with the same keys.<br>
+	 * 
+	 * The trees are split and joined recursively in parallel (see {@link RBTSetOperation}), in
+	 * <code>O(m log(n / m + 1))</code> time, where <code>m</code> is the size of the smaller tree.
+	 * 
+	 * @param other Tree of the same class as this tree.
+	 * @throws IllegalArgumentException If the trees can't be joined.
+	 */
+	public void union(RedBlackTree<K, V> other) throws IllegalArgumentException {
+		apply(Kind.UNION, other);
+	}
+	
+	/**
+	 * Removes the entries whose keys aren't in a given tree from this tree, leaving the other tree empty.<br>
+	 * 
+	 * The trees are split and joined recursively in parallel (see {@link RBTSetOperation}), in
+	 * <code>O(m log(n / m + 1))</code> time, where <code>m</code> is the size of the smaller tree.
+	 * 
+	 * @param other Tree of the same class as this tree.
+	 * @throws IllegalArgumentException If the trees can't be joined.
+	 */
+	public void intersection(RedBlackTree<K, V> other) throws IllegalArgumentException {
+		apply(Kind.INTERSECTION, other);
+	}
+	
+	/**
+	 * Removes the entries whose keys are in a given tree from this tree, leaving the other tree empty.<br>
+	 * 
+	 * The trees are split and joined recursively in parallel (see {@link RBTSetOperation}), in
+	 * <code>O(m log(n / m + 1))</code> time, where <code>m</code> is the size of the smaller tree.
+	 * 
+	 * @param other Tree of the same class as this tree.
+	 * @throws IllegalArgumentException If the trees can't be joined.
+	 */
+	public void difference(RedBlackTree<K, V> other) throws IllegalArgumentException {
+		apply(Kind.DIFFERENCE, other);
+	}
+	
+	/**
+	 * Forgets the node of the last lookup or insertion along with the replaced content.
+	 */
+	@Override
+	protected void replace(BSTNode<K, V> root, int size) {
+		finger = null;
+		super.replace(root, size);
+	}
+	
+	/**
+	 * Finds the node a lookup or an insertion of a given <code>key</code> starts at, which is the root 
+	 * of the smallest subtree around the <code>finger</code> the key belongs to.<br>
+	 * 
+	 * Climbing from a node to it's parent on the side away from the <code>key</code> doesn't change the bounds of 
+	 * the keys of a subtree, so only the parents on the side of the <code>key</code> are compared with it. 
+	 * As long as the <code>key</code> is beyond such a parent, the search continues from that parent.
+	 * 
+	 * @param key Key of interest.
+	 * @param intKey Number the <code>key</code> is ordered by, if this tree is ordered by an {@link IntKeyComparator}.
+	 * @param longKey Number the <code>key</code> is ordered by, if this tree is ordered by a {@link LongKeyComparator}.
+	 * @return Node to start at, the <code>root</code> if there is no <code>finger</code>.
+	 */
+	private RBTNode<K, V> fingerStart(K key, int intKey, long longKey) {
+		if (finger == null) return root();
+		
+		RBTNode<K, V> start = finger;
+		int compared = compare(key, intKey, longKey, start.getKey());
+		if (compared == 0) return start;
+		
+		boolean greater = compared > 0;
+		
+		for (RBTNode<K, V> tmp = start, parent = tmp.getParent(); parent != null; tmp = parent, parent = tmp.getParent()) {
+			if ((parent.getRight() == tmp) == greater) {
+				// the parent is on the other side, so the bounds don't change
+				continue;
+			}
+			
+			compared = compare(key, intKey, longKey, parent.getKey());
+			if (compared == 0) return parent;
+			if ((compared > 0) != greater) return start;
+			
+			// the key is beyond the parent as well
+			start = parent;
+		}
+		return start;
+	}
+	
+	/**
+	 * Compares a given <code>key</code> with the key of a node, the way the lookups starting at the root do 
+	 * (see {@link AbstractBST#get(Comparable)}). With an {@link IntKeyComparator} or a {@link LongKeyComparator}, 
+	 * the number the <code>key</code> is ordered by is extracted by the caller, only once.
+	 * 
+	 * @param key Key of interest.
+	 * @param intKey Number the <code>key</code> is ordered by, if this tree is ordered by an {@link IntKeyComparator}.
+	 * @param longKey Number the <code>key</code> is ordered by, if this tree is ordered by a {@link LongKeyComparator}.
+	 * @param other Key of the node.
+	 * @return Negative number, zero, or a positive number, if the <code>key</code> is less than, equal to, or greater than the <code>other</code> one.
+	 */
+	private int compare(K key, int intKey, long longKey, K other) {
+		if (intKeys != null) {
+			return Integer.compare(intKey, intKeys.extract(other));
+		} else if (longKeys != null) {
+			return Long.compare(longKey, longKeys.extract(other));
+		}
+		return compare(key, other);
+	}
+	
+	/**
+	 * Extracts the number a given <code>key</code> is ordered by, if this tree is ordered by an {@link IntKeyComparator}.
+	 * 
+	 * @param key Key of interest.
+	 * @return Number the <code>key</code> is ordered by, or <code>0</code> for any other ordering.
+	 */
+	private int intKeyOf(K key) {
+		return intKeys != null ? intKeys.extract(key) : 0;
+	}
+	
+	/**
+	 * Extracts the number a given <code>key</code> is ordered by, if this tree is ordered by a {@link LongKeyComparator}.
+	 * 
+	 * @param key Key of interest.
+	 * @return Number the <code>key</code> is ordered by, or <code>0</code> for any other ordering.
+	 */
+	private long longKeyOf(K key) {
+		return longKeys != null ? longKeys.extract(key) : 0;
+	}
+	
+	/**
+	 * Creates a new, empty tree of the same kind as this tree, which the entries split off this tree are moved into.
+	 * 
+	 * @return New, empty tree.
+	 */
+	protected RedBlackTree<K, V> createEmpty() {
+		return new RedBlackTree<>(nodes, comparator());
+	}
+	
+	/**
+	 * Replaces the content of this tree with a given detached subtree, made of the nodes of this tree,
+	 * or of a tree of the same class, and makes it's root black.
+	 * 
+	 * @param root Root of the subtree, possibly <code>null</code>.
+	 */
+	private void adopt(RBTNode<K, V> root) {
+		if (root != null) {
+			root.setParent(null);
+			root.setColor(Color.BLACK);
+		}
+		replace(root, RBTNode.sizeOf(root));
+	}
+	
+	/**
+	 * Applies a set operation to this tree and a given tree, in the {@link ForkJoinPool#commonPool()}.
+	 * 
+	 * @param kind Kind of the operation.
+	 * @param other Tree of the same class as this tree, which is left empty.
+	 * @throws IllegalArgumentException If the trees can't be joined.
+	 */
+	private void apply(Kind kind, RedBlackTree<K, V> other) throws IllegalArgumentException {
+		checkJoinable(other);
+		
+		RBTNode<K, V> result = ForkJoinPool.commonPool().invoke(new RBTSetOperation<>(kind, root(), other.root(), comparator()));
+		other.clear();
+		adopt(result);
+	}
+	
+	/**
+	 * Checks whether the nodes of a given tree can be moved into this tree.
+	 * 
+	 * @param other Tree of interest.
+	 * @throws IllegalArgumentException If the <code>other</code> tree is this tree, it's of a different class,
+	 * or it's ordered by a different comparator.
+	 */
+	private void checkJoinable(RedBlackTree<K, V> other) throws IllegalArgumentException {
+		if (other == this) {
+			throw new IllegalArgumentException("A tree can't be joined with itself.");
+		}
+		if (other.getClass() != getClass()) {
+			throw new IllegalArgumentException(String.format("Trees of %s and %s can't be joined.",
+					getClass().getSimpleName(), other.getClass().getSimpleName()));
+		}
+		if (!Objects.equals(other.comparator(), comparator())) {
+			throw new IllegalArgumentException("Trees ordered by different comparators can't be joined.");
+		}
+	}
+	
+	/**
+	 * Gets the root of this tree.
+	 * 
+	 * @return Root node, or <code>null</code> if this tree is empty.
+	 */
+	RBTNode<K, V> root() {
+		return (RBTNode<K, V>) root;
+	}
+	
+	/**
+	 * Creates a red or a black {@link RBTNode}, and makes it the parent of it's subtrees.<br>
+	 * 
+	 * Only the nodes of the lowest level of a tree that isn't full are red, so every path 
+	 * from the root to a leaf has the same number of black nodes, and no red node has a red child.
+	 */
 	@Override
-	protected EntryRemoval<K, V> getRemoval() {
-		return new RBTRemoval<>((RBTNode<K, V>) root);
+	protected BSTNode<K, V> createNode(K key, V value, BSTNode<K, V> left, BSTNode<K, V> right, boolean red) {
+		RBTNode<K, V> node = nodes.create(key, value, red ? Color.RED : Color.BLACK, null);
+		
+		node.setLeft(left);
+		if (left != null) {
+			((RBTNode<K, V>) left).setParent(node);
+		}
+		
+		node.setRight(right);
+		if (right != null) {
+			((RBTNode<K, V>) right).setParent(node);
+		}
+		
+		node.update();
+		return node;
 	}
 }
@@ -0,0 +1,83 @@
+package filip.custom.data_structs.trees.binary.red_black.aggregate;
+
+import filip.custom.data_structs.trees.binary.BSTNode;
+import filip.custom.data_structs.trees.binary.red_black.RBTNode;
+
+/**
+ * A node of an {@link AggregateRedBlackTree}, which keeps the aggregate of all the values in it's subtree.
+ * 
+ * @author fiilip
+ *
+ * @param <K> Type of keys stored in nodes.
+ * @param <V> Type of values stored in nodes.
+ * @param <A> Type of the aggregates.
+ */
+public class AggregateRBTNode<K extends Comparable<K>, V, A> extends RBTNode<K, V> {
+	
+	/**
+	 * Aggregation of the tree this node belongs to.
+	 */
+	private final Aggregation<? super V, A> aggregation;
+	
+	/**
+	 * Aggregate of the values in the subtree rooted at this node, in-order.
+	 */
+	private A aggregate;
+
+	/**
+	 * Creates a new {@link AggregateRBTNode}.
+	 * 
+	 * @param key Key contained by this node.
+	 * @param value Value contained by this node.
+	 * @param color Color of this node.
+	 * @param parent Parent node of this node.
+	 * @param aggregation Aggregation of the tree this node belongs to.
+	 */
+	public AggregateRBTNode(K key, V value, Color color, RBTNode<K, V> parent, Aggregation<? super V, A> aggregation) {
+		super(key, value, color, parent);
+		this.aggregation = aggregation;
+		this.aggregate = aggregation.lift(value);
+	}
+	
+	/**
+	 * Gets the aggregate of the values in the subtree rooted at this node.
+	 * 
+	 * @return Aggregate of the subtree.
+	 */
+	public A getAggregate() {
+		return aggregate;
+	}
+	
+	/**
+	 * Recalculates both the size, and the aggregate of the subtree rooted at this node.
+	 */
+	@Override
+	public void update() {
+		super.update();
+		aggregate = aggregation.combine(
+				aggregation.combine(aggregateOf(getLeft()), aggregation.lift(getValue())), aggregateOf(getRight()));
+	}
+	
+	/**
+	 * Sets the value of this node, and updates the aggregates of this node and all of it's ancestors.
+	 */
+	@Override
+	public void setValue(V value) {
+		super.setValue(value);
+		
+		for (RBTNode<K, V> n = this; n != null; n = n.getParent()) {
+			n.update();
+		}
+	}
+	
+	/**
+	 * Gets the aggregate of the subtree rooted at a given <code>node</code>.
+	 * 
+	 * @param node Node of interest, possibly <code>null</code>.
+	 * @return Aggregate of the subtree, or <code>null</code> if the <code>node</code> is <code>null</code>.
+	 */
+	@SuppressWarnings("unchecked")
+	static <A> A aggregateOf(BSTNode<?, ?> node) {
+		return node == null ? null : ((AggregateRBTNode<?, ?, A>) node).aggregate;
+	}
+}
@@ -0,0 +1,151 @@
+package filip.custom.data_structs.trees.binary.red_black.aggregate;
+
+import java.util.Comparator;
+
+import filip.custom.data_structs.trees.binary.BSTNode;
+import filip.custom.data_structs.trees.binary.red_black.RedBlackTree;
+
+/**
+ * A {@link RedBlackTree} that keeps an aggregate of the values in every subtree, 
+ * as described by an {@link Aggregation}, such as the sum of all the volumes traded within a price range.<br>
+ * 
+ * The aggregates are kept correct by the same bottom-up updates that keep the subtree sizes correct,
+ * through the rotations, the insertions, the removals and the changes of values through 
+ * {@link filip.custom.data_structs.trees.SearchTree.Entry#setValue(Object)}. 
+ * This makes {@link #aggregate(Comparable, Comparable)} take <code>O(log n)</code> time.<br>
+ * 
+ * Every entry is stored in an {@link AggregateRBTNode} of 48 bytes on a 64-bit JVM with compressed references,
+ * not counting the aggregate objects.
+ * 
+ * @author fiilip
+ *
+ * @param <K> Type of keys stored in this tree.
+ * @param <V> Type of values stored in this tree.
+ * @param <A> Type of the aggregates.
+ */
+public class AggregateRedBlackTree<K extends Comparable<K>, V, A> extends RedBlackTree<K, V> {
+	
+	/**
+	 * Aggregation of the values of this tree.
+	 */
+	private final Aggregation<? super V, A> aggregation;
+
+	/**
+	 * Creates a new, empty instance of {@link AggregateRedBlackTree}.
+	 * 
+	 * @param aggregation Aggregation of the values of this tree.
+	 */
+	public AggregateRedBlackTree(Aggregation<? super V, A> aggregation) {
+		this(aggregation, null);
+	}
+	
+	/**
+	 * Creates a new, empty instance of {@link AggregateRedBlackTree}, ordered by a given <code>comparator</code>.<br>
+	 * 
+	 * The values are aggregated in the order of the keys, so an aggregation that isn't commutative
+	 * combines them in the order of the <code>comparator</code>.
+	 * 
+	 * @param aggregation Aggregation of the values of this tree.
+	 * @param comparator Comparator of the keys, <code>null</code> for their natural order.
+	 */
+	public AggregateRedBlackTree(Aggregation<? super V, A> aggregation, Comparator<? super K> comparator) {
+		super((key, value, color, parent) -> new AggregateRBTNode<>(key, value, color, parent, aggregation), comparator);
+		this.aggregation = aggregation;
+	}
+	
+	@Override
+	protected AggregateRedBlackTree<K, V, A> createEmpty() {
+		return new AggregateRedBlackTree<K, V, A>(aggregation, comparator());
+	}
+	
+	/**
+	 * Gets the aggregate of all the values in this tree.
+	 * 
+	 * @return Aggregate of all the values, or <code>null</code> if this tree is empty.
+	 */
+	public A aggregate() {
+		return AggregateRBTNode.aggregateOf(root);
+	}
+	
+	/**
+	 * Gets the aggregate of the values with keys greater than <code>low</code> and less than <code>high</code>,
+	 * combined in the order of their keys, in <code>O(log n)</code> time.
+	 * 
+	 * @param low Exclusive lower bound of the keys, <code>null</code> if there is none.
+	 * @param high Exclusive upper bound of the keys, <code>null</code> if there is none.
+	 * @return Aggregate of the values within the interval, or <code>null</code> if there are none.
+	 */
+	public A aggregate(K low, K high) {
+		BSTNode<K, V> tmp = root;
+		
+		// find the highest node within the interval, below which the interval splits in two
+		while (tmp != null) {
+			if (low != null && compare(tmp.getKey(), low) <= 0) {
+				tmp = tmp.getRight();
+			} else if (high != null && compare(tmp.getKey(), high) >= 0) {
+				tmp = tmp.getLeft();
+			} else {
+				break;
+			}
+		}
+		
+		if (tmp == null) return null;
+		
+		A left = aggregateAbove(tmp.getLeft(), low);
+		A right = aggregateBelow(tmp.getRight(), high);
+		
+		return aggregation.combine(aggregation.combine(left, aggregation.lift(tmp.getValue())), right);
+	}
+	
+	/**
+	 * Gets the aggregate of the values in a subtree with keys greater than <code>low</code>.
+	 * 
+	 * @param n Root of the subtree, possibly <code>null</code>.
+	 * @param low Exclusive lower bound of the keys, <code>null</code> if there is none.
+	 * @return Aggregate of such values, or <code>null</code> if there are none.
+	 */
+	private A aggregateAbove(BSTNode<K, V> n, K low) {
+		if (low == null) return AggregateRBTNode.aggregateOf(n);
+		
+		A aggregate = null;
+		
+		while (n != null) {
+			if (compare(n.getKey(), low) <= 0) {
+				// the node and it's left subtree are out
+				n = n.getRight();
+			} else {
+				// the node and it's right subtree are in, and precede everything aggregated so far
+				A in = aggregation.combine(aggregation.lift(n.getValue()), AggregateRBTNode.<A>aggregateOf(n.getRight()));
+				aggregate = aggregation.combine(in, aggregate);
+				n = n.getLeft();
+			}
+		}
+		return aggregate;
+	}
+	
+	/**
+	 * Gets the aggregate of the values in a subtree with keys less than <code>high</code>.
+	 * 
+	 * @param n Root of the subtree, possibly <code>null</code>.
+	 * @param high Exclusive upper bound of the keys, <code>null</code> if there is none.
+	 * @return Aggregate of such values, or <code>null</code> if there are none.
+	 */
+	private A aggregateBelow(BSTNode<K, V> n, K high) {
+		if (high == null) return AggregateRBTNode.aggregateOf(n);
+		
+		A aggregate = null;
+		
+		while (n != null) {
+			if (compare(n.getKey(), high) >= 0) {
+				// the node and it's right subtree are out
+				n = n.getLeft();
+			} else {
+				// the node and it's left subtree are in, and follow everything aggregated so far
+				A in = aggregation.combine(AggregateRBTNode.<A>aggregateOf(n.getLeft()), aggregation.lift(n.getValue()));
+				aggregate = aggregation.combine(aggregate, in);
+				n = n.getRight();
+			}
+		}
+		return aggregate;
+	}
+}
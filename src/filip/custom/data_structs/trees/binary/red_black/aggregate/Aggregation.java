@@ -0,0 +1,76 @@
+package filip.custom.data_structs.trees.binary.red_black.aggregate;
+
+import java.util.Objects;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+
+/**
+ * Describes how the values of an {@link AggregateRedBlackTree} are aggregated.<br>
+ * 
+ * A value is first lifted to an aggregate, and the aggregates are then combined with an associative
+ * function, such as a sum, a minimum or a maximum. The function doesn't need to be commutative, 
+ * since the aggregates are always combined in the order of their keys.<br>
+ * 
+ * The aggregate of no values is <code>null</code>, so the combining function is never given a <code>null</code>.
+ * 
+ * @author fiilip
+ *
+ * @param <V> Type of values being aggregated.
+ * @param <A> Type of the aggregates.
+ */
+public class Aggregation<V, A> {
+	
+	/**
+	 * Function turning a value into an aggregate.
+	 */
+	private final Function<? super V, ? extends A> lift;
+	
+	/**
+	 * Associative function combining two aggregates.
+	 */
+	private final BinaryOperator<A> combine;
+	
+	/**
+	 * Creates a new instance of {@link Aggregation}.
+	 * 
+	 * @param lift Function turning a value into an aggregate.
+	 * @param combine Associative function combining two aggregates.
+	 */
+	public Aggregation(Function<? super V, ? extends A> lift, BinaryOperator<A> combine) {
+		this.lift = Objects.requireNonNull(lift);
+		this.combine = Objects.requireNonNull(combine);
+	}
+	
+	/**
+	 * Creates a new instance of {@link Aggregation}, which combines the values themselves.
+	 * 
+	 * @param combine Associative function combining two values.
+	 * @return New aggregation.
+	 */
+	public static <V> Aggregation<V, V> of(BinaryOperator<V> combine) {
+		return new Aggregation<>(Function.identity(), combine);
+	}
+	
+	/**
+	 * Turns a given <code>value</code> into an aggregate.
+	 * 
+	 * @param value Value of interest.
+	 * @return Aggregate of the single <code>value</code>.
+	 */
+	A lift(V value) {
+		return lift.apply(value);
+	}
+	
+	/**
+	 * Combines two aggregates, where either of them might be the <code>null</code> aggregate of no values.
+	 * 
+	 * @param first Aggregate of the values with lesser keys.
+	 * @param second Aggregate of the values with greater keys.
+	 * @return Combined aggregate.
+	 */
+	A combine(A first, A second) {
+		if (first == null) return second;
+		if (second == null) return first;
+		return combine.apply(first, second);
+	}
+}
@@ -0,0 +1,859 @@
+package filip.custom.data_structs.trees.binary.red_black.array;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import filip.custom.data_structs.trees.SearchTree;
+import filip.custom.data_structs.trees.binary.red_black.RBTNode;
+import filip.custom.data_structs.trees.binary.red_black.RedBlackTree;
+import filip.custom.data_structs.trees.binary.red_black.oper.RBTOperation;
+
+/**
+ * A class that represents a <b>Red-Black Tree</b> stored as a <i>struct of arrays</i>.<br>
+ * 
+ * Instead of one {@link RBTNode} object per entry, every entry occupies a <i>slot</i>, ie. an index
+ * into a set of parallel arrays: the <code>left</code>, <code>right</code> and <code>parent</code>
+ * arrays of slot indices, a bitset of colors, and the arrays of keys and values. The links between
+ * the nodes are therefore plain <code>int</code>s, which the garbage collector never has to trace,
+ * and the whole structure of a tree lives in a handful of large arrays.<br>
+ * 
+ * Slots of removed entries are put on a free list, and reused by the later insertions. Slot <code>0</code>
+ * is never used, and stands for the <code>null</code> node.<br>
+ * 
+ * The balancing algorithms are the same ones used by the {@link RedBlackTree} (see {@link RBTOperation}),
+ * so both trees have the same shape after the same sequence of operations.
+ * 
+ * @author fiilip
+ *
+ * @param <K> Type of keys stored in this tree.
+ * @param <V> Type of values stored in this tree.
+ */
+public class ArrayRedBlackTree<K extends Comparable<K>, V> implements SearchTree<K, V> {
+	
+	/**
+	 * Slot that stands for the <code>null</code> node.
+	 */
+	private static final int NIL = 0;
+	
+	/**
+	 * Capacity of a tree created by the no-argument constructor.
+	 */
+	private static final int DEFAULT_CAPACITY = 16;
+	
+	/**
+	 * Left child of every slot.
+	 */
+	private int[] left;
+	
+	/**
+	 * Right child of every slot. For a slot on the free list, the next free slot.
+	 */
+	private int[] right;
+	
+	/**
+	 * Parent of every slot.
+	 */
+	private int[] parent;
+	
+	/**
+	 * Bitset of colors of the slots; a set bit means the slot is red.
+	 */
+	private long[] red;
+	
+	/**
+	 * Key stored in every slot.
+	 */
+	private Object[] keys;
+	
+	/**
+	 * Value stored in every slot.
+	 */
+	private Object[] values;
+	
+	/**
+	 * Root slot of this tree.
+	 */
+	private int root;
+	
+	/**
+	 * Count of currently stored entries in this tree.
+	 */
+	private int size;
+	
+	/**
+	 * First slot on the free list, {@link #NIL} if the free list is empty.
+	 */
+	private int free;
+	
+	/**
+	 * First slot that was never used.
+	 */
+	private int unused;
+	
+	/**
+	 * Creates a new, empty instance of {@link ArrayRedBlackTree}.
+	 */
+	public ArrayRedBlackTree() {
+		this(DEFAULT_CAPACITY);
+	}
+	
+	/**
+	 * Creates a new, empty instance of {@link ArrayRedBlackTree}, able to hold <code>capacity</code>
+	 * entries before it's arrays need to grow.
+	 * 
+	 * @param capacity Initial capacity.
+	 * @throws IllegalArgumentException If the <code>capacity</code> is negative.
+	 */
+	public ArrayRedBlackTree(int capacity) throws IllegalArgumentException {
+		if (capacity < 0) {
+			throw new IllegalArgumentException("Capacity should not be negative: " + capacity);
+		}
+		
+		int slots = capacity + 1;
+		this.left = new int[slots];
+		this.right = new int[slots];
+		this.parent = new int[slots];
+		this.red = new long[(slots + 63) >>> 6];
+		this.keys = new Object[slots];
+		this.values = new Object[slots];
+		
+		this.root = NIL;
+		this.size = 0;
+		this.free = NIL;
+		this.unused = 1;
+	}
+
+	@Override
+	public boolean insert(K key, V value) throws IllegalArgumentException {
+		nullCheckKey(key);
+		
+		int p = NIL;
+		int tmp = root;
+		int compared = 0;
+		
+		while (tmp != NIL) {
+			p = tmp;
+			compared = key.compareTo(key(tmp));
+			
+			if (compared < 0) {
+				// go left
+				tmp = left[tmp];
+			} else if (compared > 0) {
+				// go right
+				tmp = right[tmp];
+			} else {
+				// already exists
+				return false;
+			}
+		}
+		
+		int n = allocate(key, value, p);
+		
+		if (p == NIL) {
+			root = n;
+		} else if (compared < 0) {
+			left[p] = n;
+		} else {
+			right[p] = n;
+		}
+		
+		size ++;
+		rebalanceInsertion(n);
+		return true;
+	}
+
+	@Override
+	public V remove(K key) throws IllegalArgumentException {
+		nullCheckKey(key);
+		
+		int z = findSlot(key);
+		if (z == NIL) return null;
+		
+		V value = value(z);
+		unlink(z);
+		release(z);
+		size --;
+		
+		return value;
+	}
+
+	@Override
+	public boolean contains(K key) throws IllegalArgumentException {
+		return get(key) != null;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return root == NIL;
+	}
+
+	@Override
+	public void clear() {
+		Arrays.fill(keys, 0, unused, null);
+		Arrays.fill(values, 0, unused, null);
+		Arrays.fill(left, 0, unused, NIL);
+		Arrays.fill(right, 0, unused, NIL);
+		Arrays.fill(parent, 0, unused, NIL);
+		Arrays.fill(red, 0L);
+		
+		root = NIL;
+		size = 0;
+		free = NIL;
+		unused = 1;
+	}
+
+	@Override
+	public SearchTree<K, V> getGreaterThan(K toCompare) {
+		return getInterval(toCompare, null);
+	}
+
+	@Override
+	public SearchTree<K, V> getLessThan(K toCompare) {
+		return getInterval(null, toCompare);
+	}
+
+	@Override
+	public SearchTree<K, V> getInterval(K fromKey, K toKey) {
+		ArrayRedBlackTree<K, V> filtered = new ArrayRedBlackTree<>();
+		
+		int n = fromKey == null ? minimum(root) : higher(fromKey);
+		for (; n != NIL && (toKey == null || key(n).compareTo(toKey) < 0); n = successor(n)) {
+			filtered.insert(key(n), value(n));
+		}
+		return filtered;
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public V get(K key) throws IllegalArgumentException {
+		nullCheckKey(key);
+		
+		int n = findSlot(key);
+		return n == NIL ? null : value(n);
+	}
+
+	@Override
+	public int depth() {
+		return depth(root);
+	}
+	
+	/**
+	 * Calculates the depth of a tree from the given slot <code>n</code>
+	 * to the furtherest leaf slot.
+	 * 
+	 * @param n Slot of interest.
+	 * @return Depth from the given slot.
+	 */
+	private int depth(int n) {
+		if (n == NIL) {
+			return 0;
+		}
+		
+		return 1 + Math.max(depth(left[n]), depth(right[n]));
+	}
+
+	/**
+	 * Iterates over the entries in-order.<br>
+	 * 
+	 * Since there are no node objects, every returned entry is a new, lightweight view of a slot.
+	 * An entry is valid only until the entry it stands for is removed from this tree.
+	 */
+	@Override
+	public Iterator<Entry<K, V>> iterator() {
+		return new Iterator<Entry<K, V>>() {
+			
+			/**
+			 * Slot returned by the next call to {@link #next()}.
+			 */
+			private int next = minimum(root);
+
+			@Override
+			public boolean hasNext() {
+				return next != NIL;
+			}
+
+			@Override
+			public Entry<K, V> next() {
+				if (next == NIL) throw new NoSuchElementException("No more elements in a tree.");
+				
+				int n = next;
+				next = successor(n);
+				return new SlotEntry(n);
+			}
+		};
+	}
+	
+	@Override
+	public String toString() {
+		if (root == NIL) return "(empty)";
+		
+		StringBuilder builder = new StringBuilder();
+		build(builder, root, "", true);
+		return builder.toString();
+	}
+	
+	/**
+	 * Builds a textual representation of a tree, in the same format as the other trees of this library.
+	 * 
+	 * @param builder Builder the text is appended to.
+	 * @param n Slot currently being added to the string being built.
+	 * @param prefix String that is built until the moment of calling.
+	 * @param isTail Whether or not the current slot should be printed as tail.
+	 */
+	private void build(StringBuilder builder, int n, String prefix, boolean isTail) {
+		builder.append(prefix).append(isTail ? "└── " : "├── ")
+			.append('(').append(keys[n]).append(", ").append(values[n]).append(')')
+			.append(System.lineSeparator());
+		
+		List<Integer> children = new ArrayList<>(2);
+		if (left[n] != NIL) children.add(left[n]);
+		if (right[n] != NIL) children.add(right[n]);
+		
+		for (int i = 0; i < children.size(); i ++) {
+			build(builder, children.get(i), prefix + (isTail ? "    " : "│   "), i == children.size() - 1);
+		}
+	}
+	
+	/**
+	 * Takes a slot for a new red entry, either from the free list, or from the never used slots,
+	 * growing the arrays if needed.
+	 * 
+	 * @param key Key of the new entry.
+	 * @param value Value of the new entry.
+	 * @param p Parent slot of the new entry.
+	 * @return Slot of the new entry.
+	 */
+	private int allocate(K key, V value, int p) {
+		int n;
+		
+		if (free != NIL) {
+			n = free;
+			free = right[n];
+		} else {
+			if (unused == keys.length) {
+				grow();
+			}
+			n = unused ++;
+		}
+		
+		keys[n] = key;
+		values[n] = value;
+		left[n] = NIL;
+		right[n] = NIL;
+		parent[n] = p;
+		setRed(n, true);
+		
+		return n;
+	}
+	
+	/**
+	 * Puts a given slot <code>n</code> of a removed entry to the free list.
+	 * 
+	 * @param n Slot of interest.
+	 */
+	private void release(int n) {
+		keys[n] = null;
+		values[n] = null;
+		left[n] = NIL;
+		parent[n] = NIL;
+		right[n] = free;
+		free = n;
+	}
+	
+	/**
+	 * Grows the arrays by half of their current length.
+	 */
+	private void grow() {
+		int slots = keys.length + Math.max(keys.length >> 1, DEFAULT_CAPACITY);
+		
+		left = Arrays.copyOf(left, slots);
+		right = Arrays.copyOf(right, slots);
+		parent = Arrays.copyOf(parent, slots);
+		red = Arrays.copyOf(red, (slots + 63) >>> 6);
+		keys = Arrays.copyOf(keys, slots);
+		values = Arrays.copyOf(values, slots);
+	}
+	
+	/**
+	 * Performs the re-balancing of the tree after the insertion of
+	 * a new slot, <code>n</code>.
+	 * 
+	 * @param n New slot that was added to this tree.
+	 */
+	private void rebalanceInsertion(int n) {
+		while (isRed(parent[n])) {
+			int p = parent[n];
+			int g = parent[p];
+			
+			if (p == left[g]) {
+				int u = right[g];
+				
+				if (isRed(u)) {
+					setRed(p, false);
+					setRed(u, false);
+					setRed(g, true);
+					n = g;
+					continue;
+				}
+				
+				if (n == right[p]) {
+					// double rotation needed
+					n = p;
+					leftRotate(n);
+				}
+				
+				setRed(parent[n], false);
+				setRed(parent[parent[n]], true);
+				rightRotate(parent[parent[n]]);
+			} else {
+				int u = left[g];
+				
+				if (isRed(u)) {
+					setRed(p, false);
+					setRed(u, false);
+					setRed(g, true);
+					n = g;
+					continue;
+				}
+				
+				if (n == left[p]) {
+					// double rotation needed
+					n = p;
+					rightRotate(n);
+				}
+				
+				setRed(parent[n], false);
+				setRed(parent[parent[n]], true);
+				leftRotate(parent[parent[n]]);
+			}
+		}
+		setRed(root, false);
+	}
+	
+	/**
+	 * Unlinks a given slot <code>z</code> from this tree, and re-balances the tree.
+	 * 
+	 * @param z Slot being removed from this tree.
+	 */
+	private void unlink(int z) {
+		int x;
+		int xParent;
+		int y = z;
+		
+		boolean yOriginallyBlack = !isRed(y);
+		
+		if (left[z] == NIL) {
+			x = right[z];
+			xParent = parent[z];
+			transplant(z, x);
+		} else if (right[z] == NIL) {
+			x = left[z];
+			xParent = parent[z];
+			transplant(z, x);
+		} else {
+			y = minimum(right[z]);
+			yOriginallyBlack = !isRed(y);
+			x = right[y];
+			
+			if (parent[y] == z) {
+				xParent = y;
+			} else {
+				xParent = parent[y];
+				transplant(y, x);
+				right[y] = right[z];
+				parent[right[y]] = y;
+			}
+			
+			transplant(z, y);
+			left[y] = left[z];
+			parent[left[y]] = y;
+			setRed(y, isRed(z));
+		}
+		
+		if (yOriginallyBlack) {
+			rebalanceRemoval(x, xParent);
+		}
+	}
+	
+	/**
+	 * Performs the re-balancing of the tree after a removal.
+	 * 
+	 * @param x Slot that took the place of the removed slot, possibly {@link #NIL}.
+	 * @param xParent Parent of the slot <code>x</code>.
+	 */
+	private void rebalanceRemoval(int x, int xParent) {
+		while (x != root && !isRed(x)) {
+			if (x == left[xParent]) {
+				int w = right[xParent];
+				
+				if (isRed(w)) {
+					setRed(w, false);
+					setRed(xParent, true);
+					leftRotate(xParent);
+					w = right[xParent];
+				}
+				
+				if (!isRed(left[w]) && !isRed(right[w])) {
+					setRed(w, true);
+					x = xParent;
+					xParent = parent[x];
+					continue;
+				}
+				
+				if (!isRed(right[w])) {
+					setRed(left[w], false);
+					setRed(w, true);
+					rightRotate(w);
+					w = right[xParent];
+				}
+				
+				setRed(w, isRed(xParent));
+				setRed(xParent, false);
+				setRed(right[w], false);
+				leftRotate(xParent);
+				x = root;
+				
+			} else {
+				int w = left[xParent];
+				
+				if (isRed(w)) {
+					setRed(w, false);
+					setRed(xParent, true);
+					rightRotate(xParent);
+					w = left[xParent];
+				}
+				
+				if (!isRed(right[w]) && !isRed(left[w])) {
+					setRed(w, true);
+					x = xParent;
+					xParent = parent[x];
+					continue;
+				}
+				
+				if (!isRed(left[w])) {
+					setRed(right[w], false);
+					setRed(w, true);
+					leftRotate(w);
+					w = left[xParent];
+				}
+				
+				setRed(w, isRed(xParent));
+				setRed(xParent, false);
+				setRed(left[w], false);
+				rightRotate(xParent);
+				x = root;
+			}
+		}
+		
+		setRed(x, false);
+	}
+	
+	/**
+	 * Replaces a <code>target</code> subtree as a child of it's parent 
+	 * with another subtree, <code>with</code>.
+	 * 
+	 * @param target Subtree to be replaced.
+	 * @param with Subtree to become a child of a root of replaced subtree.
+	 */
+	private void transplant(int target, int with) {
+		int p = parent[target];
+		
+		if (p == NIL) {
+			root = with;
+		} else if (target == left[p]) {
+			left[p] = with;
+		} else {
+			right[p] = with;
+		}
+		
+		if (with != NIL) {
+			parent[with] = p;
+		}
+	}
+	
+	/**
+	 * Performs a left rotation about a given slot <code>n</code>.
+	 * 
+	 * @param n Slot about which the left rotation is called.
+	 */
+	private void leftRotate(int n) {
+		int r = right[n];
+		int p = parent[n];
+		
+		right[n] = left[r];
+		if (left[r] != NIL) {
+			parent[left[r]] = n;
+		}
+		
+		parent[r] = p;
+		if (p == NIL) {
+			root = r;
+		} else if (n == left[p]) {
+			left[p] = r;
+		} else {
+			right[p] = r;
+		}
+		
+		left[r] = n;
+		parent[n] = r;
+	}
+	
+	/**
+	 * Performs a right rotation about a given slot <code>n</code>.
+	 * 
+	 * @param n Slot about which the right rotation is called.
+	 */
+	private void rightRotate(int n) {
+		int l = left[n];
+		int p = parent[n];
+		
+		left[n] = right[l];
+		if (right[l] != NIL) {
+			parent[right[l]] = n;
+		}
+		
+		parent[l] = p;
+		if (p == NIL) {
+			root = l;
+		} else if (n == right[p]) {
+			right[p] = l;
+		} else {
+			left[p] = l;
+		}
+		
+		right[l] = n;
+		parent[n] = l;
+	}
+	
+	/**
+	 * Checks whether a given slot <code>n</code> is red.<br>
+	 * The {@link #NIL} slot is always black.
+	 * 
+	 * @param n Slot of interest.
+	 * @return <code>true</code> if <code>n</code> is red, and <code>false</code> if it is black.
+	 */
+	boolean isRed(int n) {
+		return (red[n >>> 6] & (1L << n)) != 0;
+	}
+	
+	/**
+	 * Sets the color of a given slot <code>n</code>.<br>
+	 * Painting the {@link #NIL} slot is ignored, so that it stays black.
+	 * 
+	 * @param n Slot of interest.
+	 * @param isRed <code>true</code> to paint the slot red, and <code>false</code> to paint it black.
+	 */
+	private void setRed(int n, boolean isRed) {
+		if (n == NIL) return;
+		
+		if (isRed) {
+			red[n >>> 6] |= 1L << n;
+		} else {
+			red[n >>> 6] &= ~(1L << n);
+		}
+	}
+	
+	/**
+	 * Finds a slot with a given <code>key</code>.
+	 * 
+	 * @param key Key of the slot being searched for.
+	 * @return A slot with a given <code>key</code> if such exists, and {@link #NIL} otherwise.
+	 */
+	private int findSlot(K key) {
+		int tmp = root;
+		
+		while (tmp != NIL) {
+			int compared = key.compareTo(key(tmp));
+			
+			if (compared < 0) {
+				// go left
+				tmp = left[tmp];
+			} else if (compared > 0) {
+				// go right
+				tmp = right[tmp];
+			} else {
+				// search hit
+				return tmp;
+			}
+		}
+		
+		// not found
+		return NIL;
+	}
+	
+	/**
+	 * Finds the slot with the least key greater than a given <code>key</code>.
+	 * 
+	 * @param key Key of interest.
+	 * @return Slot with the least key greater than the <code>key</code>, or {@link #NIL} if there is no such slot.
+	 */
+	private int higher(K key) {
+		int tmp = root;
+		int higher = NIL;
+		
+		while (tmp != NIL) {
+			if (key.compareTo(key(tmp)) < 0) {
+				higher = tmp;
+				tmp = left[tmp];
+			} else {
+				tmp = right[tmp];
+			}
+		}
+		return higher;
+	}
+	
+	/**
+	 * Finds the minimum slot in the subtree rooted at slot <code>n</code>.
+	 * 
+	 * @param n Root of the subtree, possibly {@link #NIL}.
+	 * @return The minimum slot in the subtree, or {@link #NIL} if the subtree is empty.
+	 */
+	private int minimum(int n) {
+		if (n == NIL) return NIL;
+		
+		while (left[n] != NIL) n = left[n];
+		return n;
+	}
+	
+	/**
+	 * Finds the in-order successor of a given slot <code>n</code>.
+	 * 
+	 * @param n Slot of interest.
+	 * @return The slot with the next greater key, or {@link #NIL} if <code>n</code> is the greatest one.
+	 */
+	private int successor(int n) {
+		if (right[n] != NIL) {
+			return minimum(right[n]);
+		}
+		
+		int p = parent[n];
+		while (p != NIL && n == right[p]) {
+			n = p;
+			p = parent[p];
+		}
+		return p;
+	}
+	
+	/**
+	 * Gets the key stored in a given slot <code>n</code>.
+	 * 
+	 * @param n Slot of interest.
+	 * @return Key stored in the slot.
+	 */
+	@SuppressWarnings("unchecked")
+	K key(int n) {
+		return (K) keys[n];
+	}
+	
+	/**
+	 * Gets the root slot of this tree, for the checks of it's structure.
+	 * 
+	 * @return Root slot, {@link #NIL} if this tree is empty.
+	 */
+	int rootSlot() {
+		return root;
+	}
+	
+	/**
+	 * Gets the left child of a given slot <code>n</code>, for the checks of the structure of this tree.
+	 * 
+	 * @param n Slot of interest.
+	 * @return Left child slot, {@link #NIL} if there is none.
+	 */
+	int leftOf(int n) {
+		return left[n];
+	}
+	
+	/**
+	 * Gets the right child of a given slot <code>n</code>, for the checks of the structure of this tree.
+	 * 
+	 * @param n Slot of interest.
+	 * @return Right child slot, {@link #NIL} if there is none.
+	 */
+	int rightOf(int n) {
+		return right[n];
+	}
+	
+	/**
+	 * Gets the parent of a given slot <code>n</code>, for the checks of the structure of this tree.
+	 * 
+	 * @param n Slot of interest.
+	 * @return Parent slot, {@link #NIL} if the slot is the root.
+	 */
+	int parentOf(int n) {
+		return parent[n];
+	}
+	
+	/**
+	 * Gets the value stored in a given slot <code>n</code>.
+	 * 
+	 * @param n Slot of interest.
+	 * @return Value stored in the slot.
+	 */
+	@SuppressWarnings("unchecked")
+	private V value(int n) {
+		return (V) values[n];
+	}
+	
+	/**
+	 * Checks if the given <code>key</code> is <code>null</code>.<br>
+	 * 
+	 * @param key Key of interest.
+	 * @throws IllegalArgumentException if a given <code>key</code> is <code>null</code>.
+	 */
+	private void nullCheckKey(K key) throws IllegalArgumentException {
+		if (key == null) {
+			throw new IllegalArgumentException("Key should not be null.");
+		}
+	}
+	
+	/**
+	 * {@link SearchTree.Entry} that views a single slot of this tree.
+	 * 
+	 * @author fiilip
+	 *
+	 */
+	private class SlotEntry implements Entry<K, V> {
+		
+		/**
+		 * Slot being viewed.
+		 */
+		private final int slot;
+		
+		/**
+		 * Creates a new instance of {@link SlotEntry}.
+		 * 
+		 * @param slot Slot being viewed.
+		 */
+		SlotEntry(int slot) {
+			this.slot = slot;
+		}
+
+		@Override
+		public K getKey() {
+			return key(slot);
+		}
+
+		@Override
+		public V getValue() {
+			return value(slot);
+		}
+
+		@Override
+		public void setValue(V value) {
+			values[slot] = value;
+		}
+		
+		@Override
+		public String toString() {
+			return "(" + keys[slot] + ", " + values[slot] + ")";
+		}
+	}
+}
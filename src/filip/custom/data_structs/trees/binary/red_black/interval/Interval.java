@@ -0,0 +1,109 @@
+package filip.custom.data_structs.trees.binary.red_black.interval;
+
+/**
+ * A closed interval <code>[low, high]</code>, used as a key of an {@link IntervalRedBlackTree}.<br>
+ * 
+ * Intervals are ordered by their lower ends first, and by their upper ends next, so two intervals
+ * are equal only if both of their ends are equal.
+ * 
+ * @author fiilip
+ *
+ * @param <T> Type of the ends of an interval.
+ */
+public final class Interval<T extends Comparable<T>> implements Comparable<Interval<T>> {
+	
+	/**
+	 * Lower end of this interval, inclusive.
+	 */
+	private final T low;
+	
+	/**
+	 * Upper end of this interval, inclusive.
+	 */
+	private final T high;
+	
+	/**
+	 * Creates a new instance of {@link Interval}.
+	 * 
+	 * @param low Lower end of the interval, inclusive.
+	 * @param high Upper end of the interval, inclusive.
+	 * @throws IllegalArgumentException If any of the ends is <code>null</code>, or <code>low</code> is greater than <code>high</code>.
+	 */
+	public Interval(T low, T high) throws IllegalArgumentException {
+		if (low == null || high == null) {
+			throw new IllegalArgumentException("Ends of an interval should not be null.");
+		}
+		
+		if (low.compareTo(high) > 0) {
+			throw new IllegalArgumentException(String.format(
+					"Lower end %s should not be greater than the upper end %s.", low, high));
+		}
+		
+		this.low = low;
+		this.high = high;
+	}
+	
+	/**
+	 * Gets the lower end of this interval.
+	 * 
+	 * @return Lower end, inclusive.
+	 */
+	public T getLow() {
+		return low;
+	}
+	
+	/**
+	 * Gets the upper end of this interval.
+	 * 
+	 * @return Upper end, inclusive.
+	 */
+	public T getHigh() {
+		return high;
+	}
+	
+	/**
+	 * Checks whether this interval contains a given <code>point</code>.
+	 * 
+	 * @param point Point of interest.
+	 * @return <code>true</code> if <code>low &lt;= point &lt;= high</code>, and <code>false</code> otherwise.
+	 */
+	public boolean contains(T point) {
+		return low.compareTo(point) <= 0 && high.compareTo(point) >= 0;
+	}
+	
+	/**
+	 * Checks whether this interval has any point in common with the interval <code>[low, high]</code>.
+	 * 
+	 * @param low Lower end of the other interval, inclusive.
+	 * @param high Upper end of the other interval, inclusive.
+	 * @return <code>true</code> if the intervals overlap, and <code>false</code> otherwise.
+	 */
+	public boolean overlaps(T low, T high) {
+		return this.low.compareTo(high) <= 0 && this.high.compareTo(low) >= 0;
+	}
+
+	@Override
+	public int compareTo(Interval<T> other) {
+		int compared = low.compareTo(other.low);
+		return compared != 0 ? compared : high.compareTo(other.high);
+	}
+	
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) return true;
+		if (!(obj instanceof Interval)) return false;
+		
+		Interval<?> other = (Interval<?>) obj;
+		return low.equals(other.low) && high.equals(other.high);
+	}
+	
+	@Override
+	public int hashCode() {
+		return 31 * low.hashCode() + high.hashCode();
+	}
+	
+	@Override
+	public String toString() {
+		return "[" + low + ", " + high + "]";
+	}
+}
@@ -0,0 +1,70 @@
+package filip.custom.data_structs.trees.binary.red_black.interval;
+
+import filip.custom.data_structs.trees.binary.BSTNode;
+import filip.custom.data_structs.trees.binary.red_black.RBTNode;
+
+/**
+ * A node of an {@link IntervalRedBlackTree}, which keeps the greatest upper end of all the intervals in it's subtree.
+ * 
+ * @author fiilip
+ *
+ * @param <T> Type of the ends of the intervals.
+ * @param <V> Type of values stored in nodes.
+ */
+public class IntervalRBTNode<T extends Comparable<T>, V> extends RBTNode<Interval<T>, V> {
+	
+	/**
+	 * Greatest upper end of the intervals in the subtree rooted at this node.
+	 */
+	private T max;
+
+	/**
+	 * Creates a new {@link IntervalRBTNode}.
+	 * 
+	 * @param key Interval contained by this node.
+	 * @param value Value contained by this node.
+	 * @param color Color of this node.
+	 * @param parent Parent node of this node.
+	 */
+	public IntervalRBTNode(Interval<T> key, V value, Color color, RBTNode<Interval<T>, V> parent) {
+		super(key, value, color, parent);
+		this.max = key.getHigh();
+	}
+	
+	/**
+	 * Gets the greatest upper end of the intervals in the subtree rooted at this node.
+	 * 
+	 * @return Greatest upper end of the subtree.
+	 */
+	public T getMax() {
+		return max;
+	}
+	
+	/**
+	 * Recalculates both the size of the subtree rooted at this node, and it's greatest upper end.
+	 */
+	@Override
+	public void update() {
+		super.update();
+		
+		T m = getKey().getHigh();
+		m = max(m, getLeft());
+		m = max(m, getRight());
+		max = m;
+	}
+	
+	/**
+	 * Gets the greater of a given upper end <code>m</code>, and the greatest upper end of the subtree 
+	 * rooted at a given <code>node</code>.
+	 * 
+	 * @param m Upper end of interest.
+	 * @param node Root of the subtree, possibly <code>null</code>.
+	 * @return The greater upper end.
+	 */
+	private T max(T m, BSTNode<Interval<T>, V> node) {
+		if (node == null) return m;
+		
+		T other = ((IntervalRBTNode<T, V>) node).max;
+		return other.compareTo(m) > 0 ? other : m;
+	}
+}
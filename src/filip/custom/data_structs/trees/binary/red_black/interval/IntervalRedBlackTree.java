@@ -0,0 +1,185 @@
+package filip.custom.data_structs.trees.binary.red_black.interval;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import filip.custom.data_structs.trees.binary.BSTNode;
+import filip.custom.data_structs.trees.binary.red_black.RedBlackTree;
+
+/**
+ * A {@link RedBlackTree} keyed by closed {@link Interval}s, which answers which of it's intervals
+ * contain a point, or overlap another interval.<br>
+ * 
+ * Every node keeps the greatest upper end of the intervals in it's subtree (see {@link IntervalRBTNode}),
+ * kept correct by the same bottom-up updates that keep the subtree sizes correct. An overlap query
+ * skips every subtree whose greatest upper end is below the query, and stops at the first interval whose
+ * lower end is above the query, so it finds the first match in <code>O(log n)</code> time, and each 
+ * next one in at most <code>O(log n)</code> time.<br>
+ * 
+ * A query with <code>k</code> matches therefore takes <code>O(min(n, (k + 1) log n))</code> time, and not 
+ * <code>O(log n + k)</code>. That is intended: the matches are ordered by their lower ends, but they can be spread 
+ * all over the tree, each on a path of it's own. The <code>O(log n + k)</code> bound needs a structure of another 
+ * shape, such as a priority search tree, which couldn't reuse the rotations and the fix-ups of the {@link RedBlackTree}. 
+ * The bound is met when the matches are adjacent in the order of the intervals, eg. when no interval contains another one.<br>
+ * 
+ * The matches are found lazily, as the returned iterator is advanced, so a query whose iteration 
+ * is abandoned early costs only as much as the matches it found.
+ * 
+ * @author fiilip
+ *
+ * @param <T> Type of the ends of the intervals.
+ * @param <V> Type of values stored in this tree.
+ */
+public class IntervalRedBlackTree<T extends Comparable<T>, V> extends RedBlackTree<Interval<T>, V> {
+
+	/**
+	 * Creates a new, empty instance of {@link IntervalRedBlackTree}.
+	 */
+	public IntervalRedBlackTree() {
+		super(IntervalRBTNode::new, null);
+	}
+	
+	@Override
+	protected IntervalRedBlackTree<T, V> createEmpty() {
+		return new IntervalRedBlackTree<>();
+	}
+	
+	/**
+	 * Inserts a new entry keyed by the interval <code>[low, high]</code>.
+	 * 
+	 * @param low Lower end of the interval, inclusive.
+	 * @param high Upper end of the interval, inclusive.
+	 * @param value Value of the new entry.
+	 * @return <code>true</code> if the entry was inserted, and <code>false</code> if the interval is already in this tree.
+	 * @throws IllegalArgumentException If the interval is invalid (see {@link Interval#Interval(Comparable, Comparable)}).
+	 */
+	public boolean insert(T low, T high, V value) throws IllegalArgumentException {
+		return insert(new Interval<>(low, high), value);
+	}
+	
+	/**
+	 * Finds all the intervals that contain a given <code>point</code>, in their order.
+	 * 
+	 * @param point Point of interest.
+	 * @return Lazy iterator over the entries of the intervals containing the <code>point</code>.
+	 * @throws IllegalArgumentException If the <code>point</code> is <code>null</code>.
+	 */
+	public Iterator<Entry<Interval<T>, V>> overlapping(T point) throws IllegalArgumentException {
+		return overlapping(point, point);
+	}
+	
+	/**
+	 * Finds all the intervals that overlap the interval <code>[low, high]</code>, in their order.
+	 * 
+	 * @param low Lower end of the query, inclusive.
+	 * @param high Upper end of the query, inclusive.
+	 * @return Lazy iterator over the entries of the intervals overlapping the query.
+	 * @throws IllegalArgumentException If the query is invalid (see {@link Interval#Interval(Comparable, Comparable)}).
+	 */
+	public Iterator<Entry<Interval<T>, V>> overlapping(T low, T high) throws IllegalArgumentException {
+		return new OverlapIterator(new Interval<>(low, high));
+	}
+	
+	/**
+	 * Checks whether any interval in this tree overlaps the interval <code>[low, high]</code>.
+	 * 
+	 * @param low Lower end of the query, inclusive.
+	 * @param high Upper end of the query, inclusive.
+	 * @return <code>true</code> if there is such an interval, and <code>false</code> otherwise.
+	 * @throws IllegalArgumentException If the query is invalid (see {@link Interval#Interval(Comparable, Comparable)}).
+	 */
+	public boolean overlapsAny(T low, T high) throws IllegalArgumentException {
+		return overlapping(low, high).hasNext();
+	}
+	
+	/**
+	 * Iterates in-order over the entries whose intervals overlap a query, 
+	 * visiting only the subtrees that might hold such intervals.
+	 * 
+	 * @author fiilip
+	 *
+	 */
+	private class OverlapIterator implements Iterator<Entry<Interval<T>, V>> {
+		
+		/**
+		 * Interval being queried for.
+		 */
+		private final Interval<T> query;
+		
+		/**
+		 * Nodes whose right subtrees are yet to be visited, with the node itself on the top.
+		 */
+		private final Deque<BSTNode<Interval<T>, V>> stack;
+		
+		/**
+		 * Next matching node, or <code>null</code> if there are no more matches.
+		 */
+		private BSTNode<Interval<T>, V> next;
+		
+		/**
+		 * Creates a new instance of {@link OverlapIterator}.
+		 * 
+		 * @param query Interval being queried for.
+		 */
+		OverlapIterator(Interval<T> query) {
+			this.query = query;
+			this.stack = new ArrayDeque<>();
+			
+			pushAll(root);
+			advance();
+		}
+
+		@Override
+		public boolean hasNext() {
+			return next != null;
+		}
+
+		@Override
+		public Entry<Interval<T>, V> next() {
+			if (next == null) throw new NoSuchElementException("No more overlapping intervals.");
+			
+			BSTNode<Interval<T>, V> match = next;
+			advance();
+			return match;
+		}
+		
+		/**
+		 * Finds the next matching node.
+		 */
+		private void advance() {
+			next = null;
+			
+			while (!stack.isEmpty()) {
+				BSTNode<Interval<T>, V> node = stack.pop();
+				
+				if (node.getKey().getLow().compareTo(query.getHigh()) > 0) {
+					// this and all the following intervals start after the query
+					stack.clear();
+					return;
+				}
+				
+				pushAll(node.getRight());
+				
+				if (node.getKey().getHigh().compareTo(query.getLow()) >= 0) {
+					next = node;
+					return;
+				}
+			}
+		}
+		
+		/**
+		 * Pushes the leftmost path of a subtree rooted at a given <code>node</code> to the stack,
+		 * stopping at the first subtree with no interval reaching the query.
+		 * 
+		 * @param node Root of the subtree, possibly <code>null</code>.
+		 */
+		private void pushAll(BSTNode<Interval<T>, V> node) {
+			while (node != null && ((IntervalRBTNode<T, V>) node).getMax().compareTo(query.getLow()) >= 0) {
+				stack.push(node);
+				node = node.getLeft();
+			}
+		}
+	}
+}
@@ -0,0 +1,68 @@
+package filip.custom.data_structs.trees.binary.red_black.offheap;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+
+/**
+ * Utility methods for the direct and the mapped {@link ByteBuffer}s.
+ * 
+ * @author fiilip
+ *
+ */
+final class Buffers {
+	
+	/**
+	 * <code>sun.misc.Unsafe.invokeCleaner(ByteBuffer)</code>, available since Java 9.
+	 */
+	private static final Method INVOKE_CLEANER;
+	
+	/**
+	 * The <code>sun.misc.Unsafe</code> instance.
+	 */
+	private static final Object UNSAFE;
+	
+	static {
+		Method invokeCleaner = null;
+		Object unsafe = null;
+		
+		try {
+			Class<?> cls = Class.forName("sun.misc.Unsafe");
+			Field field = cls.getDeclaredField("theUnsafe");
+			field.setAccessible(true);
+			unsafe = field.get(null);
+			invokeCleaner = cls.getMethod("invokeCleaner", ByteBuffer.class);
+		} catch (ReflectiveOperationException | RuntimeException e) {
+			// not available, the buffers will be released by the garbage collector
+			invokeCleaner = null;
+			unsafe = null;
+		}
+		
+		INVOKE_CLEANER = invokeCleaner;
+		UNSAFE = unsafe;
+	}
+	
+	/**
+	 * Disables the creation of instances.
+	 */
+	private Buffers() {
+	}
+	
+	/**
+	 * Releases the memory of a given direct or mapped <code>buffer</code> right away, if the JVM allows it.
+	 * Otherwise, the memory is released once the buffer is garbage collected.<br>
+	 * 
+	 * The buffer must not be used after this call.
+	 * 
+	 * @param buffer Buffer of interest.
+	 */
+	static void free(ByteBuffer buffer) {
+		if (INVOKE_CLEANER == null || !buffer.isDirect()) return;
+		
+		try {
+			INVOKE_CLEANER.invoke(UNSAFE, buffer);
+		} catch (ReflectiveOperationException | RuntimeException e) {
+			// leave it to the garbage collector
+		}
+	}
+}
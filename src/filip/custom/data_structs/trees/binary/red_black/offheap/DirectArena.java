@@ -0,0 +1,47 @@
+package filip.custom.data_structs.trees.binary.red_black.offheap;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * An {@link OffHeapArena} backed by a direct {@link ByteBuffer}.<br>
+ * 
+ * Growing the arena allocates a new direct buffer, copies the content over, and frees the old buffer.
+ * 
+ * @author fiilip
+ *
+ */
+public class DirectArena extends OffHeapArena {
+
+	/**
+	 * Creates a new instance of {@link DirectArena}, with all of it's memory zeroed.
+	 * 
+	 * @param bytes Initial capacity in bytes.
+	 */
+	public DirectArena(int bytes) {
+		super(allocate(bytes));
+	}
+
+	@Override
+	protected ByteBuffer resize(ByteBuffer current, int bytes) {
+		ByteBuffer resized = allocate(bytes);
+		
+		ByteBuffer source = current.duplicate();
+		source.clear();
+		resized.put(source);
+		resized.clear();
+		
+		Buffers.free(current);
+		return resized;
+	}
+	
+	/**
+	 * Allocates a new direct buffer in the native byte order.
+	 * 
+	 * @param bytes Capacity of the buffer in bytes.
+	 * @return New direct buffer.
+	 */
+	private static ByteBuffer allocate(int bytes) {
+		return ByteBuffer.allocateDirect(bytes).order(ByteOrder.nativeOrder());
+	}
+}
@@ -0,0 +1,162 @@
+package filip.custom.data_structs.trees.binary.red_black.offheap;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * An {@link OffHeapArena} backed by a memory-mapped file.<br>
+ * 
+ * The whole file is mapped into memory, so a tree held in this arena is read and written in place,
+ * and a tree stored in the file earlier is available right after the file is opened again.
+ * Growing the arena extends the file and maps it again.<br>
+ * 
+ * Changes reach the file when the operating system writes the mapped pages back, 
+ * at the latest when the arena is closed. {@link #flush()} writes them right away.
+ * The file is written in the native byte order, so it can be opened only on a platform
+ * of the same byte order.
+ * 
+ * @author fiilip
+ *
+ */
+public class MappedArena extends OffHeapArena {
+	
+	/**
+	 * Initial size in bytes of a new file.
+	 */
+	private static final int DEFAULT_BYTES = 1 << 16;
+	
+	/**
+	 * Channel of the mapped file.
+	 */
+	private final FileChannel channel;
+
+	/**
+	 * Creates a new instance of {@link MappedArena}, opening a given <code>file</code>, 
+	 * or creating it if it doesn't exist.
+	 * 
+	 * @param file File of interest.
+	 * @throws IOException If the file can't be opened or mapped.
+	 */
+	public MappedArena(Path file) throws IOException {
+		this(file, DEFAULT_BYTES);
+	}
+	
+	/**
+	 * Creates a new instance of {@link MappedArena}, opening a given <code>file</code>, 
+	 * or creating it if it doesn't exist.<br>
+	 * 
+	 * A file shorter than <code>bytes</code> bytes is extended with zeros, and a longer file is mapped whole.
+	 * 
+	 * @param file File of interest.
+	 * @param bytes Initial capacity in bytes.
+	 * @throws IOException If the file can't be opened or mapped.
+	 */
+	public MappedArena(Path file, int bytes) throws IOException {
+		this(FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE), bytes);
+	}
+	
+	/**
+	 * Creates a new instance of {@link MappedArena} over an open <code>channel</code>.
+	 * 
+	 * @param channel Channel of the mapped file.
+	 * @param bytes Initial capacity in bytes.
+	 * @throws IOException If the file can't be mapped.
+	 */
+	private MappedArena(FileChannel channel, int bytes) throws IOException {
+		this(channel, mapOrClose(channel, bytes));
+	}
+	
+	/**
+	 * Creates a new instance of {@link MappedArena} over an open and mapped <code>channel</code>.
+	 * 
+	 * @param channel Channel of the mapped file.
+	 * @param buffer Mapped content of the file.
+	 */
+	private MappedArena(FileChannel channel, ByteBuffer buffer) {
+		super(buffer);
+		this.channel = channel;
+	}
+
+	/**
+	 * Extends the file and maps it again.
+	 * 
+	 * @throws UncheckedIOException If the file can't be extended or mapped.
+	 */
+	@Override
+	protected ByteBuffer resize(ByteBuffer current, int bytes) throws UncheckedIOException {
+		ByteBuffer resized;
+		
+		try {
+			resized = map(channel, bytes);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		
+		// the old mapping views the same file, so nothing needs to be copied
+		Buffers.free(current);
+		return resized;
+	}
+	
+	/**
+	 * Writes all the changes of the mapped content to the file.
+	 */
+	@Override
+	public void flush() throws IllegalStateException {
+		((MappedByteBuffer) buffer()).force();
+	}
+	
+	/**
+	 * Writes all the changes to the file, unmaps it, and closes it.
+	 * 
+	 * @throws UncheckedIOException If the file can't be closed.
+	 */
+	@Override
+	public void close() throws UncheckedIOException {
+		if (isClosed()) return;
+		
+		flush();
+		super.close();
+		
+		try {
+			channel.close();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+	
+	/**
+	 * Maps a whole file, but at least it's first <code>bytes</code> bytes, closing the file if it can't be mapped.
+	 * 
+	 * @param channel Channel of the file.
+	 * @param bytes Minimal number of bytes to map.
+	 * @return Mapped buffer in the native byte order.
+	 * @throws IOException If the file can't be mapped.
+	 */
+	private static ByteBuffer mapOrClose(FileChannel channel, int bytes) throws IOException {
+		try {
+			return map(channel, (int) Math.min(Integer.MAX_VALUE, Math.max(bytes, channel.size())));
+		} catch (IOException | RuntimeException e) {
+			channel.close();
+			throw e;
+		}
+	}
+	
+	/**
+	 * Maps the first <code>bytes</code> bytes of a file, extending the file if needed.
+	 * 
+	 * @param channel Channel of the file.
+	 * @param bytes Number of bytes to map.
+	 * @return Mapped buffer in the native byte order.
+	 * @throws IOException If the file can't be mapped.
+	 */
+	private static ByteBuffer map(FileChannel channel, int bytes) throws IOException {
+		return channel.map(MapMode.READ_WRITE, 0, bytes).order(ByteOrder.nativeOrder());
+	}
+}
@@ -0,0 +1,109 @@
+package filip.custom.data_structs.trees.binary.red_black.offheap;
+
+import java.nio.ByteBuffer;
+
+/**
+ * An abstract class that represents a region of memory outside of the Java heap,
+ * in which an {@link OffHeapRedBlackTree} stores it's nodes.<br>
+ * 
+ * The region is exposed as a single {@link ByteBuffer}, which is replaced by a larger one
+ * whenever the arena grows. Once the arena is closed, it's memory is released, and 
+ * it can't be used any more.
+ * 
+ * @author fiilip
+ *
+ */
+public abstract class OffHeapArena implements AutoCloseable {
+	
+	/**
+	 * Buffer holding the memory of this arena, <code>null</code> once this arena is closed.
+	 */
+	protected ByteBuffer buffer;
+	
+	/**
+	 * Creates a new instance of {@link OffHeapArena}.
+	 * 
+	 * @param buffer Buffer holding the memory of this arena.
+	 */
+	protected OffHeapArena(ByteBuffer buffer) {
+		this.buffer = buffer;
+	}
+	
+	/**
+	 * Gets the buffer holding the memory of this arena.
+	 * 
+	 * @return Buffer of this arena.
+	 * @throws IllegalStateException If this arena is closed.
+	 */
+	public ByteBuffer buffer() throws IllegalStateException {
+		if (buffer == null) {
+			throw new IllegalStateException("Arena is closed.");
+		}
+		return buffer;
+	}
+	
+	/**
+	 * Gets the number of bytes this arena can hold without growing.
+	 * 
+	 * @return Capacity of this arena in bytes.
+	 */
+	public int capacity() {
+		return buffer().capacity();
+	}
+	
+	/**
+	 * Grows this arena so that it can hold at least <code>bytes</code> bytes, keeping all of it's current content.
+	 * 
+	 * @param bytes Required capacity in bytes.
+	 * @return Buffer of this arena after the growth.
+	 * @throws IllegalStateException If this arena is closed.
+	 */
+	public ByteBuffer grow(int bytes) throws IllegalStateException {
+		ByteBuffer current = buffer();
+		
+		if (bytes > current.capacity()) {
+			buffer = resize(current, bytes);
+		}
+		return buffer;
+	}
+	
+	/**
+	 * Replaces a given buffer with a larger one of exactly <code>bytes</code> bytes, 
+	 * holding the same content, and releases the given buffer.
+	 * 
+	 * @param current Current buffer of this arena.
+	 * @param bytes Capacity of the new buffer in bytes.
+	 * @return New buffer of this arena.
+	 */
+	protected abstract ByteBuffer resize(ByteBuffer current, int bytes);
+	
+	/**
+	 * Writes the content of this arena to it's backing storage, if it has any.<br>
+	 * Arenas that live only in memory have nothing to write.
+	 * 
+	 * @throws IllegalStateException If this arena is closed.
+	 */
+	public void flush() throws IllegalStateException {
+		buffer();
+	}
+	
+	/**
+	 * Informs whether or not this arena is closed.
+	 * 
+	 * @return <code>true</code> if this arena is closed, and <code>false</code> otherwise.
+	 */
+	public boolean isClosed() {
+		return buffer == null;
+	}
+	
+	/**
+	 * Releases the memory of this arena. Closing an already closed arena has no effect.
+	 */
+	@Override
+	public void close() {
+		if (buffer != null) {
+			Buffers.free(buffer);
+			buffer = null;
+		}
+	}
+}
@@ -0,0 +1,121 @@
+package filip.custom.data_structs.trees.binary.red_black.offheap;
+
+import java.nio.ByteBuffer;
+
+/**
+ * An {@link OffHeapRedBlackTree} that maps <code>long</code> keys to <code>long</code> values.<br>
+ * 
+ * Besides the methods of the {@link filip.custom.data_structs.trees.SearchTree} interface, 
+ * it offers the ones that take and return primitive values, and so allocate nothing at all.
+ * 
+ * @author fiilip
+ *
+ */
+public class OffHeapLongRedBlackTree extends OffHeapRedBlackTree<Long> {
+	
+	/**
+	 * Width of a value in bytes.
+	 */
+	private static final int VALUE_WIDTH = Long.BYTES;
+	
+	/**
+	 * Default number of entries a new tree can hold before growing.
+	 */
+	private static final int DEFAULT_CAPACITY = 16;
+	
+	/**
+	 * Creates a new instance of {@link OffHeapLongRedBlackTree}, held in a new {@link DirectArena}.
+	 */
+	public OffHeapLongRedBlackTree() {
+		this(DEFAULT_CAPACITY);
+	}
+	
+	/**
+	 * Creates a new instance of {@link OffHeapLongRedBlackTree}, held in a new {@link DirectArena}.
+	 * 
+	 * @param capacity Number of entries the tree can hold before growing.
+	 * @throws IllegalArgumentException If that many entries can't be held by a single arena.
+	 */
+	public OffHeapLongRedBlackTree(int capacity) throws IllegalArgumentException {
+		this(new DirectArena(bytesFor(capacity, VALUE_WIDTH)));
+	}
+	
+	/**
+	 * Creates a new instance of {@link OffHeapLongRedBlackTree} over a given <code>arena</code>.
+	 * 
+	 * @param arena Arena holding the nodes of the tree.
+	 * @throws IllegalArgumentException If the arena holds a tree of a different layout.
+	 */
+	public OffHeapLongRedBlackTree(OffHeapArena arena) throws IllegalArgumentException {
+		super(arena, VALUE_WIDTH);
+	}
+	
+	/**
+	 * Inserts a new entry into this tree.
+	 * 
+	 * @param key Key of the new entry.
+	 * @param value Value of the new entry.
+	 * @return <code>true</code> if the entry was inserted, and <code>false</code> if an entry with the <code>key</code> already exists.
+	 */
+	public boolean insert(long key, long value) {
+		int offset = insertKey(key);
+		if (offset < 0) return false;
+		
+		buffer().putLong(offset, value);
+		return true;
+	}
+	
+	/**
+	 * Gets the value of the entry with a given <code>key</code>.
+	 * 
+	 * @param key Key of interest.
+	 * @param defaultValue Value returned if there is no entry with the <code>key</code>.
+	 * @return Value of the entry, or <code>defaultValue</code> if there is no such entry.
+	 */
+	public long get(long key, long defaultValue) {
+		int offset = findKey(key);
+		return offset < 0 ? defaultValue : buffer().getLong(offset);
+	}
+	
+	/**
+	 * Checks whether this tree contains an entry with a given <code>key</code>.
+	 * 
+	 * @param key Key of interest.
+	 * @return <code>true</code> if such an entry exists, and <code>false</code> otherwise.
+	 */
+	public boolean contains(long key) {
+		return findKey(key) >= 0;
+	}
+	
+	/**
+	 * Removes the entry with a given <code>key</code>.
+	 * 
+	 * @param key Key of interest.
+	 * @return <code>true</code> if the entry was removed, and <code>false</code> if there was no such entry.
+	 */
+	public boolean remove(long key) {
+		return removeKey(key);
+	}
+
+	@Override
+	protected Long readValue(ByteBuffer buffer, int offset) {
+		return buffer.getLong(offset);
+	}
+	
+	@Override
+	protected void checkValue(Long value) throws IllegalArgumentException {
+		if (value == null) {
+			throw new IllegalArgumentException("Value should not be null.");
+		}
+	}
+
+	@Override
+	protected void writeValue(ByteBuffer buffer, int offset, Long value) {
+		buffer.putLong(offset, value);
+	}
+
+	@Override
+	protected OffHeapRedBlackTree<Long> createEmpty() {
+		return new OffHeapLongRedBlackTree();
+	}
+}
@@ -0,0 +1,147 @@
+package filip.custom.data_structs.trees.binary.red_black.offheap;
+
+import java.nio.ByteBuffer;
+
+/**
+ * An {@link OffHeapRedBlackTree} that maps <code>long</code> keys to records of a fixed number of bytes.<br>
+ * 
+ * Records are copied into the arena on insertion, and out of it on every read, so changing an array 
+ * after it was inserted, or after it was read, doesn't affect the tree. The methods that take 
+ * a destination array read a record without allocating.
+ * 
+ * @author fiilip
+ *
+ */
+public class OffHeapRecordRedBlackTree extends OffHeapRedBlackTree<byte[]> {
+	
+	/**
+	 * Default number of entries a new tree can hold before growing.
+	 */
+	private static final int DEFAULT_CAPACITY = 16;
+	
+	/**
+	 * Creates a new instance of {@link OffHeapRecordRedBlackTree}, held in a new {@link DirectArena}.
+	 * 
+	 * @param recordWidth Width of a record in bytes.
+	 * @throws IllegalArgumentException If the <code>recordWidth</code> is negative.
+	 */
+	public OffHeapRecordRedBlackTree(int recordWidth) throws IllegalArgumentException {
+		this(recordWidth, DEFAULT_CAPACITY);
+	}
+	
+	/**
+	 * Creates a new instance of {@link OffHeapRecordRedBlackTree}, held in a new {@link DirectArena}.
+	 * 
+	 * @param recordWidth Width of a record in bytes.
+	 * @param capacity Number of entries the tree can hold before growing.
+	 * @throws IllegalArgumentException If the <code>recordWidth</code> is negative, 
+	 * or that many entries can't be held by a single arena.
+	 */
+	public OffHeapRecordRedBlackTree(int recordWidth, int capacity) throws IllegalArgumentException {
+		this(new DirectArena(bytesFor(capacity, recordWidth)), recordWidth);
+	}
+	
+	/**
+	 * Creates a new instance of {@link OffHeapRecordRedBlackTree} over a given <code>arena</code>.
+	 * 
+	 * @param arena Arena holding the nodes of the tree.
+	 * @param recordWidth Width of a record in bytes.
+	 * @throws IllegalArgumentException If the arena holds a tree of a different layout.
+	 */
+	public OffHeapRecordRedBlackTree(OffHeapArena arena, int recordWidth) throws IllegalArgumentException {
+		super(arena, recordWidth);
+	}
+	
+	/**
+	 * Gets the width of a record in bytes.
+	 * 
+	 * @return Width of a record.
+	 */
+	public int recordWidth() {
+		return valueWidth;
+	}
+	
+	/**
+	 * Copies the record of the entry with a given <code>key</code> into a given array.
+	 * 
+	 * @param key Key of interest.
+	 * @param destination Array the record is copied into, at least {@link #recordWidth()} bytes long.
+	 * @return <code>true</code> if the record was copied, and <code>false</code> if there is no entry with the <code>key</code>.
+	 * @throws IllegalArgumentException If the <code>destination</code> is too short.
+	 */
+	public boolean get(long key, byte[] destination) throws IllegalArgumentException {
+		if (destination.length < valueWidth) {
+			throw new IllegalArgumentException(String.format(
+					"Destination should hold at least %d bytes, not %d bytes.", valueWidth, destination.length));
+		}
+		
+		int offset = findKey(key);
+		if (offset < 0) return false;
+		
+		copy(buffer(), offset, destination);
+		return true;
+	}
+	
+	/**
+	 * Checks whether this tree contains an entry with a given <code>key</code>.
+	 * 
+	 * @param key Key of interest.
+	 * @return <code>true</code> if such an entry exists, and <code>false</code> otherwise.
+	 */
+	public boolean contains(long key) {
+		return findKey(key) >= 0;
+	}
+	
+	/**
+	 * Removes the entry with a given <code>key</code>.
+	 * 
+	 * @param key Key of interest.
+	 * @return <code>true</code> if the entry was removed, and <code>false</code> if there was no such entry.
+	 */
+	public boolean remove(long key) {
+		return removeKey(key);
+	}
+
+	@Override
+	protected byte[] readValue(ByteBuffer buffer, int offset) {
+		byte[] record = new byte[valueWidth];
+		copy(buffer, offset, record);
+		return record;
+	}
+	
+	@Override
+	protected void checkValue(byte[] value) throws IllegalArgumentException {
+		if (value == null) {
+			throw new IllegalArgumentException("Value should not be null.");
+		}
+		if (value.length != valueWidth) {
+			throw new IllegalArgumentException(String.format(
+					"Record should hold %d bytes, not %d bytes.", valueWidth, value.length));
+		}
+	}
+
+	@Override
+	protected void writeValue(ByteBuffer buffer, int offset, byte[] value) {
+		ByteBuffer target = buffer.duplicate();
+		target.position(offset);
+		target.put(value);
+	}
+
+	@Override
+	protected OffHeapRedBlackTree<byte[]> createEmpty() {
+		return new OffHeapRecordRedBlackTree(valueWidth);
+	}
+	
+	/**
+	 * Copies a record at a given <code>offset</code> of a given <code>buffer</code> into a given array.
+	 * 
+	 * @param buffer Buffer of the arena.
+	 * @param offset Offset of the record.
+	 * @param destination Array the record is copied into.
+	 */
+	private void copy(ByteBuffer buffer, int offset, byte[] destination) {
+		ByteBuffer source = buffer.duplicate();
+		source.position(offset);
+		source.get(destination, 0, valueWidth);
+	}
+}
@@ -0,0 +1,1023 @@
+package filip.custom.data_structs.trees.binary.red_black.offheap;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import filip.custom.data_structs.trees.SearchTree;
+import filip.custom.data_structs.trees.binary.red_black.RedBlackTree;
+import filip.custom.data_structs.trees.binary.red_black.oper.insert.RBTInsertion;
+import filip.custom.data_structs.trees.binary.red_black.oper.remove.RBTRemoval;
+
+/**
+ * An abstract class that represents a <b>Red-Black Tree</b> with <code>long</code> keys and fixed-width values,
+ * whose nodes are stored outside of the Java heap, in an {@link OffHeapArena}.<br>
+ * 
+ * The arena starts with a header, followed by the nodes, each occupying a <i>slot</i> of a fixed size:
+ * <pre>
+ * header: magic (int), version (int), value width (int), root (int), size (int), free list (int), first unused slot (int)
+ * slot:   key (long), left (int), right (int), parent (int), color (int), value (value width bytes)
+ * </pre>
+ * Slot <code>0</code> is never used, and stands for the <code>null</code> node. Slots of removed entries
+ * are put on a free list, and reused by the later insertions. The arena grows by half whenever
+ * it runs out of slots, or up front through {@link #ensureCapacity(int)}.<br>
+ * 
+ * Since no node is a Java object, the heap usage of a tree doesn't depend on the number of entries it holds.
+ * The balancing algorithms are the same ones used by the {@link RedBlackTree}
+ * (see {@link RBTInsertion} and {@link RBTRemoval}).<br>
+ * 
+ * The header and the nodes are all the state a tree has, so a tree held in a {@link MappedArena} is opened again 
+ * from the file just by creating a tree over the arena, without re-inserting any entry.<br>
+ * 
+ * A tree must be closed once it's no longer needed, which releases the memory of it's arena.
+ * A closed tree throws {@link IllegalStateException} from all of it's methods.
+ * 
+ * @author fiilip
+ *
+ * @param <V> Type of values stored in this tree.
+ */
+public abstract class OffHeapRedBlackTree<V> implements SearchTree<Long, V>, AutoCloseable {
+	
+	/**
+	 * Value in the header that identifies the arena of a tree.
+	 */
+	static final int MAGIC = 0x52425431;
+	
+	/**
+	 * Version of the layout of the arena.
+	 */
+	static final int VERSION = 1;
+	
+	/**
+	 * Offsets of the fields of the header.
+	 */
+	static final int H_MAGIC = 0, H_VERSION = 4, H_VALUE_WIDTH = 8, H_ROOT = 12, H_SIZE = 16, H_FREE = 20, H_UNUSED = 24;
+	
+	/**
+	 * Size of the header in bytes.
+	 */
+	static final int HEADER = 64;
+	
+	/**
+	 * Offsets of the fields of a slot.
+	 */
+	private static final int S_KEY = 0, S_LEFT = 8, S_RIGHT = 12, S_PARENT = 16, S_COLOR = 20, S_VALUE = 24;
+	
+	/**
+	 * Slot that stands for the <code>null</code> node.
+	 */
+	private static final int NIL = 0;
+	
+	/**
+	 * Arena holding the nodes of this tree.
+	 */
+	protected final OffHeapArena arena;
+	
+	/**
+	 * Buffer of the <code>arena</code>.
+	 */
+	private ByteBuffer buffer;
+	
+	/**
+	 * Width of a value in bytes.
+	 */
+	protected final int valueWidth;
+	
+	/**
+	 * Size of a slot in bytes.
+	 */
+	private final int slotSize;
+	
+	/**
+	 * Creates a new instance of {@link OffHeapRedBlackTree} over a given <code>arena</code>.<br>
+	 * 
+	 * If the arena holds no tree yet, a new empty tree is initialized in it. Otherwise,
+	 * the tree in the arena is used as it is.
+	 * 
+	 * @param arena Arena holding the nodes of this tree.
+	 * @param valueWidth Width of a value in bytes.
+	 * @throws IllegalArgumentException If the arena holds a tree of a different layout, or is too small to hold a header.
+	 */
+	protected OffHeapRedBlackTree(OffHeapArena arena, int valueWidth) throws IllegalArgumentException {
+		if (valueWidth < 0) {
+			throw new IllegalArgumentException("Value width should not be negative: " + valueWidth);
+		}
+		
+		this.arena = arena;
+		this.valueWidth = valueWidth;
+		this.slotSize = (S_VALUE + valueWidth + 7) & ~7;
+		this.buffer = arena.buffer();
+		
+		if (buffer.capacity() < HEADER + slotSize) {
+			throw new IllegalArgumentException("Arena is too small: " + buffer.capacity() + " bytes.");
+		}
+		
+		int magic = buffer.getInt(H_MAGIC);
+		
+		if (magic == 0) {
+			buffer.putInt(H_MAGIC, MAGIC);
+			buffer.putInt(H_VERSION, VERSION);
+			buffer.putInt(H_VALUE_WIDTH, valueWidth);
+			reset();
+		} else if (magic != MAGIC || buffer.getInt(H_VERSION) != VERSION) {
+			throw new IllegalArgumentException("Arena doesn't hold a tree of a known layout.");
+		} else if (buffer.getInt(H_VALUE_WIDTH) != valueWidth) {
+			throw new IllegalArgumentException(String.format(
+					"Arena holds values of %d bytes, not %d bytes.", buffer.getInt(H_VALUE_WIDTH), valueWidth));
+		}
+	}
+	
+	/**
+	 * Calculates the number of bytes an arena needs to hold a given number of entries.
+	 * 
+	 * @param entries Number of entries.
+	 * @param valueWidth Width of a value in bytes.
+	 * @return Number of bytes needed.
+	 * @throws IllegalArgumentException If such an arena can't be addressed by a {@link ByteBuffer}.
+	 */
+	protected static int bytesFor(int entries, int valueWidth) throws IllegalArgumentException {
+		long slotSize = (S_VALUE + valueWidth + 7) & ~7;
+		long bytes = HEADER + (entries + 1L) * slotSize;
+		
+		if (bytes > Integer.MAX_VALUE) {
+			throw new IllegalArgumentException("Too many entries for a single arena: " + entries);
+		}
+		return (int) bytes;
+	}
+	
+	/**
+	 * Reads the value of a given slot.
+	 * 
+	 * @param buffer Buffer of the arena.
+	 * @param offset Offset of the value in the <code>buffer</code>.
+	 * @return Value stored in the slot.
+	 */
+	protected abstract V readValue(ByteBuffer buffer, int offset);
+	
+	/**
+	 * Checks whether a given <code>value</code> can be stored in this tree.
+	 * 
+	 * @param value Value of interest.
+	 * @throws IllegalArgumentException If the <code>value</code> can't be stored in this tree.
+	 */
+	protected abstract void checkValue(V value) throws IllegalArgumentException;
+	
+	/**
+	 * Writes a given <code>value</code> to a given slot.
+	 * 
+	 * @param buffer Buffer of the arena.
+	 * @param offset Offset of the value in the <code>buffer</code>.
+	 * @param value Value being written, already checked by {@link #checkValue(Object)}.
+	 */
+	protected abstract void writeValue(ByteBuffer buffer, int offset, V value);
+	
+	/**
+	 * Creates a new empty tree, of the same type as this one, held in a new {@link DirectArena}.
+	 * 
+	 * @return New empty tree.
+	 */
+	protected abstract OffHeapRedBlackTree<V> createEmpty();
+	
+	/**
+	 * Makes sure that this tree can hold at least <code>entries</code> entries without growing it's arena.
+	 * 
+	 * @param entries Number of entries.
+	 * @throws IllegalArgumentException If that many entries can't be held by a single arena.
+	 */
+	public void ensureCapacity(int entries) throws IllegalArgumentException {
+		buffer = arena.grow(bytesFor(entries, valueWidth));
+	}
+	
+	/**
+	 * Gets the number of entries this tree can hold without growing it's arena.
+	 * 
+	 * @return Capacity of this tree.
+	 */
+	public int capacity() {
+		return (buffer().capacity() - HEADER) / slotSize - 1;
+	}
+	
+	/**
+	 * Inserts a new entry with a given <code>key</code>, leaving it's value to the caller.
+	 * 
+	 * @param key Key of the new entry.
+	 * @return Offset of the value of the new entry, or <code>-1</code> if the entry with the <code>key</code> already exists.
+	 */
+	protected int insertKey(long key) {
+		ByteBuffer b = buffer();
+		
+		int p = NIL;
+		int tmp = root();
+		boolean left = false;
+		
+		while (tmp != NIL) {
+			p = tmp;
+			long k = b.getLong(offset(tmp) + S_KEY);
+			
+			if (key < k) {
+				// go left
+				tmp = left(tmp);
+				left = true;
+			} else if (key > k) {
+				// go right
+				tmp = right(tmp);
+				left = false;
+			} else {
+				// already exists
+				return -1;
+			}
+		}
+		
+		int n = allocate(key, p);
+		
+		if (p == NIL) {
+			setRoot(n);
+		} else if (left) {
+			setLeft(p, n);
+		} else {
+			setRight(p, n);
+		}
+		
+		setSize(size() + 1);
+		rebalanceInsertion(n);
+		
+		return offset(n) + S_VALUE;
+	}
+	
+	/**
+	 * Finds the entry with a given <code>key</code>.
+	 * 
+	 * @param key Key of interest.
+	 * @return Offset of the value of the entry, or <code>-1</code> if there is no such entry.
+	 */
+	protected int findKey(long key) {
+		int n = findSlot(key);
+		return n == NIL ? -1 : offset(n) + S_VALUE;
+	}
+	
+	/**
+	 * Removes the entry with a given <code>key</code>.
+	 * 
+	 * @param key Key of interest.
+	 * @return <code>true</code> if the entry was removed, and <code>false</code> if there was no such entry.
+	 */
+	protected boolean removeKey(long key) {
+		int z = findSlot(key);
+		if (z == NIL) return false;
+		
+		unlink(z);
+		release(z);
+		setSize(size() - 1);
+		
+		return true;
+	}
+	
+	@Override
+	public boolean insert(Long key, V value) throws IllegalArgumentException {
+		long k = unbox(key);
+		
+		// the value is checked before the insertion, so that a rejected value leaves no entry behind
+		checkValue(value);
+		
+		int offset = insertKey(k);
+		if (offset < 0) return false;
+		
+		writeValue(buffer(), offset, value);
+		return true;
+	}
+
+	@Override
+	public V remove(Long key) throws IllegalArgumentException {
+		long k = unbox(key);
+		
+		int n = findSlot(k);
+		if (n == NIL) return null;
+		
+		V value = readValue(buffer(), offset(n) + S_VALUE);
+		unlink(n);
+		release(n);
+		setSize(size() - 1);
+		return value;
+	}
+
+	@Override
+	public boolean contains(Long key) throws IllegalArgumentException {
+		return findSlot(unbox(key)) != NIL;
+	}
+	
+	@Override
+	public V get(Long key) throws IllegalArgumentException {
+		int n = findSlot(unbox(key));
+		return n == NIL ? null : readValue(buffer(), offset(n) + S_VALUE);
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return root() == NIL;
+	}
+	
+	@Override
+	public int size() {
+		return buffer().getInt(H_SIZE);
+	}
+
+	/**
+	 * Clears this tree from all the elements.<br>
+	 * The arena keeps it's capacity.
+	 */
+	@Override
+	public void clear() {
+		reset();
+	}
+
+	/**
+	 * The returned tree is held in a new {@link DirectArena}, so it needs to be closed as well.
+	 */
+	@Override
+	public OffHeapRedBlackTree<V> getGreaterThan(Long toCompare) {
+		return getInterval(toCompare, null);
+	}
+
+	/**
+	 * The returned tree is held in a new {@link DirectArena}, so it needs to be closed as well.
+	 */
+	@Override
+	public OffHeapRedBlackTree<V> getLessThan(Long toCompare) {
+		return getInterval(null, toCompare);
+	}
+
+	/**
+	 * Gets all the elements with the key greater than <code>fromKey</code> and less than <code>toKey</code>.<br>
+	 * 
+	 * The returned tree is held in a new {@link DirectArena}, so it needs to be closed as well,
+	 * eg. by a <code>try</code>-with-resources statement.
+	 */
+	@Override
+	public OffHeapRedBlackTree<V> getInterval(Long fromKey, Long toKey) {
+		// checked before the new arena is created, so that a closed tree leaks no arena
+		ByteBuffer b = buffer();
+		OffHeapRedBlackTree<V> filtered = createEmpty();
+		
+		int n = fromKey == null ? minimum(root()) : higher(fromKey);
+		for (; n != NIL && (toKey == null || key(n) < toKey); n = successor(n)) {
+			filtered.insert(key(n), readValue(b, offset(n) + S_VALUE));
+		}
+		return filtered;
+	}
+
+	@Override
+	public int depth() {
+		return depth(root());
+	}
+	
+	/**
+	 * Calculates the depth of a tree from the given slot <code>n</code>
+	 * to the furtherest leaf slot.
+	 * 
+	 * @param n Slot of interest.
+	 * @return Depth from the given slot.
+	 */
+	private int depth(int n) {
+		if (n == NIL) {
+			return 0;
+		}
+		
+		return 1 + Math.max(depth(left(n)), depth(right(n)));
+	}
+	
+	/**
+	 * Iterates over the entries in-order.<br>
+	 * 
+	 * Every returned entry is a new view of a slot, which reads the key and the value from the arena when asked.
+	 * An entry is valid only until the entry it stands for is removed from this tree.
+	 */
+	@Override
+	public Iterator<Entry<Long, V>> iterator() {
+		int first = minimum(root());
+		
+		return new Iterator<Entry<Long, V>>() {
+			
+			/**
+			 * Slot returned by the next call to {@link #next()}.
+			 */
+			private int next = first;
+
+			@Override
+			public boolean hasNext() {
+				return next != NIL;
+			}
+
+			@Override
+			public Entry<Long, V> next() {
+				if (next == NIL) throw new NoSuchElementException("No more elements in a tree.");
+				
+				// the slots are read through the buffer directly, so a closed tree is checked here
+				buffer();
+				int n = next;
+				next = successor(n);
+				return new SlotEntry(n);
+			}
+		};
+	}
+	
+	/**
+	 * Writes the content of this tree to the storage backing it's arena, such as the file of a {@link MappedArena}.
+	 * 
+	 * @throws IllegalStateException If this tree is closed.
+	 */
+	public void flush() throws IllegalStateException {
+		buffer();
+		arena.flush();
+	}
+	
+	/**
+	 * Closes this tree, releasing the memory of it's arena.
+	 */
+	@Override
+	public void close() {
+		arena.close();
+		buffer = null;
+	}
+	
+	@Override
+	public String toString() {
+		if (root() == NIL) return "(empty)";
+		
+		StringBuilder builder = new StringBuilder();
+		build(builder, root(), "", true);
+		return builder.toString();
+	}
+	
+	/**
+	 * Builds a textual representation of a tree, in the same format as the other trees of this library.
+	 * 
+	 * @param builder Builder the text is appended to.
+	 * @param n Slot currently being added to the string being built.
+	 * @param prefix String that is built until the moment of calling.
+	 * @param isTail Whether or not the current slot should be printed as tail.
+	 */
+	private void build(StringBuilder builder, int n, String prefix, boolean isTail) {
+		builder.append(prefix).append(isTail ? "└── " : "├── ").append(new SlotEntry(n)).append(System.lineSeparator());
+		
+		List<Integer> children = new ArrayList<>(2);
+		if (left(n) != NIL) children.add(left(n));
+		if (right(n) != NIL) children.add(right(n));
+		
+		for (int i = 0; i < children.size(); i ++) {
+			build(builder, children.get(i), prefix + (isTail ? "    " : "│   "), i == children.size() - 1);
+		}
+	}
+	
+	/**
+	 * Gets the buffer of the arena.
+	 * 
+	 * @return Buffer of the arena.
+	 * @throws IllegalStateException If this tree is closed.
+	 */
+	protected ByteBuffer buffer() throws IllegalStateException {
+		if (buffer == null) {
+			throw new IllegalStateException("Tree is closed.");
+		}
+		return buffer;
+	}
+	
+	/**
+	 * Empties this tree.
+	 */
+	private void reset() {
+		ByteBuffer b = buffer();
+		b.putInt(H_ROOT, NIL);
+		b.putInt(H_SIZE, 0);
+		b.putInt(H_FREE, NIL);
+		b.putInt(H_UNUSED, 1);
+	}
+	
+	/**
+	 * Takes a slot for a new red entry, either from the free list, or from the never used slots,
+	 * growing the arena if needed.<br>
+	 * 
+	 * The arena grows by a half, but never beyond the greatest arena a {@link ByteBuffer} can address.
+	 * 
+	 * @param key Key of the new entry.
+	 * @param p Parent slot of the new entry.
+	 * @return Slot of the new entry.
+	 * @throws IllegalArgumentException If the arena is already as large as it can be, and full.
+	 */
+	private int allocate(long key, int p) throws IllegalArgumentException {
+		ByteBuffer b = buffer();
+		int n = b.getInt(H_FREE);
+		
+		if (n != NIL) {
+			b.putInt(H_FREE, right(n));
+		} else {
+			n = b.getInt(H_UNUSED);
+			
+			if (offset(n) > b.capacity() - slotSize) {
+				int slots = (b.capacity() - HEADER) / slotSize;
+				int maxEntries = (Integer.MAX_VALUE - HEADER) / slotSize - 1;
+				
+				if (slots - 1 >= maxEntries) {
+					throw new IllegalArgumentException("Arena is full: " + (slots - 1) + " entries.");
+				}
+				ensureCapacity((int) Math.min(maxEntries, slots + Math.max(slots >> 1, 16L)));
+				b = buffer;
+			}
+			b.putInt(H_UNUSED, n + 1);
+		}
+		
+		int offset = offset(n);
+		b.putLong(offset + S_KEY, key);
+		b.putInt(offset + S_LEFT, NIL);
+		b.putInt(offset + S_RIGHT, NIL);
+		b.putInt(offset + S_PARENT, p);
+		b.putInt(offset + S_COLOR, 1);
+		
+		return n;
+	}
+	
+	/**
+	 * Puts a given slot <code>n</code> of a removed entry to the free list.
+	 * 
+	 * @param n Slot of interest.
+	 */
+	private void release(int n) {
+		ByteBuffer b = buffer();
+		setLeft(n, NIL);
+		setParent(n, NIL);
+		setRight(n, b.getInt(H_FREE));
+		b.putInt(H_FREE, n);
+	}
+	
+	/**
+	 * Performs the re-balancing of the tree after the insertion of
+	 * a new slot, <code>n</code>.
+	 * 
+	 * @param n New slot that was added to this tree.
+	 */
+	private void rebalanceInsertion(int n) {
+		while (isRed(parent(n))) {
+			int p = parent(n);
+			int g = parent(p);
+			
+			if (p == left(g)) {
+				int u = right(g);
+				
+				if (isRed(u)) {
+					setRed(p, false);
+					setRed(u, false);
+					setRed(g, true);
+					n = g;
+					continue;
+				}
+				
+				if (n == right(p)) {
+					// double rotation needed
+					n = p;
+					leftRotate(n);
+				}
+				
+				setRed(parent(n), false);
+				setRed(parent(parent(n)), true);
+				rightRotate(parent(parent(n)));
+			} else {
+				int u = left(g);
+				
+				if (isRed(u)) {
+					setRed(p, false);
+					setRed(u, false);
+					setRed(g, true);
+					n = g;
+					continue;
+				}
+				
+				if (n == left(p)) {
+					// double rotation needed
+					n = p;
+					rightRotate(n);
+				}
+				
+				setRed(parent(n), false);
+				setRed(parent(parent(n)), true);
+				leftRotate(parent(parent(n)));
+			}
+		}
+		setRed(root(), false);
+	}
+	
+	/**
+	 * Unlinks a given slot <code>z</code> from this tree, and re-balances the tree.
+	 * 
+	 * @param z Slot being removed from this tree.
+	 */
+	private void unlink(int z) {
+		int x;
+		int xParent;
+		int y = z;
+		
+		boolean yOriginallyBlack = !isRed(y);
+		
+		if (left(z) == NIL) {
+			x = right(z);
+			xParent = parent(z);
+			transplant(z, x);
+		} else if (right(z) == NIL) {
+			x = left(z);
+			xParent = parent(z);
+			transplant(z, x);
+		} else {
+			y = minimum(right(z));
+			yOriginallyBlack = !isRed(y);
+			x = right(y);
+			
+			if (parent(y) == z) {
+				xParent = y;
+			} else {
+				xParent = parent(y);
+				transplant(y, x);
+				setRight(y, right(z));
+				setParent(right(y), y);
+			}
+			
+			transplant(z, y);
+			setLeft(y, left(z));
+			setParent(left(y), y);
+			setRed(y, isRed(z));
+		}
+		
+		if (yOriginallyBlack) {
+			rebalanceRemoval(x, xParent);
+		}
+	}
+	
+	/**
+	 * Performs the re-balancing of the tree after a removal.
+	 * 
+	 * @param x Slot that took the place of the removed slot, possibly {@link #NIL}.
+	 * @param xParent Parent of the slot <code>x</code>.
+	 */
+	private void rebalanceRemoval(int x, int xParent) {
+		while (x != root() && !isRed(x)) {
+			if (x == left(xParent)) {
+				int w = right(xParent);
+				
+				if (isRed(w)) {
+					setRed(w, false);
+					setRed(xParent, true);
+					leftRotate(xParent);
+					w = right(xParent);
+				}
+				
+				if (!isRed(left(w)) && !isRed(right(w))) {
+					setRed(w, true);
+					x = xParent;
+					xParent = parent(x);
+					continue;
+				}
+				
+				if (!isRed(right(w))) {
+					setRed(left(w), false);
+					setRed(w, true);
+					rightRotate(w);
+					w = right(xParent);
+				}
+				
+				setRed(w, isRed(xParent));
+				setRed(xParent, false);
+				setRed(right(w), false);
+				leftRotate(xParent);
+				x = root();
+				
+			} else {
+				int w = left(xParent);
+				
+				if (isRed(w)) {
+					setRed(w, false);
+					setRed(xParent, true);
+					rightRotate(xParent);
+					w = left(xParent);
+				}
+				
+				if (!isRed(right(w)) && !isRed(left(w))) {
+					setRed(w, true);
+					x = xParent;
+					xParent = parent(x);
+					continue;
+				}
+				
+				if (!isRed(left(w))) {
+					setRed(right(w), false);
+					setRed(w, true);
+					leftRotate(w);
+					w = left(xParent);
+				}
+				
+				setRed(w, isRed(xParent));
+				setRed(xParent, false);
+				setRed(left(w), false);
+				rightRotate(xParent);
+				x = root();
+			}
+		}
+		
+		setRed(x, false);
+	}
+	
+	/**
+	 * Replaces a <code>target</code> subtree as a child of it's parent 
+	 * with another subtree, <code>with</code>.
+	 * 
+	 * @param target Subtree to be replaced.
+	 * @param with Subtree to become a child of a root of replaced subtree.
+	 */
+	private void transplant(int target, int with) {
+		int p = parent(target);
+		
+		if (p == NIL) {
+			setRoot(with);
+		} else if (target == left(p)) {
+			setLeft(p, with);
+		} else {
+			setRight(p, with);
+		}
+		
+		if (with != NIL) {
+			setParent(with, p);
+		}
+	}
+	
+	/**
+	 * Performs a left rotation about a given slot <code>n</code>.
+	 * 
+	 * @param n Slot about which the left rotation is called.
+	 */
+	private void leftRotate(int n) {
+		int r = right(n);
+		int p = parent(n);
+		
+		setRight(n, left(r));
+		if (left(r) != NIL) {
+			setParent(left(r), n);
+		}
+		
+		setParent(r, p);
+		if (p == NIL) {
+			setRoot(r);
+		} else if (n == left(p)) {
+			setLeft(p, r);
+		} else {
+			setRight(p, r);
+		}
+		
+		setLeft(r, n);
+		setParent(n, r);
+	}
+	
+	/**
+	 * Performs a right rotation about a given slot <code>n</code>.
+	 * 
+	 * @param n Slot about which the right rotation is called.
+	 */
+	private void rightRotate(int n) {
+		int l = left(n);
+		int p = parent(n);
+		
+		setLeft(n, right(l));
+		if (right(l) != NIL) {
+			setParent(right(l), n);
+		}
+		
+		setParent(l, p);
+		if (p == NIL) {
+			setRoot(l);
+		} else if (n == right(p)) {
+			setRight(p, l);
+		} else {
+			setLeft(p, l);
+		}
+		
+		setRight(l, n);
+		setParent(n, l);
+	}
+	
+	/**
+	 * Finds a slot with a given <code>key</code>.
+	 * 
+	 * @param key Key of the slot being searched for.
+	 * @return A slot with a given <code>key</code> if such exists, and {@link #NIL} otherwise.
+	 */
+	private int findSlot(long key) {
+		ByteBuffer b = buffer();
+		int tmp = b.getInt(H_ROOT);
+		
+		while (tmp != NIL) {
+			int offset = offset(tmp);
+			long k = b.getLong(offset + S_KEY);
+			
+			if (key < k) {
+				// go left
+				tmp = b.getInt(offset + S_LEFT);
+			} else if (key > k) {
+				// go right
+				tmp = b.getInt(offset + S_RIGHT);
+			} else {
+				// search hit
+				return tmp;
+			}
+		}
+		
+		// not found
+		return NIL;
+	}
+	
+	/**
+	 * Finds the slot with the least key greater than a given <code>key</code>.
+	 * 
+	 * @param key Key of interest.
+	 * @return Slot with the least key greater than the <code>key</code>, or {@link #NIL} if there is no such slot.
+	 */
+	private int higher(long key) {
+		int tmp = root();
+		int higher = NIL;
+		
+		while (tmp != NIL) {
+			if (key < key(tmp)) {
+				higher = tmp;
+				tmp = left(tmp);
+			} else {
+				tmp = right(tmp);
+			}
+		}
+		return higher;
+	}
+	
+	/**
+	 * Finds the minimum slot in the subtree rooted at slot <code>n</code>.
+	 * 
+	 * @param n Root of the subtree, possibly {@link #NIL}.
+	 * @return The minimum slot in the subtree, or {@link #NIL} if the subtree is empty.
+	 */
+	private int minimum(int n) {
+		if (n == NIL) return NIL;
+		
+		while (left(n) != NIL) n = left(n);
+		return n;
+	}
+	
+	/**
+	 * Finds the in-order successor of a given slot <code>n</code>.
+	 * 
+	 * @param n Slot of interest.
+	 * @return The slot with the next greater key, or {@link #NIL} if <code>n</code> is the greatest one.
+	 */
+	private int successor(int n) {
+		if (right(n) != NIL) {
+			return minimum(right(n));
+		}
+		
+		int p = parent(n);
+		while (p != NIL && n == right(p)) {
+			n = p;
+			p = parent(p);
+		}
+		return p;
+	}
+	
+	/**
+	 * Calculates the offset of a given slot <code>n</code> in the arena.
+	 * 
+	 * @param n Slot of interest.
+	 * @return Offset of the slot.
+	 */
+	private int offset(int n) {
+		return HEADER + n * slotSize;
+	}
+	
+	/**
+	 * Gets the root slot of this tree, also for the checks of its structure.
+	 * 
+	 * @return Root slot, {@link #NIL} if this tree is empty.
+	 * @throws IllegalStateException If this tree is closed.
+	 */
+	int root() throws IllegalStateException {
+		return buffer().getInt(H_ROOT);
+	}
+	
+	private void setRoot(int n) {
+		buffer.putInt(H_ROOT, n);
+	}
+	
+	private void setSize(int size) {
+		buffer.putInt(H_SIZE, size);
+	}
+	
+	long key(int n) {
+		return buffer.getLong(offset(n) + S_KEY);
+	}
+	
+	int left(int n) {
+		return buffer.getInt(offset(n) + S_LEFT);
+	}
+	
+	private void setLeft(int n, int left) {
+		buffer.putInt(offset(n) + S_LEFT, left);
+	}
+	
+	int right(int n) {
+		return buffer.getInt(offset(n) + S_RIGHT);
+	}
+	
+	private void setRight(int n, int right) {
+		buffer.putInt(offset(n) + S_RIGHT, right);
+	}
+	
+	int parent(int n) {
+		return buffer.getInt(offset(n) + S_PARENT);
+	}
+	
+	private void setParent(int n, int parent) {
+		buffer.putInt(offset(n) + S_PARENT, parent);
+	}
+	
+	/**
+	 * Checks whether a given slot <code>n</code> is red.<br>
+	 * The {@link #NIL} slot is always black.
+	 * 
+	 * @param n Slot of interest.
+	 * @return <code>true</code> if <code>n</code> is red, and <code>false</code> if it is black.
+	 */
+	boolean isRed(int n) {
+		return n != NIL && buffer.getInt(offset(n) + S_COLOR) != 0;
+	}
+	
+	/**
+	 * Sets the color of a given slot <code>n</code>.<br>
+	 * Painting the {@link #NIL} slot is ignored, so that it stays black.
+	 * 
+	 * @param n Slot of interest.
+	 * @param isRed <code>true</code> to paint the slot red, and <code>false</code> to paint it black.
+	 */
+	private void setRed(int n, boolean isRed) {
+		if (n == NIL) return;
+		buffer.putInt(offset(n) + S_COLOR, isRed ? 1 : 0);
+	}
+	
+	/**
+	 * Unboxes a given <code>key</code>.
+	 * 
+	 * @param key Key of interest.
+	 * @return Unboxed key.
+	 * @throws IllegalArgumentException if a given <code>key</code> is <code>null</code>.
+	 */
+	private static long unbox(Long key) throws IllegalArgumentException {
+		if (key == null) {
+			throw new IllegalArgumentException("Key should not be null.");
+		}
+		return key;
+	}
+	
+	/**
+	 * {@link SearchTree.Entry} that views a single slot of this tree.
+	 * 
+	 * @author fiilip
+	 *
+	 */
+	private class SlotEntry implements Entry<Long, V> {
+		
+		/**
+		 * Slot being viewed.
+		 */
+		private final int slot;
+		
+		/**
+		 * Creates a new instance of {@link SlotEntry}.
+		 * 
+		 * @param slot Slot being viewed.
+		 */
+		SlotEntry(int slot) {
+			this.slot = slot;
+		}
+
+		@Override
+		public Long getKey() {
+			return buffer().getLong(offset(slot) + S_KEY);
+		}
+
+		@Override
+		public V getValue() {
+			return readValue(buffer(), offset(slot) + S_VALUE);
+		}
+
+		@Override
+		public void setValue(V value) {
+			checkValue(value);
+			writeValue(buffer(), offset(slot) + S_VALUE, value);
+		}
+		
+		@Override
+		public String toString() {
+			return "(" + getKey() + ", " + getValue() + ")";
+		}
+	}
+}
@@ -2,30 +2,59 @@ package filip.custom.data_structs.trees.binary.red_black.oper;
 
 import filip.custom.data_structs.trees.binary.red_black.RBTNode;
 import filip.custom.data_structs.trees.binary.red_black.RBTNode.Color;
+import filip.custom.data_structs.trees.stats.CountingOperation;
+import filip.custom.data_structs.trees.stats.OperationCounts;
 
 /**
  * An abstract class that represents any operation (primarily, insertion and removal)
- * on a <b>Red-Black Tree</b>.
+ * on a <b>Red-Black Tree</b>.<br>
+ * 
+ * The rotations, the recolorings and the iterations of the fix-up loops are tallied
+ * once the operation is given the {@link OperationCounts} (see {@link CountingOperation}).
  * 
  * @author fiilip
  *
  * @param <K> Type of keys stored in a tree.
  * @param <V> Type of values stored in a tree.
  */
-public abstract class RBTOperation<K extends Comparable<K>, V> {
+public abstract class RBTOperation<K extends Comparable<K>, V> implements CountingOperation {
 
 	/**
-	 * Root of the tree calling this removal.
+	 * Root of the tree this operation is currently working upon.<br>
+	 * 
+	 * Only set for the duration of a single call, since the same operation
+	 * object is reused for all the calls on a tree.
 	 */
 	protected RBTNode<K, V> root;
 	
+	/**
+	 * Tallies of the work of the current call, <code>null</code> if the work isn't counted.
+	 */
+	protected OperationCounts counts;
+	
 	/**
 	 * Creates a new instance of {@link RBTOperation}.
+	 */
+	protected RBTOperation() {
+		this.root = null;
+		this.counts = null;
+	}
+	
+	@Override
+	public void setCounts(OperationCounts counts) {
+		this.counts = counts;
+	}
+	
+	/**
+	 * Ends the current call of this operation, so that this operation doesn't
+	 * keep the nodes of the tree reachable in between the calls.
 	 * 
-	 * @param root Root of the that calls this operation.
+	 * @return Root of the tree after this operation.
 	 */
-	protected RBTOperation(RBTNode<K, V> root) {
-		this.root = root;
+	protected RBTNode<K, V> release() {
+		RBTNode<K, V> newRoot = root;
+		root = null;
+		return newRoot;
 	}
 	
 	/**
@@ -54,6 +83,8 @@ public abstract class RBTOperation<K extends Comparable<K>, V> {
 	 * @param n Node about which the right rotation is called.
 	 */
 	protected void rightRotate(RBTNode<K, V> n) {
+		if (counts != null) counts.addRotation();
+		
         if (parent(n) != null) {
         	
         		if (isLeftChild(n, parent(n))) {
@@ -75,8 +106,12 @@ public abstract class RBTOperation<K extends Comparable<K>, V> {
         } else {
         		// need to rotate root
         		RBTNode<K, V> left = (RBTNode<K, V>) root.getLeft();
-        		root.setLeft(root.getLeft().getRight());
-        		((RBTNode<K, V>) left.getRight()).setParent(root);
+        		root.setLeft(left.getRight());
+        		
+        		if (left.getRight() != null) {
+        			((RBTNode<K, V>) left.getRight()).setParent(root);
+        		}
+        		
         		root.setParent(left);
 
         		left.setRight(root);
@@ -84,6 +119,10 @@ public abstract class RBTOperation<K extends Comparable<K>, V> {
         		
         		root = left;
         }
+        
+        // n is now the child of the pivot, so it's updated first
+        n.update();
+        n.getParent().update();
     }
 	
 	/**
@@ -92,6 +131,8 @@ public abstract class RBTOperation<K extends Comparable<K>, V> {
 	 * @param n Node about which the left rotation is called.
 	 */
 	protected void leftRotate(RBTNode<K, V> n) {
+		if (counts != null) counts.addRotation();
+		
         if (parent(n) != null) {
         	
             if (isLeftChild(n, parent(n))) {
@@ -114,7 +155,11 @@ public abstract class RBTOperation<K extends Comparable<K>, V> {
         		// need to rotate root
             RBTNode<K, V> right = (RBTNode<K, V>) root.getRight();
             root.setRight(right.getLeft());
-            ((RBTNode<K, V>) right.getLeft()).setParent(root);
+            
+            if (right.getLeft() != null) {
+            		((RBTNode<K, V>) right.getLeft()).setParent(root);
+            }
+            
             root.setParent(right);
             
             right.setLeft(root);
@@ -122,8 +167,100 @@ public abstract class RBTOperation<K extends Comparable<K>, V> {
             
             root = right;
         }
+        
+        // n is now the child of the pivot, so it's updated first
+        n.update();
+        n.getParent().update();
     }
 
+	/**
+	 * Performs the re-balancing of the tree after the insertion of
+	 * a new, red node, <code>n</code>, whose parent is red as well.<br>
+	 * 
+	 * Besides the insertion itself, this restores a tree after any red node is attached 
+	 * in place of a black subtree of the same black height, which is how trees are joined.
+	 * 
+	 * @param n New node that was added to this tree.
+	 */
+	protected void rebalanceInsertion(RBTNode<K, V> n) {
+		/*
+		 * Guaranteed to have a parent.
+		 * Guaranteed to have a grandparent.
+		 * Guaranteed to have an uncle that might be null, which means it's black.
+		 */
+		while (isRed(parent(n))) {
+			if (counts != null) counts.addFixupIteration();
+			
+			RBTNode<K, V> u = null; // uncle
+			
+			if (isLeftChild(parent(n), grandparent(n))) {
+				u = (RBTNode<K, V>) grandparent(n).getRight();
+				
+				if (isRed(u)) {
+					recolor(parent(n), Color.BLACK);
+					recolor(u, Color.BLACK);
+					recolor(grandparent(n), Color.RED);
+					n = grandparent(n);
+					continue;
+				} 
+				
+				if (isRightChild(n, parent(n))) {
+					// double rotation needed
+					n = parent(n);
+					leftRotate(n);
+				}
+				
+				recolor(parent(n), Color.BLACK);
+				recolor(grandparent(n), Color.RED);
+				rightRotate(grandparent(n));				
+			} else {
+				u = (RBTNode<K, V>) grandparent(n).getLeft();
+				
+				if (isRed(u)) {
+					recolor(parent(n), Color.BLACK);
+					recolor(u, Color.BLACK);
+					recolor(grandparent(n), Color.RED);
+					n = grandparent(n);
+					continue;
+				}
+				
+				if (isLeftChild(n, parent(n))) {
+					// double rotation needed
+					n = parent(n);
+					rightRotate(n);
+				}
+				
+				recolor(parent(n), Color.BLACK);
+				recolor(grandparent(n), Color.RED);
+				leftRotate(grandparent(n));
+			}
+		}
+		recolor(root, Color.BLACK);
+	}
+	
+	/**
+	 * Sets the <code>color</code> of a given node <code>n</code>, counting the change of the color.
+	 * 
+	 * @param n Node being recolored.
+	 * @param color New color of the node.
+	 */
+	protected void recolor(RBTNode<K, V> n, Color color) {
+		if (counts != null && n.getColor() != color) counts.addRecoloring();
+		n.setColor(color);
+	}
+	
+	/**
+	 * Recalculates the subtree data (see {@link RBTNode#update()}) of a given node <code>n</code>, 
+	 * and all of it's ancestors, after a node was added to or removed from below <code>n</code>.
+	 * 
+	 * @param n Lowest node whose subtree changed, possibly <code>null</code>.
+	 */
+	protected void updateUpwards(RBTNode<K, V> n) {
+		for (; n != null; n = n.getParent()) {
+			n.update();
+		}
+	}
+
 	/**
 	 * Checks whether the given <code>child</code> is a left child
 	 * of a given <code>parent</code>.
@@ -173,7 +310,7 @@ public abstract class RBTOperation<K extends Comparable<K>, V> {
 	 * @return <code>true</code> if <code>n</code> is black, and <code>false</code> if it is red.
 	 */
 	protected boolean isBlack(RBTNode<K, V> n) {
-		return n == null || n.getColor().equals(Color.BLACK);
+		return n == null || !n.isRed();
 	}
 	
 	/**
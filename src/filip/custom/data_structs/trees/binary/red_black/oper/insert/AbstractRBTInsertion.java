@@ -1,6 +1,5 @@
 package filip.custom.data_structs.trees.binary.red_black.oper.insert;
 
-import filip.custom.data_structs.trees.binary.red_black.RBTNode;
 import filip.custom.data_structs.trees.binary.red_black.oper.RBTOperation;
 import filip.custom.data_structs.trees.operations.EntryInsertion;
 
@@ -24,11 +23,8 @@ public abstract class AbstractRBTInsertion<K extends Comparable<K>, V>
 	
 	/**
 	 * Creates a new instance of {@link AbstractRBTInsertion}.
-	 * 
-	 * @param root Root of the tree this insertion is being called upon.
 	 */
-	public AbstractRBTInsertion(RBTNode<K, V> root) {
-		super(root);
+	public AbstractRBTInsertion() {
 		this.inserted = false;
 	}
 
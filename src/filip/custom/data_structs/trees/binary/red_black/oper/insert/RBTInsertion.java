@@ -1,7 +1,13 @@
 package filip.custom.data_structs.trees.binary.red_black.oper.insert;
 
+import java.util.Comparator;
+
 import filip.custom.data_structs.trees.binary.red_black.RBTNode;
 import filip.custom.data_structs.trees.binary.red_black.RBTNode.Color;
+import filip.custom.data_structs.trees.binary.red_black.RBTNodeFactory;
+import filip.custom.data_structs.trees.comparators.IntKeyComparator;
+import filip.custom.data_structs.trees.comparators.KeyComparators;
+import filip.custom.data_structs.trees.comparators.LongKeyComparator;
 import filip.custom.data_structs.trees.nodes.SearchTreeNode;
 
 /**
@@ -22,92 +28,114 @@ import filip.custom.data_structs.trees.nodes.SearchTreeNode;
  */
 public class RBTInsertion<K extends Comparable<K>, V> extends AbstractRBTInsertion<K, V> {
 	
+	/**
+	 * Factory of the inserted nodes.
+	 */
+	private final RBTNodeFactory<K, V> nodes;
+	
+	/**
+	 * Comparator of the keys, <code>null</code> for their natural order.
+	 */
+	private final Comparator<? super K> comparator;
+	
+	/**
+	 * The <code>comparator</code>, if it's an {@link IntKeyComparator}, and <code>null</code> otherwise.
+	 */
+	private final IntKeyComparator<? super K> intKeys;
+	
+	/**
+	 * The <code>comparator</code>, if it's a {@link LongKeyComparator}, and <code>null</code> otherwise.
+	 */
+	private final LongKeyComparator<? super K> longKeys;
+	
+	/**
+	 * Node the binary insertion starts at instead of the root, <code>null</code> to start at the root.<br>
+	 * 
+	 * Only used by the next insertion.
+	 */
+	private RBTNode<K, V> start;
+	
+	/**
+	 * Node holding the key of the last insertion, whether it was inserted or already in the tree.
+	 */
+	private RBTNode<K, V> node;
+	
+	/**
+	 * Creates a new instance of {@link RBTInsertion}, which inserts plain {@link RBTNode}s.
+	 */
+	public RBTInsertion() {
+		this(RBTNode::new);
+	}
+	
 	/**
 	 * Creates a new instance of {@link RBTInsertion}.
 	 * 
-	 * @param root Root of the tree calling this insertion.
+	 * @param nodes Factory of the inserted nodes.
 	 */
-	public RBTInsertion(RBTNode<K, V> root) {
-		super(root);
+	public RBTInsertion(RBTNodeFactory<K, V> nodes) {
+		this(nodes, null);
+	}
+	
+	/**
+	 * Creates a new instance of {@link RBTInsertion} into a tree ordered by a given <code>comparator</code>.
+	 * 
+	 * @param nodes Factory of the inserted nodes.
+	 * @param comparator Comparator of the keys, <code>null</code> for their natural order.
+	 */
+	public RBTInsertion(RBTNodeFactory<K, V> nodes, Comparator<? super K> comparator) {
+		super();
+		this.nodes = nodes;
+		this.comparator = comparator;
+		this.intKeys = KeyComparators.asIntKeys(comparator);
+		this.longKeys = KeyComparators.asLongKeys(comparator);
 	}
 
 	@Override
-	public SearchTreeNode<K, V> insert(K key, V value) {				
+	public SearchTreeNode<K, V> insert(SearchTreeNode<K, V> treeRoot, K key, V value) {
+		this.root = (RBTNode<K, V>) treeRoot;
+		
 		if (root == null) {
 			// check if this is root
-			root = new RBTNode<>(key, value, Color.BLACK, null);
+			root = nodes.create(key, value, Color.BLACK, null);
+			node = root;
 			inserted = true;
 		} else {		
 			/* Perform binary insertion */
 			RBTNode<K, V> newNode = binaryInsert(key, value);
 			
+			if (newNode != null) {
+				updateUpwards(parent(newNode));
+			}
+			
 			/* Re-balance the tree if needed */
 			if (treeNeedsRebalance(newNode)) {
-				rebalance(newNode);
+				rebalanceInsertion(newNode);
 			}
 		}
 		
-		return root;
+		start = null;
+		return release();
 	}
 	
 	/**
-	 * Performs the re-balancing of the tree after the insertion of
-	 * a new node, <code>n</code>.
+	 * Makes the next insertion start it's binary insertion at a given node, instead of the root of a tree.<br>
 	 * 
-	 * @param n New node that was added to this tree.
+	 * The key being inserted must belong to the subtree of the <code>start</code> node, 
+	 * ie. it must be greater than all the keys left of the subtree, and less than all the keys right of it.
+	 * 
+	 * @param start Node of the tree to start at, <code>null</code> to start at the root.
 	 */
-	private void rebalance(RBTNode<K, V> n) {
-		/*
-		 * Guaranteed to have a parent.
-		 * Guaranteed to have a grandparent.
-		 * Guaranteed to have an uncle that might be null, which means it's black.
-		 */
-		while (isRed(parent(n))) {
-			RBTNode<K, V> u = null; // uncle
-
-			if (isLeftChild(parent(n), grandparent(n))) {
-				u = (RBTNode<K, V>) grandparent(n).getRight();
-
-				if (isRed(u)) {
-					parent(n).setColor(Color.BLACK);
-					u.setColor(Color.BLACK);
-					grandparent(n).setColor(Color.RED);
-					n = grandparent(n);
-					continue;
-				} 
-
-				if (isRightChild(n, parent(n))) {
-					// double rotation needed
-					n = parent(n);
-					leftRotate(n);
-				}
-				
-				parent(n).setColor(Color.BLACK);
-				grandparent(n).setColor(Color.RED);
-				rightRotate(grandparent(n));				
-			} else {
-				u = (RBTNode<K, V>) grandparent(n).getLeft();
-
-				if (isRed(u)) {
-					parent(n).setColor(Color.BLACK);
-					u.setColor(Color.BLACK);
-					grandparent(n).setColor(Color.RED);
-					n = grandparent(n);
-					continue;
-				}
-
-				if (isLeftChild(n, parent(n))) {
-					// double rotation needed
-					n = parent(n);
-					rightRotate(n);
-				}
-				
-				parent(n).setColor(Color.BLACK);
-				grandparent(n).setColor(Color.RED);
-				leftRotate(grandparent(n));
-			}
-		}
-		root.setColor(Color.BLACK);
+	public void setStart(RBTNode<K, V> start) {
+		this.start = start;
+	}
+	
+	/**
+	 * Gets the node holding the key of the last insertion, whether it was inserted, or it was already in the tree.
+	 * 
+	 * @return Node holding the key of the last insertion.
+	 */
+	public RBTNode<K, V> getNode() {
+		return node;
 	}
 	
 	
@@ -119,29 +147,51 @@ public class RBTInsertion<K extends Comparable<K>, V> extends AbstractRBTInserti
 	 * @return <code>true</code> if tree needs to be re-balanced, and <code>false</code> otherwise.
 	 */
 	private boolean treeNeedsRebalance(RBTNode<K, V> addedNode) {
-		return addedNode != null && addedNode.getParent().getColor().equals(Color.RED);
+		return addedNode != null && addedNode.getParent().isRed();
 	}
 
 	/**
 	 * Performs the binary insertion of an entry with the given <code>key</code>
-	 * and the given <code>value</code>.
+	 * and the given <code>value</code>.<br>
+	 * 
+	 * The kind of ordering is checked through the local copies of the fields, which the JIT compiler hoists 
+	 * out of the loop, so every tree keeps calling just one comparison. With an {@link IntKeyComparator} or 
+	 * a {@link LongKeyComparator}, the number the <code>key</code> is ordered by is extracted only once.
 	 * 
 	 * @param key Key of the entry being inserted to this tree.
 	 * @param value Value of the entry being inserted to this tree.
 	 * @return A reference to the newly inserted node, or <code>null</code> if nothing was inserted.
 	 */
 	private RBTNode<K, V> binaryInsert(K key, V value) {
-		RBTNode<K, V> tmp = root;
+		RBTNode<K, V> tmp = start != null ? start : root;
 		RBTNode<K, V> newNode = null;
 		
+		Comparator<? super K> comparator = this.comparator;
+		IntKeyComparator<? super K> intKeys = this.intKeys;
+		LongKeyComparator<? super K> longKeys = this.longKeys;
+		int intKey = intKeys != null ? intKeys.extract(key) : 0;
+		long longKey = longKeys != null ? longKeys.extract(key) : 0;
+		int visited = 0;
+		
 		/* Perform binary insertion */
 		while (true) {
-			int compared = key.compareTo(tmp.getKey());
+			visited ++;
+			
+			int compared;
+			if (intKeys != null) {
+				compared = Integer.compare(intKey, intKeys.extract(tmp.getKey()));
+			} else if (longKeys != null) {
+				compared = Long.compare(longKey, longKeys.extract(tmp.getKey()));
+			} else if (comparator != null) {
+				compared = comparator.compare(key, tmp.getKey());
+			} else {
+				compared = key.compareTo(tmp.getKey());
+			}
 			
 			if (compared < 0) {
 				// go left
 				if (tmp.getLeft() == null) {
-					newNode = new RBTNode<>(key, value, Color.RED, tmp);
+					newNode = nodes.create(key, value, Color.RED, tmp);
 					tmp.setLeft(newNode);
 					newNode.setParent(tmp);
 					inserted = true; break;
@@ -151,7 +201,7 @@ public class RBTInsertion<K extends Comparable<K>, V> extends AbstractRBTInserti
 			} else if (compared > 0) {
 				// go right
 				if (tmp.getRight() == null) {
-					newNode = new RBTNode<>(key, value, Color.RED, tmp);
+					newNode = nodes.create(key, value, Color.RED, tmp);
 					tmp.setRight(newNode);
 					newNode.setParent(tmp);
 					inserted = true; break;
@@ -163,6 +213,9 @@ public class RBTInsertion<K extends Comparable<K>, V> extends AbstractRBTInserti
 				inserted = false; break;
 			}
 		}
+		if (counts != null) counts.addDescent(visited);
+		
+		node = newNode != null ? newNode : tmp;
 		return newNode;
 	}
 
@@ -0,0 +1,260 @@
+package filip.custom.data_structs.trees.binary.red_black.oper.join;
+
+import java.util.Comparator;
+
+import filip.custom.data_structs.trees.binary.BSTNode;
+import filip.custom.data_structs.trees.binary.red_black.RBTNode;
+import filip.custom.data_structs.trees.binary.red_black.RBTNode.Color;
+import filip.custom.data_structs.trees.binary.red_black.oper.RBTOperation;
+import filip.custom.data_structs.trees.comparators.KeyComparators;
+
+/**
+ * Joins and splits the subtrees of a <b>Red-Black Tree</b> in <code>O(log n)</code> time.<br>
+ * 
+ * Both operations work on detached subtrees, whose roots have no parent, and reuse their nodes, 
+ * so the subtrees passed to them must not be used afterwards. The subtree data of the nodes
+ * (see {@link RBTNode#update()}) is kept up to date, which makes any subclass of {@link RBTNode} work.<br>
+ * 
+ * A single instance isn't thread-safe, but any number of instances may work on disjoint subtrees concurrently.
+ * 
+ * @author fiilip
+ *
+ * @param <K> Type of keys stored in a tree.
+ * @param <V> Type of values stored in a tree.
+ */
+public class RBTJoin<K extends Comparable<K>, V> extends RBTOperation<K, V> {
+	
+	/**
+	 * Comparator of the keys, <code>null</code> for their natural order.
+	 */
+	private final Comparator<? super K> comparator;
+	
+	/**
+	 * Subtree with the keys less than the key of the last split.
+	 */
+	private RBTNode<K, V> less;
+	
+	/**
+	 * Node with the key of the last split, <code>null</code> if there was none.
+	 */
+	private RBTNode<K, V> found;
+	
+	/**
+	 * Subtree with the keys greater than the key of the last split.
+	 */
+	private RBTNode<K, V> greater;
+	
+	/**
+	 * Creates a new instance of {@link RBTJoin}.
+	 */
+	public RBTJoin() {
+		this(null);
+	}
+	
+	/**
+	 * Creates a new instance of {@link RBTJoin}, which splits the subtrees ordered by a given <code>comparator</code>.
+	 * 
+	 * @param comparator Comparator of the keys, <code>null</code> for their natural order.
+	 */
+	public RBTJoin(Comparator<? super K> comparator) {
+		super();
+		this.comparator = comparator;
+	}
+	
+	/**
+	 * Joins two subtrees and a <code>pivot</code> node, where all the keys of <code>left</code> are less than the key 
+	 * of the <code>pivot</code>, which is less than all the keys of <code>right</code>.<br>
+	 * 
+	 * The <code>pivot</code> is attached to the taller subtree, at the depth where the other subtree has 
+	 * the same black height, and the tree is then re-balanced as after an insertion, which takes 
+	 * <code>O(|h(left) - h(right)| + 1)</code> time, where <code>h</code> is the black height.
+	 * 
+	 * @param left Root of the left subtree, possibly <code>null</code>.
+	 * @param pivot Node joining the subtrees.
+	 * @param right Root of the right subtree, possibly <code>null</code>.
+	 * @return Root of the joined subtree.
+	 */
+	public RBTNode<K, V> join(RBTNode<K, V> left, RBTNode<K, V> pivot, RBTNode<K, V> right) {
+		blacken(left);
+		blacken(right);
+		
+		int leftHeight = blackHeight(left);
+		int rightHeight = blackHeight(right);
+		
+		if (leftHeight == rightHeight) {
+			attach(pivot, left, right, null);
+			pivot.setColor(Color.BLACK);
+			return pivot;
+		}
+		
+		this.root = leftHeight > rightHeight ? left : right;
+		boolean alongRight = leftHeight > rightHeight;
+		int height = Math.max(leftHeight, rightHeight);
+		int target = Math.min(leftHeight, rightHeight);
+		
+		// find the black node of the taller subtree with the black height of the other one
+		RBTNode<K, V> parent = null;
+		RBTNode<K, V> tmp = root;
+		while (tmp != null && (tmp.isRed() || height > target)) {
+			if (!tmp.isRed()) height --;
+			parent = tmp;
+			tmp = (RBTNode<K, V>) (alongRight ? tmp.getRight() : tmp.getLeft());
+		}
+		
+		if (alongRight) {
+			attach(pivot, tmp, right, parent);
+			parent.setRight(pivot);
+		} else {
+			attach(pivot, left, tmp, parent);
+			parent.setLeft(pivot);
+		}
+		pivot.setColor(Color.RED);
+		updateUpwards(parent);
+		
+		if (parent.isRed()) {
+			rebalanceInsertion(pivot);
+		}
+		return release();
+	}
+	
+	/**
+	 * Joins two subtrees, where all the keys of <code>left</code> are less than all the keys of <code>right</code>,
+	 * using the least node of <code>right</code> as the pivot.
+	 * 
+	 * @param left Root of the left subtree, possibly <code>null</code>.
+	 * @param right Root of the right subtree, possibly <code>null</code>.
+	 * @return Root of the joined subtree.
+	 */
+	public RBTNode<K, V> join(RBTNode<K, V> left, RBTNode<K, V> right) {
+		if (left == null) return right;
+		if (right == null) return left;
+		
+		BSTNode<K, V> least = right;
+		while (least.getLeft() != null) {
+			least = least.getLeft();
+		}
+		
+		split(right, least.getKey());
+		return join(left, found, greater);
+	}
+	
+	/**
+	 * Splits a subtree by a given <code>key</code>, into the subtree of the keys less than the <code>key</code>
+	 * ({@link #getLess()}), the node with the <code>key</code> ({@link #getFound()}), and the subtree of the keys 
+	 * greater than the <code>key</code> ({@link #getGreater()}).<br>
+	 * 
+	 * The subtrees hanging off the path to the <code>key</code> are joined bottom-up, and their heights grow
+	 * along the way, so all the joins together take <code>O(log n)</code> time.
+	 * 
+	 * @param n Root of the subtree, possibly <code>null</code>.
+	 * @param key Key to split by.
+	 */
+	public void split(RBTNode<K, V> n, K key) {
+		if (n == null) {
+			less = found = greater = null;
+			return;
+		}
+		
+		RBTNode<K, V> left = detach(n.getLeft());
+		RBTNode<K, V> right = detach(n.getRight());
+		int compared = KeyComparators.compare(comparator, key, n.getKey());
+		
+		if (compared < 0) {
+			split(left, key);
+			greater = join(greater, n, right);
+		} else if (compared > 0) {
+			split(right, key);
+			less = join(left, n, less);
+		} else {
+			less = left;
+			found = n;
+			greater = right;
+			attach(n, null, null, null);
+		}
+	}
+	
+	/**
+	 * Gets the subtree with the keys less than the key of the last split.
+	 * 
+	 * @return Root of the subtree, possibly <code>null</code>.
+	 */
+	public RBTNode<K, V> getLess() {
+		return less;
+	}
+	
+	/**
+	 * Gets the node with the key of the last split, detached from both of the subtrees.
+	 * 
+	 * @return Node with the key, or <code>null</code> if there was none.
+	 */
+	public RBTNode<K, V> getFound() {
+		return found;
+	}
+	
+	/**
+	 * Gets the subtree with the keys greater than the key of the last split.
+	 * 
+	 * @return Root of the subtree, possibly <code>null</code>.
+	 */
+	public RBTNode<K, V> getGreater() {
+		return greater;
+	}
+	
+	/**
+	 * Detaches a subtree from it's parent.
+	 * 
+	 * @param n Root of the subtree, possibly <code>null</code>.
+	 * @return Root of the detached subtree.
+	 */
+	public static <K extends Comparable<K>, V> RBTNode<K, V> detach(BSTNode<K, V> n) {
+		RBTNode<K, V> node = (RBTNode<K, V>) n;
+		if (node != null) {
+			node.setParent(null);
+		}
+		return node;
+	}
+	
+	/**
+	 * Makes a given <code>node</code> the parent of the given subtrees, and the child of a given <code>parent</code>.
+	 * 
+	 * @param node Node of interest.
+	 * @param left New left subtree of the <code>node</code>, possibly <code>null</code>.
+	 * @param right New right subtree of the <code>node</code>, possibly <code>null</code>.
+	 * @param parent New parent of the <code>node</code>, possibly <code>null</code>.
+	 */
+	private void attach(RBTNode<K, V> node, RBTNode<K, V> left, RBTNode<K, V> right, RBTNode<K, V> parent) {
+		node.setLeft(left);
+		if (left != null) left.setParent(node);
+		
+		node.setRight(right);
+		if (right != null) right.setParent(node);
+		
+		node.setParent(parent);
+		node.update();
+	}
+	
+	/**
+	 * Colors the root of a subtree black, which keeps it a valid <b>Red-Black Tree</b>.
+	 * 
+	 * @param n Root of the subtree, possibly <code>null</code>.
+	 */
+	private void blacken(RBTNode<K, V> n) {
+		if (n != null) {
+			n.setColor(Color.BLACK);
+		}
+	}
+	
+	/**
+	 * Calculates the black height of a subtree, which is the number of black nodes on any path from it's root down.
+	 * 
+	 * @param n Root of the subtree, possibly <code>null</code>.
+	 * @return Black height of the subtree.
+	 */
+	private int blackHeight(RBTNode<K, V> n) {
+		int height = 0;
+		for (; n != null; n = (RBTNode<K, V>) n.getLeft()) {
+			if (!n.isRed()) height ++;
+		}
+		return height;
+	}
+}
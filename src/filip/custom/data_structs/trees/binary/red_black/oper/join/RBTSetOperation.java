@@ -0,0 +1,169 @@
+package filip.custom.data_structs.trees.binary.red_black.oper.join;
+
+import java.util.Comparator;
+import java.util.concurrent.RecursiveTask;
+
+import filip.custom.data_structs.trees.binary.red_black.RBTNode;
+
+/**
+ * A set operation on two subtrees of a <b>Red-Black Tree</b>, built on top of {@link RBTJoin}.<br>
+ * 
+ * The root of one subtree splits the other one, the operation is applied to the two pairs of the
+ * resulting smaller subtrees in parallel, and the results are joined back. This takes
+ * <code>O(m log(n / m + 1))</code> work for the subtrees of <code>m</code> and <code>n &gt;= m</code> entries,
+ * and only <code>O(log m log n)</code> of it has to happen sequentially.<br>
+ * 
+ * The nodes of both subtrees are reused, and the subtrees must not be used afterwards.
+ * When both subtrees hold an entry with the same key, the entry of the first one is kept.
+ * 
+ * @author fiilip
+ *
+ * @param <K> Type of keys stored in a tree.
+ * @param <V> Type of values stored in a tree.
+ */
+public class RBTSetOperation<K extends Comparable<K>, V> extends RecursiveTask<RBTNode<K, V>> {
+
+	private static final long serialVersionUID = 1L;
+	
+	/**
+	 * Least number of entries in a pair of subtrees worth forking a new task for.
+	 */
+	private static final int FORK_THRESHOLD = 1 << 13;
+	
+	/**
+	 * Kinds of the set operations.
+	 * 
+	 * @author fiilip
+	 * 
+	 */
+	public static enum Kind {
+		
+		/**
+		 * Entries of either of the subtrees.
+		 */
+		UNION,
+		
+		/**
+		 * Entries of the first subtree, whose keys are in the second one as well.
+		 */
+		INTERSECTION,
+		
+		/**
+		 * Entries of the first subtree, whose keys aren't in the second one.
+		 */
+		DIFFERENCE
+	}
+	
+	/**
+	 * Kind of this operation.
+	 */
+	private final Kind kind;
+	
+	/**
+	 * Root of the first subtree.
+	 */
+	private final RBTNode<K, V> first;
+	
+	/**
+	 * Root of the second subtree.
+	 */
+	private final RBTNode<K, V> second;
+	
+	/**
+	 * Comparator of the keys, <code>null</code> for their natural order.
+	 */
+	private final Comparator<? super K> comparator;
+	
+	/**
+	 * Creates a new instance of {@link RBTSetOperation}.
+	 * 
+	 * @param kind Kind of the operation.
+	 * @param first Root of the first, detached subtree, possibly <code>null</code>.
+	 * @param second Root of the second, detached subtree, possibly <code>null</code>.
+	 */
+	public RBTSetOperation(Kind kind, RBTNode<K, V> first, RBTNode<K, V> second) {
+		this(kind, first, second, null);
+	}
+	
+	/**
+	 * Creates a new instance of {@link RBTSetOperation} on the subtrees ordered by a given <code>comparator</code>.
+	 * 
+	 * @param kind Kind of the operation.
+	 * @param first Root of the first, detached subtree, possibly <code>null</code>.
+	 * @param second Root of the second, detached subtree, possibly <code>null</code>.
+	 * @param comparator Comparator of the keys, <code>null</code> for their natural order.
+	 */
+	public RBTSetOperation(Kind kind, RBTNode<K, V> first, RBTNode<K, V> second, Comparator<? super K> comparator) {
+		this.kind = kind;
+		this.first = first;
+		this.second = second;
+		this.comparator = comparator;
+	}
+	
+	@Override
+	protected RBTNode<K, V> compute() {
+		return apply(first, second, new RBTJoin<K, V>(comparator));
+	}
+	
+	/**
+	 * Applies this operation to two subtrees, forking the work on the left subtrees if there is enough of it.
+	 * 
+	 * @param first Root of the first subtree, possibly <code>null</code>.
+	 * @param second Root of the second subtree, possibly <code>null</code>.
+	 * @param oper Join used by the current thread.
+	 * @return Root of the resulting subtree.
+	 */
+	private RBTNode<K, V> apply(RBTNode<K, V> first, RBTNode<K, V> second, RBTJoin<K, V> oper) {
+		if (first == null) {
+			return kind == Kind.UNION ? second : null;
+		}
+		if (second == null) {
+			return kind == Kind.INTERSECTION ? null : first;
+		}
+		
+		// the difference splits the first subtree, so that none of it's entries that should stay are dropped
+		RBTNode<K, V> pivot = kind == Kind.DIFFERENCE ? second : first;
+		RBTNode<K, V> other = kind == Kind.DIFFERENCE ? first : second;
+		
+		RBTNode<K, V> pivotLeft = RBTJoin.detach(pivot.getLeft());
+		RBTNode<K, V> pivotRight = RBTJoin.detach(pivot.getRight());
+		
+		oper.split(other, pivot.getKey());
+		RBTNode<K, V> otherLeft = oper.getLess();
+		RBTNode<K, V> otherRight = oper.getGreater();
+		boolean found = oper.getFound() != null;
+		
+		RBTNode<K, V> left;
+		RBTNode<K, V> right;
+		
+		if (RBTNode.sizeOf(pivotLeft) + RBTNode.sizeOf(otherLeft) >= FORK_THRESHOLD) {
+			RBTSetOperation<K, V> task = kind == Kind.DIFFERENCE 
+					? new RBTSetOperation<>(kind, otherLeft, pivotLeft, comparator)
+					: new RBTSetOperation<>(kind, pivotLeft, otherLeft, comparator);
+			task.fork();
+			right = applyOrdered(pivotRight, otherRight, oper);
+			left = task.join();
+		} else {
+			left = applyOrdered(pivotLeft, otherLeft, oper);
+			right = applyOrdered(pivotRight, otherRight, oper);
+		}
+		
+		if (kind == Kind.UNION || (kind == Kind.INTERSECTION && found)) {
+			return oper.join(left, pivot, right);
+		}
+		return oper.join(left, right);
+	}
+	
+	/**
+	 * Applies this operation to the subtrees of the pivot and the subtrees of the split one,
+	 * passing them in the order of the first and the second subtree.
+	 * 
+	 * @param pivotSide Subtree of the pivot.
+	 * @param otherSide Subtree of the split one.
+	 * @param oper Join used by the current thread.
+	 * @return Root of the resulting subtree.
+	 */
+	private RBTNode<K, V> applyOrdered(RBTNode<K, V> pivotSide, RBTNode<K, V> otherSide, RBTJoin<K, V> oper) {
+		return kind == Kind.DIFFERENCE ? apply(otherSide, pivotSide, oper) : apply(pivotSide, otherSide, oper);
+	}
+}
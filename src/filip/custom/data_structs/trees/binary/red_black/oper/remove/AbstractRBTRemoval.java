@@ -1,7 +1,7 @@
 package filip.custom.data_structs.trees.binary.red_black.oper.remove;
 
-import filip.custom.data_structs.trees.binary.red_black.RBTNode;
 import filip.custom.data_structs.trees.binary.red_black.oper.RBTOperation;
+import filip.custom.data_structs.trees.nodes.SearchTreeNode;
 import filip.custom.data_structs.trees.operations.EntryRemoval;
 
 /**
@@ -17,22 +17,14 @@ public abstract class AbstractRBTRemoval<K extends Comparable<K>, V>
 				extends RBTOperation<K, V> implements EntryRemoval<K, V> {
 	
 	/**
-	 * Root of the tree calling this removal.
-	 */
-	protected RBTNode<K, V> root;
-	
-	/**
-	 * Value of the entry removed by the last call to method {@link #remove(K)}.
+	 * Value of the entry removed by the last call to method {@link #remove(SearchTreeNode, K)}.
 	 */
 	protected V removed;
 
 	/**
 	 * Creates a new instance of {@link AbstractRBTRemoval}.
-	 * 
-	 * @param root Root of the tree this removal is being called upon.
 	 */
-	public AbstractRBTRemoval(RBTNode<K, V> root) {
-		super(root);
+	public AbstractRBTRemoval() {
 		this.removed = null;
 	}
 	
@@ -1,8 +1,11 @@
 package filip.custom.data_structs.trees.binary.red_black.oper.remove;
 
+import java.util.Comparator;
+
 import filip.custom.data_structs.trees.binary.BSTNode;
 import filip.custom.data_structs.trees.binary.red_black.RBTNode;
 import filip.custom.data_structs.trees.binary.red_black.RBTNode.Color;
+import filip.custom.data_structs.trees.comparators.KeyComparators;
 import filip.custom.data_structs.trees.nodes.SearchTreeNode;
 
 /**
@@ -17,47 +20,69 @@ import filip.custom.data_structs.trees.nodes.SearchTreeNode;
  * @param <V> Type of values stored in a tree.
  */
 public class RBTRemoval<K extends Comparable<K>, V> extends AbstractRBTRemoval<K, V> {
+	
+	/**
+	 * Comparator of the keys, <code>null</code> for their natural order.
+	 */
+	private final Comparator<? super K> comparator;
 		
 	/**
 	 * Creates a new instance of {@link RBTRemoval}.
+	 */
+	public RBTRemoval() {
+		this(null);
+	}
+	
+	/**
+	 * Creates a new instance of {@link RBTRemoval} from a tree ordered by a given <code>comparator</code>.
 	 * 
-	 * @param root Root of the tree calling this removal.
+	 * @param comparator Comparator of the keys, <code>null</code> for their natural order.
 	 */
-	public RBTRemoval(RBTNode<K, V> root) {
-		super(root);
+	public RBTRemoval(Comparator<? super K> comparator) {
+		super();
+		this.comparator = comparator;
 	}
 
 	@Override
-	public SearchTreeNode<K, V> remove(K key) {
+	public SearchTreeNode<K, V> remove(SearchTreeNode<K, V> treeRoot, K key) {
+		this.root = (RBTNode<K, V>) treeRoot;
+		
 		// find a node to remove
 		RBTNode<K, V> z = findNode(key);
 		
 		if (z == null) {
 			// node with a given key not found
-			return root;
+			removed = null;
+			return release();
 		}
 		
 		// node with a give key was found
+		removed = z.getValue();
+		
 		RBTNode<K, V> x = null;
+		RBTNode<K, V> xParent = null;
 		RBTNode<K, V> y = z;
 		
-		Color yOriginalColor = y.getColor();
+		boolean yOriginallyBlack = isBlack(y);
 		
 		if (z.getLeft() == null) {
 			x = (RBTNode<K, V>) z.getRight();
-			transplant(z, (RBTNode<K, V>) z.getRight());
+			xParent = parent(z);
+			transplant(z, x);
 		} else if (z.getRight() == null) {
 			x = (RBTNode<K, V>) z.getLeft();
-			transplant(z, (RBTNode<K, V>) z.getLeft());
+			xParent = parent(z);
+			transplant(z, x);
 		} else {
 			y = findMin(z.getRight());
-			yOriginalColor = y.getColor();
+			yOriginallyBlack = isBlack(y);
 			x = (RBTNode<K, V>) y.getRight();
 			
-			if (y.getParent().equals(z)) {
-				x.setParent(y);
+			if (parent(y) == z) {
+				xParent = y;
 			} else {
-				transplant(y, (RBTNode<K, V>) y.getRight());
+				xParent = parent(y);
+				transplant(y, x);
 				y.setRight(z.getRight());
 				((RBTNode<K, V>) y.getRight()).setParent(y);
 			}
@@ -65,87 +90,97 @@ public class RBTRemoval<K extends Comparable<K>, V> extends AbstractRBTRemoval<K
 			transplant(z, y);
 			y.setLeft(z.getLeft());
 			((RBTNode<K, V>) y.getLeft()).setParent(y);
-			y.setColor(z.getColor());
+			recolor(y, z.getColor());
 		}
 		
-		if (yOriginalColor.equals(Color.BLACK)) {
-			rebalance(x);
+		// the sizes below xParent are intact, and the ones above it lost a node
+		updateUpwards(xParent);
+		
+		if (yOriginallyBlack) {
+			rebalance(x, xParent);
 		}
 		
-		return root;
+		return release();
 	}
 	
 	/**
-	 * Performs the re-balancing of the tree.
+	 * Performs the re-balancing of the tree.<br>
+	 * 
+	 * Since this tree uses no sentinel leaf, the node <code>x</code> that carries the
+	 * "extra black" might be <code>null</code>, which is why it's parent is tracked separately.
 	 * 
-	 * @param x
+	 * @param x Node that took the place of the removed node, possibly <code>null</code>.
+	 * @param xParent Parent of the node <code>x</code>.
 	 */
-	private void rebalance(RBTNode<K, V> x) {
-		while (!(x.equals(root)) && (x.getClass().equals(Color.BLACK))) {
-			if (x.equals(x.getParent().getLeft())) {
-				RBTNode<K, V> w = (RBTNode<K, V>) x.getParent().getRight();
+	private void rebalance(RBTNode<K, V> x, RBTNode<K, V> xParent) {
+		while (x != root && isBlack(x)) {
+			if (counts != null) counts.addFixupIteration();
+			
+			if (x == xParent.getLeft()) {
+				RBTNode<K, V> w = (RBTNode<K, V>) xParent.getRight();
 				
-				if (w.getColor().equals(Color.RED)) {
-					w.setColor(Color.BLACK);
-					x.getParent().setColor(Color.RED);
-					leftRotate(x.getParent());
-					w = (RBTNode<K, V>) x.getParent().getRight();
+				if (isRed(w)) {
+					recolor(w, Color.BLACK);
+					recolor(xParent, Color.RED);
+					leftRotate(xParent);
+					w = (RBTNode<K, V>) xParent.getRight();
 				}
 				
-				if (((RBTNode<K, V>) w.getLeft()).getColor().equals(Color.BLACK) && 
-						((RBTNode<K, V>) w.getRight()).getColor().equals(Color.BLACK)) {
-					w.setColor(Color.RED);
-					x = x.getParent();
+				if (isBlack((RBTNode<K, V>) w.getLeft()) && isBlack((RBTNode<K, V>) w.getRight())) {
+					recolor(w, Color.RED);
+					x = xParent;
+					xParent = parent(x);
 					continue;
-				} else if (((RBTNode<K, V>) w.getRight()).getColor().equals(Color.BLACK)) {
-					((RBTNode<K, V>) w.getLeft()).setColor(Color.BLACK);
-					w.setColor(Color.RED);
+				} 
+				
+				if (isBlack((RBTNode<K, V>) w.getRight())) {
+					recolor((RBTNode<K, V>) w.getLeft(), Color.BLACK);
+					recolor(w, Color.RED);
 					rightRotate(w);
-					w = (RBTNode<K, V>) x.getParent().getRight();
+					w = (RBTNode<K, V>) xParent.getRight();
 				}
 				
-				if (((RBTNode<K, V>) w.getRight()).getColor().equals(Color.RED)) {
-					w.setColor(x.getParent().getColor());
-					x.getParent().setColor(Color.BLACK);
-					((RBTNode<K, V>) w.getRight()).setColor(Color.BLACK);
-					leftRotate(x.getParent());
-					x = root;
-				}
+				recolor(w, xParent.getColor());
+				recolor(xParent, Color.BLACK);
+				recolor((RBTNode<K, V>) w.getRight(), Color.BLACK);
+				leftRotate(xParent);
+				x = root;
 				
 			} else {
-				RBTNode<K, V> w = (RBTNode<K, V>) x.getParent().getLeft();
+				RBTNode<K, V> w = (RBTNode<K, V>) xParent.getLeft();
 				
-				if (w.getColor().equals(Color.RED)) {
-					w.setColor(Color.BLACK);
-					x.getParent().setColor(Color.RED);
-					rightRotate(x.getParent());
-					w = (RBTNode<K, V>) x.getParent().getLeft();
+				if (isRed(w)) {
+					recolor(w, Color.BLACK);
+					recolor(xParent, Color.RED);
+					rightRotate(xParent);
+					w = (RBTNode<K, V>) xParent.getLeft();
 				}
 				
-				if (((RBTNode<K, V>) w.getRight()).getColor().equals(Color.BLACK) && 
-						((RBTNode<K, V>) w.getLeft()).getColor().equals(Color.BLACK)) {
-					w.setColor(Color.RED);
-					x = x.getParent();
+				if (isBlack((RBTNode<K, V>) w.getRight()) && isBlack((RBTNode<K, V>) w.getLeft())) {
+					recolor(w, Color.RED);
+					x = xParent;
+					xParent = parent(x);
 					continue;
-					
-				} else if (((RBTNode<K, V>) w.getLeft()).equals(Color.BLACK)) {
-					((RBTNode<K, V>) w.getRight()).setColor(Color.BLACK);
-					w.setColor(Color.RED);
+				} 
+				
+				if (isBlack((RBTNode<K, V>) w.getLeft())) {
+					recolor((RBTNode<K, V>) w.getRight(), Color.BLACK);
+					recolor(w, Color.RED);
 					leftRotate(w);
-					w = (RBTNode<K, V>) x.getParent().getLeft();
+					w = (RBTNode<K, V>) xParent.getLeft();
 				}
 				
-				if (((RBTNode<K, V>) w.getLeft()).getColor().equals(Color.RED)) {
-					w.setColor(x.getParent().getColor());
-					x.getParent().setColor(Color.BLACK);
-					((RBTNode<K, V>) w.getLeft()).setColor(Color.BLACK);
-					rightRotate(x.getParent());
-					x = root;
-				}
+				recolor(w, xParent.getColor());
+				recolor(xParent, Color.BLACK);
+				recolor((RBTNode<K, V>) w.getLeft(), Color.BLACK);
+				rightRotate(xParent);
+				x = root;
 			}
 		}
 		
-		x.setColor(Color.BLACK);
+		if (x != null) {
+			recolor(x, Color.BLACK);
+		}
 	}
 
 	/**
@@ -155,7 +190,14 @@ public class RBTRemoval<K extends Comparable<K>, V> extends AbstractRBTRemoval<K
 	 * @return The minimum node in a subtree rooted in <code>node</code>.
 	 */
 	private RBTNode<K, V> findMin(BSTNode<K, V> node) {
-		while (node.getLeft() != null) node = node.getLeft();
+		int visited = 1;
+		
+		while (node.getLeft() != null) {
+			node = node.getLeft();
+			visited ++;
+		}
+		
+		if (counts != null) counts.addPath(visited);
 		return (RBTNode<K, V>) node;
 	}
 	
@@ -174,7 +216,10 @@ public class RBTRemoval<K extends Comparable<K>, V> extends AbstractRBTRemoval<K
         } else {
         		parent(target).setRight(with);
         }
-        with.setParent(parent(target));
+        
+        if (with != null) {
+        		with.setParent(parent(target));
+        }
 	}
 
 	/**
@@ -187,12 +232,11 @@ public class RBTRemoval<K extends Comparable<K>, V> extends AbstractRBTRemoval<K
 	 */
 	private RBTNode<K, V> findNode(K key) {
 		RBTNode<K, V> tmp = root;
+		int visited = 0;
 		
-		while (true) {
-			// not found
-			if (tmp == null) return null;
-			
-			int compared = key.compareTo(tmp.getKey());
+		while (tmp != null) {
+			visited ++;
+			int compared = KeyComparators.compare(comparator, key, tmp.getKey());
 			
 			if (compared < 0) {
 				// go left
@@ -202,9 +246,12 @@ public class RBTRemoval<K extends Comparable<K>, V> extends AbstractRBTRemoval<K
 				tmp = (RBTNode<K, V>) tmp.getRight();
 			} else {
 				// found
-				return tmp;
+				break;
 			}
 		}
+		
+		if (counts != null) counts.addDescent(visited);
+		return tmp;
 	}
 	
 	
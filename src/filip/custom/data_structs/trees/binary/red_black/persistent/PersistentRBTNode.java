@@ -0,0 +1,84 @@
+package filip.custom.data_structs.trees.binary.red_black.persistent;
+
+import filip.custom.data_structs.trees.SearchTree;
+
+/**
+ * An immutable node of a {@link PersistentRedBlackTree}.<br>
+ * 
+ * Since a node never changes, it can be shared by any number of versions of a tree. It has no parent pointer,
+ * because the same node can have a different parent in each version.
+ * 
+ * @author fiilip
+ *
+ * @param <K> Type of keys stored in nodes.
+ * @param <V> Type of values stored in nodes.
+ */
+public final class PersistentRBTNode<K extends Comparable<K>, V> implements SearchTree.Entry<K, V> {
+	
+	/**
+	 * Key contained by this node.
+	 */
+	final K key;
+	
+	/**
+	 * Value contained by this node.
+	 */
+	final V value;
+	
+	/**
+	 * Root of the left subtree.
+	 */
+	final PersistentRBTNode<K, V> left;
+	
+	/**
+	 * Root of the right subtree.
+	 */
+	final PersistentRBTNode<K, V> right;
+	
+	/**
+	 * Color of this node, <code>true</code> if the node is red and <code>false</code> if it is black.
+	 */
+	final boolean red;
+	
+	/**
+	 * Creates a new instance of {@link PersistentRBTNode}.
+	 * 
+	 * @param red Whether or not the node is red.
+	 * @param left Root of the left subtree.
+	 * @param key Key contained by the node.
+	 * @param value Value contained by the node.
+	 * @param right Root of the right subtree.
+	 */
+	PersistentRBTNode(boolean red, PersistentRBTNode<K, V> left, K key, V value, PersistentRBTNode<K, V> right) {
+		this.red = red;
+		this.left = left;
+		this.key = key;
+		this.value = value;
+		this.right = right;
+	}
+
+	@Override
+	public K getKey() {
+		return key;
+	}
+
+	@Override
+	public V getValue() {
+		return value;
+	}
+
+	/**
+	 * Nodes of a persistent tree can't be changed.
+	 * 
+	 * @throws UnsupportedOperationException Always.
+	 */
+	@Override
+	public void setValue(V value) throws UnsupportedOperationException {
+		throw new UnsupportedOperationException("Nodes of a persistent tree can't be changed.");
+	}
+	
+	@Override
+	public String toString() {
+		return "(" + key + ", " + value + ")";
+	}
+}
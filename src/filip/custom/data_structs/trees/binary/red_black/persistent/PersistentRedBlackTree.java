@@ -0,0 +1,567 @@
+package filip.custom.data_structs.trees.binary.red_black.persistent;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import filip.custom.data_structs.trees.SearchTree;
+
+/**
+ * A single, immutable version of a persistent <b>Red-Black Tree</b>.<br>
+ * 
+ * {@link #insert(Comparable, Object)} and {@link #remove(Comparable)} don't change a version, 
+ * but return a new one, which shares all the nodes of this version except for the <code>O(log n)</code>
+ * nodes on the path to the changed key, which are copied. Any version can thus be read, and iterated over,
+ * by any number of threads without any synchronization, while new versions are being created.<br>
+ * 
+ * The insertion balances the tree the way Okasaki described in <i>Red-Black Trees in a Functional Setting</i>,
+ * and the removal the way Kahrs described in <i>Red-Black Trees with Types</i>.<br>
+ * 
+ * Every entry is stored in a single {@link PersistentRBTNode} of 32 bytes on a 64-bit JVM with compressed references.
+ * 
+ * @author fiilip
+ *
+ * @param <K> Type of keys stored in this tree.
+ * @param <V> Type of values stored in this tree.
+ */
+public final class PersistentRedBlackTree<K extends Comparable<K>, V> implements Iterable<SearchTree.Entry<K, V>> {
+	
+	/**
+	 * The empty version, shared by all the key and value types.
+	 */
+	@SuppressWarnings("rawtypes")
+	private static final PersistentRedBlackTree EMPTY = new PersistentRedBlackTree<>(null, 0);
+	
+	/**
+	 * Root of this version.
+	 */
+	private final PersistentRBTNode<K, V> root;
+	
+	/**
+	 * Number of entries in this version.
+	 */
+	private final int size;
+	
+	/**
+	 * Creates a new instance of {@link PersistentRedBlackTree}.
+	 * 
+	 * @param root Root of the version.
+	 * @param size Number of entries in the version.
+	 */
+	private PersistentRedBlackTree(PersistentRBTNode<K, V> root, int size) {
+		this.root = root;
+		this.size = size;
+	}
+	
+	/**
+	 * Gets the empty version of a tree.
+	 * 
+	 * @return Empty version.
+	 */
+	@SuppressWarnings("unchecked")
+	public static <K extends Comparable<K>, V> PersistentRedBlackTree<K, V> empty() {
+		return EMPTY;
+	}
+	
+	/**
+	 * Creates a new version holding the given entries, sorted by their keys in a strictly ascending order,
+	 * in linear time.
+	 * 
+	 * @param entries Entries sorted by their keys.
+	 * @return New version holding the <code>entries</code>.
+	 */
+	static <K extends Comparable<K>, V> PersistentRedBlackTree<K, V> fromSorted(List<? extends SearchTree.Entry<K, V>> entries) {
+		int size = entries.size();
+		
+		// the deepest level is red, unless it's full
+		int redLevel = 0;
+		for (int m = size - 1; m >= 0; m = m / 2 - 1) {
+			redLevel ++;
+		}
+		
+		return new PersistentRedBlackTree<>(build(entries, 0, 0, size - 1, redLevel), size);
+	}
+	
+	/**
+	 * Creates a new version, that holds an entry with a given <code>key</code> and <code>value</code>
+	 * besides all the entries of this version.
+	 * 
+	 * @param key Key of the new entry.
+	 * @param value Value of the new entry.
+	 * @return New version, or this version if it already holds an entry with the <code>key</code>.
+	 * @throws IllegalArgumentException if a given <code>key</code> is <code>null</code>.
+	 */
+	public PersistentRedBlackTree<K, V> insert(K key, V value) throws IllegalArgumentException {
+		nullCheckKey(key);
+		
+		PersistentRBTNode<K, V> inserted = insert(root, key, value);
+		if (inserted == root) return this;
+		
+		return new PersistentRedBlackTree<>(blacken(inserted), size + 1);
+	}
+	
+	/**
+	 * Creates a new version, that holds all the entries of this version, except the one with a given <code>key</code>.
+	 * 
+	 * @param key Key of the entry being removed.
+	 * @return New version, or this version if it holds no entry with the <code>key</code>.
+	 * @throws IllegalArgumentException if a given <code>key</code> is <code>null</code>.
+	 */
+	public PersistentRedBlackTree<K, V> remove(K key) throws IllegalArgumentException {
+		if (find(key) == null) return this;
+		if (size == 1) return empty();
+		
+		return new PersistentRedBlackTree<>(blacken(delete(root, key)), size - 1);
+	}
+	
+	/**
+	 * Gets the value of the entry with a given <code>key</code>.
+	 * 
+	 * @param key Key of interest.
+	 * @return Value of the entry, or <code>null</code> if there is no such entry.
+	 * @throws IllegalArgumentException if a given <code>key</code> is <code>null</code>.
+	 */
+	public V get(K key) throws IllegalArgumentException {
+		PersistentRBTNode<K, V> node = find(key);
+		return node == null ? null : node.value;
+	}
+	
+	/**
+	 * Checks whether this version holds an entry with a given <code>key</code>.
+	 * 
+	 * @param key Key of interest.
+	 * @return <code>true</code> if there is such an entry, and <code>false</code> otherwise.
+	 * @throws IllegalArgumentException if a given <code>key</code> is <code>null</code>.
+	 */
+	public boolean contains(K key) throws IllegalArgumentException {
+		return find(key) != null;
+	}
+	
+	/**
+	 * Gets the number of entries in this version.
+	 * 
+	 * @return Size of this version.
+	 */
+	public int size() {
+		return size;
+	}
+	
+	/**
+	 * Checks whether this version holds no entries.
+	 * 
+	 * @return <code>true</code> if this version is empty, and <code>false</code> otherwise.
+	 */
+	public boolean isEmpty() {
+		return root == null;
+	}
+	
+	/**
+	 * Calculates the depth of this version.
+	 * 
+	 * @return Depth of this version.
+	 */
+	public int depth() {
+		return depth(root);
+	}
+	
+	/**
+	 * Gets the root of this version, for the checks of its structure.
+	 * 
+	 * @return Root node, or <code>null</code> if this version is empty.
+	 */
+	PersistentRBTNode<K, V> root() {
+		return root;
+	}
+	
+	@Override
+	public Iterator<SearchTree.Entry<K, V>> iterator() {
+		return iterator(null, null);
+	}
+	
+	/**
+	 * Iterates in-order over the entries with keys greater than <code>low</code> and less than <code>high</code>,
+	 * visiting only the <code>O(log n + k)</code> nodes on the path to the interval and within it.
+	 * 
+	 * @param low Exclusive lower bound of the keys, <code>null</code> if there is none.
+	 * @param high Exclusive upper bound of the keys, <code>null</code> if there is none.
+	 * @return Iterator over the entries within the interval.
+	 */
+	public Iterator<SearchTree.Entry<K, V>> iterator(K low, K high) {
+		Deque<PersistentRBTNode<K, V>> stack = new ArrayDeque<>();
+		
+		for (PersistentRBTNode<K, V> n = root; n != null; ) {
+			if (low != null && n.key.compareTo(low) <= 0) {
+				// the node and it's left subtree are out of the interval
+				n = n.right;
+			} else {
+				stack.push(n);
+				n = n.left;
+			}
+		}
+		
+		return new Iterator<SearchTree.Entry<K, V>>() {
+
+			@Override
+			public boolean hasNext() {
+				return !stack.isEmpty() && (high == null || stack.peek().key.compareTo(high) < 0);
+			}
+
+			@Override
+			public SearchTree.Entry<K, V> next() {
+				if (!hasNext()) throw new NoSuchElementException("No more elements in a tree.");
+				
+				PersistentRBTNode<K, V> node = stack.pop();
+				for (PersistentRBTNode<K, V> n = node.right; n != null; n = n.left) {
+					stack.push(n);
+				}
+				return node;
+			}
+		};
+	}
+	
+	@Override
+	public String toString() {
+		if (root == null) return "(empty)";
+		
+		StringBuilder builder = new StringBuilder();
+		build(builder, root, "", true);
+		return builder.toString();
+	}
+	
+	/**
+	 * Builds a textual representation of a tree, in the same format as the other trees of this library.
+	 * 
+	 * @param builder Builder the text is appended to.
+	 * @param node Node currently being added to the string being built.
+	 * @param prefix String that is built until the moment of calling.
+	 * @param isTail Whether or not the current node should be printed as tail.
+	 */
+	private static void build(StringBuilder builder, PersistentRBTNode<?, ?> node, String prefix, boolean isTail) {
+		builder.append(prefix).append(isTail ? "└── " : "├── ").append(node).append(System.lineSeparator());
+		
+		List<PersistentRBTNode<?, ?>> children = new ArrayList<>(2);
+		if (node.left != null) children.add(node.left);
+		if (node.right != null) children.add(node.right);
+		
+		for (int i = 0; i < children.size(); i ++) {
+			build(builder, children.get(i), prefix + (isTail ? "    " : "│   "), i == children.size() - 1);
+		}
+	}
+	
+	/**
+	 * Finds the node with a given <code>key</code>.
+	 * 
+	 * @param key Key of interest.
+	 * @return Node with the <code>key</code>, or <code>null</code> if there is none.
+	 * @throws IllegalArgumentException if a given <code>key</code> is <code>null</code>.
+	 */
+	private PersistentRBTNode<K, V> find(K key) throws IllegalArgumentException {
+		nullCheckKey(key);
+		
+		PersistentRBTNode<K, V> tmp = root;
+		
+		while (tmp != null) {
+			int compared = key.compareTo(tmp.key);
+			
+			if (compared < 0) {
+				tmp = tmp.left;
+			} else if (compared > 0) {
+				tmp = tmp.right;
+			} else {
+				return tmp;
+			}
+		}
+		return null;
+	}
+	
+	/**
+	 * Inserts an entry into a subtree, copying the path to it.
+	 * 
+	 * @param n Root of the subtree, possibly <code>null</code>.
+	 * @param key Key of the new entry.
+	 * @param value Value of the new entry.
+	 * @return Root of the new subtree, possibly red with a red child, or <code>n</code> if the <code>key</code> is already there.
+	 */
+	private static <K extends Comparable<K>, V> PersistentRBTNode<K, V> insert(PersistentRBTNode<K, V> n, K key, V value) {
+		if (n == null) {
+			return new PersistentRBTNode<>(true, null, key, value, null);
+		}
+		
+		int compared = key.compareTo(n.key);
+		
+		if (compared < 0) {
+			PersistentRBTNode<K, V> left = insert(n.left, key, value);
+			if (left == n.left) return n;
+			
+			return n.red ? node(true, left, n, n.right) : balance(left, n, n.right);
+		} else if (compared > 0) {
+			PersistentRBTNode<K, V> right = insert(n.right, key, value);
+			if (right == n.right) return n;
+			
+			return n.red ? node(true, n.left, n, right) : balance(n.left, n, right);
+		} else {
+			// already exists
+			return n;
+		}
+	}
+	
+	/**
+	 * Removes the entry with a given <code>key</code>, known to be in the subtree, copying the path to it.
+	 * 
+	 * @param n Root of the subtree.
+	 * @param key Key of the entry being removed.
+	 * @return Root of the new subtree, possibly <code>null</code>.
+	 */
+	private static <K extends Comparable<K>, V> PersistentRBTNode<K, V> delete(PersistentRBTNode<K, V> n, K key) {
+		int compared = key.compareTo(n.key);
+		
+		if (compared < 0) {
+			if (isBlack(n.left)) {
+				// the left subtree loses a black node
+				return balanceLeft(delete(n.left, key), n, n.right);
+			}
+			return node(true, delete(n.left, key), n, n.right);
+		} else if (compared > 0) {
+			if (isBlack(n.right)) {
+				// the right subtree loses a black node
+				return balanceRight(n.left, n, delete(n.right, key));
+			}
+			return node(true, n.left, n, delete(n.right, key));
+		} else {
+			return append(n.left, n.right);
+		}
+	}
+	
+	/**
+	 * Re-balances a node whose left subtree has one black node less than it's right subtree.
+	 * 
+	 * @param left Left subtree, short of one black node.
+	 * @param entry Node whose entry the new node holds.
+	 * @param right Right subtree.
+	 * @return Root of the re-balanced subtree.
+	 */
+	private static <K extends Comparable<K>, V> PersistentRBTNode<K, V> balanceLeft(
+			PersistentRBTNode<K, V> left, PersistentRBTNode<K, V> entry, PersistentRBTNode<K, V> right) {
+		if (isRed(left)) {
+			return node(true, node(false, left.left, left, left.right), entry, right);
+		}
+		if (isBlack(right)) {
+			return balance(left, entry, redden(right));
+		}
+		
+		// the right subtree is red, with a black left child
+		PersistentRBTNode<K, V> rl = right.left;
+		return node(true, 
+				node(false, left, entry, rl.left), 
+				rl, 
+				balance(rl.right, right, redden(right.right)));
+	}
+	
+	/**
+	 * Re-balances a node whose right subtree has one black node less than it's left subtree.
+	 * 
+	 * @param left Left subtree.
+	 * @param entry Node whose entry the new node holds.
+	 * @param right Right subtree, short of one black node.
+	 * @return Root of the re-balanced subtree.
+	 */
+	private static <K extends Comparable<K>, V> PersistentRBTNode<K, V> balanceRight(
+			PersistentRBTNode<K, V> left, PersistentRBTNode<K, V> entry, PersistentRBTNode<K, V> right) {
+		if (isRed(right)) {
+			return node(true, left, entry, node(false, right.left, right, right.right));
+		}
+		if (isBlack(left)) {
+			return balance(redden(left), entry, right);
+		}
+		
+		// the left subtree is red, with a black right child
+		PersistentRBTNode<K, V> lr = left.right;
+		return node(true, 
+				balance(redden(left.left), left, lr.left), 
+				lr, 
+				node(false, lr.right, entry, right));
+	}
+	
+	/**
+	 * Joins two subtrees of the same black height, where all the keys of <code>left</code> are less than 
+	 * all the keys of <code>right</code>, in place of the node that was their parent.
+	 * 
+	 * @param left Left subtree, possibly <code>null</code>.
+	 * @param right Right subtree, possibly <code>null</code>.
+	 * @return Root of the joined subtree.
+	 */
+	private static <K extends Comparable<K>, V> PersistentRBTNode<K, V> append(
+			PersistentRBTNode<K, V> left, PersistentRBTNode<K, V> right) {
+		if (left == null) return right;
+		if (right == null) return left;
+		
+		if (left.red && right.red) {
+			PersistentRBTNode<K, V> middle = append(left.right, right.left);
+			
+			if (isRed(middle)) {
+				return node(true, node(true, left.left, left, middle.left), middle, node(true, middle.right, right, right.right));
+			}
+			return node(true, left.left, left, node(true, middle, right, right.right));
+		}
+		
+		if (!left.red && !right.red) {
+			PersistentRBTNode<K, V> middle = append(left.right, right.left);
+			
+			if (isRed(middle)) {
+				return node(true, node(false, left.left, left, middle.left), middle, node(false, middle.right, right, right.right));
+			}
+			return balanceLeft(left.left, left, node(false, middle, right, right.right));
+		}
+		
+		if (right.red) {
+			return node(true, append(left, right.left), right, right.right);
+		}
+		return node(true, left.left, left, append(left.right, right));
+	}
+	
+	/**
+	 * Creates a black node out of the given subtrees and entry, fixing a red node with a red child
+	 * directly below it, if there is one.
+	 * 
+	 * @param left Left subtree.
+	 * @param entry Node whose entry the new node holds.
+	 * @param right Right subtree.
+	 * @return Root of the balanced subtree.
+	 */
+	private static <K extends Comparable<K>, V> PersistentRBTNode<K, V> balance(
+			PersistentRBTNode<K, V> left, PersistentRBTNode<K, V> entry, PersistentRBTNode<K, V> right) {
+		if (isRed(left) && isRed(right)) {
+			return node(true, blacken(left), entry, blacken(right));
+		}
+		
+		if (isRed(left)) {
+			if (isRed(left.left)) {
+				PersistentRBTNode<K, V> ll = left.left;
+				return node(true, node(false, ll.left, ll, ll.right), left, node(false, left.right, entry, right));
+			}
+			if (isRed(left.right)) {
+				PersistentRBTNode<K, V> lr = left.right;
+				return node(true, node(false, left.left, left, lr.left), lr, node(false, lr.right, entry, right));
+			}
+		}
+		
+		if (isRed(right)) {
+			if (isRed(right.right)) {
+				PersistentRBTNode<K, V> rr = right.right;
+				return node(true, node(false, left, entry, right.left), right, node(false, rr.left, rr, rr.right));
+			}
+			if (isRed(right.left)) {
+				PersistentRBTNode<K, V> rl = right.left;
+				return node(true, node(false, left, entry, rl.left), rl, node(false, rl.right, right, right.right));
+			}
+		}
+		
+		return node(false, left, entry, right);
+	}
+	
+	/**
+	 * Recursively builds a subtree out of the entries from the <code>low</code>-th to the <code>high</code>-th one.
+	 * 
+	 * @param entries Entries sorted by their keys.
+	 * @param level Level of the root of the subtree, where the root of the tree is on level <code>0</code>.
+	 * @param low Index of the first entry of the subtree.
+	 * @param high Index of the last entry of the subtree.
+	 * @param redLevel Level on which the nodes are red.
+	 * @return Root of the built subtree.
+	 */
+	private static <K extends Comparable<K>, V> PersistentRBTNode<K, V> build(
+			List<? extends SearchTree.Entry<K, V>> entries, int level, int low, int high, int redLevel) {
+		if (high < low) return null;
+		
+		int middle = (low + high) >>> 1;
+		SearchTree.Entry<K, V> entry = entries.get(middle);
+		
+		return new PersistentRBTNode<>(level == redLevel,
+				build(entries, level + 1, low, middle - 1, redLevel), 
+				entry.getKey(), entry.getValue(), 
+				build(entries, level + 1, middle + 1, high, redLevel));
+	}
+	
+	/**
+	 * Creates a new node.
+	 * 
+	 * @param red Whether or not the node is red.
+	 * @param left Left subtree.
+	 * @param entry Node whose key and value the new node holds.
+	 * @param right Right subtree.
+	 * @return New node.
+	 */
+	private static <K extends Comparable<K>, V> PersistentRBTNode<K, V> node(
+			boolean red, PersistentRBTNode<K, V> left, PersistentRBTNode<K, V> entry, PersistentRBTNode<K, V> right) {
+		return new PersistentRBTNode<>(red, left, entry.key, entry.value, right);
+	}
+	
+	/**
+	 * Gets a black version of a given node <code>n</code>.
+	 * 
+	 * @param n Node of interest, possibly <code>null</code>.
+	 * @return Black node, which is <code>n</code> itself if it's already black.
+	 */
+	private static <K extends Comparable<K>, V> PersistentRBTNode<K, V> blacken(PersistentRBTNode<K, V> n) {
+		return isRed(n) ? node(false, n.left, n, n.right) : n;
+	}
+	
+	/**
+	 * Gets a red version of a given black node <code>n</code>.
+	 * 
+	 * @param n Black node of interest.
+	 * @return Red node.
+	 * @throws IllegalStateException If the node is missing or red, which breaks the invariants of a tree.
+	 */
+	private static <K extends Comparable<K>, V> PersistentRBTNode<K, V> redden(PersistentRBTNode<K, V> n) throws IllegalStateException {
+		if (n == null || n.red) {
+			throw new IllegalStateException("Red-black invariants broken.");
+		}
+		return node(true, n.left, n, n.right);
+	}
+	
+	/**
+	 * Checks whether a given node <code>n</code> is red.
+	 * 
+	 * @param n Node of interest, possibly <code>null</code>, which is black.
+	 * @return <code>true</code> if <code>n</code> is red, and <code>false</code> if it is black.
+	 */
+	private static boolean isRed(PersistentRBTNode<?, ?> n) {
+		return n != null && n.red;
+	}
+	
+	/**
+	 * Checks whether a given node <code>n</code> is black.
+	 * 
+	 * @param n Node of interest, possibly <code>null</code>, which is black.
+	 * @return <code>true</code> if <code>n</code> is black, and <code>false</code> if it is red.
+	 */
+	private static boolean isBlack(PersistentRBTNode<?, ?> n) {
+		return n == null || !n.red;
+	}
+	
+	/**
+	 * Calculates the depth of a subtree.
+	 * 
+	 * @param n Root of the subtree.
+	 * @return Depth of the subtree.
+	 */
+	private static int depth(PersistentRBTNode<?, ?> n) {
+		return n == null ? 0 : 1 + Math.max(depth(n.left), depth(n.right));
+	}
+	
+	/**
+	 * Checks if the given <code>key</code> is <code>null</code>.
+	 * 
+	 * @param key Key of interest.
+	 * @throws IllegalArgumentException if a given <code>key</code> is <code>null</code>.
+	 */
+	private static void nullCheckKey(Object key) throws IllegalArgumentException {
+		if (key == null) {
+			throw new IllegalArgumentException("Key should not be null.");
+		}
+	}
+}
@@ -0,0 +1,156 @@
+package filip.custom.data_structs.trees.binary.red_black.persistent;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.atomic.AtomicReference;
+
+import filip.custom.data_structs.trees.SearchTree;
+import filip.custom.data_structs.trees.SortedEntrySpliterator;
+
+/**
+ * A thread-safe {@link SearchTree}, which holds the current version of a {@link PersistentRedBlackTree}.<br>
+ * 
+ * The writes create a new version out of the current one and publish it with a compare-and-set, 
+ * retrying if another write published a version in the meantime. The reads take no locks, 
+ * and never retry, since a version can't change once it's published.<br>
+ * 
+ * {@link #snapshot()} returns the current version in <code>O(1)</code> time, and the iteration and 
+ * the range queries work on the version that was current when they were called, regardless of the later writes.
+ * 
+ * @author fiilip
+ *
+ * @param <K> Type of keys stored in this tree.
+ * @param <V> Type of values stored in this tree.
+ */
+public class SnapshotRedBlackTree<K extends Comparable<K>, V> implements SearchTree<K, V> {
+	
+	/**
+	 * Current version of this tree.
+	 */
+	private final AtomicReference<PersistentRedBlackTree<K, V>> current;
+	
+	/**
+	 * Creates a new, empty instance of {@link SnapshotRedBlackTree}.
+	 */
+	public SnapshotRedBlackTree() {
+		this(PersistentRedBlackTree.empty());
+	}
+	
+	/**
+	 * Creates a new instance of {@link SnapshotRedBlackTree}, starting at a given version.
+	 * 
+	 * @param version Initial version of this tree.
+	 */
+	public SnapshotRedBlackTree(PersistentRedBlackTree<K, V> version) {
+		this.current = new AtomicReference<>(version);
+	}
+	
+	/**
+	 * Gets the current version of this tree, which won't change along with this tree.
+	 * 
+	 * @return Current version.
+	 */
+	public PersistentRedBlackTree<K, V> snapshot() {
+		return current.get();
+	}
+
+	@Override
+	public boolean insert(K key, V value) throws IllegalArgumentException {
+		while (true) {
+			PersistentRedBlackTree<K, V> version = current.get();
+			PersistentRedBlackTree<K, V> next = version.insert(key, value);
+			
+			if (next == version) return false;
+			if (current.compareAndSet(version, next)) return true;
+		}
+	}
+
+	@Override
+	public V remove(K key) throws IllegalArgumentException {
+		while (true) {
+			PersistentRedBlackTree<K, V> version = current.get();
+			PersistentRedBlackTree<K, V> next = version.remove(key);
+			
+			if (next == version) return null;
+			if (current.compareAndSet(version, next)) return version.get(key);
+		}
+	}
+
+	@Override
+	public void clear() {
+		current.set(PersistentRedBlackTree.empty());
+	}
+
+	@Override
+	public V get(K key) throws IllegalArgumentException {
+		return current.get().get(key);
+	}
+
+	@Override
+	public boolean contains(K key) throws IllegalArgumentException {
+		return current.get().contains(key);
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return current.get().isEmpty();
+	}
+
+	@Override
+	public int size() {
+		return current.get().size();
+	}
+
+	@Override
+	public int depth() {
+		return current.get().depth();
+	}
+
+	@Override
+	public SearchTree<K, V> getGreaterThan(K toCompare) {
+		return getInterval(toCompare, null);
+	}
+
+	@Override
+	public SearchTree<K, V> getLessThan(K toCompare) {
+		return getInterval(null, toCompare);
+	}
+
+	/**
+	 * Gets the entries within the interval of the current version, as a new {@link SnapshotRedBlackTree},
+	 * built in <code>O(log n + k)</code> time.
+	 */
+	@Override
+	public SearchTree<K, V> getInterval(K fromKey, K toKey) {
+		List<Entry<K, V>> entries = new ArrayList<>();
+		
+		for (Iterator<Entry<K, V>> it = current.get().iterator(fromKey, toKey); it.hasNext(); ) {
+			entries.add(it.next());
+		}
+		return new SnapshotRedBlackTree<>(PersistentRedBlackTree.fromSorted(entries));
+	}
+
+	/**
+	 * Iterates over the version that is current when this method is called.
+	 */
+	@Override
+	public Iterator<Entry<K, V>> iterator() {
+		return current.get().iterator();
+	}
+	
+	/**
+	 * Splits the version that is current when this method is called.
+	 */
+	@Override
+	public Spliterator<Entry<K, V>> spliterator() {
+		PersistentRedBlackTree<K, V> version = current.get();
+		return new SortedEntrySpliterator<>(version.iterator(), version.size(), null);
+	}
+	
+	@Override
+	public String toString() {
+		return current.get().toString();
+	}
+}
@@ -0,0 +1,626 @@
+package filip.custom.data_structs.trees.binary.red_black.primitive;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import filip.custom.data_structs.trees.SearchTree;
+import filip.custom.data_structs.trees.binary.red_black.RedBlackTree;
+import filip.custom.data_structs.trees.binary.red_black.oper.insert.RBTInsertion;
+import filip.custom.data_structs.trees.binary.red_black.oper.remove.RBTRemoval;
+
+/**
+ * An abstract class that represents a <b>Red-Black Tree</b> with primitive keys.<br>
+ * 
+ * The balancing logic implemented here is the same as the one of the {@link RedBlackTree}
+ * (see {@link RBTInsertion} and {@link RBTRemoval}), but it works upon {@link PrimitiveRBTNode}s.
+ * Since balancing never looks at the keys, only the descent through the tree is left to the subclasses,
+ * which compare the primitive keys directly.<br>
+ * 
+ * The {@link SearchTree} methods taking the boxed keys are implemented here, on top of the descents
+ * of the subclasses, and so are the copies of the intervals, which only compare the nodes
+ * (see {@link #compare(PrimitiveRBTNode, PrimitiveRBTNode)}).
+ * 
+ * @author fiilip
+ *
+ * @param <N> Type of nodes of this tree.
+ * @param <K> Type of the boxed keys of this tree.
+ * @param <V> Type of values stored in this tree.
+ */
+public abstract class AbstractPrimitiveRBT<N extends PrimitiveRBTNode<N, V> & SearchTree.Entry<K, V>, K extends Comparable<K>, V> 
+		implements SearchTree<K, V> {
+	
+	/**
+	 * Root node of this tree.
+	 */
+	protected N root;
+	
+	/**
+	 * Count of currently stored entries in this tree.
+	 */
+	protected int size;
+	
+	/**
+	 * Creates a new instance of {@link AbstractPrimitiveRBT}.
+	 */
+	protected AbstractPrimitiveRBT() {
+		this.root = null;
+		this.size = 0;
+	}
+	
+	/**
+	 * Creates a new, empty tree of the same class as this tree, which the intervals are copied into.
+	 * 
+	 * @return New, empty tree.
+	 */
+	protected abstract AbstractPrimitiveRBT<N, K, V> createEmpty();
+	
+	/**
+	 * Finds a node with a given <code>key</code>.
+	 * 
+	 * @param key Key of the node being searched for.
+	 * @return A node with a given <code>key</code> if such node exists, and <code>null</code> otherwise.
+	 * @throws IllegalArgumentException if a given <code>key</code> is <code>null</code>.
+	 */
+	protected abstract N find(K key) throws IllegalArgumentException;
+	
+	/**
+	 * Finds the node with the least key greater than a given <code>key</code>.
+	 * 
+	 * @param key Key of interest.
+	 * @return Node with the least key greater than the <code>key</code>, or <code>null</code> if there is no such node.
+	 */
+	protected abstract N higher(K key);
+	
+	/**
+	 * Finds the node with the least key greater than or equal to a given <code>key</code>.
+	 * 
+	 * @param key Key of interest.
+	 * @return Node with the least key greater than or equal to the <code>key</code>, or <code>null</code> if there is no such node.
+	 */
+	protected abstract N ceiling(K key);
+	
+	/**
+	 * Compares the keys of two nodes, without boxing them.
+	 * 
+	 * @param a First node.
+	 * @param b Second node.
+	 * @return Negative number, zero, or a positive number, if the key of the first node is less than, 
+	 * equal to, or greater than the key of the second one.
+	 */
+	protected abstract int compare(N a, N b);
+	
+	/**
+	 * Inserts the key and the value of a given <code>node</code> of another tree into this tree, without boxing the key.
+	 * 
+	 * @param node Node of interest.
+	 */
+	protected abstract void insertCopy(N node);
+	
+	@Override
+	public V get(K key) throws IllegalArgumentException {
+		N node = find(key);
+		return node == null ? null : node.value;
+	}
+	
+	@Override
+	public boolean contains(K key) throws IllegalArgumentException {
+		return find(key) != null;
+	}
+	
+	@Override
+	public V remove(K key) throws IllegalArgumentException {
+		return remove(find(key));
+	}
+	
+	@Override
+	public SearchTree<K, V> getGreaterThan(K toCompare) {
+		return getInterval(toCompare, null);
+	}
+	
+	@Override
+	public SearchTree<K, V> getLessThan(K toCompare) {
+		return getInterval(null, toCompare);
+	}
+	
+	/**
+	 * Gets all the elements with the key greater than <code>fromKey</code> and less than <code>toKey</code>,
+	 * where a <code>null</code> bound leaves the interval unbounded on that side.
+	 * 
+	 * @return New tree of the elements within the interval.
+	 */
+	@Override
+	public SearchTree<K, V> getInterval(K fromKey, K toKey) {
+		return copy(createEmpty(), 
+				fromKey == null ? minimum(root) : higher(fromKey), 
+				toKey == null ? null : ceiling(toKey));
+	}
+	
+	@SuppressWarnings("unchecked")
+	@Override
+	public Iterator<Entry<K, V>> iterator() {
+		return (Iterator<Entry<K, V>>) (Iterator<?>) new NodeIterator(minimum(root));
+	}
+	
+	/**
+	 * Removes a given <code>node</code> from this tree.
+	 * 
+	 * @param node Node being removed, possibly <code>null</code>.
+	 * @return Value of the removed <code>node</code>, or <code>null</code> if there is no such node.
+	 */
+	protected V remove(N node) {
+		if (node == null) return null;
+		
+		unlink(node);
+		return node.value;
+	}
+	
+	/**
+	 * Copies the entries from the <code>first</code> node up to the <code>end</code> node into a given tree, in-order.<br>
+	 * 
+	 * The copy stops at the first node whose key isn't less than the key of the <code>end</code> node,
+	 * so nothing is copied if the <code>first</code> node is beyond the <code>end</code> one.
+	 * 
+	 * @param filtered Tree the entries are copied into.
+	 * @param first First node being copied, or <code>null</code> if there is none.
+	 * @param end Node the copy stops at, exclusive, or <code>null</code> to copy up to the greatest key.
+	 * @return The <code>filtered</code> tree.
+	 */
+	protected <T extends AbstractPrimitiveRBT<N, K, V>> T copy(T filtered, N first, N end) {
+		for (N node = first; node != null && (end == null || compare(node, end) < 0); node = successor(node)) {
+			filtered.insertCopy(node);
+		}
+		return filtered;
+	}
+	
+	/**
+	 * Gets the number of elements of this tree.
+	 * 
+	 * @return Number of elements stored in this tree.
+	 */
+	public int size() {
+		return size;
+	}
+	
+	/**
+	 * Informs whether or not this tree is empty.
+	 * 
+	 * @return <code>true</code> if this tree contains no elements, <code>false</code> otherwise.
+	 */
+	public boolean isEmpty() {
+		return root == null;
+	}
+	
+	/**
+	 * Clears this tree from all the elements.
+	 */
+	public void clear() {
+		root = null;
+		size = 0;
+	}
+	
+	/**
+	 * Gets the depth of this tree, ie. number of levels.
+	 * 
+	 * @return Depth of this tree.
+	 */
+	public int depth() {
+		return depth(root);
+	}
+	
+	/**
+	 * Calculates the depth of a tree from the given <code>node</code>
+	 * to the furtherest leaf node.
+	 * 
+	 * @param node Node of interest.
+	 * @return Depth from the given <code>node</code>.
+	 */
+	private int depth(N node) {
+		if (node == null) {
+			return 0;
+		}
+		
+		return 1 + Math.max(depth(node.left), depth(node.right));
+	}
+	
+	/**
+	 * Links a new red <code>node</code> to this tree, as a child of it's parent, and re-balances the tree.<br>
+	 * The parent of the <code>node</code> needs to be set already, and needs to have no child on the given side.
+	 * If the <code>node</code> has no parent, it becomes the root of this tree.
+	 * 
+	 * @param node Node being linked.
+	 * @param left Whether the <code>node</code> becomes the left or the right child of it's parent.
+	 */
+	protected void link(N node, boolean left) {
+		N parent = node.parent;
+		
+		if (parent == null) {
+			root = node;
+		} else if (left) {
+			parent.left = node;
+		} else {
+			parent.right = node;
+		}
+		
+		size ++;
+		
+		if (isRed(parent)) {
+			rebalanceInsertion(node);
+		}
+		root.red = false;
+	}
+	
+	/**
+	 * Performs the re-balancing of the tree after the insertion of
+	 * a new node, <code>n</code>.
+	 * 
+	 * @param n New node that was added to this tree.
+	 */
+	private void rebalanceInsertion(N n) {
+		while (isRed(n.parent)) {
+			N p = n.parent;
+			N g = p.parent;
+			
+			if (p == g.left) {
+				N u = g.right;
+				
+				if (isRed(u)) {
+					p.red = false;
+					u.red = false;
+					g.red = true;
+					n = g;
+					continue;
+				}
+				
+				if (n == p.right) {
+					// double rotation needed
+					n = p;
+					leftRotate(n);
+				}
+				
+				n.parent.red = false;
+				n.parent.parent.red = true;
+				rightRotate(n.parent.parent);
+			} else {
+				N u = g.left;
+				
+				if (isRed(u)) {
+					p.red = false;
+					u.red = false;
+					g.red = true;
+					n = g;
+					continue;
+				}
+				
+				if (n == p.left) {
+					// double rotation needed
+					n = p;
+					rightRotate(n);
+				}
+				
+				n.parent.red = false;
+				n.parent.parent.red = true;
+				leftRotate(n.parent.parent);
+			}
+		}
+	}
+	
+	/**
+	 * Unlinks a given node <code>z</code> from this tree, and re-balances the tree.
+	 * 
+	 * @param z Node being removed from this tree.
+	 */
+	protected void unlink(N z) {
+		N x = null;
+		N xParent = null;
+		N y = z;
+		
+		boolean yOriginallyBlack = !y.red;
+		
+		if (z.left == null) {
+			x = z.right;
+			xParent = z.parent;
+			transplant(z, x);
+		} else if (z.right == null) {
+			x = z.left;
+			xParent = z.parent;
+			transplant(z, x);
+		} else {
+			y = minimum(z.right);
+			yOriginallyBlack = !y.red;
+			x = y.right;
+			
+			if (y.parent == z) {
+				xParent = y;
+			} else {
+				xParent = y.parent;
+				transplant(y, x);
+				y.right = z.right;
+				y.right.parent = y;
+			}
+			
+			transplant(z, y);
+			y.left = z.left;
+			y.left.parent = y;
+			y.red = z.red;
+		}
+		
+		size --;
+		
+		if (yOriginallyBlack) {
+			rebalanceRemoval(x, xParent);
+		}
+	}
+	
+	/**
+	 * Performs the re-balancing of the tree after a removal.
+	 * 
+	 * @param x Node that took the place of the removed node, possibly <code>null</code>.
+	 * @param xParent Parent of the node <code>x</code>.
+	 */
+	private void rebalanceRemoval(N x, N xParent) {
+		while (x != root && isBlack(x)) {
+			if (x == xParent.left) {
+				N w = xParent.right;
+				
+				if (isRed(w)) {
+					w.red = false;
+					xParent.red = true;
+					leftRotate(xParent);
+					w = xParent.right;
+				}
+				
+				if (isBlack(w.left) && isBlack(w.right)) {
+					w.red = true;
+					x = xParent;
+					xParent = x.parent;
+					continue;
+				}
+				
+				if (isBlack(w.right)) {
+					w.left.red = false;
+					w.red = true;
+					rightRotate(w);
+					w = xParent.right;
+				}
+				
+				w.red = xParent.red;
+				xParent.red = false;
+				w.right.red = false;
+				leftRotate(xParent);
+				x = root;
+				
+			} else {
+				N w = xParent.left;
+				
+				if (isRed(w)) {
+					w.red = false;
+					xParent.red = true;
+					rightRotate(xParent);
+					w = xParent.left;
+				}
+				
+				if (isBlack(w.right) && isBlack(w.left)) {
+					w.red = true;
+					x = xParent;
+					xParent = x.parent;
+					continue;
+				}
+				
+				if (isBlack(w.left)) {
+					w.right.red = false;
+					w.red = true;
+					leftRotate(w);
+					w = xParent.left;
+				}
+				
+				w.red = xParent.red;
+				xParent.red = false;
+				w.left.red = false;
+				rightRotate(xParent);
+				x = root;
+			}
+		}
+		
+		if (x != null) {
+			x.red = false;
+		}
+	}
+	
+	/**
+	 * Replaces a <code>target</code> subtree as a child of it's parent 
+	 * with another subtree, <code>with</code>.
+	 * 
+	 * @param target Subtree to be replaced.
+	 * @param with Subtree to become a child of a root of replaced subtree.
+	 */
+	private void transplant(N target, N with) {
+		if (target.parent == null) {
+			root = with;
+		} else if (target == target.parent.left) {
+			target.parent.left = with;
+		} else {
+			target.parent.right = with;
+		}
+		
+		if (with != null) {
+			with.parent = target.parent;
+		}
+	}
+	
+	/**
+	 * Performs a left rotation about a given node <code>n</code>.
+	 * 
+	 * @param n Node about which the left rotation is called.
+	 */
+	private void leftRotate(N n) {
+		N r = n.right;
+		
+		n.right = r.left;
+		if (r.left != null) {
+			r.left.parent = n;
+		}
+		
+		r.parent = n.parent;
+		if (n.parent == null) {
+			root = r;
+		} else if (n == n.parent.left) {
+			n.parent.left = r;
+		} else {
+			n.parent.right = r;
+		}
+		
+		r.left = n;
+		n.parent = r;
+	}
+	
+	/**
+	 * Performs a right rotation about a given node <code>n</code>.
+	 * 
+	 * @param n Node about which the right rotation is called.
+	 */
+	private void rightRotate(N n) {
+		N l = n.left;
+		
+		n.left = l.right;
+		if (l.right != null) {
+			l.right.parent = n;
+		}
+		
+		l.parent = n.parent;
+		if (n.parent == null) {
+			root = l;
+		} else if (n == n.parent.right) {
+			n.parent.right = l;
+		} else {
+			n.parent.left = l;
+		}
+		
+		l.right = n;
+		n.parent = l;
+	}
+	
+	/**
+	 * Checks whether a given node <code>n</code> is black.<br>
+	 * <code>null</code> nodes are considered black.
+	 * 
+	 * @param n Node of interest.
+	 * @return <code>true</code> if <code>n</code> is black, and <code>false</code> if it is red.
+	 */
+	private boolean isBlack(N n) {
+		return n == null || !n.red;
+	}
+	
+	/**
+	 * Checks whether a given node <code>n</code> is red.<br>
+	 * <code>null</code> nodes are considered black.
+	 * 
+	 * @param n Node of interest.
+	 * @return <code>true</code> if <code>n</code> is red, and <code>false</code> if it is black.
+	 */
+	private boolean isRed(N n) {
+		return n != null && n.red;
+	}
+	
+	/**
+	 * Finds the minimum node in the subtree rooted at <code>node</code>.
+	 * 
+	 * @param node Root of the subtree, possibly <code>null</code>.
+	 * @return The minimum node in a subtree rooted in <code>node</code>, or <code>null</code> if the subtree is empty.
+	 */
+	protected N minimum(N node) {
+		if (node == null) return null;
+		
+		while (node.left != null) node = node.left;
+		return node;
+	}
+	
+	/**
+	 * Finds the in-order successor of a given <code>node</code>, by the means of the parent pointers.
+	 * 
+	 * @param node Node of interest.
+	 * @return The node with the next greater key, or <code>null</code> if <code>node</code> is the greatest one.
+	 */
+	protected N successor(N node) {
+		if (node.right != null) {
+			return minimum(node.right);
+		}
+		
+		N parent = node.parent;
+		while (parent != null && node == parent.right) {
+			node = parent;
+			parent = parent.parent;
+		}
+		return parent;
+	}
+	
+	@Override
+	public String toString() {
+		if (root == null) return "(empty)";
+		
+		StringBuilder builder = new StringBuilder();
+		build(builder, root, "", true);
+		return builder.toString();
+	}
+	
+	/**
+	 * Builds a textual representation of a tree, in the same format as the other trees of this library.
+	 * 
+	 * @param builder Builder the text is appended to.
+	 * @param node Node currently being added to the string being built.
+	 * @param prefix String that is built until the moment of calling.
+	 * @param isTail Whether or not the current node should be printed as tail.
+	 */
+	private void build(StringBuilder builder, N node, String prefix, boolean isTail) {
+		builder.append(prefix).append(isTail ? "└── " : "├── ").append(node).append(System.lineSeparator());
+		
+		List<N> children = new ArrayList<>(2);
+		if (node.left != null) children.add(node.left);
+		if (node.right != null) children.add(node.right);
+		
+		for (int i = 0; i < children.size(); i ++) {
+			build(builder, children.get(i), prefix + (isTail ? "    " : "│   "), i == children.size() - 1);
+		}
+	}
+	
+	/**
+	 * Iterates over the nodes of a tree in-order, starting from a given node.<br>
+	 * 
+	 * The parent pointers are used to move to the next node, so the iteration
+	 * allocates nothing but the iterator itself.
+	 * 
+	 * @author fiilip
+	 *
+	 */
+	protected class NodeIterator implements Iterator<N> {
+		
+		/**
+		 * Node returned by the next call to {@link #next()}.
+		 */
+		private N next;
+		
+		/**
+		 * Creates a new instance of {@link NodeIterator}.
+		 * 
+		 * @param first First node being iterated over, or <code>null</code> if there are no nodes.
+		 */
+		public NodeIterator(N first) {
+			this.next = first;
+		}
+
+		@Override
+		public boolean hasNext() {
+			return next != null;
+		}
+
+		@Override
+		public N next() {
+			if (next == null) throw new NoSuchElementException("No more elements in a tree.");
+			
+			N node = next;
+			next = successor(node);
+			return node;
+		}
+	}
+}
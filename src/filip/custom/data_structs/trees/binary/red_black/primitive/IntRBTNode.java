@@ -0,0 +1,55 @@
+package filip.custom.data_structs.trees.binary.red_black.primitive;
+
+import filip.custom.data_structs.trees.SearchTree;
+
+/**
+ * A class that represents a node of a {@link IntRedBlackTree}, with an unboxed <code>int</code> key.
+ * 
+ * @author fiilip
+ *
+ * @param <V> Type of values stored in nodes.
+ */
+public class IntRBTNode<V> extends PrimitiveRBTNode<IntRBTNode<V>, V> implements SearchTree.Entry<Integer, V> {
+	
+	/**
+	 * Key stored in this node.
+	 */
+	final int key;
+
+	/**
+	 * Creates a new red {@link IntRBTNode}.
+	 * 
+	 * @param key Key stored in this node.
+	 * @param value Value stored in this node.
+	 * @param parent Parent node of this node.
+	 */
+	public IntRBTNode(int key, V value, IntRBTNode<V> parent) {
+		super(value, parent);
+		this.key = key;
+	}
+	
+	/**
+	 * Gets the key stored in this node, without boxing it.
+	 * 
+	 * @return Key stored in this node.
+	 */
+	public int getIntKey() {
+		return key;
+	}
+
+	/**
+	 * Gets the key stored in this node, boxed.<br>
+	 * Prefer {@link #getIntKey()} wherever possible.
+	 * 
+	 * @return Key stored in this node.
+	 */
+	@Override
+	public Integer getKey() {
+		return key;
+	}
+	
+	@Override
+	public String toString() {
+		return "(" + key + ", " + value + ")";
+	}
+}
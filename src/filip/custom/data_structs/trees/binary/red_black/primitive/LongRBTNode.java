@@ -0,0 +1,55 @@
+package filip.custom.data_structs.trees.binary.red_black.primitive;
+
+import filip.custom.data_structs.trees.SearchTree;
+
+/**
+ * A class that represents a node of a {@link LongRedBlackTree}, with an unboxed <code>long</code> key.
+ * 
+ * @author fiilip
+ *
+ * @param <V> Type of values stored in nodes.
+ */
+public class LongRBTNode<V> extends PrimitiveRBTNode<LongRBTNode<V>, V> implements SearchTree.Entry<Long, V> {
+	
+	/**
+	 * Key stored in this node.
+	 */
+	final long key;
+
+	/**
+	 * Creates a new red {@link LongRBTNode}.
+	 * 
+	 * @param key Key stored in this node.
+	 * @param value Value stored in this node.
+	 * @param parent Parent node of this node.
+	 */
+	public LongRBTNode(long key, V value, LongRBTNode<V> parent) {
+		super(value, parent);
+		this.key = key;
+	}
+	
+	/**
+	 * Gets the key stored in this node, without boxing it.
+	 * 
+	 * @return Key stored in this node.
+	 */
+	public long getLongKey() {
+		return key;
+	}
+
+	/**
+	 * Gets the key stored in this node, boxed.<br>
+	 * Prefer {@link #getLongKey()} wherever possible.
+	 * 
+	 * @return Key stored in this node.
+	 */
+	@Override
+	public Long getKey() {
+		return key;
+	}
+	
+	@Override
+	public String toString() {
+		return "(" + key + ", " + value + ")";
+	}
+}
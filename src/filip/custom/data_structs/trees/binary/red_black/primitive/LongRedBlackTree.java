@@ -0,0 +1,259 @@
+package filip.custom.data_structs.trees.binary.red_black.primitive;
+
+import java.util.function.ObjLongConsumer;
+
+import filip.custom.data_structs.trees.SearchTree;
+import filip.custom.data_structs.trees.binary.red_black.RedBlackTree;
+
+/**
+ * A class that represents a <b>Red-Black Tree</b> with <code>long</code> keys.<br>
+ * 
+ * It is balanced in the same way as the {@link RedBlackTree}, but the keys are stored unboxed,
+ * and compared directly, rather than through {@link Comparable#compareTo(Object)}.
+ * The primitive methods, such as {@link #insert(long, Object)}, {@link #get(long)}, {@link #remove(long)}
+ * and {@link #forEachInInterval(long, long, ObjLongConsumer)}, never box a key.<br>
+ * 
+ * The {@link SearchTree} methods are supported as well, but they box and unbox the keys.
+ * 
+ * @author fiilip
+ *
+ * @param <V> Type of values stored in this tree.
+ */
+public class LongRedBlackTree<V> extends AbstractPrimitiveRBT<LongRBTNode<V>, Long, V> {
+	
+	/**
+	 * Creates a new, empty instance of {@link LongRedBlackTree}.
+	 */
+	public LongRedBlackTree() {
+		super();
+	}
+	
+	/**
+	 * Inserts the given <code>key, value</code> pair to this tree.
+	 * 
+	 * @param key Key to the provided <code>value</code>.
+	 * @param value Value object.
+	 * @return <code>true</code> if the insertion succeeded, and <code>false</code> if
+	 * the element with the specified <code>key</code> is already in this tree.
+	 */
+	public boolean insert(long key, V value) {
+		LongRBTNode<V> parent = null;
+		LongRBTNode<V> tmp = root;
+		boolean left = false;
+		
+		while (tmp != null) {
+			parent = tmp;
+			
+			if (key < tmp.key) {
+				// go left
+				tmp = tmp.left;
+				left = true;
+			} else if (key > tmp.key) {
+				// go right
+				tmp = tmp.right;
+				left = false;
+			} else {
+				// already exists
+				return false;
+			}
+		}
+		
+		link(new LongRBTNode<>(key, value, parent), left);
+		return true;
+	}
+	
+	/**
+	 * Gets the value for a given <code>key</code>.
+	 * 
+	 * @param key Key the value is being obtained for.
+	 * @return Value obtained for a given <code>key</code>, or <code>null</code> if no such value is found.
+	 */
+	public V get(long key) {
+		LongRBTNode<V> node = findNode(key);
+		return node == null ? null : node.value;
+	}
+	
+	/**
+	 * Informs whether or not this tree contains the object for a given <code>key</code>.
+	 * 
+	 * @param key Key for the element of interest.
+	 * @return <code>true</code> if the given object with a given <code>key</code> exists in this tree, and <code>false</code> otherwise.
+	 */
+	public boolean contains(long key) {
+		return findNode(key) != null;
+	}
+	
+	/**
+	 * Removes the value for a given <code>key</code> from this tree.
+	 * 
+	 * @param key Key being used for the value object.
+	 * @return Value object for the given <code>key</code> if such exists, and <code>null</code> otherwise.
+	 */
+	public V remove(long key) {
+		return remove(findNode(key));
+	}
+	
+	/**
+	 * Performs the given <code>action</code> on every entry with the key greater than <code>low</code> and
+	 * less than <code>high</code>, in ascending order of the keys.<br>
+	 * 
+	 * Only the nodes in the interval, and the nodes on the path to the first of them, are visited.
+	 * 
+	 * @param low Start of the interval, exclusive.
+	 * @param high End of the interval, exclusive.
+	 * @param action Action performed on the value and the key of every entry in the interval.
+	 */
+	public void forEachInInterval(long low, long high, ObjLongConsumer<? super V> action) {
+		for (LongRBTNode<V> node = higherNode(low); node != null && node.key < high; node = successor(node)) {
+			action.accept(node.value, node.key);
+		}
+	}
+	
+	/**
+	 * Gets all the elements with the key greater than <code>low</code> and less than <code>high</code>.
+	 * 
+	 * @param low Start of the interval, exclusive.
+	 * @param high End of the interval, exclusive.
+	 * @return New tree of the elements within the interval.
+	 */
+	public LongRedBlackTree<V> getInterval(long low, long high) {
+		return copy(new LongRedBlackTree<>(), higherNode(low), ceilingNode(high));
+	}
+	
+	/**
+	 * Gets all the elements with a key greater than the given key <code>low</code>.
+	 * 
+	 * @param low The key being compared to.
+	 * @return New tree of the elements with a key greater than <code>low</code>.
+	 */
+	public LongRedBlackTree<V> getGreaterThan(long low) {
+		return copy(new LongRedBlackTree<>(), higherNode(low), null);
+	}
+	
+	/**
+	 * Gets all the elements with a key less than the given key <code>high</code>.
+	 * 
+	 * @param high The key being compared to.
+	 * @return New tree of the elements with a key less than <code>high</code>.
+	 */
+	public LongRedBlackTree<V> getLessThan(long high) {
+		return copy(new LongRedBlackTree<>(), minimum(root), ceilingNode(high));
+	}
+	
+	@Override
+	public boolean insert(Long key, V value) throws IllegalArgumentException {
+		return insert(unbox(key), value);
+	}
+	
+	@Override
+	protected LongRedBlackTree<V> createEmpty() {
+		return new LongRedBlackTree<>();
+	}
+	
+	@Override
+	protected LongRBTNode<V> find(Long key) throws IllegalArgumentException {
+		return findNode(unbox(key));
+	}
+	
+	@Override
+	protected LongRBTNode<V> higher(Long key) {
+		return higherNode(key);
+	}
+	
+	@Override
+	protected LongRBTNode<V> ceiling(Long key) {
+		return ceilingNode(key);
+	}
+	
+	@Override
+	protected int compare(LongRBTNode<V> a, LongRBTNode<V> b) {
+		return Long.compare(a.key, b.key);
+	}
+	
+	@Override
+	protected void insertCopy(LongRBTNode<V> node) {
+		insert(node.key, node.value);
+	}
+	
+	/**
+	 * Finds a node with a given <code>key</code>.
+	 * 
+	 * @param key Key of the node being searched for.
+	 * @return A node with a given <code>key</code> if such node exists, and <code>null</code> otherwise.
+	 */
+	private LongRBTNode<V> findNode(long key) {
+		LongRBTNode<V> tmp = root;
+		
+		while (tmp != null) {
+			if (key < tmp.key) {
+				// go left
+				tmp = tmp.left;
+			} else if (key > tmp.key) {
+				// go right
+				tmp = tmp.right;
+			} else {
+				// search hit
+				return tmp;
+			}
+		}
+		
+		// not found
+		return null;
+	}
+	
+	/**
+	 * Finds the node with the least key greater than a given <code>key</code>.
+	 * 
+	 * @param key Key of interest.
+	 * @return Node with the least key greater than the <code>key</code>, or <code>null</code> if there is no such node.
+	 */
+	private LongRBTNode<V> higherNode(long key) {
+		LongRBTNode<V> tmp = root;
+		LongRBTNode<V> higher = null;
+		
+		while (tmp != null) {
+			if (key < tmp.key) {
+				higher = tmp;
+				tmp = tmp.left;
+			} else {
+				tmp = tmp.right;
+			}
+		}
+		return higher;
+	}
+	
+	/**
+	 * Finds the node with the least key greater than or equal to a given <code>key</code>.
+	 * 
+	 * @param key Key of interest.
+	 * @return Node with the least key greater than or equal to the <code>key</code>, or <code>null</code> if there is no such node.
+	 */
+	private LongRBTNode<V> ceilingNode(long key) {
+		LongRBTNode<V> tmp = root;
+		LongRBTNode<V> ceiling = null;
+		
+		while (tmp != null) {
+			if (key <= tmp.key) {
+				ceiling = tmp;
+				tmp = tmp.left;
+			} else {
+				tmp = tmp.right;
+			}
+		}
+		return ceiling;
+	}
+	
+	/**
+	 * Unboxes a given <code>key</code>.
+	 * 
+	 * @param key Key of interest.
+	 * @return Unboxed key.
+	 * @throws IllegalArgumentException if a given <code>key</code> is <code>null</code>.
+	 */
+	private static long unbox(Long key) throws IllegalArgumentException {
+		if (key == null) {
+			throw new IllegalArgumentException("Key should not be null.");
+		}
+		return key;
+	}
+}
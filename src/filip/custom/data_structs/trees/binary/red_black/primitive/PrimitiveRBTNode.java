@@ -0,0 +1,110 @@
+package filip.custom.data_structs.trees.binary.red_black.primitive;
+
+import filip.custom.data_structs.trees.binary.red_black.RBTNode;
+
+/**
+ * A class that represents a node of a <b>Red-Black Tree</b> with primitive keys.<br>
+ * 
+ * This class holds everything but the key, which is left to the subclasses so
+ * that it can be stored unboxed. The balancing logic only ever needs these fields,
+ * which is why it can be shared by all the primitive trees, see {@link AbstractPrimitiveRBT}.
+ * 
+ * @author fiilip
+ *
+ * @param <N> Concrete type of the node.
+ * @param <V> Type of values stored in nodes.
+ * @see RBTNode
+ */
+public abstract class PrimitiveRBTNode<N extends PrimitiveRBTNode<N, V>, V> {
+	
+	/**
+	 * Value stored in this node.
+	 */
+	V value;
+
+	/**
+	 * Root of the left subtree of this node.
+	 */
+	N left;
+	
+	/**
+	 * Root of the right subtree of this node.
+	 */
+	N right;
+	
+	/**
+	 * Parent of this node.
+	 */
+	N parent;
+	
+	/**
+	 * Color of this node, <code>true</code> if the node is red and <code>false</code> if it is black.
+	 */
+	boolean red;
+	
+	/**
+	 * Creates a new red {@link PrimitiveRBTNode}.
+	 * 
+	 * @param value Value stored in this node.
+	 * @param parent Parent node of this node.
+	 */
+	protected PrimitiveRBTNode(V value, N parent) {
+		this.value = value;
+		this.parent = parent;
+		this.red = true;
+	}
+	
+	/**
+	 * Gets the value stored in this node.
+	 * 
+	 * @return Value stored in this node.
+	 */
+	public V getValue() {
+		return value;
+	}
+	
+	/**
+	 * Sets the <code>value</code> of this node.
+	 * 
+	 * @param value Value of this node.
+	 */
+	public void setValue(V value) {
+		this.value = value;
+	}
+	
+	/**
+	 * Gets the root of left subtree of this node.
+	 * 
+	 * @return Left node.
+	 */
+	public N getLeft() {
+		return left;
+	}
+	
+	/**
+	 * Gets the root of the right subtree of this node.
+	 * 
+	 * @return Right node.
+	 */
+	public N getRight() {
+		return right;
+	}
+	
+	/**
+	 * Gets the parent node of this node.
+	 * 
+	 * @return Parent node of this node.
+	 */
+	public N getParent() {
+		return parent;
+	}
+	
+	/**
+	 * Checks whether this node is red.
+	 * 
+	 * @return <code>true</code> if this node is red, and <code>false</code> if it is black.
+	 */
+	public boolean isRed() {
+		return red;
+	}
+}
@@ -0,0 +1,49 @@
+package filip.custom.data_structs.trees.binary.red_black.primitive;
+
+import filip.custom.data_structs.trees.SearchTree;
+
+/**
+ * A class that represents a node of a {@link StringRedBlackTree}, with a <code>String</code> key
+ * and a few of it's characters packed into a <code>long</code> (see {@link StringRedBlackTree}).
+ * 
+ * @author fiilip
+ *
+ * @param <V> Type of values stored in nodes.
+ */
+public class StringRBTNode<V> extends PrimitiveRBTNode<StringRBTNode<V>, V> implements SearchTree.Entry<String, V> {
+	
+	/**
+	 * Key stored in this node.
+	 */
+	final String key;
+	
+	/**
+	 * Characters of the <code>key</code> following the prefix shared by all the keys of the tree,
+	 * packed so that the order of the packed values is the order of the keys.
+	 */
+	long prefix;
+	
+	/**
+	 * Creates a new red {@link StringRBTNode}.
+	 * 
+	 * @param key Key stored in this node.
+	 * @param prefix Packed characters of the <code>key</code>.
+	 * @param value Value stored in this node.
+	 * @param parent Parent node of this node.
+	 */
+	public StringRBTNode(String key, long prefix, V value, StringRBTNode<V> parent) {
+		super(value, parent);
+		this.key = key;
+		this.prefix = prefix;
+	}
+	
+	@Override
+	public String getKey() {
+		return key;
+	}
+	
+	@Override
+	public String toString() {
+		return "(" + key + ", " + value + ")";
+	}
+}
@@ -0,0 +1,245 @@
+package filip.custom.data_structs.trees.binary.red_black.primitive;
+
+import filip.custom.data_structs.trees.binary.red_black.RedBlackTree;
+
+/**
+ * A class that represents a <b>Red-Black Tree</b> with <code>String</code> keys, in their natural order.<br>
+ * 
+ * It is balanced in the same way as the {@link RedBlackTree}, but every node also holds a <code>long</code>
+ * packing {@value #PREFIX_CHARS} characters of it's key, which are compared before the keys themselves.
+ * Only when the packed characters are equal, {@link String#compareTo(String)} is called.<br>
+ * 
+ * The keys with a long common prefix, such as URLs or paths, would all pack the same first characters,
+ * so the packed characters are the ones following the prefix shared by all the keys of this tree.
+ * The shared prefix only ever gets shorter, when a key not starting with it is inserted, which re-packs
+ * the characters of all the nodes; it is reset once this tree becomes empty. A searched key is checked
+ * against the shared prefix once, instead of on every level of the descent.
+ * 
+ * @author fiilip
+ *
+ * @param <V> Type of values stored in this tree.
+ */
+public class StringRedBlackTree<V> extends AbstractPrimitiveRBT<StringRBTNode<V>, String, V> {
+	
+	/**
+	 * Number of characters packed into the <code>long</code> of every node.
+	 */
+	public static final int PREFIX_CHARS = Long.SIZE / Character.SIZE;
+	
+	/**
+	 * Any key of this tree, whose first {@link #shared} characters are the prefix shared by all the keys.
+	 */
+	private String common;
+	
+	/**
+	 * Length of the prefix shared by all the keys of this tree.
+	 */
+	private int shared;
+	
+	/**
+	 * Creates a new, empty instance of {@link StringRedBlackTree}.
+	 */
+	public StringRedBlackTree() {
+		super();
+	}
+	
+	@Override
+	public boolean insert(String key, V value) throws IllegalArgumentException {
+		nullCheckKey(key);
+		
+		if (root == null) {
+			common = key;
+			shared = key.length();
+		} else {
+			int length = sharedLength(key);
+			if (length < shared) repack(length);
+		}
+		
+		long prefix = prefix(key);
+		StringRBTNode<V> parent = null;
+		StringRBTNode<V> tmp = root;
+		boolean left = false;
+		
+		while (tmp != null) {
+			parent = tmp;
+			
+			int compared = prefix < tmp.prefix ? -1 : prefix > tmp.prefix ? 1 : key.compareTo(tmp.key);
+			if (compared < 0) {
+				// go left
+				tmp = tmp.left;
+				left = true;
+			} else if (compared > 0) {
+				// go right
+				tmp = tmp.right;
+				left = false;
+			} else {
+				// already exists
+				return false;
+			}
+		}
+		
+		link(new StringRBTNode<>(key, prefix, value, parent), left);
+		return true;
+	}
+	
+	@Override
+	protected StringRedBlackTree<V> createEmpty() {
+		return new StringRedBlackTree<>();
+	}
+	
+	@Override
+	protected int compare(StringRBTNode<V> a, StringRBTNode<V> b) {
+		return a.key.compareTo(b.key);
+	}
+	
+	@Override
+	protected void insertCopy(StringRBTNode<V> node) {
+		insert(node.key, node.value);
+	}
+	
+	/**
+	 * Finds a node with a given <code>key</code>.
+	 * 
+	 * @param key Key of the node being searched for.
+	 * @return A node with a given <code>key</code> if such node exists, and <code>null</code> otherwise.
+	 * @throws IllegalArgumentException if a given <code>key</code> is <code>null</code>.
+	 */
+	@Override
+	protected StringRBTNode<V> find(String key) throws IllegalArgumentException {
+		nullCheckKey(key);
+		
+		// a key not starting with the shared prefix is not in this tree
+		if (root == null || sharedLength(key) < shared) return null;
+		
+		long prefix = prefix(key);
+		StringRBTNode<V> tmp = root;
+		
+		while (tmp != null) {
+			if (prefix < tmp.prefix) {
+				// go left
+				tmp = tmp.left;
+			} else if (prefix > tmp.prefix) {
+				// go right
+				tmp = tmp.right;
+			} else {
+				int compared = key.compareTo(tmp.key);
+				
+				if (compared < 0) {
+					tmp = tmp.left;
+				} else if (compared > 0) {
+					tmp = tmp.right;
+				} else {
+					// search hit
+					return tmp;
+				}
+			}
+		}
+		
+		// not found
+		return null;
+	}
+	
+	@Override
+	protected StringRBTNode<V> higher(String key) {
+		return bound(key, false);
+	}
+	
+	@Override
+	protected StringRBTNode<V> ceiling(String key) {
+		return bound(key, true);
+	}
+	
+	/**
+	 * Finds the node with the least key greater than a given <code>key</code>, or equal to it if it's <code>inclusive</code>.
+	 * 
+	 * @param key Key of interest.
+	 * @param inclusive Whether or not the node with the <code>key</code> itself is found.
+	 * @return Node with the least such key, or <code>null</code> if there is no such node.
+	 */
+	private StringRBTNode<V> bound(String key, boolean inclusive) {
+		if (root == null) return null;
+		
+		int length = sharedLength(key);
+		if (length < shared) {
+			// the key is either less or greater than all the keys
+			boolean less = length == key.length() || key.charAt(length) < common.charAt(length);
+			return less ? minimum(root) : null;
+		}
+		
+		long prefix = prefix(key);
+		StringRBTNode<V> tmp = root;
+		StringRBTNode<V> bound = null;
+		
+		while (tmp != null) {
+			int compared = prefix < tmp.prefix ? -1 : prefix > tmp.prefix ? 1 : key.compareTo(tmp.key);
+			
+			if (compared < 0 || (compared == 0 && inclusive)) {
+				bound = tmp;
+				tmp = tmp.left;
+			} else {
+				tmp = tmp.right;
+			}
+		}
+		return bound;
+	}
+	
+	/**
+	 * Packs the {@value #PREFIX_CHARS} characters of a given <code>key</code> following the shared prefix
+	 * into a <code>long</code>, padded with zeros.<br>
+	 * 
+	 * The characters are packed from the most significant bits, and the sign bit is flipped, so that
+	 * the packed values of two keys starting with the shared prefix compare the same way as the keys,
+	 * unless they are equal.
+	 * 
+	 * @param key Key of interest, starting with the shared prefix.
+	 * @return Packed characters of the <code>key</code>.
+	 */
+	private long prefix(String key) {
+		long prefix = 0;
+		
+		for (int i = shared; i < shared + PREFIX_CHARS; i ++) {
+			prefix = prefix << Character.SIZE | (i < key.length() ? key.charAt(i) : 0);
+		}
+		return prefix ^ Long.MIN_VALUE;
+	}
+	
+	/**
+	 * Gets the length of the part of the shared prefix a given <code>key</code> starts with.
+	 * 
+	 * @param key Key of interest.
+	 * @return Number of the leading characters the <code>key</code> shares with all the keys of this tree.
+	 */
+	private int sharedLength(String key) {
+		int length = Math.min(key.length(), shared);
+		
+		for (int i = 0; i < length; i ++) {
+			if (key.charAt(i) != common.charAt(i)) return i;
+		}
+		return length;
+	}
+	
+	/**
+	 * Shortens the shared prefix to a given <code>length</code>, and packs the characters of every node again.
+	 * 
+	 * @param length New length of the shared prefix.
+	 */
+	private void repack(int length) {
+		shared = length;
+		
+		for (StringRBTNode<V> node = minimum(root); node != null; node = successor(node)) {
+			node.prefix = prefix(node.key);
+		}
+	}
+	
+	/**
+	 * Checks if the given <code>key</code> is <code>null</code>.<br>
+	 * 
+	 * @param key Key of interest.
+	 * @throws IllegalArgumentException if a given <code>key</code> is <code>null</code>.
+	 */
+	private static void nullCheckKey(String key) throws IllegalArgumentException {
+		if (key == null) {
+			throw new IllegalArgumentException("Key should not be null.");
+		}
+	}
+}
@@ -0,0 +1,117 @@
+package filip.custom.data_structs.trees.binary.red_black.topdown;
+
+import java.util.Comparator;
+
+import filip.custom.data_structs.trees.nodes.SearchTreeNode;
+import filip.custom.data_structs.trees.operations.EntryInsertion;
+
+/**
+ * A class that represents a single-pass, top-down insertion to a {@link TopDownRedBlackTree}.<br>
+ * 
+ * The algorithm: <br>
+ * descend from the root, as the binary insertion does<br>
+ * 		* IF a node has two red children: paint it red, and it's children black
+ * 		* IF a node and it's parent are both red: rotate the grandparent, 
+ * 		  which is known to be black, since no two red nodes above were left
+ * 		* add the new red node at the bottom, and fix it the same way
+ * 
+ * @author fiilip
+ *
+ * @param <K> Type of keys stored in a tree.
+ * @param <V> Type of values stored in a tree.
+ */
+public class TopDownRBTInsertion<K extends Comparable<K>, V> extends TopDownRBTOperation<K, V> implements EntryInsertion<K, V> {
+	
+	/**
+	 * Whether or not the last insertion succeeded.
+	 */
+	private boolean inserted;
+	
+	/**
+	 * Creates a new instance of {@link TopDownRBTInsertion}.
+	 */
+	public TopDownRBTInsertion() {
+		this(null);
+	}
+	
+	/**
+	 * Creates a new instance of {@link TopDownRBTInsertion} into a tree ordered by a given <code>comparator</code>.
+	 * 
+	 * @param comparator Comparator of the keys, <code>null</code> for their natural order.
+	 */
+	public TopDownRBTInsertion(Comparator<? super K> comparator) {
+		super(comparator);
+		this.inserted = false;
+	}
+	
+	@Override
+	public SearchTreeNode<K, V> insert(SearchTreeNode<K, V> treeRoot, K key, V value) {
+		TopDownRBTNode<K, V> root = (TopDownRBTNode<K, V>) treeRoot;
+		inserted = false;
+		
+		if (root == null) {
+			inserted = true;
+			return new TopDownRBTNode<>(key, value, false);
+		}
+		
+		// great-grandparent, grandparent, parent and the current node
+		TopDownRBTNode<K, V> t = head(root, key);
+		TopDownRBTNode<K, V> g = null;
+		TopDownRBTNode<K, V> p = null;
+		TopDownRBTNode<K, V> q = root;
+		
+		boolean dir = false;
+		boolean last = false;
+		int visited = 0;
+		
+		while (true) {
+			if (q == null) {
+				q = new TopDownRBTNode<>(key, value, true);
+				setChild(p, dir, q);
+				inserted = true;
+			} else if (isRed(child(q, false)) && isRed(child(q, true))) {
+				// color flip
+				if (counts != null) counts.addFixupIteration();
+				recolor(q, true);
+				recolor(child(q, false), false);
+				recolor(child(q, true), false);
+			}
+			
+			if (isRed(q) && isRed(p)) {
+				if (counts != null) counts.addFixupIteration();
+				boolean dir2 = t.getRight() == g;
+				
+				if (q == child(p, last)) {
+					setChild(t, dir2, rotate(g, !last));
+				} else {
+					setChild(t, dir2, rotateTwice(g, !last));
+				}
+			}
+			
+			if (inserted) break;
+			
+			visited ++;
+			int compared = compare(key, q.getKey());
+			if (compared == 0) {
+				// already exists
+				break;
+			}
+			
+			last = dir;
+			dir = compared > 0;
+			
+			if (g != null) t = g;
+			g = p;
+			p = q;
+			q = child(q, dir);
+		}
+		
+		if (counts != null) counts.addDescent(visited);
+		return release();
+	}
+	
+	@Override
+	public boolean isInserted() {
+		return inserted;
+	}
+}
@@ -0,0 +1,52 @@
+package filip.custom.data_structs.trees.binary.red_black.topdown;
+
+import filip.custom.data_structs.trees.binary.BSTNode;
+
+/**
+ * A node of a {@link TopDownRedBlackTree}, which has no parent pointer.<br>
+ * 
+ * It takes 32 bytes on a 64-bit JVM with compressed references (header, key, value, left, right and color),
+ * 8 bytes less than an {@link filip.custom.data_structs.trees.binary.red_black.RBTNode}.
+ * 
+ * @author fiilip
+ *
+ * @param <K> Type of keys stored in a node.
+ * @param <V> Type of values stored in a node.
+ */
+public class TopDownRBTNode<K extends Comparable<K>, V> extends BSTNode<K, V> {
+	
+	/**
+	 * Color of this node, <code>true</code> if the node is red and <code>false</code> if it is black.
+	 */
+	private boolean red;
+	
+	/**
+	 * Creates a new instance of {@link TopDownRBTNode}.
+	 * 
+	 * @param key Key contained by the node.
+	 * @param value Value contained by the node.
+	 * @param red Whether or not the node is red.
+	 */
+	public TopDownRBTNode(K key, V value, boolean red) {
+		super(key, value);
+		this.red = red;
+	}
+	
+	/**
+	 * Checks whether this node is red.
+	 * 
+	 * @return <code>true</code> if this node is red, and <code>false</code> if it is black.
+	 */
+	public boolean isRed() {
+		return red;
+	}
+	
+	/**
+	 * Sets the color of this node.
+	 * 
+	 * @param red Whether or not this node is red.
+	 */
+	public void setRed(boolean red) {
+		this.red = red;
+	}
+}
@@ -0,0 +1,181 @@
+package filip.custom.data_structs.trees.binary.red_black.topdown;
+
+import java.util.Comparator;
+
+import filip.custom.data_structs.trees.binary.BSTNode;
+import filip.custom.data_structs.trees.comparators.KeyComparators;
+import filip.custom.data_structs.trees.stats.CountingOperation;
+import filip.custom.data_structs.trees.stats.OperationCounts;
+
+/**
+ * An abstract class that represents an operation on a <b>Red-Black Tree</b>, that re-balances 
+ * the tree on the way down from the root, in a single pass, without any parent pointers.<br>
+ * 
+ * Both of the operations follow the algorithms Julienne Walker described in <i>Red Black Trees</i>:
+ * the insertion splits the nodes with two red children on the way down, and the removal pushes 
+ * a red node down along the search path, so that the node being removed is red once it's reached.<br>
+ * 
+ * The operations work below a <code>head</code> node, whose right child is the root of a tree,
+ * so that the root can be rotated like any other node. The <code>head</code> is created once and reused
+ * by all the calls, and it holds the first key an operation was called with, which is never compared.
+ * 
+ * @author fiilip
+ *
+ * @param <K> Type of keys stored in a tree.
+ * @param <V> Type of values stored in a tree.
+ */
+public abstract class TopDownRBTOperation<K extends Comparable<K>, V> implements CountingOperation {
+	
+	/**
+	 * Node above the root of a tree.
+	 */
+	private TopDownRBTNode<K, V> head;
+	
+	/**
+	 * Comparator of the keys, <code>null</code> for their natural order.
+	 */
+	private final Comparator<? super K> comparator;
+	
+	/**
+	 * Tallies of the work of the current call, <code>null</code> if the work isn't counted.
+	 */
+	protected OperationCounts counts;
+	
+	/**
+	 * Creates a new instance of {@link TopDownRBTOperation} on a tree ordered by a given <code>comparator</code>.
+	 * 
+	 * @param comparator Comparator of the keys, <code>null</code> for their natural order.
+	 */
+	protected TopDownRBTOperation(Comparator<? super K> comparator) {
+		this.head = null;
+		this.comparator = comparator;
+		this.counts = null;
+	}
+	
+	/**
+	 * Compares two keys the way the tree orders them.
+	 * 
+	 * @param a First key.
+	 * @param b Second key.
+	 * @return Negative number, zero, or a positive number, if the first key is less than, equal to, or greater than the second one.
+	 */
+	protected int compare(K a, K b) {
+		return KeyComparators.compare(comparator, a, b);
+	}
+	
+	@Override
+	public void setCounts(OperationCounts counts) {
+		this.counts = counts;
+	}
+	
+	/**
+	 * Gets the node above the root of a tree, and makes the <code>root</code> it's right child.
+	 * 
+	 * @param root Root of the tree.
+	 * @param key Key the operation was called with.
+	 * @return Node above the root.
+	 */
+	protected TopDownRBTNode<K, V> head(TopDownRBTNode<K, V> root, K key) {
+		if (head == null) {
+			head = new TopDownRBTNode<>(key, null, false);
+		}
+		head.setRight(root);
+		return head;
+	}
+	
+	/**
+	 * Ends the current call, so that the <code>head</code> doesn't keep the nodes of the tree reachable.
+	 * 
+	 * @return Root of the tree after this operation, painted black.
+	 */
+	protected TopDownRBTNode<K, V> release() {
+		TopDownRBTNode<K, V> root = child(head, true);
+		head.setRight(null);
+		
+		if (root != null) {
+			recolor(root, false);
+		}
+		return root;
+	}
+	
+	/**
+	 * Performs a single rotation about a given node <code>n</code>, in the given direction.
+	 * 
+	 * @param n Node about which the rotation is called.
+	 * @param right Whether the rotation is a right rotation or a left one.
+	 * @return Node that took the place of <code>n</code>.
+	 */
+	protected TopDownRBTNode<K, V> rotate(TopDownRBTNode<K, V> n, boolean right) {
+		if (counts != null) counts.addRotation();
+		
+		TopDownRBTNode<K, V> pivot = child(n, !right);
+		
+		setChild(n, !right, child(pivot, right));
+		setChild(pivot, right, n);
+		
+		recolor(n, true);
+		recolor(pivot, false);
+		return pivot;
+	}
+	
+	/**
+	 * Performs a double rotation about a given node <code>n</code>, in the given direction.
+	 * 
+	 * @param n Node about which the rotation is called.
+	 * @param right Whether the second rotation is a right rotation or a left one.
+	 * @return Node that took the place of <code>n</code>.
+	 */
+	protected TopDownRBTNode<K, V> rotateTwice(TopDownRBTNode<K, V> n, boolean right) {
+		setChild(n, !right, rotate(child(n, !right), !right));
+		return rotate(n, right);
+	}
+	
+	/**
+	 * Paints a given node <code>n</code> red or black, counting the change of the color.
+	 * 
+	 * @param n Node being recolored.
+	 * @param red Whether the node becomes red or black.
+	 */
+	protected void recolor(TopDownRBTNode<K, V> n, boolean red) {
+		if (counts != null && n.isRed() != red) counts.addRecoloring();
+		n.setRed(red);
+	}
+	
+	/**
+	 * Gets a child of a given node <code>n</code>.
+	 * 
+	 * @param n Node of interest.
+	 * @param right Whether to get the right child or the left one.
+	 * @return Child of the node, possibly <code>null</code>.
+	 */
+	protected static <K extends Comparable<K>, V> TopDownRBTNode<K, V> child(BSTNode<K, V> n, boolean right) {
+		return (TopDownRBTNode<K, V>) (right ? n.getRight() : n.getLeft());
+	}
+	
+	/**
+	 * Sets a child of a given node <code>n</code>.
+	 * 
+	 * @param n Node of interest.
+	 * @param right Whether to set the right child or the left one.
+	 * @param child New child of the node, possibly <code>null</code>.
+	 */
+	protected static <K extends Comparable<K>, V> void setChild(BSTNode<K, V> n, boolean right, BSTNode<K, V> child) {
+		if (right) {
+			n.setRight(child);
+		} else {
+			n.setLeft(child);
+		}
+	}
+	
+	/**
+	 * Checks whether a given node <code>n</code> is red.<br>
+	 * 
+	 * <code>null</code> nodes are considered black.
+	 * 
+	 * @param n Node of interest.
+	 * @return <code>true</code> if <code>n</code> is red, and <code>false</code> if it is black.
+	 */
+	protected static boolean isRed(TopDownRBTNode<?, ?> n) {
+		return n != null && n.isRed();
+	}
+}
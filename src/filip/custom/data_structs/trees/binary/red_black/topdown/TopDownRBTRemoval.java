@@ -0,0 +1,142 @@
+package filip.custom.data_structs.trees.binary.red_black.topdown;
+
+import java.util.Comparator;
+
+import filip.custom.data_structs.trees.nodes.SearchTreeNode;
+import filip.custom.data_structs.trees.operations.EntryRemoval;
+
+/**
+ * A class that represents a single-pass, top-down removal from a {@link TopDownRedBlackTree}.<br>
+ * 
+ * The algorithm: <br>
+ * descend from the root towards the key, and then towards it's predecessor<br>
+ * 		* IF a node and it's child on the path are both black: push a red node down to it,
+ * 		  by a rotation, a color flip with it's sibling, or a rotation of it's parent
+ * 		* splice out the last node on the path, which is red, or the root
+ * 		* put the spliced node in place of the node with the key, if they differ
+ * 
+ * @author fiilip
+ *
+ * @param <K> Type of keys stored in a tree.
+ * @param <V> Type of values stored in a tree.
+ */
+public class TopDownRBTRemoval<K extends Comparable<K>, V> extends TopDownRBTOperation<K, V> implements EntryRemoval<K, V> {
+	
+	/**
+	 * Value removed by the last removal, <code>null</code> if nothing was removed.
+	 */
+	private V removed;
+	
+	/**
+	 * Creates a new instance of {@link TopDownRBTRemoval}.
+	 */
+	public TopDownRBTRemoval() {
+		this(null);
+	}
+	
+	/**
+	 * Creates a new instance of {@link TopDownRBTRemoval} from a tree ordered by a given <code>comparator</code>.
+	 * 
+	 * @param comparator Comparator of the keys, <code>null</code> for their natural order.
+	 */
+	public TopDownRBTRemoval(Comparator<? super K> comparator) {
+		super(comparator);
+		this.removed = null;
+	}
+	
+	@Override
+	public SearchTreeNode<K, V> remove(SearchTreeNode<K, V> treeRoot, K key) {
+		TopDownRBTNode<K, V> root = (TopDownRBTNode<K, V>) treeRoot;
+		removed = null;
+		
+		if (root == null) return null;
+		
+		// grandparent, parent and the current node
+		TopDownRBTNode<K, V> g = null;
+		TopDownRBTNode<K, V> p = null;
+		TopDownRBTNode<K, V> q = head(root, key);
+		
+		// node with the key, and it's parent
+		TopDownRBTNode<K, V> found = null;
+		TopDownRBTNode<K, V> foundParent = null;
+		
+		boolean dir = true;
+		int visited = 0;
+		
+		while (child(q, dir) != null) {
+			boolean last = dir;
+			
+			g = p;
+			p = q;
+			q = child(q, dir);
+			
+			visited ++;
+			int compared = compare(key, q.getKey());
+			// past the key, it's predecessor is looked for
+			dir = compared > 0;
+			
+			if (compared == 0) {
+				found = q;
+				foundParent = p;
+			}
+			
+			if (isRed(q) || isRed(child(q, dir))) continue;
+			
+			if (counts != null) counts.addFixupIteration();
+			
+			if (isRed(child(q, !dir))) {
+				// the red child of q becomes it's parent
+				TopDownRBTNode<K, V> r = rotate(q, dir);
+				setChild(p, last, r);
+				
+				if (q == found) foundParent = r;
+				p = r;
+				continue;
+			}
+			
+			TopDownRBTNode<K, V> s = child(p, !last);
+			if (s == null) continue;
+			
+			if (!isRed(child(s, false)) && !isRed(child(s, true))) {
+				// color flip
+				recolor(p, false);
+				recolor(s, true);
+				recolor(q, true);
+			} else {
+				boolean dir2 = g.getRight() == p;
+				TopDownRBTNode<K, V> r = isRed(child(s, last)) ? rotateTwice(p, last) : rotate(p, last);
+				setChild(g, dir2, r);
+				
+				if (p == found) foundParent = r;
+				
+				recolor(q, true);
+				recolor(r, true);
+				recolor(child(r, false), false);
+				recolor(child(r, true), false);
+			}
+		}
+		
+		if (counts != null) counts.addDescent(visited);
+		
+		if (found != null) {
+			removed = found.getValue();
+			
+			// splice out the last node, which has no child in the direction of the search
+			setChild(p, p.getRight() == q, child(q, q.getLeft() == null));
+			
+			if (q != found) {
+				q.setLeft(found.getLeft());
+				q.setRight(found.getRight());
+				recolor(q, found.isRed());
+				setChild(foundParent, foundParent.getRight() == found, q);
+			}
+		}
+		
+		return release();
+	}
+	
+	@Override
+	public V getValueRemoved() {
+		return removed;
+	}
+}
@@ -0,0 +1,65 @@
+package filip.custom.data_structs.trees.binary.red_black.topdown;
+
+import java.util.Comparator;
+
+import filip.custom.data_structs.trees.binary.AbstractBST;
+import filip.custom.data_structs.trees.binary.BSTNode;
+
+/**
+ * A <b>Red-Black Tree</b> whose nodes have no parent pointers, and which is re-balanced
+ * in a single pass from the root down, by {@link TopDownRBTInsertion} and {@link TopDownRBTRemoval}.<br>
+ * 
+ * Every entry is stored in a single {@link TopDownRBTNode} of 32 bytes on a 64-bit JVM with compressed references,
+ * and a rotation writes two child pointers instead of up to six pointers. On the other hand, the insertion and the 
+ * removal rotate and recolor the nodes on the way down that the bottom-up {@link filip.custom.data_structs.trees.binary.red_black.RedBlackTree}
+ * would leave alone, and the removal always descends to the predecessor of the key.
+ * 
+ * @author fiilip
+ *
+ * @param <K> Type of keys stored in this tree.
+ * @param <V> Type of values stored in this tree.
+ */
+public class TopDownRedBlackTree<K extends Comparable<K>, V> extends AbstractBST<K, V> {
+
+	/**
+	 * Creates a new, empty instance of {@link TopDownRedBlackTree}.
+	 */
+	public TopDownRedBlackTree() {
+		this(null);
+	}
+	
+	/**
+	 * Creates a new, empty instance of {@link TopDownRedBlackTree}, ordered by a given <code>comparator</code>.<br>
+	 * 
+	 * As for the {@link filip.custom.data_structs.trees.binary.red_black.RedBlackTree}, <code>Comparator.reverseOrder()</code>
+	 * needs a type witness, eg. <code>Comparator.&lt;Integer&gt;reverseOrder()</code>.
+	 * 
+	 * @param comparator Comparator of the keys, <code>null</code> for their natural order.
+	 */
+	public TopDownRedBlackTree(Comparator<? super K> comparator) {
+		super(new TopDownRBTInsertion<K, V>(comparator), new TopDownRBTRemoval<K, V>(comparator), comparator);
+	}
+	
+	/**
+	 * Gets the root of this tree, for the checks of its structure.
+	 * 
+	 * @return Root node, or <code>null</code> if this tree is empty.
+	 */
+	TopDownRBTNode<K, V> root() {
+		return (TopDownRBTNode<K, V>) root;
+	}
+	
+	/**
+	 * Creates a red or a black {@link TopDownRBTNode}.<br>
+	 * 
+	 * Only the nodes of the lowest level of a tree that isn't full are red, so every path 
+	 * from the root to a leaf has the same number of black nodes, and no red node has a red child.
+	 */
+	@Override
+	protected BSTNode<K, V> createNode(K key, V value, BSTNode<K, V> left, BSTNode<K, V> right, boolean red) {
+		TopDownRBTNode<K, V> node = new TopDownRBTNode<>(key, value, red);
+		node.setLeft(left);
+		node.setRight(right);
+		return node;
+	}
+}
@@ -55,7 +55,7 @@ public class BSTStringBuilder<K extends Comparable<K>, V> {
         StringBuilder builder = new StringBuilder();
 
         builder.append(prefix + (isTail ? "└── " : "├── "));
-        builder.append(node);
+        builder.append(node.toString());
         builder.append(System.lineSeparator());
         
         List<BSTNode<K, V>> children = null;
@@ -0,0 +1,1017 @@
+package filip.custom.data_structs.trees.bplus;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import filip.custom.data_structs.trees.SearchTree;
+
+/**
+ * A class that represents a <b>B+ Tree</b>, ie. a search tree of a high fanout whose nodes hold
+ * sorted arrays of keys.<br>
+ *
+ * All the entries are stored in the <i>leaves</i>, which are all on the same level, and are linked
+ * to one another in the order of their keys. The <i>inner</i> nodes hold only the separator keys and the children:
+ * the <code>i</code>-th child holds the keys not less than the <code>(i - 1)</code>-th separator,
+ * and less than the <code>i</code>-th one.<br>
+ *
+ * A node of the fanout <code>f</code> holds up to <code>f</code> entries, or up to <code>f</code> children,
+ * and at least half as many, except for the root. A lookup therefore visits only about <code>log<sub>f</sub> n</code>
+ * nodes, and does a binary search over a contiguous array of keys in each of them, instead of following
+ * a pointer for every single comparison, as a binary tree does. A range scan walks the linked leaves.
+ *
+ * @author fiilip
+ *
+ * @param <K> Type of keys stored in this tree.
+ * @param <V> Type of values stored in this tree.
+ */
+public class BPlusTree<K extends Comparable<K>, V> implements SearchTree<K, V> {
+
+	/**
+	 * Fanout of a tree created by the no-argument constructor.
+	 */
+	public static final int DEFAULT_FANOUT = 64;
+	
+	/**
+	 * Least fanout, with which every inner node still has at least one separator.
+	 */
+	public static final int MIN_FANOUT = 3;
+	
+	/**
+	 * Most entries in a leaf, and most children of an inner node.
+	 */
+	private final int fanout;
+	
+	/**
+	 * Root node of this tree, <code>null</code> if this tree is empty.
+	 */
+	private Node root;
+	
+	/**
+	 * Count of currently stored entries in this tree.
+	 */
+	private int size;
+	
+	/**
+	 * Separator key of the node split off by the last call to {@link #insert(Node, Comparable, Object)}.
+	 */
+	private Object splitKey;
+	
+	/**
+	 * Creates a new, empty instance of {@link BPlusTree} of the {@link #DEFAULT_FANOUT}.
+	 */
+	public BPlusTree() {
+		this(DEFAULT_FANOUT);
+	}
+	
+	/**
+	 * Creates a new, empty instance of {@link BPlusTree}.
+	 * 
+	 * @param fanout Most entries in a leaf, and most children of an inner node.
+	 * @throws IllegalArgumentException If the <code>fanout</code> is less than {@link #MIN_FANOUT}.
+	 */
+	public BPlusTree(int fanout) throws IllegalArgumentException {
+		if (fanout < MIN_FANOUT) {
+			throw new IllegalArgumentException(String.format(
+					"Fanout should be at least %d: %d", MIN_FANOUT, fanout));
+		}
+		
+		this.fanout = fanout;
+		this.root = null;
+		this.size = 0;
+	}
+	
+	/**
+	 * Gets the fanout of this tree.
+	 * 
+	 * @return Most entries in a leaf, and most children of an inner node.
+	 */
+	public int getFanout() {
+		return fanout;
+	}
+	
+	@Override
+	public boolean insert(K key, V value) throws IllegalArgumentException {
+		nullCheckKey(key);
+		
+		if (root == null) {
+			Leaf leaf = new Leaf(fanout);
+			leaf.keys[0] = key;
+			leaf.values[0] = value;
+			leaf.count = 1;
+			
+			root = leaf;
+			size = 1;
+			return true;
+		}
+		
+		int previousSize = size;
+		Node split = insert(root, key, value);
+		
+		if (split != null) {
+			// the root was split, so the tree grows by one level
+			Inner inner = new Inner(fanout);
+			inner.keys[0] = splitKey;
+			inner.children[0] = root;
+			inner.children[1] = split;
+			inner.count = 1;
+			
+			root = inner;
+			splitKey = null;
+		}
+		
+		return size != previousSize;
+	}
+	
+	@Override
+	public V remove(K key) throws IllegalArgumentException {
+		nullCheckKey(key);
+		
+		if (root == null) return null;
+		
+		V value = remove(root, key);
+		
+		if (root.count == 0) {
+			// either the last entry was removed, or the only two children of the root were merged
+			root = root instanceof Inner ? ((Inner) root).children[0] : null;
+		}
+		
+		return value;
+	}
+	
+	@Override
+	public boolean contains(K key) throws IllegalArgumentException {
+		nullCheckKey(key);
+		
+		if (root == null) return false;
+		
+		Leaf leaf = findLeaf(key);
+		return search(leaf, key) >= 0;
+	}
+	
+	@Override
+	public boolean isEmpty() {
+		return root == null;
+	}
+	
+	@Override
+	public void clear() {
+		root = null;
+		size = 0;
+	}
+	
+	@Override
+	public SearchTree<K, V> getGreaterThan(K toCompare) {
+		return getInterval(toCompare, null);
+	}
+	
+	@Override
+	public SearchTree<K, V> getLessThan(K toCompare) {
+		return getInterval(null, toCompare);
+	}
+	
+	/**
+	 * Gets a copy of the entries within the interval, of the same fanout as this tree.<br>
+	 * 
+	 * The entries are read by walking the linked leaves from the first key greater than <code>fromKey</code>,
+	 * and the copy is built from them bottom-up, in linear time.
+	 */
+	@Override
+	public SearchTree<K, V> getInterval(K fromKey, K toKey) {
+		List<Object> keys = new ArrayList<>();
+		List<Object> values = new ArrayList<>();
+		
+		for (Cursor cursor = new Cursor(fromKey); cursor.leaf != null; cursor.advance()) {
+			Object key = cursor.leaf.keys[cursor.index];
+			if (toKey != null && toKey.compareTo(key(key)) <= 0) break;
+			
+			keys.add(key);
+			values.add(cursor.leaf.values[cursor.index]);
+		}
+		
+		BPlusTree<K, V> filtered = new BPlusTree<>(fanout);
+		filtered.build(keys.toArray(), values.toArray(), keys.size());
+		return filtered;
+	}
+	
+	@Override
+	public int size() {
+		return size;
+	}
+	
+	@Override
+	public V get(K key) throws IllegalArgumentException {
+		nullCheckKey(key);
+		
+		if (root == null) return null;
+		
+		Leaf leaf = findLeaf(key);
+		int i = search(leaf, key);
+		return i >= 0 ? value(leaf.values[i]) : null;
+	}
+	
+	/**
+	 * Gets the number of levels of this tree, which is the same for every leaf.
+	 */
+	@Override
+	public int depth() {
+		int depth = 0;
+		for (Node n = root; n != null; n = n instanceof Inner ? ((Inner) n).children[0] : null) {
+			depth ++;
+		}
+		return depth;
+	}
+	
+	/**
+	 * Replaces the content of this tree with the given <code>entries</code>,
+	 * sorted by their keys in a strictly ascending order.<br>
+	 * 
+	 * Instead of inserting the entries one by one, the leaves are filled in order, and the inner
+	 * levels are built on top of them, in linear time. The entries are spread evenly over as few
+	 * leaves as possible, so the built tree is as shallow as possible, and a later insertion into a
+	 * full leaf splits it.
+	 * 
+	 * @param entries Iterator over the entries sorted by their keys.
+	 * @param size Number of entries the <code>entries</code> iterator returns.
+	 * @throws IllegalArgumentException If a key is <code>null</code>, the keys are not strictly ascending,
+	 * or there are less than <code>size</code> entries. The tree is left unchanged in that case.
+	 */
+	public void buildFromSorted(Iterator<? extends Map.Entry<? extends K, ? extends V>> entries, int size) throws IllegalArgumentException {
+		if (size < 0) {
+			throw new IllegalArgumentException("Size should not be negative: " + size);
+		}
+		
+		Object[] keys = new Object[size];
+		Object[] values = new Object[size];
+		
+		for (int i = 0; i < size; i ++) {
+			if (!entries.hasNext()) {
+				throw new IllegalArgumentException("Expected more than " + i + " entries.");
+			}
+			
+			Map.Entry<? extends K, ? extends V> entry = entries.next();
+			keys[i] = entry.getKey();
+			values[i] = entry.getValue();
+		}
+		
+		checkSorted(keys);
+		build(keys, values, size);
+	}
+	
+	/**
+	 * Replaces the content of this tree with the entries made of the given <code>keys</code> and <code>values</code>,
+	 * where the keys are sorted in a strictly ascending order.<br>
+	 * 
+	 * The tree is built in linear time, the same way as it's built by {@link #buildFromSorted(Iterator, int)}.
+	 * 
+	 * @param keys Keys of the entries sorted in ascending order.
+	 * @param values Values of the entries, where <code>values[i]</code> is the value of the key <code>keys[i]</code>.
+	 * @throws IllegalArgumentException If the arrays are of different lengths, a key is <code>null</code>,
+	 * or the keys are not strictly ascending. The tree is left unchanged in that case.
+	 */
+	public void buildFromSorted(K[] keys, V[] values) throws IllegalArgumentException {
+		if (keys.length != values.length) {
+			throw new IllegalArgumentException(String.format(
+					"There are %d keys, and %d values.", keys.length, values.length));
+		}
+		
+		checkSorted(keys);
+		build(keys, values, keys.length);
+	}
+	
+	/**
+	 * Iterates over the entries in-order, by walking the linked leaves.<br>
+	 * 
+	 * Every returned entry is a lightweight view of a position within a leaf,
+	 * which is valid only until this tree is changed by an insertion or a removal.
+	 */
+	@Override
+	public Iterator<Entry<K, V>> iterator() {
+		return new Iterator<Entry<K, V>>() {
+			
+			/**
+			 * Position of the entry returned by the next call to {@link #next()}.
+			 */
+			private final Cursor cursor = new Cursor(null);
+			
+			@Override
+			public boolean hasNext() {
+				return cursor.leaf != null;
+			}
+			
+			@Override
+			public Entry<K, V> next() {
+				if (cursor.leaf == null) throw new NoSuchElementException("No more elements in a tree.");
+				
+				Entry<K, V> entry = new LeafEntry(cursor.leaf, cursor.index);
+				cursor.advance();
+				return entry;
+			}
+		};
+	}
+	
+	@Override
+	public String toString() {
+		if (root == null) return "(empty)";
+		
+		StringBuilder builder = new StringBuilder();
+		build(builder, root, "", true);
+		return builder.toString();
+	}
+	
+	/**
+	 * Builds a textual representation of a tree, in the same format as the other trees of this library.
+	 * An inner node is printed as the list of it's separators, and a leaf as the list of it's entries.
+	 * 
+	 * @param builder Builder the text is appended to.
+	 * @param n Node currently being added to the string being built.
+	 * @param prefix String that is built until the moment of calling.
+	 * @param isTail Whether or not the current node should be printed as tail.
+	 */
+	private void build(StringBuilder builder, Node n, String prefix, boolean isTail) {
+		builder.append(prefix).append(isTail ? "└── " : "├── ").append('[');
+		
+		for (int i = 0; i < n.count; i ++) {
+			if (i > 0) builder.append(", ");
+			
+			if (n instanceof Leaf) {
+				builder.append('(').append(n.keys[i]).append(", ").append(((Leaf) n).values[i]).append(')');
+			} else {
+				builder.append(n.keys[i]);
+			}
+		}
+		builder.append(']').append(System.lineSeparator());
+		
+		if (n instanceof Inner) {
+			Inner inner = (Inner) n;
+			for (int i = 0; i <= inner.count; i ++) {
+				build(builder, inner.children[i], prefix + (isTail ? "    " : "│   "), i == inner.count);
+			}
+		}
+	}
+	
+	/**
+	 * Gets the root node of this tree, for the checks of the structure of this tree.
+	 * 
+	 * @return Root node, <code>null</code> if this tree is empty.
+	 */
+	Node rootNode() {
+		return root;
+	}
+	
+	/**
+	 * Recursively inserts the entry into the subtree rooted at a given node <code>n</code>.<br>
+	 * 
+	 * A node that overflows is split in two halves, and the right half is returned to the parent,
+	 * which links it right after the node, under the separator left in {@link #splitKey}.
+	 * 
+	 * @param n Root of the subtree.
+	 * @param key Key of the entry.
+	 * @param value Value of the entry.
+	 * @return The right half of <code>n</code> if it was split, and <code>null</code> otherwise.
+	 */
+	private Node insert(Node n, K key, V value) {
+		if (n instanceof Leaf) {
+			Leaf leaf = (Leaf) n;
+			int i = search(leaf, key);
+			if (i >= 0) return null;
+			
+			i = -i - 1;
+			System.arraycopy(leaf.keys, i, leaf.keys, i + 1, leaf.count - i);
+			System.arraycopy(leaf.values, i, leaf.values, i + 1, leaf.count - i);
+			leaf.keys[i] = key;
+			leaf.values[i] = value;
+			leaf.count ++;
+			size ++;
+			
+			return leaf.count > fanout ? split(leaf) : null;
+		}
+		
+		Inner inner = (Inner) n;
+		int c = childIndex(inner, key);
+		Node split = insert(inner.children[c], key, value);
+		if (split == null) return null;
+		
+		System.arraycopy(inner.keys, c, inner.keys, c + 1, inner.count - c);
+		System.arraycopy(inner.children, c + 1, inner.children, c + 2, inner.count - c);
+		inner.keys[c] = splitKey;
+		inner.children[c + 1] = split;
+		inner.count ++;
+		
+		return inner.count >= fanout ? split(inner) : null;
+	}
+	
+	/**
+	 * Splits an overflowing <code>leaf</code> in two halves.
+	 * 
+	 * @param leaf Leaf holding one entry more than the fanout.
+	 * @return The new right half of the <code>leaf</code>, whose first key is left in {@link #splitKey}.
+	 */
+	private Leaf split(Leaf leaf) {
+		Leaf right = new Leaf(fanout);
+		int keep = (leaf.count + 1) >>> 1;
+		int move = leaf.count - keep;
+		
+		System.arraycopy(leaf.keys, keep, right.keys, 0, move);
+		System.arraycopy(leaf.values, keep, right.values, 0, move);
+		clear(leaf.keys, keep, leaf.count);
+		clear(leaf.values, keep, leaf.count);
+		
+		right.count = move;
+		leaf.count = keep;
+		right.next = leaf.next;
+		leaf.next = right;
+		
+		splitKey = right.keys[0];
+		return right;
+	}
+	
+	/**
+	 * Splits an overflowing <code>inner</code> node in two halves, around it's middle separator.
+	 * 
+	 * @param inner Inner node holding one child more than the fanout.
+	 * @return The new right half of the <code>inner</code> node, whose separator is left in {@link #splitKey}.
+	 */
+	private Inner split(Inner inner) {
+		Inner right = new Inner(fanout);
+		int keep = inner.count >>> 1;
+		int move = inner.count - keep - 1;
+		
+		splitKey = inner.keys[keep];
+		System.arraycopy(inner.keys, keep + 1, right.keys, 0, move);
+		System.arraycopy(inner.children, keep + 1, right.children, 0, move + 1);
+		clear(inner.keys, keep, inner.count);
+		clear(inner.children, keep + 1, inner.count + 1);
+		
+		right.count = move;
+		inner.count = keep;
+		return right;
+	}
+	
+	/**
+	 * Recursively removes the entry from the subtree rooted at a given node <code>n</code>.<br>
+	 * 
+	 * A child left with less than half of the fanout either borrows from one of it's siblings,
+	 * or is merged with one of them (see {@link #rebalance(Inner, int)}).
+	 * 
+	 * @param n Root of the subtree.
+	 * @param key Key of the entry being removed.
+	 * @return Value of the removed entry, or <code>null</code> if there is no such entry.
+	 */
+	private V remove(Node n, K key) {
+		if (n instanceof Leaf) {
+			Leaf leaf = (Leaf) n;
+			int i = search(leaf, key);
+			if (i < 0) return null;
+			
+			V value = value(leaf.values[i]);
+			System.arraycopy(leaf.keys, i + 1, leaf.keys, i, leaf.count - i - 1);
+			System.arraycopy(leaf.values, i + 1, leaf.values, i, leaf.count - i - 1);
+			leaf.count --;
+			leaf.keys[leaf.count] = null;
+			leaf.values[leaf.count] = null;
+			size --;
+			
+			return value;
+		}
+		
+		Inner inner = (Inner) n;
+		int c = childIndex(inner, key);
+		V value = remove(inner.children[c], key);
+		
+		if (inner.children[c].count < minCount(inner.children[c])) {
+			rebalance(inner, c);
+		}
+		return value;
+	}
+	
+	/**
+	 * Re-balances the <code>c</code>-th child of a given <code>parent</code>, which holds less than
+	 * half of the fanout, by borrowing from a sibling that can spare one, or by merging it with a sibling.
+	 * 
+	 * @param parent Parent of the underflowing child.
+	 * @param c Index of the underflowing child.
+	 */
+	private void rebalance(Inner parent, int c) {
+		// every inner node has at least one separator, so the child has at least one sibling
+		Node left = c > 0 ? parent.children[c - 1] : null;
+		Node right = c < parent.count ? parent.children[c + 1] : null;
+		
+		if (left != null && left.count > minCount(left)) {
+			borrowFromLeft(parent, c);
+		} else if (right != null && right.count > minCount(right)) {
+			borrowFromRight(parent, c);
+		} else if (left != null) {
+			merge(parent, c - 1);
+		} else {
+			merge(parent, c);
+		}
+	}
+	
+	/**
+	 * Moves the last entry, or the last child of the left sibling to the front of the <code>c</code>-th child.
+	 * 
+	 * @param parent Parent of the child.
+	 * @param c Index of the child.
+	 */
+	private void borrowFromLeft(Inner parent, int c) {
+		Node child = parent.children[c];
+		Node left = parent.children[c - 1];
+		
+		System.arraycopy(child.keys, 0, child.keys, 1, child.count);
+		
+		if (child instanceof Leaf) {
+			Leaf leaf = (Leaf) child;
+			Leaf from = (Leaf) left;
+			System.arraycopy(leaf.values, 0, leaf.values, 1, leaf.count);
+			
+			leaf.keys[0] = from.keys[from.count - 1];
+			leaf.values[0] = from.values[from.count - 1];
+			from.keys[from.count - 1] = null;
+			from.values[from.count - 1] = null;
+			
+			parent.keys[c - 1] = leaf.keys[0];
+		} else {
+			Inner inner = (Inner) child;
+			Inner from = (Inner) left;
+			System.arraycopy(inner.children, 0, inner.children, 1, inner.count + 1);
+			
+			// the separator comes down, and the last separator of the sibling goes up
+			inner.keys[0] = parent.keys[c - 1];
+			inner.children[0] = from.children[from.count];
+			parent.keys[c - 1] = from.keys[from.count - 1];
+			from.keys[from.count - 1] = null;
+			from.children[from.count] = null;
+		}
+		
+		left.count --;
+		child.count ++;
+	}
+	
+	/**
+	 * Moves the first entry, or the first child of the right sibling to the end of the <code>c</code>-th child.
+	 * 
+	 * @param parent Parent of the child.
+	 * @param c Index of the child.
+	 */
+	private void borrowFromRight(Inner parent, int c) {
+		Node child = parent.children[c];
+		Node right = parent.children[c + 1];
+		
+		if (child instanceof Leaf) {
+			Leaf leaf = (Leaf) child;
+			Leaf from = (Leaf) right;
+			
+			leaf.keys[leaf.count] = from.keys[0];
+			leaf.values[leaf.count] = from.values[0];
+			System.arraycopy(from.values, 1, from.values, 0, from.count - 1);
+			from.values[from.count - 1] = null;
+		} else {
+			Inner inner = (Inner) child;
+			Inner from = (Inner) right;
+			
+			// the separator comes down, and the first separator of the sibling goes up
+			inner.keys[inner.count] = parent.keys[c];
+			inner.children[inner.count + 1] = from.children[0];
+			parent.keys[c] = from.keys[0];
+			System.arraycopy(from.children, 1, from.children, 0, from.count);
+			from.children[from.count] = null;
+		}
+		
+		System.arraycopy(right.keys, 1, right.keys, 0, right.count - 1);
+		right.keys[right.count - 1] = null;
+		right.count --;
+		child.count ++;
+		
+		if (child instanceof Leaf) {
+			parent.keys[c] = right.keys[0];
+		}
+	}
+	
+	/**
+	 * Merges the <code>i + 1</code>-th child of a given <code>parent</code> into the <code>i</code>-th one,
+	 * and removes the separator between them from the <code>parent</code>.
+	 * 
+	 * @param parent Parent of the children.
+	 * @param i Index of the left one of the children.
+	 */
+	private void merge(Inner parent, int i) {
+		Node left = parent.children[i];
+		Node right = parent.children[i + 1];
+		
+		if (left instanceof Leaf) {
+			Leaf leaf = (Leaf) left;
+			Leaf from = (Leaf) right;
+			
+			System.arraycopy(from.keys, 0, leaf.keys, leaf.count, from.count);
+			System.arraycopy(from.values, 0, leaf.values, leaf.count, from.count);
+			leaf.count += from.count;
+			leaf.next = from.next;
+		} else {
+			Inner inner = (Inner) left;
+			Inner from = (Inner) right;
+			
+			// the separator comes down between the separators of the children
+			inner.keys[inner.count] = parent.keys[i];
+			System.arraycopy(from.keys, 0, inner.keys, inner.count + 1, from.count);
+			System.arraycopy(from.children, 0, inner.children, inner.count + 1, from.count + 1);
+			inner.count += from.count + 1;
+		}
+		
+		System.arraycopy(parent.keys, i + 1, parent.keys, i, parent.count - i - 1);
+		System.arraycopy(parent.children, i + 2, parent.children, i + 1, parent.count - i - 1);
+		parent.count --;
+		parent.keys[parent.count] = null;
+		parent.children[parent.count + 1] = null;
+	}
+	
+	/**
+	 * Gets the least count of a given non-root node <code>n</code>:
+	 * half of the fanout entries for a leaf, and half of the fanout children for an inner node.
+	 * 
+	 * @param n Node of interest.
+	 * @return Least number of entries of a leaf, or least number of separators of an inner node.
+	 */
+	int minCount(Node n) {
+		return n instanceof Leaf ? fanout >>> 1 : ((fanout + 1) >>> 1) - 1;
+	}
+	
+	/**
+	 * Replaces the content of this tree with the tree built bottom-up from the given sorted arrays.
+	 * 
+	 * @param keys Keys sorted in a strictly ascending order.
+	 * @param values Values of the keys.
+	 * @param size Number of entries.
+	 */
+	private void build(Object[] keys, Object[] values, int size) {
+		if (size == 0) {
+			clear();
+			return;
+		}
+		
+		int leaves = (size + fanout - 1) / fanout;
+		Node[] level = new Node[leaves];
+		Object[] lows = new Object[leaves];
+		Leaf previous = null;
+		
+		for (int i = 0, from = 0; i < leaves; i ++) {
+			// spread the entries evenly, so that every leaf is at least half full
+			int count = (size - from) / (leaves - i);
+			Leaf leaf = new Leaf(fanout);
+			System.arraycopy(keys, from, leaf.keys, 0, count);
+			System.arraycopy(values, from, leaf.values, 0, count);
+			leaf.count = count;
+			
+			if (previous != null) previous.next = leaf;
+			previous = leaf;
+			
+			level[i] = leaf;
+			lows[i] = keys[from];
+			from += count;
+		}
+		
+		while (level.length > 1) {
+			int parents = (level.length + fanout - 1) / fanout;
+			Node[] up = new Node[parents];
+			Object[] upLows = new Object[parents];
+			
+			for (int i = 0, from = 0; i < parents; i ++) {
+				int count = (level.length - from) / (parents - i);
+				Inner inner = new Inner(fanout);
+				System.arraycopy(level, from, inner.children, 0, count);
+				System.arraycopy(lows, from + 1, inner.keys, 0, count - 1);
+				inner.count = count - 1;
+				
+				up[i] = inner;
+				upLows[i] = lows[from];
+				from += count;
+			}
+			
+			level = up;
+			lows = upLows;
+		}
+		
+		this.root = level[0];
+		this.size = size;
+	}
+	
+	/**
+	 * Checks that the given <code>keys</code> are not <code>null</code>, and are strictly ascending.
+	 * 
+	 * @param keys Keys of interest.
+	 * @throws IllegalArgumentException If a key is <code>null</code>, or the keys are not strictly ascending.
+	 */
+	private void checkSorted(Object[] keys) throws IllegalArgumentException {
+		for (int i = 0; i < keys.length; i ++) {
+			K key = key(keys[i]);
+			nullCheckKey(key);
+			
+			if (i > 0 && key(keys[i - 1]).compareTo(key) >= 0) {
+				throw new IllegalArgumentException(String.format(
+						"Keys should be strictly ascending, but %s comes after %s.", key, keys[i - 1]));
+			}
+		}
+	}
+	
+	/**
+	 * Finds the leaf which holds a given <code>key</code>, if this tree holds it at all.
+	 * 
+	 * @param key Key of interest.
+	 * @return Leaf of the <code>key</code>.
+	 */
+	private Leaf findLeaf(K key) {
+		Node n = root;
+		while (n instanceof Inner) {
+			Inner inner = (Inner) n;
+			n = inner.children[childIndex(inner, key)];
+		}
+		return (Leaf) n;
+	}
+	
+	/**
+	 * Finds the child of a given <code>inner</code> node which covers a given <code>key</code>.
+	 * 
+	 * @param inner Inner node of interest.
+	 * @param key Key of interest.
+	 * @return Index of the child covering the <code>key</code>.
+	 */
+	private int childIndex(Inner inner, K key) {
+		int i = search(inner, key);
+		
+		// a key equal to a separator is the least key of the child on the right of it
+		return i >= 0 ? i + 1 : -i - 1;
+	}
+	
+	/**
+	 * Binary searches the keys of a given node <code>n</code> for a given <code>key</code>.
+	 * 
+	 * @param n Node of interest.
+	 * @param key Key being searched for.
+	 * @return Index of the <code>key</code> if the node holds it, and <code>-(insertion point) - 1</code> otherwise.
+	 */
+	private int search(Node n, K key) {
+		Object[] keys = n.keys;
+		int low = 0;
+		int high = n.count - 1;
+		
+		while (low <= high) {
+			int middle = (low + high) >>> 1;
+			int compared = key.compareTo(key(keys[middle]));
+			
+			if (compared < 0) {
+				// go left
+				high = middle - 1;
+			} else if (compared > 0) {
+				// go right
+				low = middle + 1;
+			} else {
+				// search hit
+				return middle;
+			}
+		}
+		
+		// not found
+		return -low - 1;
+	}
+	
+	/**
+	 * Clears the references within the given range of an array, so that they don't keep the objects alive.
+	 * 
+	 * @param array Array of interest.
+	 * @param from First index being cleared.
+	 * @param to Index after the last one being cleared.
+	 */
+	private static void clear(Object[] array, int from, int to) {
+		for (int i = from; i < to; i ++) {
+			array[i] = null;
+		}
+	}
+	
+	/**
+	 * Casts a key stored in a node.
+	 * 
+	 * @param key Key of interest.
+	 * @return The same key.
+	 */
+	@SuppressWarnings("unchecked")
+	private K key(Object key) {
+		return (K) key;
+	}
+	
+	/**
+	 * Casts a value stored in a leaf.
+	 * 
+	 * @param value Value of interest.
+	 * @return The same value.
+	 */
+	@SuppressWarnings("unchecked")
+	private V value(Object value) {
+		return (V) value;
+	}
+	
+	/**
+	 * Checks if the given <code>key</code> is <code>null</code>.<br>
+	 * 
+	 * @param key Key of interest.
+	 * @throws IllegalArgumentException if a given <code>key</code> is <code>null</code>.
+	 */
+	private void nullCheckKey(K key) throws IllegalArgumentException {
+		if (key == null) {
+			throw new IllegalArgumentException("Key should not be null.");
+		}
+	}
+	
+	/**
+	 * Node of a {@link BPlusTree}, holding a sorted array of keys.
+	 * 
+	 * @author fiilip
+	 * 
+	 */
+	static abstract class Node {
+		
+		/**
+		 * Sorted keys of this node, of which the first {@link #count} are used.
+		 */
+		final Object[] keys;
+		
+		/**
+		 * Number of entries of a leaf, or number of separators of an inner node.
+		 */
+		int count;
+		
+		/**
+		 * Creates a new, empty instance of {@link Node}.
+		 * 
+		 * @param capacity Length of the array of keys.
+		 */
+		Node(int capacity) {
+			this.keys = new Object[capacity];
+		}
+	}
+	
+	/**
+	 * Leaf of a {@link BPlusTree}, holding the entries and a link to the next leaf.<br>
+	 * 
+	 * It's arrays have a spare slot, so that an entry can be inserted into a full leaf before it's split.
+	 * 
+	 * @author fiilip
+	 * 
+	 */
+	static final class Leaf extends Node {
+		
+		/**
+		 * Values of the keys of this leaf.
+		 */
+		final Object[] values;
+		
+		/**
+		 * Leaf with the next greater keys, <code>null</code> for the last leaf.
+		 */
+		Leaf next;
+		
+		/**
+		 * Creates a new, empty instance of {@link Leaf}.
+		 * 
+		 * @param fanout Most entries in a leaf.
+		 */
+		Leaf(int fanout) {
+			super(fanout + 1);
+			this.values = new Object[fanout + 1];
+		}
+	}
+	
+	/**
+	 * Inner node of a {@link BPlusTree}, holding the separators and one child more than the separators.<br>
+	 * 
+	 * It's arrays have a spare slot, so that a child can be linked into a full node before it's split.
+	 * 
+	 * @author fiilip
+	 * 
+	 */
+	static final class Inner extends Node {
+		
+		/**
+		 * Children of this node, of which the first <code>count + 1</code> are used.
+		 */
+		final Node[] children;
+		
+		/**
+		 * Creates a new, empty instance of {@link Inner}.
+		 * 
+		 * @param fanout Most children of an inner node.
+		 */
+		Inner(int fanout) {
+			super(fanout);
+			this.children = new Node[fanout + 1];
+		}
+	}
+	
+	/**
+	 * Position of an entry within the linked leaves.
+	 * 
+	 * @author fiilip
+	 * 
+	 */
+	private class Cursor {
+		
+		/**
+		 * Leaf of the current entry, <code>null</code> after the last entry.
+		 */
+		private Leaf leaf;
+		
+		/**
+		 * Index of the current entry within the {@link #leaf}.
+		 */
+		private int index;
+		
+		/**
+		 * Creates a new instance of {@link Cursor}, positioned at the first entry with the key greater than a given one.
+		 * 
+		 * @param low Key of interest, or <code>null</code> to position the cursor at the first entry.
+		 */
+		Cursor(K low) {
+			if (root == null) return;
+			
+			if (low == null) {
+				Node n = root;
+				while (n instanceof Inner) {
+					n = ((Inner) n).children[0];
+				}
+				leaf = (Leaf) n;
+				index = 0;
+				return;
+			}
+			
+			leaf = findLeaf(low);
+			int i = search(leaf, low);
+			index = i >= 0 ? i + 1 : -i - 1;
+			
+			if (index == leaf.count) {
+				leaf = leaf.next;
+				index = 0;
+			}
+		}
+		
+		/**
+		 * Moves this cursor to the next entry.
+		 */
+		void advance() {
+			if (++ index == leaf.count) {
+				leaf = leaf.next;
+				index = 0;
+			}
+		}
+	}
+	
+	/**
+	 * {@link SearchTree.Entry} that views a single position within a leaf of this tree.
+	 * 
+	 * @author fiilip
+	 * 
+	 */
+	private class LeafEntry implements Entry<K, V> {
+		
+		/**
+		 * Leaf being viewed.
+		 */
+		private final Leaf leaf;
+		
+		/**
+		 * Index of the entry within the {@link #leaf}.
+		 */
+		private final int index;
+		
+		/**
+		 * Creates a new instance of {@link LeafEntry}.
+		 * 
+		 * @param leaf Leaf being viewed.
+		 * @param index Index of the entry within the <code>leaf</code>.
+		 */
+		LeafEntry(Leaf leaf, int index) {
+			this.leaf = leaf;
+			this.index = index;
+		}
+		
+		@Override
+		public K getKey() {
+			return key(leaf.keys[index]);
+		}
+		
+		@Override
+		public V getValue() {
+			return value(leaf.values[index]);
+		}
+		
+		@Override
+		public void setValue(V value) {
+			leaf.values[index] = value;
+		}
+		
+		@Override
+		public String toString() {
+			return "(" + leaf.keys[index] + ", " + leaf.values[index] + ")";
+		}
+	}
+}
@@ -0,0 +1,59 @@
+package filip.custom.data_structs.trees.comparators;
+
+import java.util.Comparator;
+import java.util.Objects;
+import java.util.function.ToIntFunction;
+
+/**
+ * A {@link Comparator} that orders the keys by an <code>int</code> extracted from each of them,
+ * the same way as {@link Comparator#comparingInt(ToIntFunction)} does.<br>
+ * 
+ * Unlike the comparator made by {@link Comparator#comparingInt(ToIntFunction)}, this one is recognized by the trees,
+ * which then extract the <code>int</code> of the key being searched for only once, and compare it with the <code>int</code>s of
+ * the keys along the path as plain numbers.
+ * 
+ * @author fiilip
+ *
+ * @param <K> Type of keys being compared.
+ */
+public final class IntKeyComparator<K> implements Comparator<K> {
+	
+	/**
+	 * Function extracting the <code>int</code> a key is ordered by.
+	 */
+	private final ToIntFunction<? super K> extractor;
+	
+	/**
+	 * Creates a new instance of {@link IntKeyComparator}.
+	 * 
+	 * @param extractor Function extracting the <code>int</code> a key is ordered by.
+	 */
+	public IntKeyComparator(ToIntFunction<? super K> extractor) {
+		this.extractor = Objects.requireNonNull(extractor);
+	}
+	
+	/**
+	 * Gets the <code>int</code> a given <code>key</code> is ordered by.
+	 * 
+	 * @param key Key of interest.
+	 * @return Extracted <code>int</code>.
+	 */
+	public int extract(K key) {
+		return extractor.applyAsInt(key);
+	}
+	
+	@Override
+	public int compare(K a, K b) {
+		return Integer.compare(extractor.applyAsInt(a), extractor.applyAsInt(b));
+	}
+	
+	@Override
+	public boolean equals(Object obj) {
+		return obj instanceof IntKeyComparator && ((IntKeyComparator<?>) obj).extractor.equals(extractor);
+	}
+	
+	@Override
+	public int hashCode() {
+		return extractor.hashCode();
+	}
+}
@@ -0,0 +1,77 @@
+package filip.custom.data_structs.trees.comparators;
+
+import java.util.Comparator;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * Utility methods for the {@link Comparator}s ordering the keys of the trees,
+ * where a <code>null</code> comparator stands for the natural order of the keys.
+ * 
+ * @author fiilip
+ *
+ */
+public final class KeyComparators {
+	
+	/**
+	 * Not to be instantiated.
+	 */
+	private KeyComparators() {
+	}
+	
+	/**
+	 * Creates a comparator that orders the keys by an <code>int</code> extracted from each of them, 
+	 * which the trees compare without calling the comparator (see {@link IntKeyComparator}).
+	 * 
+	 * @param extractor Function extracting the <code>int</code> a key is ordered by.
+	 * @return New comparator.
+	 */
+	public static <K> IntKeyComparator<K> comparingInt(ToIntFunction<? super K> extractor) {
+		return new IntKeyComparator<>(extractor);
+	}
+	
+	/**
+	 * Creates a comparator that orders the keys by a <code>long</code> extracted from each of them, 
+	 * which the trees compare without calling the comparator (see {@link LongKeyComparator}).
+	 * 
+	 * @param extractor Function extracting the <code>long</code> a key is ordered by.
+	 * @return New comparator.
+	 */
+	public static <K> LongKeyComparator<K> comparingLong(ToLongFunction<? super K> extractor) {
+		return new LongKeyComparator<>(extractor);
+	}
+	
+	/**
+	 * Compares two keys by a given <code>comparator</code>, or by their natural order if it's <code>null</code>.
+	 * 
+	 * @param comparator Comparator of the keys, <code>null</code> for the natural order.
+	 * @param a First key.
+	 * @param b Second key.
+	 * @return Negative number, zero, or a positive number, if the first key is less than, equal to, or greater than the second one.
+	 */
+	public static <K extends Comparable<K>> int compare(Comparator<? super K> comparator, K a, K b) {
+		return comparator == null ? a.compareTo(b) : comparator.compare(a, b);
+	}
+	
+	/**
+	 * Gets a given <code>comparator</code> as an {@link IntKeyComparator}, if it is one.
+	 * 
+	 * @param comparator Comparator of interest, possibly <code>null</code>.
+	 * @return The same comparator, or <code>null</code> if it's not an {@link IntKeyComparator}.
+	 */
+	@SuppressWarnings("unchecked")
+	public static <K> IntKeyComparator<? super K> asIntKeys(Comparator<? super K> comparator) {
+		return comparator instanceof IntKeyComparator ? (IntKeyComparator<? super K>) comparator : null;
+	}
+	
+	/**
+	 * Gets a given <code>comparator</code> as a {@link LongKeyComparator}, if it is one.
+	 * 
+	 * @param comparator Comparator of interest, possibly <code>null</code>.
+	 * @return The same comparator, or <code>null</code> if it's not a {@link LongKeyComparator}.
+	 */
+	@SuppressWarnings("unchecked")
+	public static <K> LongKeyComparator<? super K> asLongKeys(Comparator<? super K> comparator) {
+		return comparator instanceof LongKeyComparator ? (LongKeyComparator<? super K>) comparator : null;
+	}
+}
@@ -0,0 +1,59 @@
+package filip.custom.data_structs.trees.comparators;
+
+import java.util.Comparator;
+import java.util.Objects;
+import java.util.function.ToLongFunction;
+
+/**
+ * A {@link Comparator} that orders the keys by a <code>long</code> extracted from each of them,
+ * the same way as {@link Comparator#comparingLong(ToLongFunction)} does.<br>
+ * 
+ * Unlike the comparator made by {@link Comparator#comparingLong(ToLongFunction)}, this one is recognized by the trees,
+ * which then extract the <code>long</code> of the key being searched for only once, and compare it with the <code>long</code>s of
+ * the keys along the path as plain numbers.
+ * 
+ * @author fiilip
+ *
+ * @param <K> Type of keys being compared.
+ */
+public final class LongKeyComparator<K> implements Comparator<K> {
+	
+	/**
+	 * Function extracting the <code>long</code> a key is ordered by.
+	 */
+	private final ToLongFunction<? super K> extractor;
+	
+	/**
+	 * Creates a new instance of {@link LongKeyComparator}.
+	 * 
+	 * @param extractor Function extracting the <code>long</code> a key is ordered by.
+	 */
+	public LongKeyComparator(ToLongFunction<? super K> extractor) {
+		this.extractor = Objects.requireNonNull(extractor);
+	}
+	
+	/**
+	 * Gets the <code>long</code> a given <code>key</code> is ordered by.
+	 * 
+	 * @param key Key of interest.
+	 * @return Extracted <code>long</code>.
+	 */
+	public long extract(K key) {
+		return extractor.applyAsLong(key);
+	}
+	
+	@Override
+	public int compare(K a, K b) {
+		return Long.compare(extractor.applyAsLong(a), extractor.applyAsLong(b));
+	}
+	
+	@Override
+	public boolean equals(Object obj) {
+		return obj instanceof LongKeyComparator && ((LongKeyComparator<?>) obj).extractor.equals(extractor);
+	}
+	
+	@Override
+	public int hashCode() {
+		return extractor.hashCode();
+	}
+}
@@ -0,0 +1,69 @@
+package filip.custom.data_structs.trees.events;
+
+/**
+ * An interface that represents an event of a single tree operation, which was begun by {@link TreeEvents}.<br>
+ *
+ * Once the operation is done, the event is stopped, and only if it took longer than the threshold of it's event,
+ * the fields are set and the event is committed, so that the fast operations never turn their keys into strings.
+ * Fields an event has no use for are ignored.
+ *
+ * @author fiilip
+ *
+ */
+public interface TreeEvent {
+
+	/**
+	 * Stops timing the operation.
+	 * 
+	 * @return <code>true</code> if the operation took long enough to be committed, and <code>false</code> otherwise.
+	 */
+	boolean stop();
+	
+	/**
+	 * Sets the class of the tree the operation was called on.
+	 * 
+	 * @param tree Class of the tree.
+	 */
+	void setTree(Class<?> tree);
+	
+	/**
+	 * Sets the range of the keys the operation was called for.
+	 * 
+	 * @param low Least key, or the exclusive lower bound of the keys, <code>null</code> if there is none.
+	 * @param high Greatest key, or the exclusive upper bound of the keys, <code>null</code> if there is none.
+	 */
+	void setKeys(Object low, Object high);
+	
+	/**
+	 * Sets the number of entries of the tree.
+	 * 
+	 * @param size Number of entries.
+	 */
+	void setSize(int size);
+	
+	/**
+	 * Sets the number of the nodes visited on the way down the tree.
+	 * 
+	 * @param depth Length of the path of the operation.
+	 */
+	void setDepth(int depth);
+	
+	/**
+	 * Sets the number of the single rotations done by the operation.
+	 * 
+	 * @param rotations Number of rotations.
+	 */
+	void setRotations(int rotations);
+	
+	/**
+	 * Sets the number of entries iterated over.
+	 * 
+	 * @param entries Number of entries.
+	 */
+	void setEntries(int entries);
+	
+	/**
+	 * Commits the event.
+	 */
+	void commit();
+}
@@ -0,0 +1,143 @@
+package filip.custom.data_structs.trees.events;
+
+/**
+ * Source of the {@link TreeEvent}s of the slow tree operations: insertions, removals,
+ * iterations over an interval (see {@link filip.custom.data_structs.trees.SearchTree#getInterval(Comparable, Comparable)}),
+ * and iterations over a whole tree.<br>
+ *
+ * The events are recorded by the JDK Flight Recorder, if the classes of the <code>jfr</code> source folder
+ * are on the class path, and the running JDK has the Flight Recorder. Otherwise, no event is ever begun.
+ * Every operation asks for it's event, and gets <code>null</code> unless the event is enabled
+ * in a running recording, which costs a single check of a flag.
+ *
+ * @author fiilip
+ *
+ */
+public abstract class TreeEvents {
+
+	/**
+	 * Name of the class recording the events with the JDK Flight Recorder.
+	 */
+	private static final String FLIGHT_RECORDER_EVENTS = "filip.custom.data_structs.trees.events.jfr.FlightRecorderEvents";
+	
+	/**
+	 * Source of the events of this JVM.
+	 */
+	private static final TreeEvents EVENTS = load();
+	
+	/**
+	 * Begins timing an insertion.
+	 * 
+	 * @return Event of the insertion, or <code>null</code> if it's not enabled.
+	 */
+	public static TreeEvent beginInsert() {
+		return EVENTS.newInsert();
+	}
+	
+	/**
+	 * Begins timing a removal.
+	 * 
+	 * @return Event of the removal, or <code>null</code> if it's not enabled.
+	 */
+	public static TreeEvent beginRemove() {
+		return EVENTS.newRemove();
+	}
+	
+	/**
+	 * Begins timing an iteration over an interval of keys.
+	 * 
+	 * @return Event of the iteration, or <code>null</code> if it's not enabled.
+	 */
+	public static TreeEvent beginInterval() {
+		return EVENTS.newInterval();
+	}
+	
+	/**
+	 * Begins timing an iteration over a whole tree.
+	 * 
+	 * @return Event of the iteration, or <code>null</code> if it's not enabled.
+	 */
+	public static TreeEvent beginIteration() {
+		return EVENTS.newIteration();
+	}
+	
+	/**
+	 * Checks whether or not the events are recorded by the JDK Flight Recorder in this JVM.
+	 * 
+	 * @return <code>true</code> if the events are recorded, and <code>false</code> if they are never begun.
+	 */
+	public static boolean isAvailable() {
+		return !(EVENTS instanceof Disabled);
+	}
+	
+	/**
+	 * Creates a new, begun event of an insertion, if it's enabled.
+	 * 
+	 * @return Event of the insertion, or <code>null</code> if it's not enabled.
+	 */
+	protected abstract TreeEvent newInsert();
+	
+	/**
+	 * Creates a new, begun event of a removal, if it's enabled.
+	 * 
+	 * @return Event of the removal, or <code>null</code> if it's not enabled.
+	 */
+	protected abstract TreeEvent newRemove();
+	
+	/**
+	 * Creates a new, begun event of an iteration over an interval, if it's enabled.
+	 * 
+	 * @return Event of the iteration, or <code>null</code> if it's not enabled.
+	 */
+	protected abstract TreeEvent newInterval();
+	
+	/**
+	 * Creates a new, begun event of an iteration over a whole tree, if it's enabled.
+	 * 
+	 * @return Event of the iteration, or <code>null</code> if it's not enabled.
+	 */
+	protected abstract TreeEvent newIteration();
+	
+	/**
+	 * Loads the events recorded by the JDK Flight Recorder, if they are on the class path,
+	 * and the Flight Recorder is there to record them.
+	 * 
+	 * @return Source of the events of this JVM.
+	 */
+	private static TreeEvents load() {
+		try {
+			return (TreeEvents) Class.forName(FLIGHT_RECORDER_EVENTS).getDeclaredConstructor().newInstance();
+		} catch (ReflectiveOperationException | LinkageError | ClassCastException e) {
+			return new Disabled();
+		}
+	}
+	
+	/**
+	 * {@link TreeEvents} that never begin an event.
+	 * 
+	 * @author fiilip
+	 * 
+	 */
+	private static final class Disabled extends TreeEvents {
+		
+		@Override
+		protected TreeEvent newInsert() {
+			return null;
+		}
+		
+		@Override
+		protected TreeEvent newRemove() {
+			return null;
+		}
+		
+		@Override
+		protected TreeEvent newInterval() {
+			return null;
+		}
+		
+		@Override
+		protected TreeEvent newIteration() {
+			return null;
+		}
+	}
+}
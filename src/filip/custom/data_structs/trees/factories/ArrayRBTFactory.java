@@ -0,0 +1,17 @@
+package filip.custom.data_structs.trees.factories;
+
+import java.util.Map;
+
+import filip.custom.data_structs.trees.SearchTree;
+import filip.custom.data_structs.trees.binary.red_black.array.ArrayRedBlackTree;
+
+public class ArrayRBTFactory<K extends Comparable<K>, V> implements TreeFactory<K, V> {
+
+	@Override
+	public SearchTree<K, V> createFromMap(Map<K, V> entries) {
+		ArrayRedBlackTree<K, V> tree = new ArrayRedBlackTree<>(entries.size());
+		entries.entrySet().forEach(e -> tree.insert(e.getKey(), e.getValue()));
+		return tree;
+	}
+
+}
@@ -0,0 +1,68 @@
+package filip.custom.data_structs.trees.factories;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.SortedMap;
+
+import filip.custom.data_structs.trees.SearchTree;
+import filip.custom.data_structs.trees.bplus.BPlusTree;
+
+public class BPlusTreeFactory<K extends Comparable<K>, V> implements TreeFactory<K, V> {
+
+	/**
+	 * Fanout of the created trees.
+	 */
+	private final int fanout;
+	
+	/**
+	 * Creates a new factory of the trees of the {@link BPlusTree#DEFAULT_FANOUT}.
+	 */
+	public BPlusTreeFactory() {
+		this(BPlusTree.DEFAULT_FANOUT);
+	}
+	
+	/**
+	 * Creates a new factory of the trees of a given <code>fanout</code>.
+	 * 
+	 * @param fanout Most entries in a leaf, and most children of an inner node.
+	 * @throws IllegalArgumentException If the <code>fanout</code> is less than {@link BPlusTree#MIN_FANOUT}.
+	 */
+	public BPlusTreeFactory(int fanout) throws IllegalArgumentException {
+		if (fanout < BPlusTree.MIN_FANOUT) {
+			throw new IllegalArgumentException(String.format(
+					"Fanout should be at least %d: %d", BPlusTree.MIN_FANOUT, fanout));
+		}
+		this.fanout = fanout;
+	}
+	
+	/**
+	 * Creates a new tree populated with the given <code>entries</code>.<br>
+	 * A {@link SortedMap} in the natural order of it's keys is built from in linear time
+	 * (see {@link #createFromSorted(SortedMap)}).
+	 */
+	@Override
+	public SearchTree<K, V> createFromMap(Map<K, V> entries) {
+		if (entries instanceof SortedMap && ((SortedMap<K, V>) entries).comparator() == null) {
+			return createFromSorted(entries.entrySet().iterator(), entries.size());
+		}
+		
+		BPlusTree<K, V> tree = new BPlusTree<>(fanout);
+		entries.entrySet().forEach(e -> tree.insert(e.getKey(), e.getValue()));
+		return tree;
+	}
+	
+	@Override
+	public SearchTree<K, V> createFromSorted(Iterator<? extends Map.Entry<K, V>> entries, int size) throws IllegalArgumentException {
+		BPlusTree<K, V> tree = new BPlusTree<>(fanout);
+		tree.buildFromSorted(entries, size);
+		return tree;
+	}
+	
+	@Override
+	public SearchTree<K, V> createFromSorted(K[] keys, V[] values) throws IllegalArgumentException {
+		BPlusTree<K, V> tree = new BPlusTree<>(fanout);
+		tree.buildFromSorted(keys, values);
+		return tree;
+	}
+
+}
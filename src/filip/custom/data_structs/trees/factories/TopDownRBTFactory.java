@@ -0,0 +1,71 @@
+package filip.custom.data_structs.trees.factories;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.SortedMap;
+
+import filip.custom.data_structs.trees.SearchTree;
+import filip.custom.data_structs.trees.binary.red_black.topdown.TopDownRedBlackTree;
+
+public class TopDownRBTFactory<K extends Comparable<K>, V> implements TreeFactory<K, V> {
+
+	/**
+	 * Comparator ordering the keys of the created trees, <code>null</code> for their natural order.
+	 */
+	private final Comparator<? super K> comparator;
+	
+	/**
+	 * Creates a new factory of the trees ordered by the natural order of their keys.
+	 */
+	public TopDownRBTFactory() {
+		this(null);
+	}
+	
+	/**
+	 * Creates a new factory of the trees ordered by a given <code>comparator</code>.<br>
+	 * The sorted entries given to this factory should be sorted by the same <code>comparator</code>.
+	 * 
+	 * @param comparator Comparator of the keys, <code>null</code> for their natural order.
+	 */
+	public TopDownRBTFactory(Comparator<? super K> comparator) {
+		this.comparator = comparator;
+	}
+	
+	/**
+	 * Creates a new tree populated with the given <code>entries</code>.<br>
+	 * A {@link SortedMap} in the same order as the created trees is built from in linear time
+	 * (see {@link #createFromSorted(SortedMap)}).
+	 */
+	@Override
+	public SearchTree<K, V> createFromMap(Map<K, V> entries) {
+		if (entries instanceof SortedMap && Objects.equals(((SortedMap<K, V>) entries).comparator(), comparator)) {
+			return createFromSorted(entries.entrySet().iterator(), entries.size());
+		}
+		
+		TopDownRedBlackTree<K, V> tree = new TopDownRedBlackTree<K, V>(comparator);
+		entries.entrySet().forEach(e -> tree.insert(e.getKey(), e.getValue()));
+		return tree;
+	}
+	
+	@Override
+	public SearchTree<K, V> createFromSorted(SortedMap<K, V> entries) {
+		return createFromMap(entries);
+	}
+	
+	@Override
+	public SearchTree<K, V> createFromSorted(Iterator<? extends Map.Entry<K, V>> entries, int size) throws IllegalArgumentException {
+		TopDownRedBlackTree<K, V> tree = new TopDownRedBlackTree<K, V>(comparator);
+		tree.buildFromSorted(entries, size);
+		return tree;
+	}
+	
+	@Override
+	public SearchTree<K, V> createFromSorted(K[] keys, V[] values) throws IllegalArgumentException {
+		TopDownRedBlackTree<K, V> tree = new TopDownRedBlackTree<K, V>(comparator);
+		tree.buildFromSorted(keys, values);
+		return tree;
+	}
+
+}
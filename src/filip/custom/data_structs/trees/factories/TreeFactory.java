@@ -1,6 +1,10 @@
 package filip.custom.data_structs.trees.factories;
 
+import java.util.AbstractMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.SortedMap;
 
 import filip.custom.data_structs.trees.SearchTree;
 
@@ -8,4 +12,86 @@ public interface TreeFactory<K extends Comparable<K>, V> {
 
 	SearchTree<K, V> createFromMap(Map<K, V> entries);
 	
+	/**
+	 * Creates a new tree populated with the given <code>entries</code>, sorted by their keys in a strictly ascending order.<br>
+	 * Factories of the trees that can be built from the sorted entries in linear time override this method, 
+	 * while the others insert the entries one by one.
+	 * 
+	 * @param entries Iterator over the sorted entries.
+	 * @param size Number of entries the <code>entries</code> iterator returns.
+	 * @return New populated tree.
+	 * @throws IllegalArgumentException If the keys are not strictly ascending, or there are less than <code>size</code> entries.
+	 */
+	default SearchTree<K, V> createFromSorted(Iterator<? extends Map.Entry<K, V>> entries, int size) throws IllegalArgumentException {
+		Map<K, V> map = new LinkedHashMap<>();
+		K previous = null;
+		
+		for (int i = 0; i < size; i ++) {
+			if (!entries.hasNext()) {
+				throw new IllegalArgumentException("Expected more than " + i + " entries.");
+			}
+			
+			Map.Entry<K, V> entry = entries.next();
+			if (previous != null && previous.compareTo(entry.getKey()) >= 0) {
+				throw new IllegalArgumentException(String.format(
+						"Keys should be strictly ascending, but %s comes after %s.", entry.getKey(), previous));
+			}
+			
+			previous = entry.getKey();
+			map.put(entry.getKey(), entry.getValue());
+		}
+		
+		return createFromMap(map);
+	}
+	
+	/**
+	 * Creates a new tree populated with the entries of a given sorted map.<br>
+	 * A map ordered by a {@link java.util.Comparator} rather than the natural order of it's keys
+	 * is populated from one by one.
+	 * 
+	 * @param entries Map of entries the tree is populated from.
+	 * @return New populated tree.
+	 */
+	default SearchTree<K, V> createFromSorted(SortedMap<K, V> entries) {
+		if (entries.comparator() != null) {
+			return createFromMap(entries);
+		}
+		return createFromSorted(entries.entrySet().iterator(), entries.size());
+	}
+	
+	/**
+	 * Creates a new tree populated with the entries made of the given <code>keys</code> and <code>values</code>, 
+	 * where the keys are sorted in a strictly ascending order.
+	 * 
+	 * @param keys Keys of the entries sorted in ascending order.
+	 * @param values Values of the entries, where <code>values[i]</code> is the value of the key <code>keys[i]</code>.
+	 * @return New populated tree.
+	 * @throws IllegalArgumentException If the arrays are of different lengths, or the keys are not strictly ascending.
+	 */
+	default SearchTree<K, V> createFromSorted(K[] keys, V[] values) throws IllegalArgumentException {
+		if (keys.length != values.length) {
+			throw new IllegalArgumentException(String.format(
+					"There are %d keys, and %d values.", keys.length, values.length));
+		}
+		
+		return createFromSorted(new Iterator<Map.Entry<K, V>>() {
+			
+			/**
+			 * Index of the next entry.
+			 */
+			private int index = 0;
+
+			@Override
+			public boolean hasNext() {
+				return index < keys.length;
+			}
+
+			@Override
+			public Map.Entry<K, V> next() {
+				int i = index ++;
+				return new AbstractMap.SimpleImmutableEntry<>(keys[i], values[i]);
+			}
+		}, keys.length);
+	}
+	
 }
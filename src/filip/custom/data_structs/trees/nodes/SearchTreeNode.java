@@ -8,7 +8,9 @@ import filip.custom.data_structs.trees.SearchTree;
  * A class that represents a node of a {@link SearchTree}.<br>
  * 
  * {@link CharSequence} interface is implemented to allow better manipulation of
- * textual representations of the objects of this class.
+ * textual representations of the objects of this class. The text is not stored in the node,
+ * but built on demand, so callers that need it more than once should call {@link #toString()}
+ * once and work with the result.
  * 
  * @author fiilip
  *
@@ -30,11 +32,6 @@ public abstract class SearchTreeNode<K extends Comparable<K>, V>
 	 */
 	private V value;
 	
-	/**
-	 * Textual representation of this node.
-	 */
-	private final String textual;
-	
 	/**
 	 * Creates a new instance of {@link SearchTreeNode}.
 	 * 
@@ -44,7 +41,6 @@ public abstract class SearchTreeNode<K extends Comparable<K>, V>
 	public SearchTreeNode(K key, V value) {
 		this.key = Objects.requireNonNull(key);
 		this.value = value;
-		this.textual = String.format("(%s, %s)", key, value);
 	}
 
 	/**
@@ -79,17 +75,17 @@ public abstract class SearchTreeNode<K extends Comparable<K>, V>
 	
 	@Override
 	public int length() {
-		return textual.length();
+		return toString().length();
 	}
 	
 	@Override
 	public char charAt(int index) {
-		return textual.charAt(index);
+		return toString().charAt(index);
 	}
 	
 	@Override
 	public CharSequence subSequence(int start, int end) {
-		return textual.subSequence(start, end);
+		return toString().subSequence(start, end);
 	}
 	
 	@Override
@@ -97,9 +93,14 @@ public abstract class SearchTreeNode<K extends Comparable<K>, V>
 		return key.compareTo(node.getKey());
 	}
 	
+	/**
+	 * Builds the textual representation of this node, <code>(key, value)</code>.
+	 * 
+	 * @return Textual representation of this node.
+	 */
 	@Override
 	public String toString() {
-		return textual;
+		return "(" + key + ", " + value + ")";
 	}
 	
 }
@@ -15,19 +15,23 @@ public interface EntryInsertion<K extends Comparable<K>, V> {
 		
 	/**
 	 * Performs the insertion of an entry with the <code>key</code> and
-	 * the given <code>value</code> to a <b>Search Tree</b>.
+	 * the given <code>value</code> to a <b>Search Tree</b> rooted in <code>root</code>.<br>
 	 * 
+	 * The same insertion object is reused for all the insertions to a tree, so no
+	 * state other than the result of the last call is kept between the calls.
+	 * 
+	 * @param root Root node of the tree, <code>null</code> if the tree is empty.
 	 * @param key Key of an entry being inserted to a tree.
 	 * @param value Value of an entry being inserted to a tree.
-	 * @return Reference to a root node of the tree this insertion was called upon.
+	 * @return Reference to a root node of the tree after the insertion.
 	 */
-	SearchTreeNode<K, V> insert(K key, V value);
+	SearchTreeNode<K, V> insert(SearchTreeNode<K, V> root, K key, V value);
 
 	/**
-	 * Method that checks whether or not the last call to {@link #insert(K, V)}
+	 * Method that checks whether or not the last call to {@link #insert(SearchTreeNode, K, V)}
 	 * inserted a new entry to the tree or not.
 	 * 
-	 * @return <code>true</code> if the last call to {@link #insert(K, V)} inserted
+	 * @return <code>true</code> if the last call to {@link #insert(SearchTreeNode, K, V)} inserted
 	 * a new value to the tree, and <code>false</code> otherwise.
 	 */
 	boolean isInserted();
@@ -14,20 +14,24 @@ import filip.custom.data_structs.trees.nodes.SearchTreeNode;
 public interface EntryRemoval<K extends Comparable<K>, V> {
 
 	/**
-	 * Performs the removal of an entry with the <code>key</code> and
-	 * from a <b>Search Tree</b>.
+	 * Performs the removal of an entry with the <code>key</code>
+	 * from a <b>Search Tree</b> rooted in <code>root</code>.<br>
 	 * 
+	 * The same removal object is reused for all the removals from a tree, so no
+	 * state other than the result of the last call is kept between the calls.
+	 * 
+	 * @param root Root node of the tree, <code>null</code> if the tree is empty.
 	 * @param key Key of an entry being removed from a tree.
-	 * @return Reference to a root node of the tree this insertion was called upon.
+	 * @return Reference to a root node of the tree after the removal.
 	 */
-	SearchTreeNode<K, V> remove(K key);
+	SearchTreeNode<K, V> remove(SearchTreeNode<K, V> root, K key);
 	
 	/**
 	 * Gets the element that was removed from a tree by the last call to
-	 * method {@link #remove(K)}.
+	 * method {@link #remove(SearchTreeNode, K)}.
 	 * 
 	 * @return The element that was removed by the last call to method
-	 * {@link #remove(K)}, and <code>null</code> if last call removed nothing.
+	 * {@link #remove(SearchTreeNode, K)}, and <code>null</code> if last call removed nothing.
 	 */
 	V getValueRemoved();
 }
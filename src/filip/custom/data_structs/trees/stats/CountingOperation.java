@@ -0,0 +1,18 @@
+package filip.custom.data_structs.trees.stats;
+
+/**
+ * An interface that represents a tree operation, which tallies the work of every call
+ * into the {@link OperationCounts} it was given.
+ * 
+ * @author fiilip
+ *
+ */
+public interface CountingOperation {
+	
+	/**
+	 * Sets the tallies the following calls of this operation add their work to.
+	 * 
+	 * @param counts Tallies of the work, or <code>null</code> to stop counting.
+	 */
+	void setCounts(OperationCounts counts);
+}
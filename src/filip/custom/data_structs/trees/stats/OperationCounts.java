@@ -0,0 +1,135 @@
+package filip.custom.data_structs.trees.stats;
+
+/**
+ * Tallies of the work done by a single call of a tree operation, which are added to the {@link TreeStatistics}
+ * of the tree once the call returns, and reset.<br>
+ * 
+ * An operation only tallies it's work when it was given an instance of this class (see {@link CountingOperation}),
+ * so that an operation of a tree with the statistics off does nothing but a <code>null</code> check.
+ * 
+ * @author fiilip
+ *
+ */
+public final class OperationCounts {
+	
+	/**
+	 * Number of the keys compared.
+	 */
+	private int comparisons;
+	
+	/**
+	 * Number of the nodes visited on the way down the tree.
+	 */
+	private int pathLength;
+	
+	/**
+	 * Number of the single rotations.
+	 */
+	private int rotations;
+	
+	/**
+	 * Number of the nodes whose color was changed.
+	 */
+	private int recolorings;
+	
+	/**
+	 * Number of the iterations of the loop restoring the balance of the tree.
+	 */
+	private int fixupIterations;
+	
+	/**
+	 * Adds the comparisons of a descent visiting a given number of nodes, and comparing the key to every one of them.
+	 * 
+	 * @param visited Number of the visited nodes.
+	 */
+	public void addDescent(int visited) {
+		comparisons += visited;
+		pathLength += visited;
+	}
+	
+	/**
+	 * Adds the nodes visited on the way down without comparing a key, such as the ones on the way to a successor.
+	 * 
+	 * @param visited Number of the visited nodes.
+	 */
+	public void addPath(int visited) {
+		pathLength += visited;
+	}
+	
+	/**
+	 * Adds a single rotation.
+	 */
+	public void addRotation() {
+		rotations ++;
+	}
+	
+	/**
+	 * Adds a node whose color was changed.
+	 */
+	public void addRecoloring() {
+		recolorings ++;
+	}
+	
+	/**
+	 * Adds an iteration of the loop restoring the balance of the tree.
+	 */
+	public void addFixupIteration() {
+		fixupIterations ++;
+	}
+	
+	/**
+	 * Gets the number of the keys compared.
+	 * 
+	 * @return Number of the comparisons.
+	 */
+	public int getComparisons() {
+		return comparisons;
+	}
+	
+	/**
+	 * Gets the number of the nodes visited on the way down the tree.
+	 * 
+	 * @return Length of the path.
+	 */
+	public int getPathLength() {
+		return pathLength;
+	}
+	
+	/**
+	 * Gets the number of the single rotations.
+	 * 
+	 * @return Number of the rotations.
+	 */
+	public int getRotations() {
+		return rotations;
+	}
+	
+	/**
+	 * Gets the number of the nodes whose color was changed.
+	 * 
+	 * @return Number of the recolorings.
+	 */
+	public int getRecolorings() {
+		return recolorings;
+	}
+	
+	/**
+	 * Gets the number of the iterations of the loop restoring the balance of the tree.
+	 * 
+	 * @return Number of the iterations.
+	 */
+	public int getFixupIterations() {
+		return fixupIterations;
+	}
+	
+	/**
+	 * Resets all the tallies to zero, before the next call.
+	 */
+	public void reset() {
+		comparisons = 0;
+		pathLength = 0;
+		rotations = 0;
+		recolorings = 0;
+		fixupIterations = 0;
+	}
+}
@@ -0,0 +1,199 @@
+package filip.custom.data_structs.trees.stats;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Statistics of all the calls of one kind of an operation on a tree: the totals of the work done by the calls,
+ * and a histogram of the lengths of their paths down the tree.<br>
+ * 
+ * The calls are added through {@link LongAdder}s, so the lookups running concurrently with each other
+ * can add to the same statistics, and the statistics can be read from any thread, such as a JMX client's.
+ * 
+ * @author fiilip
+ *
+ */
+public final class OperationStatistics {
+	
+	/**
+	 * Number of the buckets of the histogram of the path lengths. The last bucket holds all the longer paths.
+	 */
+	public static final int HISTOGRAM_SIZE = 64;
+	
+	/**
+	 * Number of the calls.
+	 */
+	private final LongAdder count = new LongAdder();
+	
+	/**
+	 * Total number of the keys compared.
+	 */
+	private final LongAdder comparisons = new LongAdder();
+	
+	/**
+	 * Total number of the nodes visited on the way down.
+	 */
+	private final LongAdder pathLength = new LongAdder();
+	
+	/**
+	 * Total number of the single rotations.
+	 */
+	private final LongAdder rotations = new LongAdder();
+	
+	/**
+	 * Total number of the nodes whose color was changed.
+	 */
+	private final LongAdder recolorings = new LongAdder();
+	
+	/**
+	 * Total number of the iterations of the loops restoring the balance.
+	 */
+	private final LongAdder fixupIterations = new LongAdder();
+	
+	/**
+	 * Number of the calls by the length of their paths.
+	 */
+	private final LongAdder[] histogram = new LongAdder[HISTOGRAM_SIZE];
+	
+	/**
+	 * Creates new, empty {@link OperationStatistics}.
+	 */
+	OperationStatistics() {
+		for (int i = 0; i < HISTOGRAM_SIZE; i ++) {
+			histogram[i] = new LongAdder();
+		}
+	}
+	
+	/**
+	 * Adds a call, which did the work tallied in the given <code>counts</code>.
+	 * 
+	 * @param counts Tallies of the work of the call.
+	 */
+	void add(OperationCounts counts) {
+		add(counts.getComparisons(), counts.getPathLength(), 
+				counts.getRotations(), counts.getRecolorings(), counts.getFixupIterations());
+	}
+	
+	/**
+	 * Adds a call, which did the given work.
+	 * 
+	 * @param comparisons Number of the keys compared.
+	 * @param pathLength Number of the nodes visited on the way down.
+	 * @param rotations Number of the single rotations.
+	 * @param recolorings Number of the nodes whose color was changed.
+	 * @param fixupIterations Number of the iterations of the loop restoring the balance.
+	 */
+	void add(int comparisons, int pathLength, int rotations, int recolorings, int fixupIterations) {
+		count.increment();
+		this.comparisons.add(comparisons);
+		this.pathLength.add(pathLength);
+		histogram[Math.min(pathLength, HISTOGRAM_SIZE - 1)].increment();
+		
+		// the lookups never change the tree
+		if (rotations != 0) this.rotations.add(rotations);
+		if (recolorings != 0) this.recolorings.add(recolorings);
+		if (fixupIterations != 0) this.fixupIterations.add(fixupIterations);
+	}
+	
+	/**
+	 * Gets the number of the calls.
+	 * 
+	 * @return Number of the calls.
+	 */
+	public long getCount() {
+		return count.sum();
+	}
+	
+	/**
+	 * Gets the total number of the keys compared.
+	 * 
+	 * @return Number of the comparisons.
+	 */
+	public long getComparisons() {
+		return comparisons.sum();
+	}
+	
+	/**
+	 * Gets the total number of the single rotations.
+	 * 
+	 * @return Number of the rotations.
+	 */
+	public long getRotations() {
+		return rotations.sum();
+	}
+	
+	/**
+	 * Gets the total number of the nodes whose color was changed.
+	 * 
+	 * @return Number of the recolorings.
+	 */
+	public long getRecolorings() {
+		return recolorings.sum();
+	}
+	
+	/**
+	 * Gets the total number of the iterations of the loops restoring the balance.
+	 * 
+	 * @return Number of the iterations.
+	 */
+	public long getFixupIterations() {
+		return fixupIterations.sum();
+	}
+	
+	/**
+	 * Gets the mean number of the nodes visited on the way down.
+	 * 
+	 * @return Mean length of the paths, or <code>0</code> if there were no calls.
+	 */
+	public double getMeanPathLength() {
+		long count = getCount();
+		return count == 0 ? 0 : (double) pathLength.sum() / count;
+	}
+	
+	/**
+	 * Gets the greatest number of the nodes visited on the way down.
+	 * 
+	 * @return Length of the longest path, capped at <code>HISTOGRAM_SIZE - 1</code>, or <code>0</code> if there were no calls.
+	 */
+	public int getMaxPathLength() {
+		for (int i = HISTOGRAM_SIZE - 1; i > 0; i --) {
+			if (histogram[i].sum() != 0) return i;
+		}
+		return 0;
+	}
+	
+	/**
+	 * Gets the histogram of the path lengths, where the element at index <code>i</code> is the number of the calls
+	 * visiting <code>i</code> nodes on the way down. The last element counts all the longer paths as well.
+	 * 
+	 * @return New array of {@link #HISTOGRAM_SIZE} elements.
+	 */
+	public long[] getPathLengthHistogram() {
+		long[] snapshot = new long[HISTOGRAM_SIZE];
+		for (int i = 0; i < HISTOGRAM_SIZE; i ++) {
+			snapshot[i] = histogram[i].sum();
+		}
+		return snapshot;
+	}
+	
+	/**
+	 * Resets all the statistics to zero.
+	 */
+	void reset() {
+		count.reset();
+		comparisons.reset();
+		pathLength.reset();
+		rotations.reset();
+		recolorings.reset();
+		fixupIterations.reset();
+		
+		for (LongAdder bucket : histogram) {
+			bucket.reset();
+		}
+	}
+	
+	@Override
+	public String toString() {
+		return String.format("count=%d, comparisons=%d, rotations=%d, recolorings=%d, fixupIterations=%d, meanPathLength=%.2f, maxPathLength=%d",
+				getCount(), getComparisons(), getRotations(), getRecolorings(), getFixupIterations(), getMeanPathLength(), getMaxPathLength());
+	}
+}
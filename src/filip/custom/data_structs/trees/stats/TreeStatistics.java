@@ -0,0 +1,124 @@
+package filip.custom.data_structs.trees.stats;
+
+import java.lang.management.ManagementFactory;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * Statistics of the operations on a tree, collected by every call while the statistics of the tree are on:
+ * the key comparisons, the rotations, the recolorings, the iterations of the fix-up loops, and the lengths
+ * of the paths down the tree, with a histogram of the path lengths per kind of operation.<br>
+ * 
+ * The statistics can be read directly, or through JMX, once they are registered with the platform MBean server.
+ * 
+ * @author fiilip
+ *
+ */
+public final class TreeStatistics implements TreeStatisticsMXBean {
+	
+	/**
+	 * Domain of the names the statistics are registered under.
+	 */
+	public static final String JMX_DOMAIN = "filip.custom.data_structs.trees";
+	
+	/**
+	 * Kind of an operation the statistics are collected for.
+	 * 
+	 * @author fiilip
+	 * 
+	 */
+	public enum Operation {
+		GET, INSERT, REMOVE
+	}
+	
+	/**
+	 * Statistics of every kind of operation, indexed by it's ordinal.
+	 */
+	private final OperationStatistics[] operations;
+	
+	/**
+	 * Creates new, empty {@link TreeStatistics}.
+	 */
+	public TreeStatistics() {
+		this.operations = new OperationStatistics[Operation.values().length];
+		for (int i = 0; i < operations.length; i ++) {
+			operations[i] = new OperationStatistics();
+		}
+	}
+	
+	/**
+	 * Adds a call of a given <code>operation</code>, and resets the <code>counts</code> of it's work.
+	 * 
+	 * @param operation Kind of the operation called.
+	 * @param counts Tallies of the work of the call.
+	 */
+	public void record(Operation operation, OperationCounts counts) {
+		operations[operation.ordinal()].add(counts);
+		counts.reset();
+	}
+	
+	/**
+	 * Adds a lookup, which compared the key to every node it visited.
+	 * 
+	 * @param visited Number of the nodes visited on the way down.
+	 */
+	public void recordLookup(int visited) {
+		operations[Operation.GET.ordinal()].add(visited, visited, 0, 0, 0);
+	}
+	
+	/**
+	 * Gets the statistics of a given kind of <code>operation</code>.
+	 * 
+	 * @param operation Kind of the operation.
+	 * @return Statistics of the operation.
+	 */
+	public OperationStatistics get(Operation operation) {
+		return operations[operation.ordinal()];
+	}
+	
+	@Override
+	public OperationStatistics getLookups() {
+		return get(Operation.GET);
+	}
+	
+	@Override
+	public OperationStatistics getInsertions() {
+		return get(Operation.INSERT);
+	}
+	
+	@Override
+	public OperationStatistics getRemovals() {
+		return get(Operation.REMOVE);
+	}
+	
+	@Override
+	public void reset() {
+		for (OperationStatistics statistics : operations) {
+			statistics.reset();
+		}
+	}
+	
+	/**
+	 * Registers these statistics with the platform MBean server, under the name
+	 * <code>filip.custom.data_structs.trees:type=TreeStatistics,name=&lt;name&gt;</code>.
+	 * 
+	 * @param name Name telling the tree apart from the other registered trees.
+	 * @return Name the statistics were registered under, which unregisters them later.
+	 * @throws JMException If the name is malformed, or already registered.
+	 */
+	public ObjectName register(String name) throws JMException {
+		ObjectName objectName = new ObjectName(JMX_DOMAIN + ":type=TreeStatistics,name=" + ObjectName.quote(name));
+		ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+		return objectName;
+	}
+	
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder();
+		for (Operation operation : Operation.values()) {
+			builder.append(operation).append(": ").append(get(operation)).append(System.lineSeparator());
+		}
+		return builder.toString();
+	}
+}
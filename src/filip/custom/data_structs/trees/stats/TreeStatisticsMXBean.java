@@ -0,0 +1,37 @@
+package filip.custom.data_structs.trees.stats;
+
+/**
+ * Management interface of the {@link TreeStatistics}, through which they are exposed over JMX
+ * (see {@link TreeStatistics#register(String)}).
+ * 
+ * @author fiilip
+ *
+ */
+public interface TreeStatisticsMXBean {
+	
+	/**
+	 * Gets the statistics of the lookups.
+	 * 
+	 * @return Statistics of the lookups.
+	 */
+	OperationStatistics getLookups();
+	
+	/**
+	 * Gets the statistics of the insertions.
+	 * 
+	 * @return Statistics of the insertions.
+	 */
+	OperationStatistics getInsertions();
+	
+	/**
+	 * Gets the statistics of the removals.
+	 * 
+	 * @return Statistics of the removals.
+	 */
+	OperationStatistics getRemovals();
+	
+	/**
+	 * Resets all the statistics to zero.
+	 */
+	void reset();
+}
@@ -0,0 +1,236 @@
+package filip.custom.data_structs.trees.binary;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Random;
+import java.util.TreeMap;
+
+import org.junit.Test;
+
+import filip.custom.data_structs.trees.SearchTree;
+import filip.custom.data_structs.trees.binary.red_black.RedBlackTree;
+
+/**
+ * Tests of the {@link BSTIntervalView}, which must hold the same entries as the view of a {@link TreeMap}
+ * of the same interval, however the viewed tree changes, and whichever of the two is changed.
+ *
+ * @author fiilip
+ *
+ */
+public class BSTIntervalViewTest {
+
+	/**
+	 * Keys of the trees are in <code>[0, KEYS)</code>.
+	 */
+	private static final int KEYS = 200;
+
+	/**
+	 * A view follows the changes of the viewed tree, and the viewed tree follows the changes made through the view.
+	 */
+	@Test
+	public void viewsAreLive() {
+		assertLive(new BinarySearchTree<>(), new TreeMap<>());
+		assertLive(new RedBlackTree<>(), new TreeMap<>());
+		assertLive(new RedBlackTree<>(Comparator.<Integer> reverseOrder()), new TreeMap<>(Comparator.reverseOrder()));
+	}
+
+	private static void assertLive(AbstractBST<Integer, String> tree, NavigableMap<Integer, String> expected) {
+		Random random = new Random(3);
+		SearchTree<Integer, String> view = tree.getInterval(50, 150);
+		SearchTree<Integer, String> below = tree.getLessThan(50);
+		SearchTree<Integer, String> above = tree.getGreaterThan(150);
+		assertTrue(view.isEmpty());
+
+		for (int i = 0; i < 5000; i ++) {
+			Integer key = random.nextInt(KEYS);
+			int operation = random.nextInt(10);
+
+			if (operation < 4) {
+				if (tree.insert(key, "v" + i)) expected.put(key, "v" + i);
+			} else if (operation < 6) {
+				assertEquals(expected.remove(key), tree.remove(key));
+			} else if (operation < 8) {
+				// through the view, inside of the interval only
+				if (inside(expected, key, 50, 150)) {
+					if (view.insert(key, "w" + i)) expected.put(key, "w" + i);
+				} else {
+					assertEquals(null, view.remove(key));
+				}
+			} else {
+				assertEquals(inside(expected, key, 50, 150) ? expected.remove(key) : null, view.remove(key));
+			}
+
+			if (i % 100 == 0) {
+				assertView(subMap(expected, 50, 150), view);
+				assertView(subMap(expected, null, 50), below);
+				assertView(subMap(expected, 150, null), above);
+				assertEntries(expected, tree);
+			}
+		}
+	}
+
+	/**
+	 * A view of a view holds the entries within both of their intervals.
+	 */
+	@Test
+	public void viewsNarrow() {
+		for (Comparator<Integer> comparator : Arrays.asList(null, Comparator.<Integer> reverseOrder())) {
+			RedBlackTree<Integer, String> tree = new RedBlackTree<>(comparator);
+			NavigableMap<Integer, String> expected = new TreeMap<>(comparator);
+			for (int key = 0; key < KEYS; key += 3) {
+				tree.insert(key, "v" + key);
+				expected.put(key, "v" + key);
+			}
+
+			Random random = new Random(7);
+			for (int i = 0; i < 200; i ++) {
+				Integer low = random.nextInt(5) == 0 ? null : random.nextInt(KEYS + 20) - 10;
+				Integer high = random.nextInt(5) == 0 ? null : random.nextInt(KEYS + 20) - 10;
+				Integer narrowLow = random.nextInt(5) == 0 ? null : random.nextInt(KEYS + 20) - 10;
+				Integer narrowHigh = random.nextInt(5) == 0 ? null : random.nextInt(KEYS + 20) - 10;
+
+				SearchTree<Integer, String> view = tree.getInterval(low, high);
+				NavigableMap<Integer, String> outer = subMap(expected, low, high);
+				assertView(outer, view);
+
+				NavigableMap<Integer, String> inner = new TreeMap<>(comparator);
+				outer.forEach((key, value) -> {
+					if (inside(expected, key, narrowLow, narrowHigh)) inner.put(key, value);
+				});
+				assertView(inner, view.getInterval(narrowLow, narrowHigh));
+				assertView(subMap(inner, null, null), view.getInterval(narrowLow, narrowHigh).getInterval(null, null));
+
+				NavigableMap<Integer, String> greater = new TreeMap<>(comparator);
+				NavigableMap<Integer, String> less = new TreeMap<>(comparator);
+				outer.forEach((key, value) -> {
+					if (inside(expected, key, narrowLow, null)) greater.put(key, value);
+					if (inside(expected, key, null, narrowHigh)) less.put(key, value);
+				});
+				assertView(greater, view.getGreaterThan(narrowLow));
+				assertView(less, view.getLessThan(narrowHigh));
+			}
+		}
+	}
+
+	/**
+	 * The keys out of the interval can't be inserted through a view, and are never found through it.
+	 */
+	@Test
+	public void keysOutOfTheInterval() {
+		RedBlackTree<Integer, String> tree = new RedBlackTree<>();
+		for (int key = 0; key < 20; key ++) {
+			tree.insert(key, "v" + key);
+		}
+		SearchTree<Integer, String> view = tree.getInterval(5, 10);
+
+		for (int key : new int[] { -1, 0, 5, 10, 15, 25 }) {
+			try {
+				view.insert(key, "other");
+				fail("Key " + key + " was inserted out of the interval.");
+			} catch (IllegalArgumentException e) {
+			}
+			assertNull(view.get(key));
+			assertFalse(view.contains(key));
+			assertNull(view.remove(key));
+		}
+		try {
+			view.insert(null, "null");
+			fail("A null key was inserted.");
+		} catch (IllegalArgumentException e) {
+		}
+		try {
+			view.get(null);
+			fail("A null key was looked up.");
+		} catch (IllegalArgumentException e) {
+		}
+
+		// nothing of the tree changed
+		assertEquals(20, tree.size());
+		for (int key = 0; key < 20; key ++) {
+			assertEquals("v" + key, tree.get(key));
+		}
+		assertEquals(4, view.size());
+		assertEquals("[(6, v6), (7, v7), (8, v8), (9, v9)]", view.toString());
+
+		// a narrowed view is still bounded by the outer interval
+		try {
+			view.getGreaterThan(2).insert(3, "other");
+			fail("A key below the outer interval was inserted.");
+		} catch (IllegalArgumentException e) {
+		}
+		assertTrue(view.getInterval(7, 7).isEmpty());
+		assertTrue(view.getInterval(9, 6).isEmpty());
+		assertTrue(tree.getInterval(19, null).isEmpty());
+		assertTrue(tree.getInterval(null, 0).isEmpty());
+
+		view.clear();
+		assertTrue(view.isEmpty());
+		assertEquals(16, tree.size());
+		assertEquals("v5", tree.get(5));
+		assertEquals("v10", tree.get(10));
+		assertTrue(view.insert(7, "again"));
+		assertEquals("again", tree.get(7));
+		assertFalse(view.isEmpty());
+	}
+
+	/**
+	 * Asserts that a given view holds the <code>expected</code> entries.
+	 */
+	private static void assertView(NavigableMap<Integer, String> expected, SearchTree<Integer, String> view) {
+		assertEquals(expected.isEmpty(), view.isEmpty());
+		assertEntries(expected, view);
+
+		for (Map.Entry<Integer, String> entry : expected.entrySet()) {
+			assertTrue(view.contains(entry.getKey()));
+			assertEquals(entry.getValue(), view.get(entry.getKey()));
+		}
+	}
+
+	/**
+	 * Gets the entries of a map with keys greater than <code>low</code> and less than <code>high</code>,
+	 * in the order of the map, where a <code>null</code> bound, or an empty interval, are allowed.
+	 */
+	private static NavigableMap<Integer, String> subMap(NavigableMap<Integer, String> map, Integer low, Integer high) {
+		NavigableMap<Integer, String> entries = new TreeMap<>(map.comparator());
+		map.forEach((key, value) -> {
+			if (inside(map, key, low, high)) entries.put(key, value);
+		});
+		return entries;
+	}
+
+	/**
+	 * Checks whether a given <code>key</code> is greater than <code>low</code>, and less than <code>high</code>,
+	 * in the order of a given map.
+	 */
+	private static boolean inside(NavigableMap<Integer, String> map, Integer key, Integer low, Integer high) {
+		@SuppressWarnings("unchecked")
+		Comparator<Integer> comparator = map.comparator() == null ? Comparator.naturalOrder() : (Comparator<Integer>) map.comparator();
+		return (low == null || comparator.compare(key, low) > 0) && (high == null || comparator.compare(key, high) < 0);
+	}
+
+	/**
+	 * Asserts that a given <code>tree</code> holds the <code>expected</code> entries, iterated over in the same order.
+	 */
+	private static void assertEntries(Map<Integer, String> expected, SearchTree<Integer, String> tree) {
+		assertEquals("size", expected.size(), tree.size());
+
+		Iterator<SearchTree.Entry<Integer, String>> actual = tree.iterator();
+		for (Map.Entry<Integer, String> entry : expected.entrySet()) {
+			assertTrue("Missing entry " + entry, actual.hasNext());
+
+			SearchTree.Entry<Integer, String> next = actual.next();
+			assertEquals(entry.getKey(), next.getKey());
+			assertEquals(entry.getValue(), next.getValue());
+		}
+		assertFalse("Extra entries.", actual.hasNext());
+	}
+}
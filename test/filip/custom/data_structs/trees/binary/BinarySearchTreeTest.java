@@ -0,0 +1,125 @@
+package filip.custom.data_structs.trees.binary;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Random;
+import java.util.TreeMap;
+
+import org.junit.Test;
+
+import filip.custom.data_structs.trees.SearchTree;
+
+/**
+ * Tests of the removal from a {@link BinarySearchTree}, which goes through the
+ * {@link filip.custom.data_structs.trees.binary.oper.remove.BSTRecRemoval}, also from the degenerate trees
+ * the benchmarks build.
+ *
+ * @author fiilip
+ *
+ */
+public class BinarySearchTreeTest {
+
+	@Test
+	public void removeReturnsValueAndShrinks() {
+		BinarySearchTree<Integer, String> tree = new BinarySearchTree<>();
+		int[] keys = {5, 3, 8, 1, 4, 7, 9};
+		for (int key : keys) {
+			tree.insert(key, "v" + key);
+		}
+
+		// a leaf, a node with one child, the root with two children
+		assertEquals("v1", tree.remove(1));
+		assertEquals("v3", tree.remove(3));
+		assertEquals("v5", tree.remove(5));
+
+		assertEquals(4, tree.size());
+		assertNull(tree.get(5));
+		assertEquals("v4", tree.get(4));
+		assertEquals("v7", tree.get(7));
+
+		assertNull(tree.remove(5));
+		assertEquals(4, tree.size());
+
+		for (int key : new int[] {4, 7, 8, 9}) {
+			assertEquals("v" + key, tree.remove(key));
+		}
+		assertTrue(tree.isEmpty());
+	}
+
+	/**
+	 * Random insertions and removals, checked against a {@link TreeMap}.
+	 */
+	@Test
+	public void randomOperationsMatchTreeMap() {
+		Random random = new Random(11);
+		BinarySearchTree<Integer, String> tree = new BinarySearchTree<>();
+		NavigableMap<Integer, String> expected = new TreeMap<>();
+
+		for (int i = 0; i < 20_000; i ++) {
+			Integer key = random.nextInt(500);
+
+			if (random.nextInt(3) == 0) {
+				assertEquals(expected.remove(key), tree.remove(key));
+			} else {
+				assertEquals(!expected.containsKey(key), tree.insert(key, "v" + i));
+				expected.putIfAbsent(key, "v" + i);
+			}
+			assertEquals(expected.size(), tree.size());
+
+			if (i % 1000 == 0) {
+				assertEntries(expected, tree);
+			}
+		}
+		assertEntries(expected, tree);
+	}
+
+	/**
+	 * A tree of ascending or descending keys is a linked list, which the recursive removal descends one call per key.
+	 * The benchmarks build such trees of up to 10K entries.
+	 */
+	@Test
+	public void removeFromDegenerateTree() {
+		int size = 10_000;
+		BinarySearchTree<Integer, String> ascending = new BinarySearchTree<>();
+		BinarySearchTree<Integer, String> descending = new BinarySearchTree<>();
+		for (int i = 0; i < size; i ++) {
+			ascending.insert(i, "v" + i);
+			descending.insert(size - 1 - i, "v" + (size - 1 - i));
+		}
+
+		// the deepest keys, and back
+		assertEquals("v" + (size - 1), ascending.remove(size - 1));
+		assertTrue(ascending.insert(size - 1, "w"));
+		assertEquals("v0", descending.remove(0));
+		assertTrue(descending.insert(0, "w"));
+
+		for (int i = 0; i < size; i ++) {
+			assertEquals(i == size - 1 ? "w" : "v" + i, ascending.remove(i));
+			assertEquals(i == 0 ? "w" : "v" + i, descending.remove(i));
+		}
+		assertTrue(ascending.isEmpty());
+		assertTrue(descending.isEmpty());
+	}
+
+	/**
+	 * Asserts that a given <code>tree</code> holds the <code>expected</code> entries, iterated over in the same order.
+	 */
+	private static void assertEntries(Map<Integer, String> expected, SearchTree<Integer, String> tree) {
+		Iterator<SearchTree.Entry<Integer, String>> actual = tree.iterator();
+		for (Map.Entry<Integer, String> entry : expected.entrySet()) {
+			assertTrue("Missing entry " + entry, actual.hasNext());
+
+			SearchTree.Entry<Integer, String> next = actual.next();
+			assertEquals(entry.getKey(), next.getKey());
+			assertEquals(entry.getValue(), next.getValue());
+			assertEquals(entry.getValue(), tree.get(entry.getKey()));
+		}
+		assertFalse("Extra entries.", actual.hasNext());
+	}
+}
@@ -0,0 +1,229 @@
+package filip.custom.data_structs.trees.binary.iterators;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+import filip.custom.data_structs.trees.SearchTree;
+import filip.custom.data_structs.trees.binary.AbstractBST;
+import filip.custom.data_structs.trees.binary.BinarySearchTree;
+import filip.custom.data_structs.trees.binary.eytzinger.EytzingerTree;
+import filip.custom.data_structs.trees.binary.red_black.RedBlackTree;
+import filip.custom.data_structs.trees.bplus.BPlusTree;
+
+/**
+ * Tests of the {@link BSTSpliterator}, whose splits must cover the entries of a tree exactly once, in-order,
+ * with the sizes its characteristics promise, and of the spliterators of the other trees, which must be
+ * characterized the same way.
+ *
+ * @author fiilip
+ *
+ */
+public class BSTSpliteratorTest {
+
+	private static final int[] SIZES = { 0, 1, 2, 3, 7, 8, 100, 1000, 10_000 };
+
+	private static final int CHARACTERISTICS = Spliterator.ORDERED | Spliterator.SORTED | Spliterator.DISTINCT | Spliterator.NONNULL;
+
+	/**
+	 * Splits the spliterators of the binary trees down to single entries, and checks that the splits
+	 * concatenated in-order hold every key once, and that the exact sizes are exact.
+	 */
+	@Test
+	public void splitsCoverTheTree() {
+		for (int size : SIZES) {
+			for (Comparator<Integer> comparator : Arrays.asList(null, Comparator.<Integer> reverseOrder())) {
+				List<Integer> expected = keys(size, comparator);
+
+				List<AbstractBST<Integer, String>> trees = new ArrayList<>();
+				trees.add(new RedBlackTree<>(comparator));
+				if (comparator == null) trees.add(new BinarySearchTree<>());
+
+				for (AbstractBST<Integer, String> tree : trees) {
+					fill(tree, size);
+
+					List<Integer> actual = new ArrayList<>();
+					split(tree.spliterator(), actual);
+					assertEquals(tree.getClass().getSimpleName() + " of " + size, expected, actual);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Recursively splits a given spliterator, and adds the keys of the splits to the <code>keys</code> in-order.
+	 */
+	private static void split(Spliterator<SearchTree.Entry<Integer, String>> spliterator, List<Integer> keys) {
+		boolean exact = spliterator.hasCharacteristics(Spliterator.SIZED);
+		long size = spliterator.estimateSize();
+		int before = keys.size();
+
+		Spliterator<SearchTree.Entry<Integer, String>> prefix = spliterator.trySplit();
+		if (prefix == null) {
+			spliterator.forEachRemaining(entry -> keys.add(entry.getKey()));
+		} else {
+			if (exact) {
+				assertEquals(size, prefix.estimateSize() + spliterator.estimateSize());
+			}
+			if (spliterator.hasCharacteristics(Spliterator.SUBSIZED)) {
+				assertTrue("A split of a subsized spliterator is sized.", prefix.hasCharacteristics(Spliterator.SIZED));
+			}
+			split(prefix, keys);
+			// one entry at a time after a split
+			if (spliterator.tryAdvance(entry -> keys.add(entry.getKey()))) {
+				split(spliterator, keys);
+			}
+		}
+
+		if (exact) {
+			assertEquals("Exact size of a split.", size, keys.size() - before);
+		}
+	}
+
+	@Test
+	public void characteristics() {
+		RedBlackTree<Integer, String> sized = new RedBlackTree<>();
+		BinarySearchTree<Integer, String> unsized = new BinarySearchTree<>();
+		fill(sized, 100);
+		fill(unsized, 100);
+
+		// the red-black nodes know the sizes of their subtrees, and the binary ones don't
+		Spliterator<SearchTree.Entry<Integer, String>> spliterator = sized.spliterator();
+		assertEquals(CHARACTERISTICS | Spliterator.SIZED | Spliterator.SUBSIZED, spliterator.characteristics());
+		assertEquals(100, spliterator.getExactSizeIfKnown());
+		assertEquals(CHARACTERISTICS | Spliterator.SIZED | Spliterator.SUBSIZED, spliterator.trySplit().characteristics());
+
+		spliterator = unsized.spliterator();
+		assertEquals(CHARACTERISTICS | Spliterator.SIZED, spliterator.characteristics());
+		assertEquals(100, spliterator.getExactSizeIfKnown());
+		Spliterator<SearchTree.Entry<Integer, String>> prefix = spliterator.trySplit();
+		assertEquals(CHARACTERISTICS, prefix.characteristics());
+		assertEquals(CHARACTERISTICS, spliterator.characteristics());
+		assertEquals(100, prefix.estimateSize() + spliterator.estimateSize());
+
+		// an empty tree, and a single entry, can't be split
+		assertNull(new RedBlackTree<Integer, String>().spliterator().trySplit());
+		RedBlackTree<Integer, String> single = new RedBlackTree<>();
+		single.insert(1, "v1");
+		spliterator = single.spliterator();
+		assertNull(spliterator.trySplit());
+		assertTrue(spliterator.tryAdvance(entry -> assertEquals(Integer.valueOf(1), entry.getKey())));
+		assertFalse(spliterator.tryAdvance(entry -> { }));
+		assertEquals(0, spliterator.estimateSize());
+	}
+
+	/**
+	 * Every tree reports the same characteristics, whether it splits its nodes or the batches of its entries,
+	 * and a comparator that orders the entries as the tree does.
+	 */
+	@Test
+	public void everyTreeIsSorted() {
+		for (Comparator<Integer> comparator : Arrays.asList(null, Comparator.<Integer> reverseOrder())) {
+			RedBlackTree<Integer, String> tree = new RedBlackTree<>(comparator);
+			fill(tree, 100);
+
+			List<SearchTree<Integer, String>> trees = new ArrayList<>(Arrays.asList(
+					tree, tree.getInterval(null, null), new EytzingerTree<>(tree, comparator)));
+			if (comparator == null) {
+				BPlusTree<Integer, String> bplus = new BPlusTree<>(4);
+				fill(bplus, 100);
+				trees.add(bplus);
+			}
+
+			for (SearchTree<Integer, String> each : trees) {
+				String name = each.getClass().getSimpleName();
+				Spliterator<SearchTree.Entry<Integer, String>> spliterator = each.spliterator();
+				assertEquals(name, CHARACTERISTICS, spliterator.characteristics() & CHARACTERISTICS);
+				assertTrue(name, spliterator.hasCharacteristics(Spliterator.SIZED));
+
+				List<SearchTree.Entry<Integer, String>> entries = new ArrayList<>();
+				spliterator.forEachRemaining(entries::add);
+				List<SearchTree.Entry<Integer, String>> sorted = new ArrayList<>(entries);
+				Collections.shuffle(sorted, new Random(1));
+				sorted.sort(spliterator.getComparator());
+				assertEquals(name, entries, sorted);
+				assertEquals(name, keys(100, comparator), keysOf(entries));
+			}
+		}
+	}
+
+	/**
+	 * A parallel stream collects the same keys in the same order as a sequential one, also in a pool
+	 * of more threads than there are processors.
+	 */
+	@Test
+	public void parallelStreamsKeepTheOrder() throws Exception {
+		ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			for (int size : SIZES) {
+				for (Comparator<Integer> comparator : Arrays.asList(null, Comparator.<Integer> reverseOrder())) {
+					List<SearchTree<Integer, String>> trees = new ArrayList<>();
+					trees.add(new RedBlackTree<>(comparator));
+					if (comparator == null) {
+						trees.add(new BinarySearchTree<>());
+						trees.add(new BPlusTree<>(8));
+					}
+
+					for (SearchTree<Integer, String> tree : trees) {
+						fill(tree, size);
+						List<Integer> sequential = tree.stream().map(SearchTree.Entry::getKey).collect(Collectors.toList());
+						assertEquals(keys(size, comparator), sequential);
+
+						List<Integer> parallel = pool.submit(() -> tree.parallelStream()
+								.map(SearchTree.Entry::getKey).collect(Collectors.toList())).get();
+						assertEquals(tree.getClass().getSimpleName() + " of " + size, sequential, parallel);
+						assertEquals(sequential, tree.parallelStream().map(SearchTree.Entry::getKey).collect(Collectors.toList()));
+
+						// the keys are sorted already
+						assertEquals(sequential, pool.submit(() -> tree.parallelStream()
+								.sorted(tree.spliterator().getComparator()).map(SearchTree.Entry::getKey)
+								.collect(Collectors.toList())).get());
+						assertEquals(size, tree.parallelStream().filter(entry -> entry.getValue().equals("v" + entry.getKey())).count());
+					}
+				}
+			}
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	/**
+	 * Inserts the keys from <code>0</code> to <code>size - 1</code> into a given tree, in a random order.
+	 */
+	private static void fill(SearchTree<Integer, String> tree, int size) {
+		List<Integer> keys = keys(size, null);
+		Collections.shuffle(keys, new Random(size));
+		for (Integer key : keys) {
+			tree.insert(key, "v" + key);
+		}
+	}
+
+	/**
+	 * Gets the keys from <code>0</code> to <code>size - 1</code>, in the order of a given <code>comparator</code>.
+	 */
+	private static List<Integer> keys(int size, Comparator<Integer> comparator) {
+		List<Integer> keys = new ArrayList<>();
+		for (int i = 0; i < size; i ++) {
+			keys.add(i);
+		}
+		keys.sort(comparator);
+		return keys;
+	}
+
+	private static List<Integer> keysOf(List<SearchTree.Entry<Integer, String>> entries) {
+		return entries.stream().map(SearchTree.Entry::getKey).collect(Collectors.toList());
+	}
+}
@@ -0,0 +1,250 @@
+package filip.custom.data_structs.trees.binary.red_black;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Random;
+import java.util.TreeMap;
+
+import org.junit.Test;
+
+import filip.custom.data_structs.trees.SearchTree;
+import filip.custom.data_structs.trees.binary.red_black.RedBlackInvariants.Shape;
+
+/**
+ * Behavioral tests shared by every <b>Red-Black Tree</b> of this library.<br>
+ *
+ * Besides the removals of single keys, every tree is run through a randomized sequence of operations against
+ * a {@link TreeMap} and a {@link RedBlackTree}, checking the results of every operation, and the red-black invariants
+ * (see {@link RedBlackInvariants}) along the way.
+ *
+ * @author fiilip
+ *
+ * @param <T> Type of the tree being tested.
+ */
+public abstract class AbstractRedBlackTreeTest<T extends SearchTree<Integer, String>> {
+
+	/**
+	 * Number of operations of a randomized run.
+	 */
+	private static final int OPERATIONS = 20_000;
+
+	/**
+	 * Keys of a randomized run are in <code>[0, KEYS)</code>, so that the inserted keys are often removed again.
+	 */
+	private static final int KEYS = 500;
+
+	/**
+	 * Creates a new, empty tree.
+	 *
+	 * @return New tree.
+	 */
+	protected abstract T createTree();
+
+	/**
+	 * Gets the shape of a given tree, for the checks of the red-black invariants.
+	 *
+	 * @param tree Tree of interest.
+	 * @return Shape of the tree.
+	 */
+	protected abstract Shape<?, Integer> shapeOf(T tree);
+
+	/**
+	 * Asserts that a given tree is a valid red-black tree.
+	 *
+	 * @param tree Tree of interest.
+	 */
+	protected void assertRedBlack(T tree) {
+		RedBlackInvariants.assertRedBlack(shapeOf(tree), tree.size());
+	}
+
+	/**
+	 * Asserts that a given tree is shaped the same as the <code>reference</code> tree, which went through
+	 * the same operations. Trees balanced by the same algorithms as the {@link RedBlackTree} must be.
+	 *
+	 * @param reference Tree of the same entries.
+	 * @param tree Tree of interest.
+	 */
+	protected void assertShapedLike(RedBlackTree<Integer, String> reference, T tree) {
+		assertEquals("depth", reference.depth(), tree.depth());
+		assertEquals("The tree and the RedBlackTree have different shapes.", reference.toString(), tree.toString());
+	}
+
+	/**
+	 * Creates a tree of the keys from <code>0</code> to <code>size - 1</code>, inserted in an ascending order.
+	 */
+	protected T treeOf(int size) {
+		T tree = createTree();
+		for (int i = 0; i < size; i ++) {
+			tree.insert(i, "v" + i);
+		}
+		return tree;
+	}
+
+	@Test
+	public void removeReturnsValueAndShrinks() {
+		T tree = treeOf(10);
+
+		assertEquals("v4", tree.remove(4));
+		assertEquals(9, tree.size());
+		assertNull(tree.get(4));
+		assertFalse(tree.contains(4));
+		assertEquals("v5", tree.get(5));
+		assertRedBlack(tree);
+	}
+
+	@Test
+	public void removeMissingKey() {
+		T tree = treeOf(10);
+
+		assertNull(tree.remove(42));
+		assertEquals(10, tree.size());
+		assertRedBlack(tree);
+	}
+
+	@Test
+	public void removeOnlyEntry() {
+		T tree = treeOf(1);
+
+		assertEquals("v0", tree.remove(0));
+		assertTrue(tree.isEmpty());
+		assertEquals(0, tree.size());
+		assertRedBlack(tree);
+	}
+
+	@Test
+	public void removeRootRepeatedly() {
+		T tree = treeOf(64);
+
+		for (int size = 64; size > 0; size --) {
+			Integer key = rootKey(shapeOf(tree));
+
+			assertEquals("v" + key, tree.remove(key));
+			assertEquals(size - 1, tree.size());
+			assertNull(tree.get(key));
+			assertRedBlack(tree);
+		}
+		assertTrue(tree.isEmpty());
+	}
+
+	private static <N> Integer rootKey(Shape<N, Integer> shape) {
+		return shape.key(shape.root());
+	}
+
+	@Test
+	public void removeInRandomOrder() {
+		T tree = treeOf(1000);
+
+		List<Integer> keys = new ArrayList<>();
+		for (int i = 0; i < 1000; i ++) {
+			keys.add(i);
+		}
+		Collections.shuffle(keys, new Random(42));
+
+		for (int i = 0; i < keys.size(); i ++) {
+			Integer key = keys.get(i);
+
+			assertEquals("v" + key, tree.remove(key));
+			assertEquals(keys.size() - i - 1, tree.size());
+			assertNull(tree.get(key));
+			if (i % 50 == 0) assertRedBlack(tree);
+		}
+		assertTrue(tree.isEmpty());
+	}
+
+	@Test
+	public void randomOperationsMatchTreeMapAndRedBlackTree() {
+		for (long seed = 1; seed <= 5; seed ++) {
+			runRandomOperations(new Random(seed));
+		}
+	}
+
+	/**
+	 * Runs random insertions, removals and lookups on a new tree, a {@link TreeMap} and a {@link RedBlackTree}.
+	 */
+	private void runRandomOperations(Random random) {
+		T tree = createTree();
+		NavigableMap<Integer, String> expected = new TreeMap<>();
+		RedBlackTree<Integer, String> reference = new RedBlackTree<>();
+
+		for (int i = 0; i < OPERATIONS; i ++) {
+			Integer key = random.nextInt(KEYS);
+			int operation = random.nextInt(10);
+
+			if (operation < 5) {
+				String value = "v" + i;
+				boolean inserted = !expected.containsKey(key);
+				if (inserted) expected.put(key, value);
+
+				assertEquals("insert " + key, inserted, tree.insert(key, value));
+				assertEquals("insert " + key, inserted, reference.insert(key, value));
+			} else if (operation < 8) {
+				String removed = expected.remove(key);
+
+				assertEquals("remove " + key, removed, tree.remove(key));
+				assertEquals("remove " + key, removed, reference.remove(key));
+			} else {
+				assertEquals("get " + key, expected.get(key), tree.get(key));
+				assertEquals("contains " + key, expected.containsKey(key), tree.contains(key));
+			}
+
+			assertEquals(expected.size(), tree.size());
+			assertEquals(expected.isEmpty(), tree.isEmpty());
+
+			if (i % 1000 == 0) {
+				assertRedBlack(tree);
+				assertEntries(expected, tree);
+				assertShapedLike(reference, tree);
+				assertIntervals(random, expected, tree);
+			}
+		}
+
+		assertRedBlack(tree);
+		assertEntries(expected, tree);
+		assertShapedLike(reference, tree);
+
+		tree.clear();
+		assertTrue(tree.isEmpty());
+		assertEquals(0, tree.size());
+		assertRedBlack(tree);
+	}
+
+	/**
+	 * Checks <code>getInterval</code>, <code>getLessThan</code> and <code>getGreaterThan</code> for a few random bounds.
+	 */
+	private void assertIntervals(Random random, NavigableMap<Integer, String> expected, T tree) {
+		for (int i = 0; i < 5; i ++) {
+			int low = random.nextInt(KEYS);
+			int high = low + random.nextInt(KEYS / 4);
+
+			assertEntries(expected.subMap(low, false, high, false), tree.getInterval(low, high));
+			assertEntries(expected.headMap(high, false), tree.getLessThan(high));
+			assertEntries(expected.tailMap(low, false), tree.getGreaterThan(low));
+		}
+	}
+
+	/**
+	 * Asserts that a given <code>tree</code> holds the <code>expected</code> entries, iterated over in the same order.
+	 */
+	protected static void assertEntries(Map<Integer, String> expected, SearchTree<Integer, String> tree) {
+		assertEquals("size", expected.size(), tree.size());
+
+		Iterator<SearchTree.Entry<Integer, String>> actual = tree.iterator();
+		for (Map.Entry<Integer, String> entry : expected.entrySet()) {
+			assertTrue("Missing entry " + entry, actual.hasNext());
+
+			SearchTree.Entry<Integer, String> next = actual.next();
+			assertEquals(entry.getKey(), next.getKey());
+			assertEquals(entry.getValue(), next.getValue());
+		}
+		assertFalse("Extra entries.", actual.hasNext());
+	}
+}
@@ -0,0 +1,374 @@
+package filip.custom.data_structs.trees.binary.red_black;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.Test;
+
+import filip.custom.data_structs.trees.SearchTree;
+import filip.custom.data_structs.trees.binary.BSTNode;
+import filip.custom.data_structs.trees.binary.red_black.RedBlackInvariants.Shape;
+
+/**
+ * Tests of the {@link ConcurrentRedBlackTree}, which must behave as the {@link RedBlackTree} it wraps when used
+ * by a single thread, and whose readers must never see a write half-done when racing the writers.
+ *
+ * @author fiilip
+ *
+ */
+public class ConcurrentRedBlackTreeTest extends AbstractRedBlackTreeTest<ConcurrentRedBlackTree<Integer, String>> {
+
+	@Override
+	protected ConcurrentRedBlackTree<Integer, String> createTree() {
+		return new ConcurrentRedBlackTree<>();
+	}
+
+	@Override
+	protected Shape<?, Integer> shapeOf(ConcurrentRedBlackTree<Integer, String> tree) {
+		return RedBlackInvariants.of(tree.tree());
+	}
+
+	/**
+	 * Also checks the subtree sizes kept in the nodes.
+	 */
+	@Override
+	protected void assertRedBlack(ConcurrentRedBlackTree<Integer, String> tree) {
+		RedBlackInvariants.assertRedBlack(tree.tree());
+	}
+
+	/**
+	 * The iterators and the intervals are snapshots, which the later writes don't change.
+	 */
+	@Test
+	public void snapshotsStayTheSame() {
+		ConcurrentRedBlackTree<Integer, String> tree = treeOf(100);
+		TreeMap<Integer, String> expected = new TreeMap<>();
+		for (int i = 0; i < 100; i ++) {
+			expected.put(i, "v" + i);
+		}
+
+		Iterator<SearchTree.Entry<Integer, String>> iterator = tree.iterator();
+		SearchTree<Integer, String> interval = tree.getInterval(9, 20);
+
+		for (int i = 0; i < 100; i += 2) {
+			tree.remove(i);
+		}
+		tree.insert(1000, "v1000");
+
+		for (Map.Entry<Integer, String> entry : expected.entrySet()) {
+			SearchTree.Entry<Integer, String> next = iterator.next();
+			assertEquals(entry.getKey(), next.getKey());
+			assertEquals(entry.getValue(), next.getValue());
+		}
+		assertFalse(iterator.hasNext());
+		assertEntries(expected.subMap(9, false, 20, false), interval);
+
+		try {
+			tree.iterator().next().setValue("other");
+			fail("A snapshot entry was changed.");
+		} catch (UnsupportedOperationException e) {
+		}
+		assertEquals("v1", tree.get(1));
+	}
+
+	@Test
+	public void nullKeys() {
+		ConcurrentRedBlackTree<Integer, String> tree = treeOf(10);
+
+		try {
+			tree.get(null);
+			fail("A null key was looked up.");
+		} catch (IllegalArgumentException expected) {
+		}
+		try {
+			tree.insert(null, "v");
+			fail("A null key was inserted.");
+		} catch (IllegalArgumentException expected) {
+		}
+		assertNull(tree.get(10));
+		assertEquals(10, tree.size());
+	}
+
+	/**
+	 * A lookup and a snapshot that start optimistically, and walk the tree while a write has it torn apart,
+	 * must see the conflict and read the tree again under the lock, once the write is done.
+	 */
+	@Test(timeout = 10_000)
+	public void tornTreeIsReadAgain() throws Exception {
+		TearingTree backing = new TearingTree();
+		for (int i = 0; i < 100; i ++) {
+			backing.insert(i, "v" + i);
+		}
+		ConcurrentRedBlackTree<Integer, String> tree = new ConcurrentRedBlackTree<>(backing);
+
+		assertEquals("v0", whileTorn(backing, tree, () -> tree.get(0)));
+		assertEquals(Integer.valueOf(100), whileTorn(backing, tree, () -> tree.getInterval(-1, 1000).size()));
+	}
+
+	/**
+	 * Runs a given <code>read</code> of a tree, which a write tears apart just after the read starts.
+	 */
+	private static <R> R whileTorn(TearingTree backing, ConcurrentRedBlackTree<Integer, String> tree, Callable<R> read)
+			throws Exception {
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			backing.reading = new CountDownLatch(1);
+			backing.torn = new CountDownLatch(1);
+			backing.armed.set(true);
+
+			Future<R> result = executor.submit(read);
+			backing.reading.await();
+			tree.insert(1000 + backing.size(), "torn");
+
+			return result.get();
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * A tree whose insertions detach the left subtree of the root for a while, as a rotation in progress could,
+	 * once the first read after arming this tree is under way.
+	 *
+	 * @author fiilip
+	 *
+	 */
+	private static class TearingTree extends RedBlackTree<Integer, String> {
+
+		private final AtomicBoolean armed = new AtomicBoolean();
+
+		private volatile CountDownLatch reading;
+
+		private volatile CountDownLatch torn;
+
+		@Override
+		RBTNode<Integer, String> root() {
+			if (armed.compareAndSet(true, false)) {
+				// the read has its stamp, and waits for the write to tear the tree
+				reading.countDown();
+				awaitUninterruptibly(torn);
+			}
+			return super.root();
+		}
+
+		@Override
+		public boolean insert(Integer key, String value) {
+			if (torn == null || torn.getCount() == 0) {
+				return super.insert(key, value);
+			}
+
+			BSTNode<Integer, String> root = super.root();
+			BSTNode<Integer, String> left = root.getLeft();
+			root.setLeft(null);
+			torn.countDown();
+
+			// the read walks the torn tree meanwhile, and then waits for the lock
+			try {
+				Thread.sleep(200);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+
+			root.setLeft(left);
+			return super.insert(key, value);
+		}
+
+		private static void awaitUninterruptibly(CountDownLatch latch) {
+			while (true) {
+				try {
+					latch.await();
+					return;
+				} catch (InterruptedException e) {
+				}
+			}
+		}
+	}
+
+	/**
+	 * Number of the keys that are never removed, during {@link #readersRacingWriters()}.
+	 */
+	private static final int STABLE_KEYS = 1000;
+
+	/**
+	 * Number of the keys each writer inserts and removes, during {@link #readersRacingWriters()}.
+	 */
+	private static final int KEYS_PER_WRITER = 200;
+
+	/**
+	 * Writers keep inserting and removing their own odd keys, rotating the tree all the time, while readers
+	 * look the keys up, optimistically first, and take snapshots. Every value holds its key and a version
+	 * which only grows per key, so a reader must never see a value of another key, an older value than
+	 * it already saw, a missing even key, or a snapshot out of order. At the end, the tree must hold the same
+	 * entries as a synchronized {@link TreeMap}, which the writers updated along with it.
+	 */
+	@Test
+	public void readersRacingWriters() throws Exception {
+		int writers = 2;
+		int readers = 3;
+		int operations = 100_000;
+
+		ConcurrentRedBlackTree<Integer, Long> tree = new ConcurrentRedBlackTree<>();
+		SortedMap<Integer, Long> expected = Collections.synchronizedSortedMap(new TreeMap<>());
+		for (int i = 0; i < STABLE_KEYS; i ++) {
+			tree.insert(2 * i, valueOf(2 * i, 0));
+			expected.put(2 * i, valueOf(2 * i, 0));
+		}
+
+		ExecutorService executor = Executors.newFixedThreadPool(writers + readers);
+		CountDownLatch start = new CountDownLatch(1);
+		AtomicBoolean writing = new AtomicBoolean(true);
+		List<Future<?>> writes = new ArrayList<>();
+		List<Future<?>> reads = new ArrayList<>();
+
+		try {
+			for (int w = 0; w < writers; w ++) {
+				int writer = w;
+				writes.add(executor.submit(() -> {
+					start.await();
+					Random random = new Random(writer);
+
+					for (int version = 1; version <= operations; version ++) {
+						int key = 2 * (random.nextInt(KEYS_PER_WRITER) * writers + writer) + 1;
+
+						if (random.nextBoolean()) {
+							if (tree.insert(key, valueOf(key, version))) {
+								expected.put(key, valueOf(key, version));
+							}
+						} else {
+							assertEquals(expected.remove(key), tree.remove(key));
+						}
+					}
+					return null;
+				}));
+			}
+			for (int r = 0; r < readers; r ++) {
+				int reader = r;
+				reads.add(executor.submit(() -> {
+					start.await();
+					Random random = new Random(100 + reader);
+					Map<Integer, Integer> seen = new HashMap<>();
+
+					while (writing.get()) {
+						int operation = random.nextInt(100);
+
+						if (operation < 90) {
+							int key = random.nextInt(2 * STABLE_KEYS);
+							Long value = tree.get(key);
+
+							if (key % 2 == 0) {
+								assertEquals("Stable key " + key, Long.valueOf(valueOf(key, 0)), value);
+							} else if (value != null) {
+								assertEquals("Key of the value of " + key, key, keyOf(value));
+								Integer last = seen.put(key, versionOf(value));
+								assertTrue("Older value of " + key, last == null || last <= versionOf(value));
+							}
+						} else if (operation < 95) {
+							int size = tree.size();
+							assertTrue("Size " + size, size >= STABLE_KEYS && size <= STABLE_KEYS + writers * KEYS_PER_WRITER);
+						} else {
+							int low = random.nextInt(2 * STABLE_KEYS) - 1;
+							int high = low + random.nextInt(200);
+							assertSnapshot(low, high, tree.getInterval(low, high));
+						}
+					}
+					assertSnapshot(-1, 2 * STABLE_KEYS, tree);
+					return null;
+				}));
+			}
+
+			start.countDown();
+			try {
+				for (Future<?> future : writes) {
+					future.get();
+				}
+			} finally {
+				writing.set(false);
+			}
+			for (Future<?> future : reads) {
+				future.get();
+			}
+		} finally {
+			executor.shutdownNow();
+			executor.awaitTermination(10, TimeUnit.SECONDS);
+		}
+
+		RedBlackInvariants.assertRedBlack(tree.tree());
+		assertEquals(expected.size(), tree.size());
+
+		Iterator<SearchTree.Entry<Integer, Long>> actual = tree.iterator();
+		for (Map.Entry<Integer, Long> entry : expected.entrySet()) {
+			SearchTree.Entry<Integer, Long> next = actual.next();
+			assertEquals(entry.getKey(), next.getKey());
+			assertEquals(entry.getValue(), next.getValue());
+		}
+		assertFalse(actual.hasNext());
+	}
+
+	/**
+	 * Asserts that a snapshot of the keys greater than <code>low</code> and less than <code>high</code>
+	 * is in order, holds every stable key of the interval, and only values of their own keys.
+	 */
+	private static void assertSnapshot(int low, int high, SearchTree<Integer, Long> snapshot) {
+		int previous = low;
+		int stable = 0;
+
+		for (SearchTree.Entry<Integer, Long> entry : snapshot) {
+			int key = entry.getKey();
+			assertTrue(String.format("Key %d after %d, below %d.", key, previous, high), key > previous && key < high);
+			assertEquals("Key of the value of " + key, key, keyOf(entry.getValue()));
+
+			if (key % 2 == 0) {
+				assertEquals("Stable key " + key, 0, versionOf(entry.getValue()));
+				stable ++;
+			}
+			previous = key;
+		}
+
+		int expected = 0;
+		for (int key = low + 1; key < high; key ++) {
+			if (key % 2 == 0 && key < 2 * STABLE_KEYS) expected ++;
+		}
+		assertEquals(String.format("Stable keys in (%d, %d).", low, high), expected, stable);
+		assertEquals(snapshot.size(), countOf(snapshot));
+	}
+
+	private static int countOf(SearchTree<Integer, Long> snapshot) {
+		int count = 0;
+		for (Iterator<SearchTree.Entry<Integer, Long>> it = snapshot.iterator(); it.hasNext(); it.next()) {
+			count ++;
+		}
+		return count;
+	}
+
+	private static long valueOf(int key, int version) {
+		return (long) key << 32 | version;
+	}
+
+	private static int keyOf(long value) {
+		return (int) (value >>> 32);
+	}
+
+	private static int versionOf(long value) {
+		return (int) value;
+	}
+}
@@ -0,0 +1,239 @@
+package filip.custom.data_structs.trees.binary.red_black;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.TreeMap;
+
+import org.junit.Test;
+
+import filip.custom.data_structs.trees.SearchTree;
+
+/**
+ * Tests of the {@link RBTCursor}, whose seeks and moves must find the same keys as the navigation methods
+ * of a {@link TreeMap}, also after other entries of the tree are removed.
+ *
+ * @author fiilip
+ *
+ */
+public class RBTCursorTest {
+
+	/**
+	 * Seeks to the keys of a tree, to the missing keys between them, and to the keys below and above all of them.
+	 */
+	@Test
+	public void seek() {
+		assertSeeks(null);
+		assertSeeks(Comparator.reverseOrder());
+	}
+
+	private static void assertSeeks(Comparator<Integer> comparator) {
+		NavigableMap<Integer, String> expected = new TreeMap<>(comparator);
+		RedBlackTree<Integer, String> tree = shuffledTree(comparator, expected, 100);
+		RBTCursor<Integer, String> cursor = tree.cursor();
+
+		// even keys from 0 to 198, so every odd key is missing
+		for (int key = -5; key <= 205; key ++) {
+			assertPosition(expected.ceilingKey(key), cursor.seek(key), cursor);
+			assertPosition(expected.ceilingKey(key), cursor.seek(key, true), cursor);
+			assertPosition(expected.higherKey(key), cursor.seek(key, false), cursor);
+
+			if (cursor.seek(key)) {
+				assertEquals("v" + cursor.getKey(), cursor.getValue());
+				assertPosition(expected.lowerKey(cursor.getKey()), cursor.prev(), cursor);
+			}
+			if (cursor.seek(key, false)) {
+				assertPosition(expected.higherKey(cursor.getKey()), cursor.next(), cursor);
+			}
+		}
+
+		try {
+			cursor.seek(null);
+			fail("A cursor was positioned at a null key.");
+		} catch (IllegalArgumentException e) {
+		}
+	}
+
+	/**
+	 * Walks the whole tree in both directions, and past both ends.
+	 */
+	@Test
+	public void walkAcrossBothEnds() {
+		NavigableMap<Integer, String> expected = new TreeMap<>();
+		RedBlackTree<Integer, String> tree = shuffledTree(null, expected, 300);
+		RBTCursor<Integer, String> cursor = tree.cursor();
+		assertFalse(cursor.isValid());
+		assertInvalid(cursor);
+
+		List<Integer> keys = new ArrayList<>();
+		for (boolean valid = cursor.first(); valid; valid = cursor.next()) {
+			keys.add(cursor.getKey());
+		}
+		assertEquals(new ArrayList<>(expected.keySet()), keys);
+		assertInvalid(cursor);
+
+		keys.clear();
+		for (boolean valid = cursor.last(); valid; valid = cursor.prev()) {
+			keys.add(cursor.getKey());
+		}
+		assertEquals(new ArrayList<>(expected.descendingKeySet()), keys);
+		assertInvalid(cursor);
+
+		// back and forth at both ends
+		assertTrue(cursor.first());
+		assertFalse(cursor.prev());
+		assertTrue(cursor.last());
+		assertTrue(cursor.prev());
+		assertTrue(cursor.next());
+		assertEquals(expected.lastKey(), cursor.getKey());
+		assertFalse(cursor.next());
+
+		RBTCursor<Integer, String> empty = new RedBlackTree<Integer, String>().cursor();
+		assertFalse(empty.first());
+		assertFalse(empty.last());
+		assertFalse(empty.seek(0));
+		assertFalse(empty.iterator().hasNext());
+	}
+
+	/**
+	 * A cursor positioned at an entry stays at it, and keeps moving correctly, while the other entries are removed
+	 * and the tree rotates around it.
+	 */
+	@Test
+	public void cursorsAfterRemovals() {
+		Random random = new Random(5);
+		NavigableMap<Integer, String> expected = new TreeMap<>();
+		RedBlackTree<Integer, String> tree = shuffledTree(null, expected, 1000);
+
+		List<RBTCursor<Integer, String>> cursors = new ArrayList<>();
+		for (int key = 0; key < 2000; key += 50) {
+			RBTCursor<Integer, String> cursor = tree.cursor();
+			assertTrue(cursor.seek(key));
+			cursors.add(cursor);
+		}
+
+		List<Integer> removable = new ArrayList<>(expected.keySet());
+		removable.removeIf(key -> key % 50 == 0);
+		Collections.shuffle(removable, random);
+
+		for (int i = 0; i < removable.size(); i ++) {
+			Integer key = removable.get(i);
+			assertEquals(expected.remove(key), tree.remove(key));
+			if (i % 50 != 0) continue;
+
+			for (int c = 0; c < cursors.size(); c ++) {
+				RBTCursor<Integer, String> cursor = cursors.get(c);
+				Integer at = cursor.getKey();
+				assertEquals(Integer.valueOf(50 * c), at);
+				assertEquals("v" + at, cursor.getValue());
+				assertEntries(expected.tailMap(at, true), cursor.iterator());
+
+				assertPosition(expected.higherKey(at), cursor.next(), cursor);
+				assertTrue(cursor.seek(at));
+				assertPosition(expected.lowerKey(at), cursor.prev(), cursor);
+				assertTrue(cursor.seek(at));
+			}
+		}
+
+		// a cursor at a removed entry is positioned again by a seek
+		RBTCursor<Integer, String> cursor = cursors.get(3);
+		Integer removed = cursor.getKey();
+		tree.remove(removed);
+		expected.remove(removed);
+		assertPosition(expected.ceilingKey(removed), cursor.seek(removed), cursor);
+	}
+
+	@Test
+	public void setValueThroughCursor() {
+		NavigableMap<Integer, String> expected = new TreeMap<>();
+		RedBlackTree<Integer, String> tree = shuffledTree(null, expected, 10);
+		RBTCursor<Integer, String> cursor = tree.cursor();
+
+		assertTrue(cursor.seek(7));
+		cursor.setValue("changed");
+		assertEquals("changed", tree.get(8));
+
+		cursor.last();
+		cursor.next();
+		try {
+			cursor.setValue("v");
+			fail("An invalid cursor changed a value.");
+		} catch (NoSuchElementException e) {
+		}
+	}
+
+	/**
+	 * Creates a tree of the even keys from <code>0</code> to <code>2 * (size - 1)</code>, inserted in a random order.
+	 */
+	private static RedBlackTree<Integer, String> shuffledTree(Comparator<Integer> comparator, Map<Integer, String> expected, int size) {
+		List<Integer> keys = new ArrayList<>();
+		for (int i = 0; i < size; i ++) {
+			keys.add(2 * i);
+		}
+		Collections.shuffle(keys, new Random(size));
+
+		RedBlackTree<Integer, String> tree = new RedBlackTree<>(comparator);
+		for (Integer key : keys) {
+			tree.insert(key, "v" + key);
+			expected.put(key, "v" + key);
+		}
+		return tree;
+	}
+
+	/**
+	 * Asserts that a cursor is positioned at the <code>expected</code> key, or is invalid if the key is <code>null</code>,
+	 * as the last move of the cursor reported.
+	 */
+	private static void assertPosition(Integer expected, boolean valid, RBTCursor<Integer, String> cursor) {
+		assertEquals(expected != null, valid);
+		assertEquals(valid, cursor.isValid());
+
+		if (expected == null) {
+			assertInvalid(cursor);
+		} else {
+			assertEquals(expected, cursor.getKey());
+		}
+	}
+
+	private static void assertInvalid(RBTCursor<Integer, String> cursor) {
+		assertFalse(cursor.iterator().hasNext());
+		assertEquals("(invalid)", cursor.toString());
+		try {
+			cursor.getKey();
+			fail("An invalid cursor has a key.");
+		} catch (NoSuchElementException e) {
+		}
+		try {
+			cursor.next();
+			fail("An invalid cursor moved.");
+		} catch (NoSuchElementException e) {
+		}
+		try {
+			cursor.prev();
+			fail("An invalid cursor moved.");
+		} catch (NoSuchElementException e) {
+		}
+	}
+
+	private static void assertEntries(Map<Integer, String> expected, Iterator<SearchTree.Entry<Integer, String>> actual) {
+		for (Map.Entry<Integer, String> entry : expected.entrySet()) {
+			assertTrue("Missing entry " + entry, actual.hasNext());
+
+			SearchTree.Entry<Integer, String> next = actual.next();
+			assertEquals(entry.getKey(), next.getKey());
+			assertEquals(entry.getValue(), next.getValue());
+		}
+		assertFalse("Extra entries.", actual.hasNext());
+	}
+}
@@ -0,0 +1,205 @@
+package filip.custom.data_structs.trees.binary.red_black;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * A class that checks the invariants of a <b>Red-Black Tree</b>, whatever the nodes of the tree are.<br>
+ *
+ * Every red-black tree of this library stores it's nodes differently (as objects, as slots of arrays, or off the heap),
+ * so it's checked through a {@link Shape}, which tells the links, the colors and the keys of it's nodes.
+ *
+ * @author fiilip
+ *
+ */
+public final class RedBlackInvariants {
+
+	/**
+	 * Links, colors and keys of the nodes of a tree.
+	 *
+	 * @author fiilip
+	 *
+	 * @param <N> Type of the nodes, compared by <code>equals</code>, where <code>null</code> stands for no node.
+	 * @param <K> Type of the keys.
+	 */
+	public static interface Shape<N, K extends Comparable<K>> {
+
+		N root();
+
+		N left(N node);
+
+		N right(N node);
+
+		/**
+		 * Informs whether or not the nodes link to their parents, and so whether or not the parent links are checked.
+		 */
+		default boolean hasParents() {
+			return true;
+		}
+
+		/**
+		 * Gets the parent of a given node, which is never asked for if the nodes don't link to their parents.
+		 */
+		default N parent(N node) {
+			throw new UnsupportedOperationException("The nodes don't link to their parents.");
+		}
+
+		boolean isRed(N node);
+
+		K key(N node);
+	}
+
+	private RedBlackInvariants() {
+	}
+
+	/**
+	 * Asserts that a tree of a given <code>shape</code> is a valid red-black tree of a given <code>size</code>:
+	 * <ul>
+	 * <li>the keys are strictly ascending in-order,</li>
+	 * <li>every child links back to it's parent, and the root has no parent, if the nodes link to their parents,</li>
+	 * <li>the root is black, and no red node has a red child,</li>
+	 * <li>every path from a node down to a missing child has the same number of black nodes.</li>
+	 * </ul>
+	 *
+	 * @param shape Shape of the tree.
+	 * @param size Expected number of nodes.
+	 */
+	public static <N, K extends Comparable<K>> void assertRedBlack(Shape<N, K> shape, int size) {
+		N root = shape.root();
+
+		if (root != null) {
+			assertFalse("The root is red.", shape.isRed(root));
+			if (shape.hasParents()) assertSame("The root has a parent.", null, shape.parent(root));
+		}
+
+		int[] count = new int[1];
+		blackHeight(shape, root, null, null, count);
+		assertEquals("Number of nodes.", size, count[0]);
+	}
+
+	/**
+	 * Asserts that the trees of the given shapes are shaped the same: their nodes hold the same keys,
+	 * are of the same colors, and are linked the same way.
+	 *
+	 * @param expected Shape of the expected tree.
+	 * @param actual Shape of the actual tree.
+	 */
+	public static <A, B, K extends Comparable<K>> void assertSameShape(Shape<A, K> expected, Shape<B, K> actual) {
+		assertSameShape(expected, expected.root(), actual, actual.root());
+	}
+
+	private static <A, B, K extends Comparable<K>> void assertSameShape(Shape<A, K> expected, A a, Shape<B, K> actual, B b) {
+		if (a == null || b == null) {
+			assertEquals("Missing node.", a == null ? null : expected.key(a), b == null ? null : actual.key(b));
+			return;
+		}
+
+		K key = expected.key(a);
+		assertEquals("Key of the node.", key, actual.key(b));
+		assertEquals(String.format("Color of %s.", key), expected.isRed(a), actual.isRed(b));
+
+		assertSameShape(expected, expected.left(a), actual, actual.left(b));
+		assertSameShape(expected, expected.right(a), actual, actual.right(b));
+	}
+
+	/**
+	 * Checks the subtree rooted at a given <code>node</code>, whose keys must be between <code>low</code> and <code>high</code>.
+	 *
+	 * @return Number of black nodes on every path from the <code>node</code> down to a missing child.
+	 */
+	private static <N, K extends Comparable<K>> int blackHeight(Shape<N, K> shape, N node, K low, K high, int[] count) {
+		if (node == null) return 1;
+
+		count[0] ++;
+		K key = shape.key(node);
+
+		if (low != null) assertTrue(String.format("Key %s is not greater than %s.", key, low), key.compareTo(low) > 0);
+		if (high != null) assertTrue(String.format("Key %s is not less than %s.", key, high), key.compareTo(high) < 0);
+
+		N left = shape.left(node);
+		N right = shape.right(node);
+
+		assertChild(shape, node, left);
+		assertChild(shape, node, right);
+
+		int leftHeight = blackHeight(shape, left, low, key, count);
+		int rightHeight = blackHeight(shape, right, key, high, count);
+		assertEquals(String.format("Black heights of the subtrees of %s.", key), leftHeight, rightHeight);
+
+		return leftHeight + (shape.isRed(node) ? 0 : 1);
+	}
+
+	/**
+	 * Checks the link between a given <code>node</code> and it's <code>child</code>, and their colors.
+	 */
+	private static <N, K extends Comparable<K>> void assertChild(Shape<N, K> shape, N node, N child) {
+		if (child == null) return;
+
+		K key = shape.key(node);
+		if (shape.hasParents()) {
+			assertEquals(String.format("Child of %s links to another parent.", key), node, shape.parent(child));
+		}
+		assertFalse(String.format("Red node %s has a red child.", key), shape.isRed(node) && shape.isRed(child));
+	}
+
+	/**
+	 * Creates the shape of a given {@link RedBlackTree}.
+	 *
+	 * @param tree Tree of interest.
+	 * @return Shape of the tree.
+	 */
+	public static <K extends Comparable<K>, V> Shape<RBTNode<K, V>, K> of(RedBlackTree<K, V> tree) {
+		return new Shape<RBTNode<K, V>, K>() {
+
+			@Override
+			public RBTNode<K, V> root() {
+				return tree.root();
+			}
+
+			@Override
+			public RBTNode<K, V> left(RBTNode<K, V> node) {
+				return (RBTNode<K, V>) node.getLeft();
+			}
+
+			@Override
+			public RBTNode<K, V> right(RBTNode<K, V> node) {
+				return (RBTNode<K, V>) node.getRight();
+			}
+
+			@Override
+			public RBTNode<K, V> parent(RBTNode<K, V> node) {
+				return node.getParent();
+			}
+
+			@Override
+			public boolean isRed(RBTNode<K, V> node) {
+				return node.isRed();
+			}
+
+			@Override
+			public K key(RBTNode<K, V> node) {
+				return node.getKey();
+			}
+		};
+	}
+
+	/**
+	 * Asserts that a given {@link RedBlackTree} is a valid red-black tree, whose nodes know the sizes of their subtrees.
+	 *
+	 * @param tree Tree of interest.
+	 */
+	public static <K extends Comparable<K>, V> void assertRedBlack(RedBlackTree<K, V> tree) {
+		assertRedBlack(of(tree), tree.size());
+		assertSizes(tree.root());
+	}
+
+	private static int assertSizes(RBTNode<?, ?> node) {
+		if (node == null) return 0;
+
+		int size = 1 + assertSizes((RBTNode<?, ?>) node.getLeft()) + assertSizes((RBTNode<?, ?>) node.getRight());
+		assertEquals(String.format("Size of the subtree of %s.", node.getKey()), size, node.getSize());
+		return size;
+	}
+}
@@ -0,0 +1,188 @@
+package filip.custom.data_structs.trees.binary.red_black;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.Random;
+import java.util.TreeMap;
+
+import org.junit.Test;
+
+import filip.custom.data_structs.trees.SearchTree;
+import filip.custom.data_structs.trees.binary.red_black.RedBlackInvariants.Shape;
+import filip.custom.data_structs.trees.comparators.KeyComparators;
+
+/**
+ * Tests of the {@link RedBlackTree}, whose removals go through the {@link filip.custom.data_structs.trees.binary.red_black.oper.remove.RBTRemoval}
+ * and the rotations of the {@link filip.custom.data_structs.trees.binary.red_black.oper.RBTOperation}.
+ *
+ * @author fiilip
+ *
+ */
+public class RedBlackTreeTest extends AbstractRedBlackTreeTest<RedBlackTree<Integer, String>> {
+
+	@Override
+	protected RedBlackTree<Integer, String> createTree() {
+		return new RedBlackTree<>();
+	}
+
+	@Override
+	protected Shape<?, Integer> shapeOf(RedBlackTree<Integer, String> tree) {
+		return RedBlackInvariants.of(tree);
+	}
+
+	/**
+	 * Also checks the subtree sizes kept in the nodes.
+	 */
+	@Override
+	protected void assertRedBlack(RedBlackTree<Integer, String> tree) {
+		RedBlackInvariants.assertRedBlack(tree);
+	}
+
+	/**
+	 * Rotations at the root with a missing inner grandchild, which are the first rotations of a tree of three ascending
+	 * or descending keys.
+	 */
+	@Test
+	public void rotateRootWithoutInnerGrandchild() {
+		RedBlackTree<Integer, String> ascending = treeOf(3);
+		assertEquals(Integer.valueOf(1), ascending.root().getKey());
+		assertRedBlack(ascending);
+
+		RedBlackTree<Integer, String> descending = createTree();
+		for (int i = 2; i >= 0; i --) {
+			descending.insert(i, "v" + i);
+		}
+		assertEquals(Integer.valueOf(1), descending.root().getKey());
+		assertRedBlack(descending);
+	}
+
+	/**
+	 * Finger searches in trees ordered by the comparators of {@link KeyComparators}, which the finger descent compares
+	 * through their extracted keys.
+	 */
+	@Test
+	public void fingerSearchWithKeyComparators() {
+		assertFingerSearch(KeyComparators.comparingInt((Integer key) -> -key));
+		assertFingerSearch(KeyComparators.comparingLong((Integer key) -> (long) key << 32));
+		assertFingerSearch(Comparator.reverseOrder());
+	}
+
+	/**
+	 * Runs random finger-mode insertions, removals and lookups on a tree ordered by a given <code>comparator</code>,
+	 * and a {@link TreeMap} ordered by the same <code>comparator</code>.
+	 */
+	private static void assertFingerSearch(Comparator<Integer> comparator) {
+		RedBlackTree<Integer, String> tree = new RedBlackTree<>(comparator);
+		NavigableMap<Integer, String> expected = new TreeMap<>(comparator);
+		tree.setFingerSearch(true);
+
+		Random random = new Random(7);
+		for (int i = 0; i < 5_000; i ++) {
+			// mostly nearby keys, which the finger search is made for
+			Integer key = random.nextInt(4) == 0 ? random.nextInt(1000) : (i * 7) % 1000 + random.nextInt(5);
+			int operation = random.nextInt(10);
+
+			if (operation < 4) {
+				String value = "v" + i;
+				boolean inserted = !expected.containsKey(key);
+				if (inserted) expected.put(key, value);
+
+				assertEquals("insert " + key, inserted, tree.insert(key, value));
+			} else if (operation < 6) {
+				assertEquals("remove " + key, expected.remove(key), tree.remove(key));
+			} else {
+				assertEquals("get " + key, expected.get(key), tree.get(key));
+			}
+			assertEquals(expected.size(), tree.size());
+		}
+
+		assertEntries(expected, tree);
+	}
+
+	/**
+	 * Ranks, selections and counts out of the subtree sizes, checked against the sizes of the views of a {@link TreeMap},
+	 * for the keys in the tree, the missing ones, and the ones beyond either end, while the tree grows and shrinks.
+	 */
+	@Test
+	public void rankSelectAndCount() {
+		assertRankSelectAndCount(null);
+		assertRankSelectAndCount(Comparator.reverseOrder());
+	}
+
+	private static void assertRankSelectAndCount(Comparator<Integer> comparator) {
+		Random random = new Random(11);
+		RedBlackTree<Integer, String> tree = new RedBlackTree<>(comparator);
+		NavigableMap<Integer, String> expected = new TreeMap<>(comparator);
+
+		for (int i = 0; i < 3000; i ++) {
+			// even keys only, so that the odd ones are always missing
+			Integer key = 2 * random.nextInt(200);
+			if (random.nextInt(3) > 0) {
+				tree.insert(key, "v" + key);
+				expected.put(key, "v" + key);
+			} else {
+				tree.remove(key);
+				expected.remove(key);
+			}
+
+			if (i % 100 == 0) {
+				assertRanks(tree, expected);
+			}
+		}
+
+		while (!expected.isEmpty()) {
+			Integer key = expected.firstKey();
+			tree.remove(key);
+			expected.remove(key);
+			if (expected.size() % 20 == 0) assertRanks(tree, expected);
+		}
+		assertRanks(tree, expected);
+	}
+
+	private static void assertRanks(RedBlackTree<Integer, String> tree, NavigableMap<Integer, String> expected) {
+		for (int key = -3; key <= 403; key ++) {
+			assertEquals("rank " + key, expected.headMap(key, false).size(), tree.rank(key));
+		}
+
+		List<Integer> keys = new ArrayList<>(expected.keySet());
+		for (int index = 0; index < keys.size(); index ++) {
+			SearchTree.Entry<Integer, String> entry = tree.select(index);
+			assertEquals("select " + index, keys.get(index), entry.getKey());
+			assertEquals(index, tree.rank(entry.getKey()));
+		}
+		assertSelectRejected(tree, -1);
+		assertSelectRejected(tree, keys.size());
+		assertSelectRejected(tree, Integer.MAX_VALUE);
+
+		assertEquals(expected.size(), tree.countInRange(null, null));
+		for (int low = -3; low <= 403; low += 7) {
+			assertEquals("count above " + low, expected.tailMap(low, false).size(), tree.countInRange(low, null));
+			assertEquals("count below " + low, expected.headMap(low, false).size(), tree.countInRange(null, low));
+
+			for (int high = -3; high <= 403; high += 13) {
+				// an inverted interval is empty
+				int count = expected.comparator() == null ? (low < high ? expected.subMap(low, false, high, false).size() : 0)
+						: (low > high ? expected.subMap(low, false, high, false).size() : 0);
+				assertEquals(String.format("count in (%d, %d)", low, high), count, tree.countInRange(low, high));
+			}
+		}
+	}
+
+	private static void assertSelectRejected(RedBlackTree<Integer, String> tree, int index) {
+		try {
+			tree.select(index);
+			fail(String.format("Selected %d of %d entries.", index, tree.size()));
+		} catch (IndexOutOfBoundsException expected) {
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rankOfNullKey() {
+		treeOf(3).rank(null);
+	}
+}
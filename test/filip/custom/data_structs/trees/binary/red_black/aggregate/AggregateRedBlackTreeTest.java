@@ -0,0 +1,268 @@
+package filip.custom.data_structs.trees.binary.red_black.aggregate;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Random;
+import java.util.TreeMap;
+
+import org.junit.Test;
+
+import filip.custom.data_structs.trees.SearchTree;
+import filip.custom.data_structs.trees.binary.red_black.RBTNode;
+import filip.custom.data_structs.trees.binary.red_black.RedBlackInvariants;
+import filip.custom.data_structs.trees.binary.red_black.RedBlackInvariants.Shape;
+import filip.custom.data_structs.trees.binary.red_black.RedBlackTree;
+import filip.custom.data_structs.trees.comparators.KeyComparators;
+
+/**
+ * Tests of the {@link AggregateRedBlackTree}, aggregating by a concatenation of strings, which isn't commutative, so
+ * every aggregate must be combined in the order of the keys to match a linear fold of the values.
+ *
+ * @author fiilip
+ *
+ */
+public class AggregateRedBlackTreeTest {
+
+	/**
+	 * Keys of a randomized run are in <code>[0, KEYS)</code>, so that the inserted keys are often removed again.
+	 */
+	private static final int KEYS = 500;
+
+	/**
+	 * Concatenation of the values, each in brackets, so that no two folds of different values or orders are equal.
+	 */
+	private static final Aggregation<String, String> CONCATENATION = new Aggregation<>(value -> "[" + value + "]", String::concat);
+
+	@Test
+	public void rangeAggregatesMatchFold() {
+		for (long seed = 1; seed <= 3; seed ++) {
+			Random random = new Random(seed);
+			AggregateRedBlackTree<Integer, String, String> tree = new AggregateRedBlackTree<>(CONCATENATION);
+			NavigableMap<Integer, String> expected = new TreeMap<>();
+
+			for (int i = 0; i < 10_000; i ++) {
+				Integer key = random.nextInt(KEYS);
+				int operation = random.nextInt(10);
+
+				if (operation < 5) {
+					if (tree.insert(key, "v" + i)) expected.put(key, "v" + i);
+				} else if (operation < 8) {
+					assertEquals(expected.remove(key), tree.remove(key));
+				} else if (!expected.isEmpty()) {
+					setValue(tree, expected, random, "s" + i);
+				}
+
+				if (i % 250 == 0) {
+					assertAggregates(tree, expected);
+					assertRanges(random, tree, expected);
+				}
+			}
+			assertAggregates(tree, expected);
+		}
+	}
+
+	/**
+	 * Changes the value of a random entry, through the entry returned by the iterator of a given tree.
+	 */
+	private static void setValue(AggregateRedBlackTree<Integer, String, String> tree, NavigableMap<Integer, String> expected,
+			Random random, String value) {
+		int index = random.nextInt(expected.size());
+
+		Iterator<SearchTree.Entry<Integer, String>> entries = tree.iterator();
+		for (int i = 0; i < index; i ++) {
+			entries.next();
+		}
+		SearchTree.Entry<Integer, String> entry = entries.next();
+
+		entry.setValue(value);
+		expected.put(entry.getKey(), value);
+	}
+
+	@Test
+	public void boundsOutsideTheKeys() {
+		AggregateRedBlackTree<Integer, String, String> tree = new AggregateRedBlackTree<>(CONCATENATION);
+		assertNull(tree.aggregate());
+		assertNull(tree.aggregate(null, null));
+
+		for (int key = 0; key < 10; key ++) {
+			tree.insert(key, "" + key);
+		}
+
+		assertEquals("[0][1][2][3][4][5][6][7][8][9]", tree.aggregate());
+		assertEquals(tree.aggregate(), tree.aggregate(null, null));
+		assertEquals(tree.aggregate(), tree.aggregate(-1, 10));
+		assertEquals("[3][4]", tree.aggregate(2, 5));
+		assertEquals("[0][1]", tree.aggregate(null, 2));
+		assertEquals("[8][9]", tree.aggregate(7, null));
+		assertNull(tree.aggregate(2, 3));
+		assertNull(tree.aggregate(5, 2));
+		assertNull(tree.aggregate(9, null));
+		assertNull(tree.aggregate(null, 0));
+	}
+
+	/**
+	 * The aggregates are kept through the joins and the splits of aggregate trees as well.
+	 */
+	@Test
+	public void aggregatesAfterSplitAndJoin() {
+		Random random = new Random(7);
+		AggregateRedBlackTree<Integer, String, String> tree = new AggregateRedBlackTree<>(CONCATENATION);
+		NavigableMap<Integer, String> expected = new TreeMap<>();
+		for (int i = 0; i < 1000; i ++) {
+			Integer key = random.nextInt(5 * KEYS);
+			if (tree.insert(key, "v" + i)) expected.put(key, "v" + i);
+		}
+
+		RedBlackTree<Integer, String> greater = tree.split(KEYS);
+		@SuppressWarnings("unchecked")
+		AggregateRedBlackTree<Integer, String, String> split = (AggregateRedBlackTree<Integer, String, String>) greater;
+
+		assertAggregates(tree, expected.headMap(KEYS, false));
+		assertAggregates(split, expected.tailMap(KEYS, true));
+		assertRanges(random, split, new TreeMap<>(expected.tailMap(KEYS, true)));
+
+		Integer pivot = expected.ceilingKey(KEYS);
+		split.remove(pivot);
+		tree.join(pivot, "pivot", split);
+		expected.put(pivot, "pivot");
+
+		assertAggregates(tree, expected);
+		assertRanges(random, tree, expected);
+	}
+
+	/**
+	 * A tree ordered by a comparator aggregates the values in the order of the comparator, also after a split and a join,
+	 * for a reversed comparator, and a {@link KeyComparators#comparingLong} one that scrambles the keys.
+	 */
+	@Test
+	public void aggregatesInTheOrderOfTheComparator() {
+		List<Comparator<Integer>> comparators = Arrays.asList(
+				Comparator.<Integer> reverseOrder(), KeyComparators.<Integer> comparingLong(key -> key * 0x9E3779B9L & 0xFFFFFFFFL));
+
+		for (Comparator<Integer> comparator : comparators) {
+			Random random = new Random(11);
+			AggregateRedBlackTree<Integer, String, String> tree = new AggregateRedBlackTree<>(CONCATENATION, comparator);
+			NavigableMap<Integer, String> expected = new TreeMap<>(comparator);
+
+			for (int i = 0; i < 5000; i ++) {
+				Integer key = random.nextInt(KEYS);
+				if (random.nextInt(3) > 0) {
+					if (tree.insert(key, "v" + i)) expected.put(key, "v" + i);
+				} else {
+					assertEquals(expected.remove(key), tree.remove(key));
+				}
+			}
+			assertOrderedAggregates(random, tree, expected);
+
+			Integer at = expected.keySet().toArray(new Integer[0])[expected.size() / 2];
+			@SuppressWarnings("unchecked")
+			AggregateRedBlackTree<Integer, String, String> split = (AggregateRedBlackTree<Integer, String, String>) tree.split(at);
+			assertEquals(comparator, split.comparator());
+			assertOrderedAggregates(random, tree, new TreeMap<>(expected.headMap(at, false)));
+			assertOrderedAggregates(random, split, new TreeMap<>(expected.tailMap(at, true)));
+
+			split.remove(at);
+			tree.join(at, "pivot", split);
+			expected.put(at, "pivot");
+			assertOrderedAggregates(random, tree, expected);
+		}
+	}
+
+	/**
+	 * Asserts that a tree ordered by a comparator holds the <code>expected</code> entries, and aggregates them,
+	 * and the entries of random intervals, in the order of the comparator.
+	 */
+	private static void assertOrderedAggregates(Random random, AggregateRedBlackTree<Integer, String, String> tree,
+			NavigableMap<Integer, String> expected) {
+		List<String> values = new ArrayList<>();
+		tree.forEach(entry -> values.add(entry.getValue()));
+		assertEquals(new ArrayList<>(expected.values()), values);
+		assertEquals(fold(expected), tree.aggregate());
+
+		Shape<RBTNode<Integer, String>, Integer> shape = RedBlackInvariants.of(tree);
+		assertSubtree(shape, shape.root(), new StringBuilder());
+
+		for (int i = 0; i < 50; i ++) {
+			Integer low = random.nextInt(KEYS);
+			Integer high = random.nextInt(KEYS);
+			String fold = expected.comparator().compare(low, high) < 0 ? fold(expected.subMap(low, false, high, false)) : null;
+			assertEquals(String.format("Aggregate of (%s, %s).", low, high), fold, tree.aggregate(low, high));
+		}
+	}
+
+	/**
+	 * Asserts that a given tree holds the <code>expected</code> entries, is a valid red-black tree,
+	 * and that every node holds the fold of the values of its subtree.
+	 */
+	private static void assertAggregates(AggregateRedBlackTree<Integer, String, String> tree, Map<Integer, String> expected) {
+		assertEquals(expected.size(), tree.size());
+		RedBlackInvariants.assertRedBlack(tree);
+
+		List<String> values = new ArrayList<>();
+		tree.forEach(entry -> values.add(entry.getValue()));
+		assertEquals(new ArrayList<>(expected.values()), values);
+		assertEquals(fold(expected), tree.aggregate());
+
+		Shape<RBTNode<Integer, String>, Integer> shape = RedBlackInvariants.of(tree);
+		assertSubtree(shape, shape.root(), new StringBuilder());
+	}
+
+	/**
+	 * Asserts that the node of a subtree holds the fold of its values, and appends the fold to a given <code>fold</code>.
+	 */
+	private static void assertSubtree(Shape<RBTNode<Integer, String>, Integer> shape, RBTNode<Integer, String> node, StringBuilder fold) {
+		if (node == null) return;
+
+		StringBuilder subtree = new StringBuilder();
+		assertSubtree(shape, shape.left(node), subtree);
+		subtree.append(CONCATENATION.lift(node.getValue()));
+		assertSubtree(shape, shape.right(node), subtree);
+
+		@SuppressWarnings("unchecked")
+		AggregateRBTNode<Integer, String, String> aggregate = (AggregateRBTNode<Integer, String, String>) node;
+		assertEquals("Aggregate of the subtree of " + node.getKey(), subtree.toString(), aggregate.getAggregate());
+		fold.append(subtree);
+	}
+
+	/**
+	 * Checks the aggregates of random intervals, including bounds beyond the keys, and empty and inverted intervals.
+	 */
+	private static void assertRanges(Random random, AggregateRedBlackTree<Integer, String, String> tree,
+			NavigableMap<Integer, String> expected) {
+		for (int i = 0; i < 50; i ++) {
+			Integer low = random.nextInt(10) == 0 ? null : random.nextInt(KEYS * 5 + 20) - 10;
+			Integer high = random.nextInt(10) == 0 ? null : random.nextInt(KEYS * 5 + 20) - 10;
+
+			String fold;
+			if (low != null && high != null && low >= high) {
+				fold = null;
+			} else if (low == null) {
+				fold = high == null ? fold(expected) : fold(expected.headMap(high, false));
+			} else {
+				fold = high == null ? fold(expected.tailMap(low, false)) : fold(expected.subMap(low, false, high, false));
+			}
+			assertEquals(String.format("Aggregate of (%s, %s).", low, high), fold, tree.aggregate(low, high));
+		}
+	}
+
+	/**
+	 * Folds the values of a given map, in the order of their keys.
+	 *
+	 * @return Concatenation of the values, or <code>null</code> if there are none.
+	 */
+	private static String fold(Map<Integer, String> entries) {
+		String fold = null;
+		for (String value : entries.values()) {
+			fold = CONCATENATION.combine(fold, CONCATENATION.lift(value));
+		}
+		return fold;
+	}
+}
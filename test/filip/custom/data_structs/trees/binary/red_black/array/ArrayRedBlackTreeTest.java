@@ -0,0 +1,109 @@
+package filip.custom.data_structs.trees.binary.red_black.array;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import filip.custom.data_structs.trees.binary.red_black.AbstractRedBlackTreeTest;
+import filip.custom.data_structs.trees.binary.red_black.RedBlackInvariants.Shape;
+
+/**
+ * Tests of the {@link ArrayRedBlackTree}, which must behave, and be shaped, the same as the
+ * {@link filip.custom.data_structs.trees.binary.red_black.RedBlackTree}.
+ *
+ * @author fiilip
+ *
+ */
+public class ArrayRedBlackTreeTest extends AbstractRedBlackTreeTest<ArrayRedBlackTree<Integer, String>> {
+
+	@Override
+	protected ArrayRedBlackTree<Integer, String> createTree() {
+		// a small capacity, so that the arrays grow during the tests
+		return new ArrayRedBlackTree<>(4);
+	}
+
+	@Override
+	protected Shape<?, Integer> shapeOf(ArrayRedBlackTree<Integer, String> tree) {
+		return new Shape<Integer, Integer>() {
+
+			@Override
+			public Integer root() {
+				return slot(tree.rootSlot());
+			}
+
+			@Override
+			public Integer left(Integer node) {
+				return slot(tree.leftOf(node));
+			}
+
+			@Override
+			public Integer right(Integer node) {
+				return slot(tree.rightOf(node));
+			}
+
+			@Override
+			public Integer parent(Integer node) {
+				return slot(tree.parentOf(node));
+			}
+
+			@Override
+			public boolean isRed(Integer node) {
+				return tree.isRed(node);
+			}
+
+			@Override
+			public Integer key(Integer node) {
+				return tree.key(node);
+			}
+
+			/**
+			 * Slot <code>0</code> stands for no node.
+			 */
+			private Integer slot(int n) {
+				return n == 0 ? null : n;
+			}
+		};
+	}
+
+	@Test
+	public void insertsReuseRemovedSlots() {
+		ArrayRedBlackTree<Integer, String> tree = treeOf(100);
+
+		for (int i = 0; i < 100; i += 2) {
+			tree.remove(i);
+		}
+		for (int i = 100; i < 150; i ++) {
+			tree.insert(i, "v" + i);
+		}
+
+		assertEquals(100, tree.size());
+		assertRedBlack(tree);
+		// the 100 entries still fit into the slots 1 to 100
+		assertTrue(maxSlot(tree, tree.rootSlot()) <= 100);
+
+		for (int i = 1; i < 100; i += 2) {
+			assertEquals("v" + i, tree.get(i));
+		}
+		for (int i = 100; i < 150; i ++) {
+			assertEquals("v" + i, tree.get(i));
+		}
+	}
+
+	@Test
+	public void clearReusesSlots() {
+		ArrayRedBlackTree<Integer, String> tree = treeOf(50);
+		tree.clear();
+
+		for (int i = 0; i < 50; i ++) {
+			tree.insert(i, "v" + i);
+		}
+		assertRedBlack(tree);
+		assertTrue(maxSlot(tree, tree.rootSlot()) <= 50);
+	}
+
+	private static int maxSlot(ArrayRedBlackTree<Integer, String> tree, int n) {
+		if (n == 0) return 0;
+		return Math.max(n, Math.max(maxSlot(tree, tree.leftOf(n)), maxSlot(tree, tree.rightOf(n))));
+	}
+}
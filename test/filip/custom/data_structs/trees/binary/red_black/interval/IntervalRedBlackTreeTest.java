@@ -0,0 +1,241 @@
+package filip.custom.data_structs.trees.binary.red_black.interval;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.TreeMap;
+
+import org.junit.Test;
+
+import filip.custom.data_structs.trees.SearchTree;
+import filip.custom.data_structs.trees.binary.red_black.RBTNode;
+import filip.custom.data_structs.trees.binary.red_black.RedBlackInvariants;
+import filip.custom.data_structs.trees.binary.red_black.RedBlackInvariants.Shape;
+import filip.custom.data_structs.trees.binary.red_black.RedBlackTree;
+
+/**
+ * Tests of the {@link IntervalRedBlackTree}, whose overlap queries must find the same intervals, in the same order,
+ * as a scan of all the intervals, while the greatest upper ends kept in the nodes follow every change of the tree.
+ *
+ * @author fiilip
+ *
+ */
+public class IntervalRedBlackTreeTest {
+
+	/**
+	 * Ends of the intervals are in <code>[0, RANGE)</code>.
+	 */
+	private static final int RANGE = 1000;
+
+	/**
+	 * Random intervals, mostly short, and some long enough to contain many others, queried by random points and intervals,
+	 * while the tree grows, and then while it shrinks again.
+	 */
+	@Test
+	public void overlapsMatchScan() {
+		for (long seed = 1; seed <= 3; seed ++) {
+			Random random = new Random(seed);
+			IntervalRedBlackTree<Integer, String> tree = new IntervalRedBlackTree<>();
+			NavigableMap<Interval<Integer>, String> expected = new TreeMap<>();
+
+			for (int i = 0; i < 2000; i ++) {
+				Interval<Integer> interval = randomInterval(random);
+				boolean inserted = !expected.containsKey(interval);
+				if (inserted) expected.put(interval, "v" + i);
+
+				assertEquals(inserted, tree.insert(interval.getLow(), interval.getHigh(), "v" + i));
+				if (i % 100 == 0) {
+					assertTree(tree, expected);
+					assertQueries(random, tree, expected);
+				}
+			}
+
+			List<Interval<Integer>> intervals = new ArrayList<>(expected.keySet());
+			while (!intervals.isEmpty()) {
+				Interval<Integer> interval = intervals.remove(random.nextInt(intervals.size()));
+
+				assertEquals(expected.remove(interval), tree.remove(interval));
+				if (intervals.size() % 100 == 0) {
+					assertTree(tree, expected);
+					assertQueries(random, tree, expected);
+				}
+			}
+			assertFalse(tree.overlapsAny(0, RANGE));
+		}
+	}
+
+	/**
+	 * Interleaved insertions and removals, including removals of intervals that aren't in the tree.
+	 */
+	@Test
+	public void overlapsAfterMixedOperations() {
+		Random random = new Random(42);
+		IntervalRedBlackTree<Integer, String> tree = new IntervalRedBlackTree<>();
+		NavigableMap<Interval<Integer>, String> expected = new TreeMap<>();
+
+		for (int i = 0; i < 20_000; i ++) {
+			Interval<Integer> interval = randomInterval(random);
+
+			if (random.nextInt(3) > 0) {
+				if (!expected.containsKey(interval)) expected.put(interval, "v" + i);
+				tree.insert(interval, "v" + i);
+			} else {
+				// mostly an interval of the tree
+				if (!expected.isEmpty() && random.nextBoolean()) {
+					interval = expected.ceilingKey(interval) != null ? expected.ceilingKey(interval) : expected.firstKey();
+				}
+				assertEquals(expected.remove(interval), tree.remove(interval));
+			}
+
+			if (i % 500 == 0) {
+				assertTree(tree, expected);
+				assertQueries(random, tree, expected);
+			}
+		}
+	}
+
+	/**
+	 * The greatest upper ends are kept through the joins and the splits of interval trees as well.
+	 */
+	@Test
+	public void overlapsAfterSplitAndJoin() {
+		Random random = new Random(7);
+		IntervalRedBlackTree<Integer, String> tree = new IntervalRedBlackTree<>();
+		NavigableMap<Interval<Integer>, String> expected = new TreeMap<>();
+		for (int i = 0; i < 1000; i ++) {
+			Interval<Integer> interval = randomInterval(random);
+			if (tree.insert(interval, "v" + i)) expected.put(interval, "v" + i);
+		}
+
+		Interval<Integer> at = new Interval<>(RANGE / 2, RANGE / 2);
+		RedBlackTree<Interval<Integer>, String> greater = tree.split(at);
+
+		assertTree(tree, expected.headMap(at, false));
+		assertQueries(random, tree, expected.headMap(at, false));
+		assertTree((IntervalRedBlackTree<Integer, String>) greater, expected.tailMap(at, true));
+		assertQueries(random, (IntervalRedBlackTree<Integer, String>) greater, expected.tailMap(at, true));
+
+		greater.remove(expected.ceilingKey(at));
+		tree.join(expected.ceilingKey(at), expected.get(expected.ceilingKey(at)), greater);
+		assertTree(tree, expected);
+		assertQueries(random, tree, expected);
+	}
+
+	@Test
+	public void queryEnds() {
+		IntervalRedBlackTree<Integer, String> tree = new IntervalRedBlackTree<>();
+		tree.insert(10, 20, "a");
+		tree.insert(20, 30, "b");
+		tree.insert(31, 31, "c");
+
+		// the ends are inclusive
+		assertEquals(2, count(tree.overlapping(20)));
+		assertEquals(1, count(tree.overlapping(31)));
+		assertEquals(0, count(tree.overlapping(9)));
+		assertEquals(0, count(tree.overlapping(32)));
+		assertTrue(tree.overlapsAny(0, 10));
+		assertFalse(tree.overlapsAny(0, 9));
+		assertEquals(3, count(tree.overlapping(0, 100)));
+
+		try {
+			tree.overlapping(5, 4);
+			fail("An inverted query was accepted.");
+		} catch (IllegalArgumentException expected) {
+		}
+		try {
+			tree.overlapping(null);
+			fail("A null point was accepted.");
+		} catch (IllegalArgumentException expected) {
+		}
+		try {
+			tree.insert(5, 4, "d");
+			fail("An inverted interval was inserted.");
+		} catch (IllegalArgumentException expected) {
+		}
+
+		Iterator<SearchTree.Entry<Interval<Integer>, String>> matches = tree.overlapping(25);
+		assertEquals("b", matches.next().getValue());
+		try {
+			matches.next();
+			fail("An iterator went past the last match.");
+		} catch (NoSuchElementException expected) {
+		}
+	}
+
+	private static Interval<Integer> randomInterval(Random random) {
+		int low = random.nextInt(RANGE);
+		int length = random.nextInt(20) == 0 ? random.nextInt(RANGE / 2) : random.nextInt(10);
+		return new Interval<>(low, Math.min(RANGE - 1, low + length));
+	}
+
+	/**
+	 * Asserts that a given tree holds the <code>expected</code> entries, is a valid red-black tree,
+	 * and that every node knows the greatest upper end of its subtree.
+	 */
+	private static void assertTree(IntervalRedBlackTree<Integer, String> tree, NavigableMap<Interval<Integer>, String> expected) {
+		assertEquals(expected.size(), tree.size());
+		assertEquals(new ArrayList<>(expected.keySet()), keysOf(tree.iterator()));
+
+		RedBlackInvariants.assertRedBlack(tree);
+		Shape<RBTNode<Interval<Integer>, String>, Interval<Integer>> shape = RedBlackInvariants.of(tree);
+		assertMax(shape, shape.root());
+	}
+
+	private static Integer assertMax(Shape<RBTNode<Interval<Integer>, String>, Interval<Integer>> shape,
+			RBTNode<Interval<Integer>, String> node) {
+		if (node == null) return null;
+
+		int max = node.getKey().getHigh();
+		Integer left = assertMax(shape, shape.left(node));
+		Integer right = assertMax(shape, shape.right(node));
+		if (left != null) max = Math.max(max, left);
+		if (right != null) max = Math.max(max, right);
+
+		assertEquals("Greatest upper end under " + node.getKey(), Integer.valueOf(max), ((IntervalRBTNode<Integer, String>) node).getMax());
+		return max;
+	}
+
+	/**
+	 * Runs random point and interval queries against a scan of the <code>expected</code> intervals.
+	 */
+	private static void assertQueries(Random random, IntervalRedBlackTree<Integer, String> tree,
+			NavigableMap<Interval<Integer>, String> expected) {
+		for (int i = 0; i < 20; i ++) {
+			int low = random.nextInt(RANGE + 20) - 10;
+			int high = low + (random.nextBoolean() ? 0 : random.nextInt(100));
+
+			List<Interval<Integer>> scan = new ArrayList<>();
+			for (Interval<Integer> interval : expected.keySet()) {
+				if (interval.overlaps(low, high)) scan.add(interval);
+			}
+
+			assertEquals(String.format("Overlaps of [%d, %d].", low, high), scan, keysOf(tree.overlapping(low, high)));
+			assertEquals(!scan.isEmpty(), tree.overlapsAny(low, high));
+			if (low == high) {
+				assertEquals(scan, keysOf(tree.overlapping(low)));
+			}
+		}
+	}
+
+	private static List<Interval<Integer>> keysOf(Iterator<SearchTree.Entry<Interval<Integer>, String>> entries) {
+		List<Interval<Integer>> keys = new ArrayList<>();
+		entries.forEachRemaining(entry -> keys.add(entry.getKey()));
+		return keys;
+	}
+
+	private static int count(Iterator<?> iterator) {
+		int count = 0;
+		for (; iterator.hasNext(); iterator.next()) {
+			count ++;
+		}
+		return count;
+	}
+}
@@ -0,0 +1,416 @@
+package filip.custom.data_structs.trees.binary.red_black.offheap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Random;
+import java.util.TreeMap;
+
+import org.junit.Test;
+
+import filip.custom.data_structs.trees.SearchTree;
+import filip.custom.data_structs.trees.binary.red_black.RedBlackInvariants;
+import filip.custom.data_structs.trees.binary.red_black.RedBlackInvariants.Shape;
+import filip.custom.data_structs.trees.binary.red_black.RedBlackTree;
+
+/**
+ * Tests shared by the {@link OffHeapRedBlackTree}s, whose nodes are slots of an arena rather than objects.<br>
+ *
+ * The trees are run through the same removals and randomized operations as the other red-black trees
+ * (see {@link filip.custom.data_structs.trees.binary.red_black.AbstractRedBlackTreeTest}), checked against a {@link TreeMap},
+ * and against the shape of a {@link RedBlackTree}, whose balancing the off-heap trees repeat slot by slot.
+ *
+ * @author fiilip
+ *
+ * @param <T> Type of the tree being tested.
+ * @param <V> Type of the values of the tree.
+ */
+public abstract class AbstractOffHeapRedBlackTreeTest<T extends OffHeapRedBlackTree<V>, V> {
+
+	/**
+	 * Number of operations of a randomized run.
+	 */
+	private static final int OPERATIONS = 20_000;
+
+	/**
+	 * Keys of a randomized run are in <code>[0, KEYS)</code>, so that the inserted keys are often removed again.
+	 */
+	private static final int KEYS = 500;
+
+	/**
+	 * Creates a new, empty tree, held in a new {@link DirectArena}.
+	 *
+	 * @param capacity Number of entries the tree can hold before growing.
+	 * @return New tree.
+	 */
+	protected abstract T createTree(int capacity);
+
+	/**
+	 * Creates the value stored for a given <code>key</code> by the tests.
+	 *
+	 * @param key Key of interest.
+	 * @param version Number that tells the values of the same key apart.
+	 * @return Value of the key.
+	 */
+	protected abstract V valueOf(long key, int version);
+
+	/**
+	 * Asserts that a given value is the <code>expected</code> one.
+	 *
+	 * @param message Message of the failure.
+	 * @param expected Expected value, possibly <code>null</code>.
+	 * @param actual Actual value, possibly <code>null</code>.
+	 */
+	protected abstract void assertValue(String message, V expected, V actual);
+
+	/**
+	 * Gets the shape of a given tree, read through the slots of its arena.
+	 *
+	 * @param tree Tree of interest.
+	 * @return Shape of the tree.
+	 */
+	static Shape<Integer, Long> shapeOf(OffHeapRedBlackTree<?> tree) {
+		return new Shape<Integer, Long>() {
+
+			@Override
+			public Integer root() {
+				return slot(tree.root());
+			}
+
+			@Override
+			public Integer left(Integer node) {
+				return slot(tree.left(node));
+			}
+
+			@Override
+			public Integer right(Integer node) {
+				return slot(tree.right(node));
+			}
+
+			@Override
+			public Integer parent(Integer node) {
+				return slot(tree.parent(node));
+			}
+
+			@Override
+			public boolean isRed(Integer node) {
+				return tree.isRed(node);
+			}
+
+			@Override
+			public Long key(Integer node) {
+				return tree.key(node);
+			}
+
+			/**
+			 * Slot <code>0</code> stands for no node.
+			 */
+			private Integer slot(int n) {
+				return n == 0 ? null : n;
+			}
+		};
+	}
+
+	/**
+	 * Asserts that a given tree is a valid red-black tree.
+	 *
+	 * @param tree Tree of interest.
+	 */
+	protected static void assertRedBlack(OffHeapRedBlackTree<?> tree) {
+		RedBlackInvariants.assertRedBlack(shapeOf(tree), tree.size());
+	}
+
+	/**
+	 * Creates a tree of the keys from <code>0</code> to <code>size - 1</code>, inserted in an ascending order.
+	 */
+	protected T treeOf(int size) {
+		T tree = createTree(16);
+		for (long i = 0; i < size; i ++) {
+			tree.insert(i, valueOf(i, 0));
+		}
+		return tree;
+	}
+
+	@Test
+	public void removeReturnsValueAndShrinks() {
+		try (T tree = treeOf(10)) {
+			assertValue("remove 4", valueOf(4, 0), tree.remove(4L));
+			assertEquals(9, tree.size());
+			assertNull(tree.get(4L));
+			assertFalse(tree.contains(4L));
+			assertValue("get 5", valueOf(5, 0), tree.get(5L));
+			assertNull(tree.remove(42L));
+			assertEquals(9, tree.size());
+			assertRedBlack(tree);
+		}
+	}
+
+	@Test
+	public void removeRootRepeatedly() {
+		try (T tree = treeOf(64)) {
+			for (int size = 64; size > 0; size --) {
+				long key = tree.key(tree.root());
+
+				assertValue("remove " + key, valueOf(key, 0), tree.remove(key));
+				assertEquals(size - 1, tree.size());
+				assertNull(tree.get(key));
+				assertRedBlack(tree);
+			}
+			assertTrue(tree.isEmpty());
+		}
+	}
+
+	@Test
+	public void removeInRandomOrder() {
+		try (T tree = treeOf(1000)) {
+			List<Long> keys = new ArrayList<>();
+			for (long i = 0; i < 1000; i ++) {
+				keys.add(i);
+			}
+			Collections.shuffle(keys, new Random(42));
+
+			for (int i = 0; i < keys.size(); i ++) {
+				Long key = keys.get(i);
+
+				assertValue("remove " + key, valueOf(key, 0), tree.remove(key));
+				assertEquals(keys.size() - i - 1, tree.size());
+				assertNull(tree.get(key));
+				if (i % 50 == 0) assertRedBlack(tree);
+			}
+			assertTrue(tree.isEmpty());
+		}
+	}
+
+	@Test
+	public void randomOperationsMatchTreeMapAndRedBlackTree() {
+		for (long seed = 1; seed <= 5; seed ++) {
+			try (T tree = createTree(16)) {
+				runRandomOperations(tree, new Random(seed));
+			}
+		}
+	}
+
+	/**
+	 * Runs random insertions, removals and lookups on a given tree, a {@link TreeMap} and a {@link RedBlackTree}.
+	 */
+	private void runRandomOperations(T tree, Random random) {
+		NavigableMap<Long, V> expected = new TreeMap<>();
+		RedBlackTree<Long, V> reference = new RedBlackTree<>();
+
+		for (int i = 0; i < OPERATIONS; i ++) {
+			Long key = (long) random.nextInt(KEYS);
+			int operation = random.nextInt(10);
+
+			if (operation < 5) {
+				V value = valueOf(key, i);
+				boolean inserted = !expected.containsKey(key);
+				if (inserted) expected.put(key, value);
+
+				assertEquals("insert " + key, inserted, tree.insert(key, value));
+				reference.insert(key, value);
+			} else if (operation < 8) {
+				V removed = expected.remove(key);
+
+				assertValue("remove " + key, removed, tree.remove(key));
+				reference.remove(key);
+			} else {
+				assertValue("get " + key, expected.get(key), tree.get(key));
+				assertEquals("contains " + key, expected.containsKey(key), tree.contains(key));
+			}
+
+			assertEquals(expected.size(), tree.size());
+			assertEquals(expected.isEmpty(), tree.isEmpty());
+
+			if (i % 1000 == 0) {
+				assertRedBlack(tree);
+				assertEntries(expected, tree);
+				assertEquals("depth", reference.depth(), tree.depth());
+				assertIntervals(random, expected, tree);
+			}
+		}
+
+		assertRedBlack(tree);
+		assertEntries(expected, tree);
+		RedBlackInvariants.assertSameShape(RedBlackInvariants.of(reference), shapeOf(tree));
+
+		tree.clear();
+		assertTrue(tree.isEmpty());
+		assertEquals(0, tree.size());
+		assertRedBlack(tree);
+	}
+
+	/**
+	 * Checks <code>getInterval</code>, <code>getLessThan</code> and <code>getGreaterThan</code> for a few random bounds.
+	 * Every returned tree is held in an arena of its own, and is closed right after it's checked.
+	 */
+	private void assertIntervals(Random random, NavigableMap<Long, V> expected, T tree) {
+		for (int i = 0; i < 3; i ++) {
+			long low = random.nextInt(KEYS);
+			long high = low + random.nextInt(KEYS / 4);
+
+			try (OffHeapRedBlackTree<V> interval = tree.getInterval(low, high);
+					OffHeapRedBlackTree<V> lessThan = tree.getLessThan(high);
+					OffHeapRedBlackTree<V> greaterThan = tree.getGreaterThan(low)) {
+				assertEntries(expected.subMap(low, false, high, false), interval);
+				assertEntries(expected.headMap(high, false), lessThan);
+				assertEntries(expected.tailMap(low, false), greaterThan);
+				assertRedBlack(interval);
+			}
+		}
+	}
+
+	/**
+	 * Asserts that a given <code>tree</code> holds the <code>expected</code> entries, iterated over in the same order.
+	 */
+	protected void assertEntries(Map<Long, V> expected, SearchTree<Long, V> tree) {
+		assertEquals("size", expected.size(), tree.size());
+
+		Iterator<SearchTree.Entry<Long, V>> actual = tree.iterator();
+		for (Map.Entry<Long, V> entry : expected.entrySet()) {
+			assertTrue("Missing entry " + entry, actual.hasNext());
+
+			SearchTree.Entry<Long, V> next = actual.next();
+			assertEquals(entry.getKey(), next.getKey());
+			assertValue("value of " + entry.getKey(), entry.getValue(), next.getValue());
+		}
+		assertFalse("Extra entries.", actual.hasNext());
+	}
+
+	/**
+	 * Insertions into a tree of a small initial capacity, which grow its arena several times, and removals
+	 * and insertions after the growth, which reuse the released slots instead of growing the arena again.
+	 */
+	@Test
+	public void growsPastInitialCapacity() {
+		try (T tree = createTree(4)) {
+			int initial = tree.capacity();
+			assertTrue(initial >= 4);
+
+			for (long i = 0; i < 1000; i ++) {
+				tree.insert(i, valueOf(i, 0));
+			}
+			assertTrue("The arena didn't grow.", tree.capacity() >= 1000);
+			assertEquals(1000, tree.size());
+			assertRedBlack(tree);
+
+			for (long i = 0; i < 1000; i ++) {
+				assertValue("get " + i, valueOf(i, 0), tree.get(i));
+			}
+
+			int grown = tree.capacity();
+			for (long i = 0; i < 1000; i += 2) {
+				tree.remove(i);
+			}
+			for (long i = 1000; i < 1500; i ++) {
+				tree.insert(i, valueOf(i, 0));
+			}
+			assertEquals("The released slots weren't reused.", grown, tree.capacity());
+			assertEquals(1000, tree.size());
+			assertRedBlack(tree);
+
+			tree.ensureCapacity(5000);
+			assertTrue(tree.capacity() >= 5000);
+			assertEquals(1000, tree.size());
+			assertValue("get 1499", valueOf(1499, 0), tree.get(1499L));
+			assertRedBlack(tree);
+		}
+	}
+
+	@Test
+	public void clearKeepsCapacity() {
+		try (T tree = treeOf(100)) {
+			int capacity = tree.capacity();
+			tree.clear();
+
+			assertTrue(tree.isEmpty());
+			assertEquals(capacity, tree.capacity());
+			assertFalse(tree.iterator().hasNext());
+
+			for (long i = 0; i < 100; i ++) {
+				tree.insert(i, valueOf(i, 1));
+			}
+			assertEquals(capacity, tree.capacity());
+			assertRedBlack(tree);
+		}
+	}
+
+	@Test
+	public void nullKeysAndValues() {
+		try (T tree = treeOf(10)) {
+			try {
+				tree.insert(null, valueOf(0, 0));
+				fail("A null key was inserted.");
+			} catch (IllegalArgumentException expected) {
+			}
+			try {
+				tree.insert(42L, null);
+				fail("A null value was inserted.");
+			} catch (IllegalArgumentException expected) {
+			}
+
+			// a rejected value leaves no entry behind
+			assertFalse(tree.contains(42L));
+			assertEquals(10, tree.size());
+		}
+	}
+
+	/**
+	 * Every method that reads or writes the arena throws once the tree is closed, and closing it again has no effect.
+	 */
+	@Test
+	public void closedTreeThrows() {
+		T tree = treeOf(10);
+		tree.close();
+		tree.close();
+
+		assertClosed(() -> tree.insert(42L, valueOf(42, 0)));
+		assertClosed(() -> tree.get(1L));
+		assertClosed(() -> tree.contains(1L));
+		assertClosed(() -> tree.remove(1L));
+		assertClosed(() -> tree.size());
+		assertClosed(() -> tree.isEmpty());
+		assertClosed(() -> tree.depth());
+		assertClosed(() -> tree.capacity());
+		assertClosed(() -> tree.clear());
+		assertClosed(() -> tree.iterator());
+		assertClosed(() -> tree.getInterval(1L, 5L));
+		assertClosed(() -> tree.flush());
+		assertClosed(() -> tree.toString());
+		assertTrue(tree.arena.isClosed());
+	}
+
+	/**
+	 * An iterator, or an entry, of a tree that is closed later throws as well.
+	 */
+	@Test
+	public void closedTreeIteratorThrows() {
+		T tree = treeOf(10);
+		Iterator<SearchTree.Entry<Long, V>> iterator = tree.iterator();
+		SearchTree.Entry<Long, V> entry = iterator.next();
+		tree.close();
+
+		assertClosed(() -> iterator.next());
+		assertClosed(() -> entry.getKey());
+		assertClosed(() -> entry.getValue());
+	}
+
+	/**
+	 * Asserts that a given <code>action</code> throws an {@link IllegalStateException}.
+	 */
+	protected static void assertClosed(Runnable action) {
+		try {
+			action.run();
+			fail("A closed tree was used.");
+		} catch (IllegalStateException expected) {
+		}
+	}
+}
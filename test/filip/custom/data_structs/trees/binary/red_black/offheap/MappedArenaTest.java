@@ -0,0 +1,215 @@
+package filip.custom.data_structs.trees.binary.red_black.offheap;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import filip.custom.data_structs.trees.SearchTree;
+import filip.custom.data_structs.trees.binary.red_black.RedBlackInvariants;
+
+/**
+ * Tests of the {@link MappedArena}, which must keep a tree in its file, so that the tree is the same
+ * after the file is opened again.
+ *
+ * @author fiilip
+ *
+ */
+public class MappedArenaTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	/**
+	 * A tree written through random insertions and removals, flushed and closed, is the same tree
+	 * once the file is opened again, and keeps working from there.
+	 */
+	@Test
+	public void reopenedTreeHoldsTheSameEntries() throws IOException {
+		Path file = folder.getRoot().toPath().resolve("tree.rbt");
+		Map<Long, Long> expected = new TreeMap<>();
+		Random random = new Random(42);
+		String shape;
+
+		try (OffHeapLongRedBlackTree tree = new OffHeapLongRedBlackTree(new MappedArena(file))) {
+			for (int i = 0; i < 10_000; i ++) {
+				long key = random.nextInt(5000);
+
+				if (random.nextInt(3) == 0) {
+					tree.remove(key);
+					expected.remove(key);
+				} else if (tree.insert(key, i)) {
+					expected.put(key, (long) i);
+				}
+			}
+
+			tree.flush();
+			shape = tree.toString();
+		}
+
+		try (OffHeapLongRedBlackTree tree = new OffHeapLongRedBlackTree(new MappedArena(file))) {
+			assertEquals(expected.size(), tree.size());
+			assertEquals(shape, tree.toString());
+			assertEntries(expected, tree);
+			RedBlackInvariants.assertRedBlack(AbstractOffHeapRedBlackTreeTest.shapeOf(tree), tree.size());
+
+			// the free list and the unused slots are stored as well
+			int capacity = tree.capacity();
+			for (long key = 5000; key < 5000 + capacity - tree.size(); key ++) {
+				assertTrue(tree.insert(key, key));
+				expected.put(key, key);
+			}
+			assertEquals(capacity, tree.capacity());
+			assertEntries(expected, tree);
+		}
+	}
+
+	@Test
+	public void reopenedRecordTree() throws IOException {
+		Path file = folder.getRoot().toPath().resolve("records.rbt");
+
+		try (OffHeapRecordRedBlackTree tree = new OffHeapRecordRedBlackTree(new MappedArena(file), 5)) {
+			for (long key = 0; key < 100; key ++) {
+				tree.insert(key, record(key));
+			}
+		}
+
+		try (OffHeapRecordRedBlackTree tree = new OffHeapRecordRedBlackTree(new MappedArena(file), 5)) {
+			assertEquals(100, tree.size());
+			for (long key = 0; key < 100; key ++) {
+				assertArrayEquals(record(key), tree.get(key));
+			}
+		}
+	}
+
+	private static byte[] record(long key) {
+		return new byte[] { (byte) key, (byte) (key >> 8), 1, 2, 3 };
+	}
+
+	/**
+	 * A file of a tree is opened only as a tree of the same layout.
+	 */
+	@Test
+	public void headerValidation() throws IOException {
+		Path file = folder.getRoot().toPath().resolve("longs.rbt");
+
+		try (OffHeapLongRedBlackTree tree = new OffHeapLongRedBlackTree(new MappedArena(file))) {
+			tree.insert(1L, 1L);
+		}
+
+		assertRejected(new MappedArena(file), arena -> new OffHeapRecordRedBlackTree(arena, 16));
+		assertRejected(new MappedArena(file), arena -> new OffHeapRecordRedBlackTree(arena, 4));
+
+		Path other = folder.getRoot().toPath().resolve("other.bin");
+		Files.write(other, new byte[] { 1, 2, 3, 4, 5, 6, 7, 8 });
+		assertRejected(new MappedArena(other), arena -> new OffHeapLongRedBlackTree(arena));
+
+		// the rejected openings left the file as it was
+		try (OffHeapLongRedBlackTree tree = new OffHeapLongRedBlackTree(new MappedArena(file))) {
+			assertEquals(1, tree.size());
+			assertEquals(1L, tree.get(1L, -1));
+		}
+	}
+
+	/**
+	 * An arena too small for a header and a single slot is rejected.
+	 */
+	@Test
+	public void tooSmallArena() throws IOException {
+		Path file = folder.getRoot().toPath().resolve("small.rbt");
+		assertRejected(new MappedArena(file, 16), arena -> new OffHeapLongRedBlackTree(arena));
+	}
+
+	private interface TreeOpener {
+
+		OffHeapRedBlackTree<?> open(OffHeapArena arena);
+	}
+
+	/**
+	 * Asserts that a tree can't be opened over a given <code>arena</code>, and closes the arena.
+	 */
+	private static void assertRejected(MappedArena arena, TreeOpener opener) {
+		try {
+			opener.open(arena);
+			fail("The arena was opened as a tree of another layout.");
+		} catch (IllegalArgumentException expected) {
+		} finally {
+			arena.close();
+		}
+	}
+
+	/**
+	 * Insertions beyond the initial size of the file extend the file and map it again.
+	 */
+	@Test
+	public void growsTheFile() throws IOException {
+		Path file = folder.getRoot().toPath().resolve("growing.rbt");
+		int bytes = OffHeapRedBlackTree.bytesFor(8, Long.BYTES);
+
+		try (OffHeapLongRedBlackTree tree = new OffHeapLongRedBlackTree(new MappedArena(file, bytes))) {
+			assertEquals(bytes, Files.size(file));
+			assertEquals(8, tree.capacity());
+
+			for (long key = 0; key < 10_000; key ++) {
+				tree.insert(key, -key);
+			}
+
+			assertTrue(tree.capacity() >= 10_000);
+			assertEquals(tree.arena.capacity(), Files.size(file));
+			assertTrue(Files.size(file) >= OffHeapRedBlackTree.bytesFor(10_000, Long.BYTES));
+		}
+
+		// a longer file is mapped whole, whatever the initial capacity asked for
+		try (OffHeapLongRedBlackTree tree = new OffHeapLongRedBlackTree(new MappedArena(file, bytes))) {
+			assertTrue(tree.capacity() >= 10_000);
+			assertEquals(10_000, tree.size());
+			for (long key = 0; key < 10_000; key ++) {
+				assertEquals(-key, tree.get(key, 1));
+			}
+		}
+	}
+
+	@Test
+	public void closedArena() throws IOException {
+		MappedArena arena = new MappedArena(folder.getRoot().toPath().resolve("closed.rbt"));
+		arena.close();
+		arena.close();
+
+		assertTrue(arena.isClosed());
+		try {
+			arena.flush();
+			fail("A closed arena was flushed.");
+		} catch (IllegalStateException expected) {
+		}
+		try {
+			new OffHeapLongRedBlackTree(arena);
+			fail("A tree was opened over a closed arena.");
+		} catch (IllegalStateException expected) {
+		}
+	}
+
+	private static void assertEntries(Map<Long, Long> expected, OffHeapLongRedBlackTree tree) {
+		Iterator<SearchTree.Entry<Long, Long>> actual = tree.iterator();
+		for (Map.Entry<Long, Long> entry : expected.entrySet()) {
+			assertTrue("Missing entry " + entry, actual.hasNext());
+
+			SearchTree.Entry<Long, Long> next = actual.next();
+			assertEquals(entry.getKey(), next.getKey());
+			assertEquals(entry.getValue(), next.getValue());
+		}
+		assertFalse("Extra entries.", actual.hasNext());
+	}
+}
@@ -0,0 +1,66 @@
+package filip.custom.data_structs.trees.binary.red_black.offheap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * Tests of the {@link OffHeapLongRedBlackTree}, through the methods of the
+ * {@link filip.custom.data_structs.trees.SearchTree} interface, and through the primitive ones.
+ *
+ * @author fiilip
+ *
+ */
+public class OffHeapLongRedBlackTreeTest extends AbstractOffHeapRedBlackTreeTest<OffHeapLongRedBlackTree, Long> {
+
+	@Override
+	protected OffHeapLongRedBlackTree createTree(int capacity) {
+		return new OffHeapLongRedBlackTree(capacity);
+	}
+
+	@Override
+	protected Long valueOf(long key, int version) {
+		return key * 31 + version;
+	}
+
+	@Override
+	protected void assertValue(String message, Long expected, Long actual) {
+		assertEquals(message, expected, actual);
+	}
+
+	@Test
+	public void primitiveMethods() {
+		try (OffHeapLongRedBlackTree tree = new OffHeapLongRedBlackTree(4)) {
+			for (long key = -500; key < 500; key += 3) {
+				assertTrue(tree.insert(key * 1_000_000_007L, key));
+			}
+			assertFalse(tree.insert(1_000_000_007L, 0));
+			assertRedBlack(tree);
+
+			for (long key = -500; key < 500; key ++) {
+				boolean present = Math.floorMod(key - 1, 3) == 0;
+
+				assertEquals(present, tree.contains(key * 1_000_000_007L));
+				assertEquals(present ? key : -1, tree.get(key * 1_000_000_007L, -1));
+			}
+
+			assertTrue(tree.remove(-500 * 1_000_000_007L));
+			assertFalse(tree.remove(-500 * 1_000_000_007L));
+			assertEquals(-1, tree.get(-500 * 1_000_000_007L, -1));
+			assertRedBlack(tree);
+		}
+	}
+
+	@Test
+	public void closedTreePrimitiveMethodsThrow() {
+		OffHeapLongRedBlackTree tree = treeOf(10);
+		tree.close();
+
+		assertClosed(() -> tree.insert(42, 42));
+		assertClosed(() -> tree.get(1, -1));
+		assertClosed(() -> tree.contains(1));
+		assertClosed(() -> tree.remove(1));
+	}
+}
@@ -0,0 +1,100 @@
+package filip.custom.data_structs.trees.binary.red_black.offheap;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.nio.ByteBuffer;
+
+import org.junit.Test;
+
+/**
+ * Tests of the {@link OffHeapRecordRedBlackTree}, whose records are of a width that isn't a multiple of
+ * the alignment of the slots.
+ *
+ * @author fiilip
+ *
+ */
+public class OffHeapRecordRedBlackTreeTest extends AbstractOffHeapRedBlackTreeTest<OffHeapRecordRedBlackTree, byte[]> {
+
+	/**
+	 * Width of the records of the tested trees.
+	 */
+	private static final int WIDTH = 13;
+
+	@Override
+	protected OffHeapRecordRedBlackTree createTree(int capacity) {
+		return new OffHeapRecordRedBlackTree(WIDTH, capacity);
+	}
+
+	@Override
+	protected byte[] valueOf(long key, int version) {
+		ByteBuffer record = ByteBuffer.allocate(WIDTH);
+		record.putLong(key).putInt(version).put((byte) key);
+		return record.array();
+	}
+
+	@Override
+	protected void assertValue(String message, byte[] expected, byte[] actual) {
+		if (expected == null) {
+			assertNull(message, actual);
+		} else {
+			assertArrayEquals(message, expected, actual);
+		}
+	}
+
+	@Test
+	public void recordsAreCopied() {
+		try (OffHeapRecordRedBlackTree tree = createTree(4)) {
+			byte[] record = valueOf(7, 0);
+			tree.insert(7L, record);
+			record[0] = 42;
+
+			byte[] read = tree.get(7L);
+			assertArrayEquals(valueOf(7, 0), read);
+			read[0] = 42;
+			assertArrayEquals(valueOf(7, 0), tree.get(7L));
+
+			byte[] destination = new byte[WIDTH + 3];
+			assertTrue(tree.get(7L, destination));
+			for (int i = 0; i < WIDTH; i ++) {
+				assertEquals(valueOf(7, 0)[i], destination[i]);
+			}
+			assertFalse(tree.get(8L, destination));
+		}
+	}
+
+	@Test
+	public void rejectsRecordsOfAnotherWidth() {
+		try (OffHeapRecordRedBlackTree tree = treeOf(10)) {
+			try {
+				tree.insert(42L, new byte[WIDTH - 1]);
+				fail("A short record was inserted.");
+			} catch (IllegalArgumentException expected) {
+			}
+			try {
+				tree.get(1L, new byte[WIDTH - 1]);
+				fail("A record was read into a short array.");
+			} catch (IllegalArgumentException expected) {
+			}
+
+			assertFalse(tree.contains(42L));
+			assertEquals(10, tree.size());
+			assertEquals(WIDTH, tree.recordWidth());
+		}
+	}
+
+	@Test
+	public void setValueWritesTheSlot() {
+		try (OffHeapRecordRedBlackTree tree = treeOf(20)) {
+			tree.forEach(entry -> entry.setValue(valueOf(entry.getKey(), 1)));
+
+			for (long i = 0; i < 20; i ++) {
+				assertArrayEquals(valueOf(i, 1), tree.get(i));
+			}
+		}
+	}
+}
@@ -0,0 +1,273 @@
+package filip.custom.data_structs.trees.binary.red_black.oper.join;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Random;
+import java.util.TreeMap;
+
+import org.junit.Test;
+
+import filip.custom.data_structs.trees.SearchTree;
+import filip.custom.data_structs.trees.binary.red_black.RBTCursor;
+import filip.custom.data_structs.trees.binary.red_black.RedBlackInvariants;
+import filip.custom.data_structs.trees.binary.red_black.RedBlackTree;
+
+/**
+ * Tests of the {@link RBTJoin} and the {@link RBTSetOperation}, through {@link RedBlackTree#join(Comparable, Object, RedBlackTree)},
+ * {@link RedBlackTree#split(Comparable)} and the set operations of the {@link RedBlackTree}. Every resulting tree
+ * must hold the same entries as a {@link TreeMap} would, and must be a valid red-black tree, with equal black heights
+ * and correct subtree sizes.
+ *
+ * @author fiilip
+ *
+ */
+public class RBTJoinTest {
+
+	private static final int[] SIZES = { 0, 1, 2, 3, 7, 8, 100, 1000, 5000 };
+
+	/**
+	 * Joins trees of all the combinations of sizes, and so of black heights far apart from each other.
+	 */
+	@Test
+	public void joinMatchesTreeMap() {
+		for (int lessSize : SIZES) {
+			for (int greaterSize : SIZES) {
+				NavigableMap<Integer, String> expected = new TreeMap<>();
+				RedBlackTree<Integer, String> less = treeOf(0, lessSize, 1, "l", expected);
+				RedBlackTree<Integer, String> greater = treeOf(lessSize + 1, greaterSize, 1, "g", expected);
+				expected.put(lessSize, "pivot");
+
+				less.join(lessSize, "pivot", greater);
+
+				assertEntries(expected, less);
+				RedBlackInvariants.assertRedBlack(less);
+				assertTrue(greater.isEmpty());
+				RedBlackInvariants.assertRedBlack(greater);
+
+				// the joined tree balances as any other one
+				less.insert(-1, "v");
+				less.remove(lessSize);
+				RedBlackInvariants.assertRedBlack(less);
+			}
+		}
+	}
+
+	@Test
+	public void joinRejectsUnorderedKeys() {
+		RedBlackTree<Integer, String> less = treeOf(0, 10, 1, "l", new TreeMap<>());
+		RedBlackTree<Integer, String> greater = treeOf(20, 10, 1, "g", new TreeMap<>());
+
+		assertJoinRejected(less, 9, greater);
+		assertJoinRejected(less, 20, greater);
+		assertJoinRejected(less, 25, greater);
+		assertJoinRejected(greater, 15, less);
+		assertJoinRejected(less, null, greater);
+		assertJoinRejected(less, 15, less);
+		assertJoinRejected(less, 15, new RedBlackTree<>(Comparator.<Integer> reverseOrder()));
+
+		// the rejected joins changed neither of the trees
+		assertEquals(10, less.size());
+		assertEquals(10, greater.size());
+		RedBlackInvariants.assertRedBlack(less);
+		RedBlackInvariants.assertRedBlack(greater);
+	}
+
+	private static void assertJoinRejected(RedBlackTree<Integer, String> tree, Integer key, RedBlackTree<Integer, String> greater) {
+		try {
+			tree.join(key, "pivot", greater);
+			fail(String.format("Joined %s with %s around %s.", tree, greater, key));
+		} catch (IllegalArgumentException expected) {
+		}
+	}
+
+	/**
+	 * Splits trees by keys below, above and between their keys, and by their own keys.
+	 */
+	@Test
+	public void splitMatchesTreeMap() {
+		Random random = new Random(42);
+
+		for (int size : SIZES) {
+			for (int key = -2; key <= 2 * size + 2; key += Math.max(1, size / 50)) {
+				NavigableMap<Integer, String> expected = new TreeMap<>();
+				RedBlackTree<Integer, String> tree = treeOf(0, size, 2, "v", expected);
+				// a few removals, so that the tree isn't built by ascending insertions only
+				for (int i = 0; i < size / 10; i ++) {
+					Integer removed = 2 * random.nextInt(size);
+					tree.remove(removed);
+					expected.remove(removed);
+				}
+
+				RedBlackTree<Integer, String> split = tree.split(key);
+
+				assertEntries(expected.headMap(key, false), tree);
+				assertEntries(expected.tailMap(key, true), split);
+				RedBlackInvariants.assertRedBlack(tree);
+				RedBlackInvariants.assertRedBlack(split);
+			}
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void splitRejectsNullKey() {
+		new RedBlackTree<Integer, String>().split(null);
+	}
+
+	/**
+	 * Splits a tree by random keys and joins it back.
+	 */
+	@Test
+	public void splitAndJoinBack() {
+		Random random = new Random(7);
+		NavigableMap<Integer, String> expected = new TreeMap<>();
+		RedBlackTree<Integer, String> tree = treeOf(0, 3000, 3, "v", expected);
+
+		for (int i = 0; i < 200; i ++) {
+			Integer key = random.nextInt(9100) - 50;
+			RedBlackTree<Integer, String> greater = tree.split(key);
+			RedBlackInvariants.assertRedBlack(tree);
+			RedBlackInvariants.assertRedBlack(greater);
+
+			if (greater.isEmpty()) continue;
+
+			// the least entry of the greater tree becomes the pivot
+			RBTCursor<Integer, String> least = greater.cursor();
+			least.first();
+			Integer pivot = least.getKey();
+			String value = greater.remove(pivot);
+
+			tree.join(pivot, value, greater);
+			assertTrue(greater.isEmpty());
+			RedBlackInvariants.assertRedBlack(tree);
+			assertEquals(expected.size(), tree.size());
+		}
+
+		assertEntries(expected, tree);
+	}
+
+	/**
+	 * Set operations of small trees, and of trees large enough for the operations to fork,
+	 * of overlapping, disjoint and interleaved keys.
+	 */
+	@Test
+	public void setOperationsMatchTreeMap() {
+		int[][] cases = {
+				// start, size and step of the first tree, then of the second one
+				{ 0, 0, 1, 0, 0, 1 },
+				{ 0, 10, 1, 0, 0, 1 },
+				{ 0, 0, 1, 0, 10, 1 },
+				{ 0, 100, 1, 50, 100, 1 },
+				{ 0, 100, 2, 1, 100, 2 },
+				{ 0, 100, 1, 1000, 100, 1 },
+				{ 0, 5, 1, 0, 5000, 1 },
+				{ 0, 40_000, 1, 20_000, 40_000, 1 },
+				{ 0, 30_000, 2, 0, 30_000, 3 },
+				{ 0, 50_000, 1, 10, 300, 7 },
+		};
+
+		for (int[] sizes : cases) {
+			for (RBTSetOperation.Kind kind : RBTSetOperation.Kind.values()) {
+				NavigableMap<Integer, String> firstExpected = new TreeMap<>();
+				NavigableMap<Integer, String> secondExpected = new TreeMap<>();
+				RedBlackTree<Integer, String> first = treeOf(sizes[0], sizes[1], sizes[2], "a", firstExpected);
+				RedBlackTree<Integer, String> second = treeOf(sizes[3], sizes[4], sizes[5], "b", secondExpected);
+
+				NavigableMap<Integer, String> expected = new TreeMap<>(firstExpected);
+				switch (kind) {
+				case UNION:
+					secondExpected.forEach(expected::putIfAbsent);
+					first.union(second);
+					break;
+				case INTERSECTION:
+					expected.keySet().retainAll(secondExpected.keySet());
+					first.intersection(second);
+					break;
+				case DIFFERENCE:
+					expected.keySet().removeAll(secondExpected.keySet());
+					first.difference(second);
+					break;
+				}
+
+				assertEntries(expected, first);
+				RedBlackInvariants.assertRedBlack(first);
+				assertTrue(kind + " left the other tree with entries.", second.isEmpty());
+			}
+		}
+	}
+
+	@Test
+	public void setOperationsWithAComparator() {
+		Comparator<Integer> reversed = Comparator.reverseOrder();
+		RedBlackTree<Integer, String> first = new RedBlackTree<>(reversed);
+		RedBlackTree<Integer, String> second = new RedBlackTree<>(reversed);
+		NavigableMap<Integer, String> expected = new TreeMap<>(reversed);
+
+		for (int i = 0; i < 20_000; i ++) {
+			first.insert(i, "a" + i);
+			expected.put(i, "a" + i);
+		}
+		for (int i = 10_000; i < 30_000; i += 2) {
+			second.insert(i, "b" + i);
+			expected.putIfAbsent(i, "b" + i);
+		}
+
+		first.union(second);
+		assertEntries(expected, first);
+		assertTrue(second.isEmpty());
+	}
+
+	@Test
+	public void setOperationsRejectOtherTrees() {
+		RedBlackTree<Integer, String> tree = treeOf(0, 10, 1, "a", new TreeMap<>());
+
+		try {
+			tree.union(tree);
+			fail("A tree was united with itself.");
+		} catch (IllegalArgumentException expected) {
+		}
+		try {
+			tree.intersection(new RedBlackTree<>(Comparator.<Integer> reverseOrder()));
+			fail("Trees of different comparators were intersected.");
+		} catch (IllegalArgumentException expected) {
+		}
+		assertEquals(10, tree.size());
+	}
+
+	/**
+	 * Creates a tree of <code>size</code> keys, starting at <code>start</code> and <code>step</code> apart,
+	 * whose values are the keys prefixed by a given <code>prefix</code>, and puts the same entries into the <code>expected</code> map.
+	 */
+	private static RedBlackTree<Integer, String> treeOf(int start, int size, int step, String prefix, Map<Integer, String> expected) {
+		RedBlackTree<Integer, String> tree = new RedBlackTree<>();
+		for (int i = 0; i < size; i ++) {
+			int key = start + i * step;
+			tree.insert(key, prefix + key);
+			expected.put(key, prefix + key);
+		}
+		return tree;
+	}
+
+	/**
+	 * Asserts that a given tree holds the <code>expected</code> entries, in the same order.
+	 */
+	private static void assertEntries(Map<Integer, String> expected, SearchTree<Integer, String> tree) {
+		assertEquals(expected.size(), tree.size());
+
+		Iterator<SearchTree.Entry<Integer, String>> actual = tree.iterator();
+		for (Map.Entry<Integer, String> entry : expected.entrySet()) {
+			assertTrue("Missing entry " + entry, actual.hasNext());
+
+			SearchTree.Entry<Integer, String> next = actual.next();
+			assertEquals(entry.getKey(), next.getKey());
+			assertEquals(entry.getValue(), next.getValue());
+		}
+		assertFalse("Extra entries.", actual.hasNext());
+	}
+}
@@ -0,0 +1,271 @@
+package filip.custom.data_structs.trees.binary.red_black.persistent;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Random;
+import java.util.TreeMap;
+
+import org.junit.Test;
+
+import filip.custom.data_structs.trees.SearchTree;
+import filip.custom.data_structs.trees.binary.red_black.RedBlackInvariants;
+import filip.custom.data_structs.trees.binary.red_black.RedBlackInvariants.Shape;
+
+/**
+ * Tests of the {@link PersistentRedBlackTree}, every version of which must be a valid red-black tree,
+ * and must never change once it's created.
+ *
+ * @author fiilip
+ *
+ */
+public class PersistentRedBlackTreeTest {
+
+	/**
+	 * Gets the shape of a given version, whose nodes don't link to their parents.
+	 *
+	 * @param version Version of interest.
+	 * @return Shape of the version.
+	 */
+	static <K extends Comparable<K>, V> Shape<PersistentRBTNode<K, V>, K> shapeOf(PersistentRedBlackTree<K, V> version) {
+		return new Shape<PersistentRBTNode<K, V>, K>() {
+
+			@Override
+			public PersistentRBTNode<K, V> root() {
+				return version.root();
+			}
+
+			@Override
+			public PersistentRBTNode<K, V> left(PersistentRBTNode<K, V> node) {
+				return node.left;
+			}
+
+			@Override
+			public PersistentRBTNode<K, V> right(PersistentRBTNode<K, V> node) {
+				return node.right;
+			}
+
+			@Override
+			public boolean hasParents() {
+				return false;
+			}
+
+			@Override
+			public boolean isRed(PersistentRBTNode<K, V> node) {
+				return node.red;
+			}
+
+			@Override
+			public K key(PersistentRBTNode<K, V> node) {
+				return node.key;
+			}
+		};
+	}
+
+	/**
+	 * Asserts that a given version is a valid red-black tree.
+	 */
+	static <K extends Comparable<K>, V> void assertRedBlack(PersistentRedBlackTree<K, V> version) {
+		RedBlackInvariants.assertRedBlack(shapeOf(version), version.size());
+	}
+
+	@Test
+	public void invariantsAfterEveryInsertAndRemove() {
+		for (long seed = 1; seed <= 3; seed ++) {
+			Random random = new Random(seed);
+			PersistentRedBlackTree<Integer, String> version = PersistentRedBlackTree.empty();
+			NavigableMap<Integer, String> expected = new TreeMap<>();
+
+			for (int i = 0; i < 10_000; i ++) {
+				Integer key = random.nextInt(300);
+
+				if (random.nextInt(3) > 0) {
+					version = version.insert(key, "v" + i);
+					expected.putIfAbsent(key, "v" + i);
+				} else {
+					version = version.remove(key);
+					expected.remove(key);
+				}
+
+				assertRedBlack(version);
+				assertEquals(expected.size(), version.size());
+				assertEquals(expected.get(key), version.get(key));
+				assertEquals(expected.containsKey(key), version.contains(key));
+
+				if (i % 500 == 0) {
+					assertEntries(expected, version.iterator());
+				}
+			}
+		}
+	}
+
+	/**
+	 * Every version keeps the entries it was created with, while the later versions are derived from it,
+	 * and any version can be derived from again.
+	 */
+	@Test
+	public void versionIsolation() {
+		Random random = new Random(42);
+		List<PersistentRedBlackTree<Integer, String>> versions = new ArrayList<>();
+		List<NavigableMap<Integer, String>> contents = new ArrayList<>();
+		List<String> shapes = new ArrayList<>();
+
+		PersistentRedBlackTree<Integer, String> version = PersistentRedBlackTree.empty();
+		NavigableMap<Integer, String> expected = new TreeMap<>();
+
+		for (int i = 0; i < 2000; i ++) {
+			Integer key = random.nextInt(200);
+
+			if (random.nextInt(3) > 0) {
+				version = version.insert(key, "v" + i);
+				expected.putIfAbsent(key, "v" + i);
+			} else {
+				version = version.remove(key);
+				expected.remove(key);
+			}
+
+			versions.add(version);
+			contents.add(new TreeMap<>(expected));
+			shapes.add(version.toString());
+
+			// branch off an older version now and then, which must not affect its own descendants
+			if (i % 100 == 99) {
+				PersistentRedBlackTree<Integer, String> old = versions.get(random.nextInt(versions.size()));
+				for (int k = 0; k < 200; k += 3) {
+					old = old.remove(k).insert(k + 1000, "branch");
+				}
+				assertRedBlack(old);
+			}
+		}
+
+		for (int i = 0; i < versions.size(); i ++) {
+			PersistentRedBlackTree<Integer, String> old = versions.get(i);
+
+			assertEquals("Shape of version " + i, shapes.get(i), old.toString());
+			assertEntries(contents.get(i), old.iterator());
+			assertRedBlack(old);
+		}
+	}
+
+	@Test
+	public void unchangedVersionIsReturned() {
+		PersistentRedBlackTree<Integer, String> empty = PersistentRedBlackTree.empty();
+		assertSame(empty, empty.remove(1));
+		assertSame(empty, PersistentRedBlackTree.<Integer, String> empty());
+
+		PersistentRedBlackTree<Integer, String> version = empty;
+		for (int i = 0; i < 100; i ++) {
+			version = version.insert(i, "v" + i);
+		}
+
+		assertSame(version, version.insert(42, "other"));
+		assertEquals("v42", version.get(42));
+		assertSame(version, version.remove(100));
+		assertSame(version, version.remove(-1));
+
+		for (int i = 0; i < 100; i ++) {
+			version = version.remove(i);
+		}
+		assertSame(empty, version);
+		assertTrue(version.isEmpty());
+	}
+
+	@Test
+	public void intervalIterator() {
+		PersistentRedBlackTree<Integer, String> version = PersistentRedBlackTree.empty();
+		NavigableMap<Integer, String> expected = new TreeMap<>();
+		for (int i = 0; i < 500; i += 3) {
+			version = version.insert(i, "v" + i);
+			expected.put(i, "v" + i);
+		}
+
+		for (int low = -5; low < 505; low += 17) {
+			for (int high = low; high < 510; high += 29) {
+				assertEntries(expected.subMap(low, false, high, false), version.iterator(low, high));
+			}
+			assertEntries(expected.tailMap(low, false), version.iterator(low, null));
+			assertEntries(expected.headMap(low, false), version.iterator(null, low));
+		}
+	}
+
+	@Test
+	public void fromSorted() {
+		for (int size = 0; size <= 256; size ++) {
+			NavigableMap<Integer, String> expected = new TreeMap<>();
+			List<SearchTree.Entry<Integer, String>> entries = new ArrayList<>();
+
+			PersistentRedBlackTree<Integer, String> source = PersistentRedBlackTree.empty();
+			for (int i = 0; i < size; i ++) {
+				source = source.insert(i, "v" + i);
+				expected.put(i, "v" + i);
+			}
+			source.forEach(entries::add);
+
+			PersistentRedBlackTree<Integer, String> built = PersistentRedBlackTree.fromSorted(entries);
+			assertRedBlack(built);
+			assertEntries(expected, built.iterator());
+
+			// the built version balances as any other one
+			built = built.insert(size, "v" + size).remove(0);
+			assertRedBlack(built);
+		}
+	}
+
+	@Test
+	public void entriesAreImmutable() {
+		PersistentRedBlackTree<Integer, String> version = PersistentRedBlackTree.<Integer, String> empty().insert(1, "v1");
+
+		try {
+			version.iterator().next().setValue("other");
+			fail("An entry of a version was changed.");
+		} catch (UnsupportedOperationException expected) {
+		}
+		assertEquals("v1", version.get(1));
+	}
+
+	@Test
+	public void nullKeys() {
+		PersistentRedBlackTree<Integer, String> version = PersistentRedBlackTree.<Integer, String> empty().insert(1, "v1");
+
+		try {
+			version.insert(null, "v");
+			fail("A null key was inserted.");
+		} catch (IllegalArgumentException expected) {
+		}
+		try {
+			version.remove(null);
+			fail("A null key was removed.");
+		} catch (IllegalArgumentException expected) {
+		}
+		try {
+			version.get(null);
+			fail("A null key was looked up.");
+		} catch (IllegalArgumentException expected) {
+		}
+		assertNull(version.get(2));
+		assertFalse(version.contains(2));
+	}
+
+	/**
+	 * Asserts that a given iterator returns the <code>expected</code> entries, in the same order.
+	 */
+	static void assertEntries(Map<Integer, String> expected, Iterator<SearchTree.Entry<Integer, String>> actual) {
+		for (Map.Entry<Integer, String> entry : expected.entrySet()) {
+			assertTrue("Missing entry " + entry, actual.hasNext());
+
+			SearchTree.Entry<Integer, String> next = actual.next();
+			assertEquals(entry.getKey(), next.getKey());
+			assertEquals(entry.getValue(), next.getValue());
+		}
+		assertFalse("Extra entries.", actual.hasNext());
+	}
+}
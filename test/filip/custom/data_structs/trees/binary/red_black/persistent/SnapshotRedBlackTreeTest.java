@@ -0,0 +1,182 @@
+package filip.custom.data_structs.trees.binary.red_black.persistent;
+
+import static filip.custom.data_structs.trees.binary.red_black.persistent.PersistentRedBlackTreeTest.assertEntries;
+import static filip.custom.data_structs.trees.binary.red_black.persistent.PersistentRedBlackTreeTest.assertRedBlack;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+import filip.custom.data_structs.trees.SearchTree;
+
+/**
+ * Tests of the {@link SnapshotRedBlackTree}, whose snapshots must stay the same while the tree keeps changing.
+ *
+ * @author fiilip
+ *
+ */
+public class SnapshotRedBlackTreeTest {
+
+	@Test
+	public void randomOperationsMatchTreeMap() {
+		Random random = new Random(7);
+		SnapshotRedBlackTree<Integer, String> tree = new SnapshotRedBlackTree<>();
+		NavigableMap<Integer, String> expected = new TreeMap<>();
+
+		for (int i = 0; i < 20_000; i ++) {
+			Integer key = random.nextInt(500);
+			int operation = random.nextInt(10);
+
+			if (operation < 5) {
+				boolean inserted = !expected.containsKey(key);
+				if (inserted) expected.put(key, "v" + i);
+
+				assertEquals("insert " + key, inserted, tree.insert(key, "v" + i));
+			} else if (operation < 8) {
+				assertEquals("remove " + key, expected.remove(key), tree.remove(key));
+			} else {
+				assertEquals("get " + key, expected.get(key), tree.get(key));
+				assertEquals("contains " + key, expected.containsKey(key), tree.contains(key));
+			}
+			assertEquals(expected.size(), tree.size());
+
+			if (i % 1000 == 0) {
+				assertRedBlack(tree.snapshot());
+				assertEntries(expected, tree.iterator());
+
+				int low = random.nextInt(500);
+				int high = low + random.nextInt(100);
+				assertEntries(expected.subMap(low, false, high, false), tree.getInterval(low, high).iterator());
+				assertEntries(expected.headMap(high, false), tree.getLessThan(high).iterator());
+				assertEntries(expected.tailMap(low, false), tree.getGreaterThan(low).iterator());
+				assertRedBlack(((SnapshotRedBlackTree<Integer, String>) tree.getInterval(low, high)).snapshot());
+			}
+		}
+
+		tree.clear();
+		assertTrue(tree.isEmpty());
+		assertNull(tree.remove(1));
+	}
+
+	/**
+	 * A snapshot, and an iterator of the tree, stay the same while the live tree keeps changing.
+	 */
+	@Test
+	public void snapshotIsStable() {
+		SnapshotRedBlackTree<Integer, String> tree = new SnapshotRedBlackTree<>();
+		NavigableMap<Integer, String> expected = new TreeMap<>();
+		for (int i = 0; i < 1000; i ++) {
+			tree.insert(i, "v" + i);
+			expected.put(i, "v" + i);
+		}
+
+		PersistentRedBlackTree<Integer, String> snapshot = tree.snapshot();
+		String shape = snapshot.toString();
+		Iterator<SearchTree.Entry<Integer, String>> iterator = tree.iterator();
+		iterator.next();
+
+		for (int i = 0; i < 1000; i += 2) {
+			tree.remove(i);
+		}
+		for (int i = 1000; i < 2000; i ++) {
+			tree.insert(i, "w" + i);
+		}
+		tree.clear();
+		tree.insert(-1, "x");
+
+		assertEquals(1000, snapshot.size());
+		assertEquals(shape, snapshot.toString());
+		assertEntries(expected, snapshot.iterator());
+		assertEntries(expected.tailMap(0, false), iterator);
+
+		assertEquals(1, tree.size());
+		assertEquals("x", tree.get(-1));
+	}
+
+	/**
+	 * Writers racing each other all publish their versions, and readers racing the writers only ever see
+	 * whole versions: every snapshot is a valid red-black tree holding the entries of a prefix of every writer.
+	 */
+	@Test
+	public void concurrentWritersAndReaders() throws Exception {
+		int writers = 4;
+		int perWriter = 2000;
+		SnapshotRedBlackTree<Integer, Integer> tree = new SnapshotRedBlackTree<>();
+		ExecutorService executor = Executors.newFixedThreadPool(writers + 2);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<?>> futures = new ArrayList<>();
+
+		try {
+			for (int w = 0; w < writers; w ++) {
+				int writer = w;
+				futures.add(executor.submit(() -> {
+					start.await();
+					for (int i = 0; i < perWriter; i ++) {
+						assertTrue(tree.insert(i * writers + writer, writer));
+					}
+					return null;
+				}));
+			}
+			for (int r = 0; r < 2; r ++) {
+				futures.add(executor.submit(() -> {
+					start.await();
+					for (int i = 0; i < 200; i ++) {
+						PersistentRedBlackTree<Integer, Integer> snapshot = tree.snapshot();
+						List<Integer> keys = new ArrayList<>();
+						snapshot.forEach(entry -> keys.add(entry.getKey()));
+
+						assertEquals(snapshot.size(), keys.size());
+						for (int w = 0; w < writers; w ++) {
+							int writer = w;
+							List<Integer> own = keys.stream().filter(k -> k % writers == writer).collect(Collectors.toList());
+							for (int k = 0; k < own.size(); k ++) {
+								assertEquals("Keys of a writer out of order.", Integer.valueOf(k * writers + writer), own.get(k));
+							}
+						}
+						if (i % 20 == 0) assertRedBlack(snapshot);
+					}
+					return null;
+				}));
+			}
+
+			start.countDown();
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} finally {
+			executor.shutdownNow();
+			executor.awaitTermination(10, TimeUnit.SECONDS);
+		}
+
+		assertEquals(writers * perWriter, tree.size());
+		assertRedBlack(tree.snapshot());
+
+		NavigableMap<Integer, Integer> expected = new ConcurrentSkipListMap<>();
+		for (int i = 0; i < writers * perWriter; i ++) {
+			expected.put(i, i % writers);
+		}
+		Iterator<SearchTree.Entry<Integer, Integer>> actual = tree.iterator();
+		for (Integer key : expected.keySet()) {
+			SearchTree.Entry<Integer, Integer> entry = actual.next();
+			assertEquals(key, entry.getKey());
+			assertEquals(expected.get(key), entry.getValue());
+		}
+		assertFalse(actual.hasNext());
+	}
+}
@@ -0,0 +1,106 @@
+package filip.custom.data_structs.trees.binary.red_black.primitive;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import filip.custom.data_structs.trees.SearchTree;
+import filip.custom.data_structs.trees.binary.red_black.AbstractRedBlackTreeTest;
+import filip.custom.data_structs.trees.binary.red_black.RedBlackInvariants.Shape;
+
+/**
+ * Tests of the {@link IntRedBlackTree}, which also cover the balancing shared by all the primitive trees
+ * (see {@link AbstractPrimitiveRBT}).
+ *
+ * @author fiilip
+ *
+ */
+public class IntRedBlackTreeTest extends AbstractRedBlackTreeTest<IntRedBlackTree<String>> {
+
+	@Override
+	protected IntRedBlackTree<String> createTree() {
+		return new IntRedBlackTree<>();
+	}
+
+	@Override
+	protected Shape<?, Integer> shapeOf(IntRedBlackTree<String> tree) {
+		return shape(tree);
+	}
+
+	/**
+	 * Creates the shape of a given primitive tree.
+	 *
+	 * @param tree Tree of interest.
+	 * @return Shape of the tree.
+	 */
+	static <N extends PrimitiveRBTNode<N, V> & SearchTree.Entry<K, V>, K extends Comparable<K>, V> Shape<N, K> shape(AbstractPrimitiveRBT<N, K, V> tree) {
+		return new Shape<N, K>() {
+
+			@Override
+			public N root() {
+				return tree.root;
+			}
+
+			@Override
+			public N left(N node) {
+				return node.getLeft();
+			}
+
+			@Override
+			public N right(N node) {
+				return node.getRight();
+			}
+
+			@Override
+			public N parent(N node) {
+				return node.getParent();
+			}
+
+			@Override
+			public boolean isRed(N node) {
+				return node.isRed();
+			}
+
+			@Override
+			public K key(N node) {
+				return node.getKey();
+			}
+		};
+	}
+
+	@Test
+	public void primitiveIntervals() {
+		IntRedBlackTree<String> tree = new IntRedBlackTree<>();
+		for (int i = -50; i < 50; i += 2) {
+			tree.insert(i, "v" + i);
+		}
+
+		List<Integer> keys = new ArrayList<>();
+		tree.forEachInInterval(-5, 6, (value, key) -> keys.add(key));
+		assertEquals(keysOf(tree.getInterval(-5, 6)), keys);
+		assertEquals(keysOf(tree.getInterval(Integer.valueOf(-5), Integer.valueOf(6))), keys);
+		assertEquals(5, keys.size());
+		assertEquals(Integer.valueOf(-4), keys.get(0));
+		assertEquals(Integer.valueOf(4), keys.get(4));
+
+		assertEquals(24, tree.getGreaterThan(0).size());
+		assertEquals(25, tree.getLessThan(0).size());
+		assertEquals(50, tree.getInterval(null, null).size());
+
+		// bounds between and beyond the keys, and inverted bounds
+		assertTrue(tree.getInterval(3, 4).isEmpty());
+		assertTrue(tree.getInterval(10, -10).isEmpty());
+		assertTrue(tree.getInterval(100, 200).isEmpty());
+		assertEquals(50, tree.getInterval(Integer.MIN_VALUE, Integer.MAX_VALUE).size());
+	}
+
+	private static List<Integer> keysOf(SearchTree<Integer, String> tree) {
+		List<Integer> keys = new ArrayList<>();
+		tree.forEach(entry -> keys.add(entry.getKey()));
+		return keys;
+	}
+}
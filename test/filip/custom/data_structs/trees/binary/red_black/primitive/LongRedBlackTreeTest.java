@@ -0,0 +1,83 @@
+package filip.custom.data_structs.trees.binary.red_black.primitive;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Random;
+import java.util.TreeMap;
+
+import org.junit.Test;
+
+import filip.custom.data_structs.trees.SearchTree;
+import filip.custom.data_structs.trees.binary.red_black.RedBlackInvariants;
+
+/**
+ * Tests of the {@link LongRedBlackTree}, whose keys don't fit into an <code>int</code>.
+ *
+ * @author fiilip
+ *
+ */
+public class LongRedBlackTreeTest {
+
+	@Test
+	public void randomOperationsMatchTreeMap() {
+		Random random = new Random(7);
+		LongRedBlackTree<String> tree = new LongRedBlackTree<>();
+		NavigableMap<Long, String> expected = new TreeMap<>();
+
+		for (int i = 0; i < 20_000; i ++) {
+			// keys spread beyond the range of an int, so that a truncated comparison would show
+			long key = (random.nextInt(500) - 250) * (1L << 40);
+
+			if (random.nextBoolean()) {
+				boolean inserted = !expected.containsKey(key);
+				if (inserted) expected.put(key, "v" + i);
+				assertEquals(inserted, tree.insert(key, "v" + i));
+			} else {
+				assertEquals(expected.remove(key), tree.remove(key));
+			}
+
+			assertEquals(expected.size(), tree.size());
+			if (i % 1000 == 0) {
+				RedBlackInvariants.assertRedBlack(IntRedBlackTreeTest.shape(tree), tree.size());
+				assertIntervals(random, expected, tree);
+			}
+		}
+
+		RedBlackInvariants.assertRedBlack(IntRedBlackTreeTest.shape(tree), tree.size());
+		assertEntries(expected, tree);
+	}
+
+	private static void assertIntervals(Random random, NavigableMap<Long, String> expected, LongRedBlackTree<String> tree) {
+		long low = (random.nextInt(500) - 250) * (1L << 40);
+		long high = low + random.nextInt(100) * (1L << 40);
+
+		NavigableMap<Long, String> interval = expected.subMap(low, false, high, false);
+		assertEntries(interval, tree.getInterval(low, high));
+		assertEntries(interval, tree.getInterval(Long.valueOf(low), Long.valueOf(high)));
+		assertEntries(expected.headMap(high, false), tree.getLessThan(high));
+		assertEntries(expected.tailMap(low, false), tree.getGreaterThan(low));
+
+		NavigableMap<Long, String> visited = new TreeMap<>();
+		tree.forEachInInterval(low, high, (value, key) -> visited.put(key, value));
+		assertEquals(interval, visited);
+
+		assertTrue(tree.getInterval(high, low).isEmpty());
+	}
+
+	private static void assertEntries(Map<Long, String> expected, SearchTree<Long, String> tree) {
+		assertEquals(expected.size(), tree.size());
+
+		Iterator<SearchTree.Entry<Long, String>> actual = tree.iterator();
+		for (Map.Entry<Long, String> entry : expected.entrySet()) {
+			SearchTree.Entry<Long, String> next = actual.next();
+			assertEquals(entry.getKey(), next.getKey());
+			assertEquals(entry.getValue(), next.getValue());
+		}
+		assertFalse(actual.hasNext());
+	}
+}
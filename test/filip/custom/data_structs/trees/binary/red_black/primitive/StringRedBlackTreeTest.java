@@ -0,0 +1,245 @@
+package filip.custom.data_structs.trees.binary.red_black.primitive;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Random;
+import java.util.TreeMap;
+
+import org.junit.Test;
+
+import filip.custom.data_structs.trees.SearchTree;
+import filip.custom.data_structs.trees.binary.red_black.RedBlackInvariants;
+
+/**
+ * Tests of the {@link StringRedBlackTree}, whose nodes compare the packed characters following the prefix shared
+ * by all the keys first, so it must order the keys exactly as {@link String#compareTo(String)} does, however the shared
+ * prefix changes.
+ *
+ * @author fiilip
+ *
+ */
+public class StringRedBlackTreeTest {
+
+	/**
+	 * Keys of the same site, sharing a prefix much longer than {@value StringRedBlackTree#PREFIX_CHARS} characters.
+	 */
+	private static final String SITE = "https://www.example.com/catalog/";
+
+	/**
+	 * Keys around the <code>SITE</code> ones: the empty string, prefixes of the shared prefix, keys leaving it
+	 * at different characters, and non-ASCII keys, including the characters with the highest bit set and a surrogate pair.
+	 */
+	private static final List<String> OTHERS = Arrays.asList(
+			"", "h", "https://", SITE.substring(0, SITE.length() - 1), SITE, SITE + "\0", "http://www.example.com/",
+			"https://www.example.org/", "z", "été", SITE + "été", SITE + "日本語",
+			SITE + "\uD83D\uDE00", SITE + "\uFFFF", SITE + "\u8000", SITE + "\u7FFF", "\uFFFF");
+
+	@Test
+	public void sharedPrefixKeysMatchTreeMap() {
+		for (long seed = 1; seed <= 3; seed ++) {
+			Random random = new Random(seed);
+			List<String> keys = keys(random, 400);
+			// the keys not starting with the shared prefix come in only later, shortening it
+			List<String> later = new ArrayList<>(keys);
+			later.addAll(OTHERS);
+
+			StringRedBlackTree<String> tree = new StringRedBlackTree<>();
+			NavigableMap<String, String> expected = new TreeMap<>();
+
+			for (int i = 0; i < 20_000; i ++) {
+				List<String> pool = i < 5000 ? keys : later;
+				String key = pool.get(random.nextInt(pool.size()));
+				int operation = random.nextInt(10);
+
+				if (operation < 5) {
+					String value = "v" + i;
+					boolean inserted = !expected.containsKey(key);
+					if (inserted) expected.put(key, value);
+
+					assertEquals("insert " + key, inserted, tree.insert(key, value));
+				} else if (operation < 8) {
+					assertEquals("remove " + key, expected.remove(key), tree.remove(key));
+				} else {
+					assertEquals("get " + key, expected.get(key), tree.get(key));
+					assertEquals("contains " + key, expected.containsKey(key), tree.contains(key));
+				}
+				assertEquals(expected.size(), tree.size());
+
+				if (i % 1000 == 0) {
+					assertRedBlack(tree);
+					assertEntries(expected, tree);
+					assertIntervals(random, later, expected, tree);
+				}
+			}
+
+			assertRedBlack(tree);
+			assertEntries(expected, tree);
+			for (String key : later) {
+				assertEquals("get " + key, expected.get(key), tree.get(key));
+			}
+		}
+	}
+
+	/**
+	 * Keys that are prefixes of each other, and keys that are equal in all of the packed characters.
+	 */
+	@Test
+	public void keysPrefixingEachOther() {
+		List<String> keys = Arrays.asList(SITE + "abcdefgh", SITE + "abcd", SITE + "abcdefgh\0", SITE + "abcdefg",
+				SITE + "abcdefghi", SITE + "abcd\0\0\0\0", SITE + "ab", SITE + "abc", SITE + "abcdefgz", SITE);
+
+		StringRedBlackTree<String> tree = new StringRedBlackTree<>();
+		NavigableMap<String, String> expected = new TreeMap<>();
+		for (String key : keys) {
+			assertTrue(tree.insert(key, key));
+			expected.put(key, key);
+			assertRedBlack(tree);
+			assertEntries(expected, tree);
+		}
+
+		for (String key : keys) {
+			assertEquals(key, tree.get(key));
+			assertNull(tree.get(key + "x"));
+			assertEntries(expected.tailMap(key, false), tree.getGreaterThan(key));
+			assertEntries(expected.headMap(key, false), tree.getLessThan(key));
+		}
+
+		for (String key : keys) {
+			assertEquals(key, tree.remove(key));
+			expected.remove(key);
+			assertRedBlack(tree);
+			assertEntries(expected, tree);
+		}
+		assertTrue(tree.isEmpty());
+	}
+
+	/**
+	 * The empty key shares no characters with any other key, and leaves nothing to pack.
+	 */
+	@Test
+	public void emptyKey() {
+		StringRedBlackTree<String> tree = new StringRedBlackTree<>();
+		assertTrue(tree.insert("", "empty"));
+		assertEquals("empty", tree.get(""));
+		assertNull(tree.get("\0"));
+		assertFalse(tree.insert("", "other"));
+
+		tree.insert(SITE + "a", "a");
+		tree.insert("\0", "zero");
+		tree.insert(SITE, "site");
+		assertRedBlack(tree);
+		assertEquals(Arrays.asList("", "\0", SITE, SITE + "a"), keysOf(tree));
+		assertEquals(Arrays.asList("\0", SITE), keysOf(tree.getInterval("", SITE + "a")));
+
+		assertEquals("empty", tree.remove(""));
+		assertNull(tree.get(""));
+		assertEquals(Arrays.asList("\0", SITE, SITE + "a"), keysOf(tree));
+		assertRedBlack(tree);
+	}
+
+	/**
+	 * Once a tree is empty, the next key sets the shared prefix again, so a tree of another site is packed
+	 * after its own prefix.
+	 */
+	@Test
+	public void sharedPrefixIsResetWhenEmpty() {
+		StringRedBlackTree<String> tree = new StringRedBlackTree<>();
+		tree.insert("abc", "abc");
+		tree.insert("xyz", "xyz");
+		tree.remove("abc");
+		tree.remove("xyz");
+
+		NavigableMap<String, String> expected = new TreeMap<>();
+		for (int i = 0; i < 100; i ++) {
+			String key = SITE + (i * 37 % 100);
+			tree.insert(key, key);
+			expected.put(key, key);
+		}
+		assertRedBlack(tree);
+		assertEntries(expected, tree);
+		assertNull(tree.get("abc"));
+		assertNull(tree.get(SITE));
+
+		tree.clear();
+		tree.insert("日本", "a");
+		tree.insert("日本語", "b");
+		assertEquals(Arrays.asList("日本", "日本語"), keysOf(tree));
+		assertEquals("b", tree.get("日本語"));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void nullKey() {
+		new StringRedBlackTree<String>().insert(null, "v");
+	}
+
+	/**
+	 * Creates a given number of random keys of the same site.
+	 */
+	private static List<String> keys(Random random, int count) {
+		String[] sections = { "books/", "books/fiction/", "music/", "music/été/", "" };
+		List<String> keys = new ArrayList<>();
+
+		for (int i = 0; i < count; i ++) {
+			StringBuilder key = new StringBuilder(SITE).append(sections[random.nextInt(sections.length)]);
+			for (int length = random.nextInt(12); length > 0; length --) {
+				key.append((char) ('a' + random.nextInt(3)));
+			}
+			keys.add(key.toString());
+		}
+		return keys;
+	}
+
+	/**
+	 * Checks <code>getInterval</code>, <code>getLessThan</code> and <code>getGreaterThan</code> for a few random bounds,
+	 * which might be neither in the tree nor start with the shared prefix.
+	 */
+	private static void assertIntervals(Random random, List<String> bounds, NavigableMap<String, String> expected,
+			StringRedBlackTree<String> tree) {
+		for (int i = 0; i < 5; i ++) {
+			String low = bounds.get(random.nextInt(bounds.size()));
+			String high = bounds.get(random.nextInt(bounds.size()));
+
+			if (low.compareTo(high) <= 0) {
+				assertEntries(expected.subMap(low, false, high, false), tree.getInterval(low, high));
+			}
+			assertEntries(expected.headMap(high, false), tree.getLessThan(high));
+			assertEntries(expected.tailMap(low, false), tree.getGreaterThan(low));
+		}
+	}
+
+	private static void assertRedBlack(StringRedBlackTree<String> tree) {
+		RedBlackInvariants.assertRedBlack(IntRedBlackTreeTest.shape(tree), tree.size());
+	}
+
+	/**
+	 * Asserts that a given <code>tree</code> holds the <code>expected</code> entries, iterated over in the same order.
+	 */
+	private static void assertEntries(Map<String, String> expected, SearchTree<String, String> tree) {
+		assertEquals("size", expected.size(), tree.size());
+
+		Iterator<SearchTree.Entry<String, String>> actual = tree.iterator();
+		for (Map.Entry<String, String> entry : expected.entrySet()) {
+			assertTrue("Missing entry " + entry, actual.hasNext());
+
+			SearchTree.Entry<String, String> next = actual.next();
+			assertEquals(entry.getKey(), next.getKey());
+			assertEquals(entry.getValue(), next.getValue());
+		}
+		assertFalse("Extra entries.", actual.hasNext());
+	}
+
+	private static List<String> keysOf(SearchTree<String, String> tree) {
+		List<String> keys = new ArrayList<>();
+		tree.forEach(entry -> keys.add(entry.getKey()));
+		return keys;
+	}
+}
@@ -0,0 +1,75 @@
+package filip.custom.data_structs.trees.binary.red_black.topdown;
+
+import static org.junit.Assert.assertTrue;
+
+import filip.custom.data_structs.trees.binary.red_black.AbstractRedBlackTreeTest;
+import filip.custom.data_structs.trees.binary.red_black.RedBlackInvariants.Shape;
+import filip.custom.data_structs.trees.binary.red_black.RedBlackTree;
+
+/**
+ * Tests of the {@link TopDownRedBlackTree}, whose nodes don't link to their parents, and whose single-pass
+ * insertion and removal keep the red-black invariants in their own way.
+ *
+ * @author fiilip
+ *
+ */
+public class TopDownRedBlackTreeTest extends AbstractRedBlackTreeTest<TopDownRedBlackTree<Integer, String>> {
+
+	@Override
+	protected TopDownRedBlackTree<Integer, String> createTree() {
+		return new TopDownRedBlackTree<>();
+	}
+
+	@Override
+	protected Shape<?, Integer> shapeOf(TopDownRedBlackTree<Integer, String> tree) {
+		return shape(tree);
+	}
+
+	/**
+	 * Gets the shape of a given top-down tree, whose nodes don't link to their parents.
+	 */
+	public static <K extends Comparable<K>, V> Shape<TopDownRBTNode<K, V>, K> shape(TopDownRedBlackTree<K, V> tree) {
+		return new Shape<TopDownRBTNode<K, V>, K>() {
+
+			@Override
+			public TopDownRBTNode<K, V> root() {
+				return tree.root();
+			}
+
+			@Override
+			public TopDownRBTNode<K, V> left(TopDownRBTNode<K, V> node) {
+				return (TopDownRBTNode<K, V>) node.getLeft();
+			}
+
+			@Override
+			public TopDownRBTNode<K, V> right(TopDownRBTNode<K, V> node) {
+				return (TopDownRBTNode<K, V>) node.getRight();
+			}
+
+			@Override
+			public boolean hasParents() {
+				return false;
+			}
+
+			@Override
+			public boolean isRed(TopDownRBTNode<K, V> node) {
+				return node.isRed();
+			}
+
+			@Override
+			public K key(TopDownRBTNode<K, V> node) {
+				return node.getKey();
+			}
+		};
+	}
+
+	/**
+	 * The top-down operations rotate and recolor other nodes than the bottom-up ones, so the tree is shaped
+	 * differently from the {@link RedBlackTree}, but it's no deeper than any red-black tree of the same size can be.
+	 */
+	@Override
+	protected void assertShapedLike(RedBlackTree<Integer, String> reference, TopDownRedBlackTree<Integer, String> tree) {
+		int maxDepth = 2 * (32 - Integer.numberOfLeadingZeros(tree.size() + 1));
+		assertTrue(String.format("Depth %d of %d entries.", tree.depth(), tree.size()), tree.depth() <= maxDepth);
+	}
+}
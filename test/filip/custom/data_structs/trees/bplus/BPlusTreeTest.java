@@ -0,0 +1,418 @@
+package filip.custom.data_structs.trees.bplus;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Random;
+import java.util.TreeMap;
+
+import org.junit.Test;
+
+import filip.custom.data_structs.trees.SearchTree;
+import filip.custom.data_structs.trees.bplus.BPlusTree.Inner;
+import filip.custom.data_structs.trees.bplus.BPlusTree.Leaf;
+import filip.custom.data_structs.trees.bplus.BPlusTree.Node;
+import filip.custom.data_structs.trees.factories.BPlusTreeFactory;
+
+/**
+ * Tests of the {@link BPlusTree}, which must behave the same as the other {@link SearchTree}s of this library.<br>
+ *
+ * Besides the results of the operations, the structure of the tree is checked along the way: the fill of the nodes,
+ * the separators, the depth of the leaves, and the links between the leaves.
+ *
+ * @author fiilip
+ *
+ */
+public class BPlusTreeTest {
+
+	/**
+	 * Fanouts the trees are tested with: the least one, where every underflow is either a borrow or a merge
+	 * of single entries, a small even one, and the default one.
+	 */
+	private static final int[] FANOUTS = { BPlusTree.MIN_FANOUT, 4, BPlusTree.DEFAULT_FANOUT };
+
+	@Test
+	public void rejectsSmallFanout() {
+		try {
+			new BPlusTree<Integer, String>(BPlusTree.MIN_FANOUT - 1);
+			fail("A fanout less than the least one was accepted.");
+		} catch (IllegalArgumentException expected) {
+		}
+	}
+
+	@Test
+	public void randomOperationsMatchTreeMap() {
+		for (int fanout : FANOUTS) {
+			for (long seed = 1; seed <= 3; seed ++) {
+				runRandomOperations(new BPlusTree<>(fanout), new TreeMap<>(), new Random(seed));
+			}
+		}
+	}
+
+	/**
+	 * Removals in ascending, descending and random order, which underflow the leftmost, the rightmost and the
+	 * middle children, until the root collapses down to a single leaf, and the tree is empty.
+	 */
+	@Test
+	public void removeUntilEmpty() {
+		for (int fanout : FANOUTS) {
+			List<Integer> keys = new ArrayList<>();
+			for (int i = 0; i < 2000; i ++) {
+				keys.add(i);
+			}
+
+			assertRemoveAll(fanout, keys);
+			Collections.reverse(keys);
+			assertRemoveAll(fanout, keys);
+			Collections.shuffle(keys, new Random(fanout));
+			assertRemoveAll(fanout, keys);
+		}
+	}
+
+	private static void assertRemoveAll(int fanout, List<Integer> keys) {
+		BPlusTree<Integer, String> tree = treeOf(fanout, keys.size());
+		NavigableMap<Integer, String> expected = mapOf(keys.size());
+		int depth = tree.depth();
+
+		for (Integer key : keys) {
+			assertEquals("remove " + key, expected.remove(key), tree.remove(key));
+			assertNull(tree.get(key));
+
+			// the tree only ever gets shallower, one level at a time
+			assertTrue(tree.depth() <= depth && tree.depth() >= depth - 1);
+			depth = tree.depth();
+
+			if (expected.size() % 97 == 0 || expected.size() < 50) {
+				assertStructure(tree);
+				assertEntries(expected, tree);
+			}
+		}
+
+		assertTrue(tree.isEmpty());
+		assertEquals(0, tree.size());
+		assertEquals(0, tree.depth());
+		assertNull(tree.rootNode());
+		assertFalse(tree.iterator().hasNext());
+	}
+
+	/**
+	 * Removals of every other key, after which the leaves are walked through their links,
+	 * from the first leaf, and from within the tree.
+	 */
+	@Test
+	public void leafLinksAfterRemovals() {
+		for (int fanout : FANOUTS) {
+			BPlusTree<Integer, String> tree = treeOf(fanout, 1000);
+			NavigableMap<Integer, String> expected = mapOf(1000);
+
+			for (int i = 0; i < 1000; i += 2) {
+				tree.remove(i);
+				expected.remove(i);
+			}
+			for (int i = 1; i < 1000; i += 6) {
+				tree.remove(i);
+				expected.remove(i);
+			}
+
+			assertStructure(tree);
+			assertEntries(expected, tree);
+
+			for (int low = -1; low < 1000; low += 37) {
+				assertEntries(expected.tailMap(low, false), tree.getGreaterThan(low));
+			}
+		}
+	}
+
+	@Test
+	public void insertExistingKey() {
+		BPlusTree<Integer, String> tree = treeOf(4, 100);
+
+		assertFalse(tree.insert(42, "other"));
+		assertEquals("v42", tree.get(42));
+		assertEquals(100, tree.size());
+		assertStructure(tree);
+	}
+
+	@Test
+	public void nullKeys() {
+		BPlusTree<Integer, String> tree = treeOf(4, 10);
+
+		try {
+			tree.insert(null, "v");
+			fail("A null key was inserted.");
+		} catch (IllegalArgumentException expected) {
+		}
+		try {
+			tree.get(null);
+			fail("A null key was looked up.");
+		} catch (IllegalArgumentException expected) {
+		}
+		try {
+			tree.remove(null);
+			fail("A null key was removed.");
+		} catch (IllegalArgumentException expected) {
+		}
+	}
+
+	/**
+	 * Bulk loads through the {@link BPlusTreeFactory}, of every size up to a few levels of the least fanout,
+	 * followed by insertions and removals, which must split and re-balance the built nodes as any others.
+	 */
+	@Test
+	public void createFromSorted() {
+		for (int fanout : FANOUTS) {
+			BPlusTreeFactory<Integer, String> factory = new BPlusTreeFactory<>(fanout);
+
+			for (int size = 0; size <= 300; size ++) {
+				NavigableMap<Integer, String> expected = new TreeMap<>();
+				Integer[] keys = new Integer[size];
+				String[] values = new String[size];
+				for (int i = 0; i < size; i ++) {
+					keys[i] = 2 * i;
+					values[i] = "v" + 2 * i;
+					expected.put(keys[i], values[i]);
+				}
+
+				BPlusTree<Integer, String> fromIterator = (BPlusTree<Integer, String>) factory.createFromSorted(
+						expected.entrySet().iterator(), size);
+				BPlusTree<Integer, String> fromArrays = (BPlusTree<Integer, String>) factory.createFromSorted(keys, values);
+				BPlusTree<Integer, String> fromMap = (BPlusTree<Integer, String>) factory.createFromMap(expected);
+
+				for (BPlusTree<Integer, String> tree : Arrays.asList(fromIterator, fromArrays, fromMap)) {
+					assertEquals(fanout, tree.getFanout());
+					assertStructure(tree);
+					assertEntries(expected, tree);
+				}
+
+				if (size % 50 == 0) {
+					runRandomOperations(fromArrays, expected, new Random(size));
+				}
+			}
+		}
+	}
+
+	@Test
+	public void buildFromUnsortedKeys() {
+		BPlusTree<Integer, String> tree = treeOf(4, 10);
+		NavigableMap<Integer, String> expected = mapOf(10);
+
+		try {
+			tree.buildFromSorted(new Integer[] { 1, 3, 2 }, new String[] { "a", "b", "c" });
+			fail("Unsorted keys were accepted.");
+		} catch (IllegalArgumentException e) {
+		}
+		try {
+			tree.buildFromSorted(new Integer[] { 1, 1 }, new String[] { "a", "b" });
+			fail("Duplicate keys were accepted.");
+		} catch (IllegalArgumentException e) {
+		}
+		try {
+			tree.buildFromSorted(new Integer[] { 1, 2 }, new String[] { "a" });
+			fail("Arrays of different lengths were accepted.");
+		} catch (IllegalArgumentException e) {
+		}
+		try {
+			tree.buildFromSorted(mapOf(3).entrySet().iterator(), 4);
+			fail("Too few entries were accepted.");
+		} catch (IllegalArgumentException e) {
+		}
+
+		// the tree is left unchanged
+		assertStructure(tree);
+		assertEntries(expected, tree);
+	}
+
+	@Test
+	public void entriesViewTheLeaves() {
+		BPlusTree<Integer, String> tree = treeOf(4, 20);
+
+		for (SearchTree.Entry<Integer, String> entry : tree) {
+			entry.setValue("w" + entry.getKey());
+		}
+		for (int i = 0; i < 20; i ++) {
+			assertEquals("w" + i, tree.get(i));
+		}
+	}
+
+	/**
+	 * Runs random insertions, removals and lookups on a given <code>tree</code>, holding the <code>expected</code> entries.
+	 */
+	private static void runRandomOperations(BPlusTree<Integer, String> tree, NavigableMap<Integer, String> expected, Random random) {
+		int keys = 1000;
+
+		for (int i = 0; i < 20_000; i ++) {
+			Integer key = random.nextInt(keys);
+			int operation = random.nextInt(10);
+
+			if (operation < 5) {
+				String value = "v" + key;
+				boolean inserted = !expected.containsKey(key);
+				if (inserted) expected.put(key, value);
+
+				assertEquals("insert " + key, inserted, tree.insert(key, value));
+			} else if (operation < 8) {
+				assertEquals("remove " + key, expected.remove(key), tree.remove(key));
+			} else {
+				assertEquals("get " + key, expected.get(key), tree.get(key));
+				assertEquals("contains " + key, expected.containsKey(key), tree.contains(key));
+			}
+
+			assertEquals(expected.size(), tree.size());
+			assertEquals(expected.isEmpty(), tree.isEmpty());
+
+			if (i % 500 == 0) {
+				assertStructure(tree);
+				assertEntries(expected, tree);
+				assertIntervals(random, keys, expected, tree);
+			}
+		}
+
+		assertStructure(tree);
+		assertEntries(expected, tree);
+
+		tree.clear();
+		expected.clear();
+		assertTrue(tree.isEmpty());
+		assertEquals(0, tree.size());
+		assertStructure(tree);
+	}
+
+	/**
+	 * Checks <code>getInterval</code>, <code>getLessThan</code> and <code>getGreaterThan</code> for a few random bounds.
+	 */
+	private static void assertIntervals(Random random, int keys, NavigableMap<Integer, String> expected, BPlusTree<Integer, String> tree) {
+		for (int i = 0; i < 5; i ++) {
+			int low = random.nextInt(keys);
+			int high = low + random.nextInt(keys / 4);
+
+			assertEntries(expected.subMap(low, false, high, false), tree.getInterval(low, high));
+			assertEntries(expected.headMap(high, false), tree.getLessThan(high));
+			assertEntries(expected.tailMap(low, false), tree.getGreaterThan(low));
+		}
+		assertEntries(expected, tree.getInterval(null, null));
+		assertStructure((BPlusTree<Integer, String>) tree.getInterval(null, null));
+	}
+
+	/**
+	 * Asserts that a given <code>tree</code> holds the <code>expected</code> entries, iterated over in the same order.
+	 */
+	private static void assertEntries(Map<Integer, String> expected, SearchTree<Integer, String> tree) {
+		assertEquals("size", expected.size(), tree.size());
+
+		Iterator<SearchTree.Entry<Integer, String>> actual = tree.iterator();
+		for (Map.Entry<Integer, String> entry : expected.entrySet()) {
+			assertTrue("Missing entry " + entry, actual.hasNext());
+
+			SearchTree.Entry<Integer, String> next = actual.next();
+			assertEquals(entry.getKey(), next.getKey());
+			assertEquals(entry.getValue(), next.getValue());
+		}
+		assertFalse("Extra entries.", actual.hasNext());
+	}
+
+	/**
+	 * Asserts that a given <code>tree</code> is a valid B+ tree:
+	 * <ul>
+	 * <li>the keys of every node are strictly ascending, and within the separators of its parents,</li>
+	 * <li>every node other than the root is at least half full, and no node is over full,</li>
+	 * <li>every leaf is at the same depth, which is the depth of the tree,</li>
+	 * <li>the leaves are linked to one another in the order of their keys, and the last one links to no leaf,</li>
+	 * <li>the leaves hold exactly <code>size</code> entries.</li>
+	 * </ul>
+	 */
+	private static void assertStructure(BPlusTree<Integer, String> tree) {
+		Node root = tree.rootNode();
+		if (root == null) {
+			assertEquals(0, tree.size());
+			assertEquals(0, tree.depth());
+			return;
+		}
+
+		assertTrue("The root is empty.", root.count > 0);
+
+		List<Leaf> leaves = new ArrayList<>();
+		assertNode(tree, root, null, null, 1, leaves);
+
+		int entries = 0;
+		for (int i = 0; i < leaves.size(); i ++) {
+			Leaf leaf = leaves.get(i);
+			assertSame("Leaf " + i + " links to another leaf.", i + 1 < leaves.size() ? leaves.get(i + 1) : null, leaf.next);
+			entries += leaf.count;
+		}
+		assertEquals("Number of entries.", tree.size(), entries);
+	}
+
+	/**
+	 * Checks the subtree rooted at a given node <code>n</code>, whose keys must be not less than <code>low</code>,
+	 * and less than <code>high</code>, and collects its leaves in order.
+	 */
+	private static void assertNode(BPlusTree<Integer, String> tree, Node n, Integer low, Integer high, int level, List<Leaf> leaves) {
+		int fanout = tree.getFanout();
+
+		if (n != tree.rootNode()) {
+			assertTrue(String.format("Node %s is less than half full.", keys(n)), n.count >= tree.minCount(n));
+		}
+
+		for (int i = 0; i < n.count; i ++) {
+			Integer key = (Integer) n.keys[i];
+
+			if (i > 0) assertTrue(String.format("Keys %s are not ascending.", keys(n)), key > (Integer) n.keys[i - 1]);
+			if (low != null) assertTrue(String.format("Key %s is less than %s.", key, low), key >= low);
+			if (high != null) assertTrue(String.format("Key %s is not less than %s.", key, high), key < high);
+		}
+
+		if (n instanceof Leaf) {
+			assertTrue(String.format("Leaf %s is over full.", keys(n)), n.count <= fanout);
+			assertEquals("Depth of the leaf " + keys(n), tree.depth(), level);
+			leaves.add((Leaf) n);
+			return;
+		}
+
+		Inner inner = (Inner) n;
+		assertTrue(String.format("Inner node %s is over full.", keys(n)), n.count < fanout);
+
+		for (int i = 0; i <= inner.count; i ++) {
+			Integer from = i == 0 ? low : (Integer) inner.keys[i - 1];
+			Integer to = i == inner.count ? high : (Integer) inner.keys[i];
+			assertNode(tree, inner.children[i], from, to, level + 1, leaves);
+		}
+	}
+
+	private static List<Object> keys(Node n) {
+		List<Object> keys = new ArrayList<>();
+		for (int i = 0; i < n.count; i ++) {
+			keys.add(n.keys[i]);
+		}
+		return keys;
+	}
+
+	/**
+	 * Creates a tree of the keys from <code>0</code> to <code>size - 1</code>, inserted in an ascending order.
+	 */
+	private static BPlusTree<Integer, String> treeOf(int fanout, int size) {
+		BPlusTree<Integer, String> tree = new BPlusTree<>(fanout);
+		for (int i = 0; i < size; i ++) {
+			tree.insert(i, "v" + i);
+		}
+		return tree;
+	}
+
+	private static NavigableMap<Integer, String> mapOf(int size) {
+		NavigableMap<Integer, String> map = new TreeMap<>();
+		for (int i = 0; i < size; i ++) {
+			map.put(i, "v" + i);
+		}
+		return map;
+	}
+}
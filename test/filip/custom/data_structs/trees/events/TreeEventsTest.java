@@ -0,0 +1,137 @@
+package filip.custom.data_structs.trees.events;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
+
+import org.junit.Test;
+
+import filip.custom.data_structs.trees.SearchTree;
+import filip.custom.data_structs.trees.binary.red_black.RedBlackTree;
+
+/**
+ * Tests of the {@link TreeEvents} loaded without the classes of the <code>jfr</code> source folder,
+ * or without the Flight Recorder those classes link to, which must never begin an event.
+ *
+ * @author fiilip
+ *
+ */
+public class TreeEventsTest {
+
+	/**
+	 * Name of the class recording the events with the JDK Flight Recorder.
+	 */
+	private static final String FLIGHT_RECORDER_EVENTS = "filip.custom.data_structs.trees.events.jfr.FlightRecorderEvents";
+
+	/**
+	 * The class recording the events is missing from the class path.
+	 */
+	@Test
+	public void withoutTheEventClasses() throws Exception {
+		assertDisabled(new ClassNotFoundException(FLIGHT_RECORDER_EVENTS));
+	}
+
+	/**
+	 * The class recording the events is there, and the <code>jdk.jfr</code> classes it links to are not.
+	 */
+	@Test
+	public void withoutTheFlightRecorder() throws Exception {
+		assertDisabled(new NoClassDefFoundError("jdk/jfr/EventType"));
+	}
+
+	/**
+	 * Without a running recording, no event is begun, whether or not the events are recorded in this JVM,
+	 * and the operations of a tree don't depend on them.
+	 */
+	@Test
+	public void withoutARecording() {
+		assertNull(TreeEvents.beginInsert());
+		assertNull(TreeEvents.beginRemove());
+		assertNull(TreeEvents.beginInterval());
+		assertNull(TreeEvents.beginIteration());
+
+		RedBlackTree<Integer, String> tree = new RedBlackTree<>();
+		for (int key = 0; key < 100; key ++) {
+			tree.insert(key, "v" + key);
+		}
+		for (int key = 0; key < 100; key += 2) {
+			assertEquals("v" + key, tree.remove(key));
+		}
+
+		int count = 0;
+		for (SearchTree.Entry<Integer, String> entry : tree) {
+			assertEquals(2 * count + 1, (int) entry.getKey());
+			count ++;
+		}
+		assertEquals(50, count);
+		assertEquals(5, tree.getInterval(10, 20).size());
+	}
+
+	/**
+	 * Loads a fresh copy of the {@link TreeEvents} whose class loader fails to load the class recording the events
+	 * with a given error, and asserts that it never begins an event.
+	 */
+	private static void assertDisabled(Throwable failure) throws Exception {
+		try (HidingClassLoader loader = new HidingClassLoader(failure)) {
+			Class<?> events = Class.forName(TreeEvents.class.getName(), true, loader);
+			assertEquals(loader, events.getClassLoader());
+
+			assertEquals(Boolean.FALSE, invoke(events, "isAvailable"));
+			assertNull(invoke(events, "beginInsert"));
+			assertNull(invoke(events, "beginRemove"));
+			assertNull(invoke(events, "beginInterval"));
+			assertNull(invoke(events, "beginIteration"));
+			assertFalse("The class recording the events was never asked for.", loader.asked == 0);
+		}
+	}
+
+	private static Object invoke(Class<?> events, String name) throws Exception {
+		Method method = events.getMethod(name);
+		try {
+			return method.invoke(null);
+		} catch (InvocationTargetException e) {
+			throw new AssertionError(name + " failed.", e.getCause());
+		}
+	}
+
+	/**
+	 * Class loader of the tree classes of its own, apart from the class path of the tests,
+	 * which fails to load the class recording the events.
+	 *
+	 * @author fiilip
+	 *
+	 */
+	private static final class HidingClassLoader extends URLClassLoader {
+
+		/**
+		 * Error thrown for the class recording the events.
+		 */
+		private final Throwable failure;
+
+		/**
+		 * Number of times the class recording the events was asked for.
+		 */
+		private int asked;
+
+		HidingClassLoader(Throwable failure) {
+			super(new URL[] { TreeEvents.class.getProtectionDomain().getCodeSource().getLocation() }, null);
+			this.failure = failure;
+		}
+
+		@Override
+		protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+			if (!name.equals(FLIGHT_RECORDER_EVENTS)) {
+				return super.loadClass(name, resolve);
+			}
+
+			asked ++;
+			if (failure instanceof ClassNotFoundException) throw (ClassNotFoundException) failure;
+			throw (Error) failure;
+		}
+	}
+}
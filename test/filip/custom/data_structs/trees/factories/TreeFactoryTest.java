@@ -0,0 +1,342 @@
+package filip.custom.data_structs.trees.factories;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Random;
+import java.util.TreeMap;
+
+import org.junit.Test;
+
+import filip.custom.data_structs.trees.SearchTree;
+import filip.custom.data_structs.trees.binary.AbstractBST;
+import filip.custom.data_structs.trees.binary.BinarySearchTree;
+import filip.custom.data_structs.trees.binary.red_black.RBTNode;
+import filip.custom.data_structs.trees.binary.red_black.RedBlackInvariants;
+import filip.custom.data_structs.trees.binary.red_black.RedBlackInvariants.Shape;
+import filip.custom.data_structs.trees.binary.red_black.RedBlackTree;
+import filip.custom.data_structs.trees.binary.red_black.topdown.TopDownRedBlackTree;
+import filip.custom.data_structs.trees.binary.red_black.topdown.TopDownRedBlackTreeTest;
+import filip.custom.data_structs.trees.comparators.KeyComparators;
+
+/**
+ * Tests of the trees built from the sorted entries through the factories, which must hold the same entries as
+ * a {@link TreeMap}, be as shallow as a binary tree of their size can be, and be valid red-black trees where they are
+ * red-black trees, for the sizes around the powers of two, where the lowest level is full, or holds a single node.<br>
+ * The {@link filip.custom.data_structs.trees.bplus.BPlusTree} built from the sorted entries is tested by its own test.
+ *
+ * @author fiilip
+ *
+ */
+public class TreeFactoryTest {
+
+	/**
+	 * Sizes <code>0</code>, <code>1</code>, <code>2</code>, and <code>2^k - 1</code>, <code>2^k</code>
+	 * and <code>2^k + 1</code> for a few <code>k</code>.
+	 */
+	private static final int[] SIZES = { 0, 1, 2, 3, 4, 5, 7, 8, 9, 15, 16, 17, 31, 32, 33, 255, 256, 257, 1023, 1024, 1025 };
+
+	@Test
+	public void buildsOfEverySize() {
+		List<TreeFactory<Integer, String>> factories = Arrays.asList(
+				new BSTFactory<>(), new RBTFactory<>(), new TopDownRBTFactory<>(), new ArrayRBTFactory<>());
+
+		for (int size : SIZES) {
+			NavigableMap<Integer, String> expected = mapOf(null, size);
+			Integer[] keys = expected.keySet().toArray(new Integer[size]);
+			String[] values = expected.values().toArray(new String[size]);
+
+			for (TreeFactory<Integer, String> factory : factories) {
+				List<SearchTree<Integer, String>> trees = Arrays.asList(
+						factory.createFromSorted(expected.entrySet().iterator(), size),
+						factory.createFromSorted(keys, values),
+						factory.createFromSorted(expected),
+						factory.createFromMap(expected));
+
+				for (SearchTree<Integer, String> tree : trees) {
+					assertBuilt(factory, expected, tree);
+				}
+			}
+		}
+	}
+
+	/**
+	 * The trees of a {@link RBTFactory} ordered by a reversed comparator are built in that order.
+	 */
+	@Test
+	public void buildsInTheOrderOfTheComparator() {
+		RBTFactory<Integer, String> factory = new RBTFactory<>(Comparator.<Integer> reverseOrder());
+
+		for (int size : SIZES) {
+			NavigableMap<Integer, String> expected = mapOf(Comparator.reverseOrder(), size);
+			Integer[] keys = expected.keySet().toArray(new Integer[size]);
+			String[] values = expected.values().toArray(new String[size]);
+
+			List<SearchTree<Integer, String>> trees = Arrays.asList(
+					factory.createFromSorted(expected.entrySet().iterator(), size),
+					factory.createFromSorted(keys, values),
+					factory.createFromSorted(expected));
+
+			for (SearchTree<Integer, String> tree : trees) {
+				RedBlackTree<Integer, String> built = (RedBlackTree<Integer, String>) tree;
+				assertEntries(expected, built);
+				assertEquals(minimalDepth(size), built.depth());
+				RedBlackInvariants.assertRedBlack(negated(RedBlackInvariants.of(built)), size);
+			}
+
+			// the keys ascending in their natural order are out of the order of the trees
+			if (size > 1) {
+				assertRejected(() -> factory.createFromSorted(mapOf(null, size).entrySet().iterator(), size));
+			}
+		}
+	}
+
+	/**
+	 * A map sorted by another comparator than the one of the created trees can't be built from as it is sorted,
+	 * so its entries are inserted one by one.
+	 */
+	@Test
+	public void otherComparatorsFallBackToInsertion() {
+		NavigableMap<Integer, String> reversed = mapOf(Comparator.reverseOrder(), 100);
+		NavigableMap<Integer, String> natural = mapOf(null, 100);
+
+		List<TreeFactory<Integer, String>> factories = Arrays.asList(
+				new BSTFactory<>(), new RBTFactory<>(), new TopDownRBTFactory<>(), new ArrayRBTFactory<>());
+		for (TreeFactory<Integer, String> factory : factories) {
+			assertEntries(natural, factory.createFromSorted(reversed));
+			assertEntries(natural, factory.createFromMap(reversed));
+		}
+
+		// and the other way round
+		RBTFactory<Integer, String> factory = new RBTFactory<>(Comparator.<Integer> reverseOrder());
+		for (SearchTree<Integer, String> tree : Arrays.asList(factory.createFromSorted(natural), factory.createFromMap(natural))) {
+			assertEntries(reversed, tree);
+			RedBlackInvariants.assertRedBlack(negated(RedBlackInvariants.of((RedBlackTree<Integer, String>) tree)), 100);
+		}
+
+		// an unsorted map is inserted from as well
+		Map<Integer, String> unsorted = new HashMap<>(natural);
+		for (TreeFactory<Integer, String> other : factories) {
+			assertEntries(natural, other.createFromMap(unsorted));
+		}
+	}
+
+	/**
+	 * The factories of the binary trees thread their comparator through to the trees, whose insertions, removals,
+	 * lookups and intervals all follow it, for a reversed comparator, and a {@link KeyComparators#comparingLong} one
+	 * that scrambles the keys.
+	 */
+	@Test
+	public void comparatorsAreThreadedThrough() {
+		List<Comparator<Integer>> comparators = Arrays.asList(
+				Comparator.<Integer> reverseOrder(), KeyComparators.<Integer> comparingLong(key -> key * 0x9E3779B9L & 0xFFFFFFFFL));
+
+		for (Comparator<Integer> comparator : comparators) {
+			List<TreeFactory<Integer, String>> factories = Arrays.asList(
+					new BSTFactory<>(comparator), new RBTFactory<>(comparator), new TopDownRBTFactory<>(comparator));
+
+			for (TreeFactory<Integer, String> factory : factories) {
+				NavigableMap<Integer, String> sorted = new TreeMap<>(comparator);
+				sorted.putAll(mapOf(null, 500));
+				Integer[] keys = sorted.keySet().toArray(new Integer[sorted.size()]);
+				String[] values = sorted.values().toArray(new String[sorted.size()]);
+
+				List<SearchTree<Integer, String>> trees = Arrays.asList(
+						factory.createFromMap(new HashMap<>(sorted)),
+						factory.createFromSorted(sorted),
+						factory.createFromSorted(keys, values),
+						factory.createFromSorted(sorted.entrySet().iterator(), sorted.size()));
+
+				for (int t = 0; t < trees.size(); t ++) {
+					SearchTree<Integer, String> tree = trees.get(t);
+					NavigableMap<Integer, String> expected = new TreeMap<>(sorted);
+					assertEquals(comparator, tree.comparator());
+					assertEntries(expected, tree);
+
+					Random random = new Random(t);
+					for (int i = 0; i < 3000; i ++) {
+						Integer key = random.nextInt(1200);
+						if (random.nextBoolean()) {
+							assertEquals(!expected.containsKey(key), tree.insert(key, "w" + i));
+							expected.putIfAbsent(key, "w" + i);
+						} else {
+							assertEquals(expected.remove(key), tree.remove(key));
+						}
+					}
+					assertEntries(expected, tree);
+					int maxDepth = 2 * (32 - Integer.numberOfLeadingZeros(tree.size() + 1));
+					if (!(tree instanceof BinarySearchTree)) assertTrue(tree.depth() <= maxDepth);
+
+					for (int i = 0; i < 20; i ++) {
+						Integer low = random.nextInt(1200);
+						Integer high = random.nextInt(1200);
+						if (comparator.compare(low, high) > 0) continue;
+						assertEntries(expected.subMap(low, false, high, false), tree.getInterval(low, high));
+					}
+				}
+
+				// the keys sorted in their natural order are out of the order of the trees
+				assertRejected(() -> factory.createFromSorted(mapOf(null, 10).entrySet().iterator(), 10));
+			}
+		}
+	}
+
+	@Test
+	public void unsortedEntriesAreRejected() {
+		List<TreeFactory<Integer, String>> factories = Arrays.asList(
+				new BSTFactory<>(), new RBTFactory<>(), new TopDownRBTFactory<>(), new ArrayRBTFactory<>());
+
+		for (TreeFactory<Integer, String> factory : factories) {
+			assertRejected(() -> factory.createFromSorted(new Integer[] { 1, 3, 2 }, new String[] { "a", "b", "c" }));
+			assertRejected(() -> factory.createFromSorted(new Integer[] { 2, 1 }, new String[] { "a", "b" }));
+			assertRejected(() -> factory.createFromSorted(new Integer[] { 1, 1 }, new String[] { "a", "b" }));
+			assertRejected(() -> factory.createFromSorted(new Integer[] { 1, 2 }, new String[] { "a" }));
+			assertRejected(() -> factory.createFromSorted(mapOf(null, 3).entrySet().iterator(), 4));
+
+			// the last of many entries is out of order
+			Integer[] keys = mapOf(null, 100).keySet().toArray(new Integer[100]);
+			keys[99] = keys[98];
+			assertRejected(() -> factory.createFromSorted(keys, new String[100]));
+		}
+	}
+
+	/**
+	 * A tree built from the entries that turn out not to be sorted is left as it was before the build.
+	 */
+	@Test
+	public void failedBuildLeavesTheTree() {
+		NavigableMap<Integer, String> expected = mapOf(null, 10);
+		List<AbstractBST<Integer, String>> trees = Arrays.asList(
+				new BinarySearchTree<>(), new RedBlackTree<>(), new TopDownRedBlackTree<>());
+
+		for (AbstractBST<Integer, String> tree : trees) {
+			tree.buildFromSorted(expected.entrySet().iterator(), expected.size());
+
+			assertRejected(() -> tree.buildFromSorted(new Integer[] { 1, 3, 2 }, new String[] { "a", "b", "c" }));
+			assertRejected(() -> tree.buildFromSorted(mapOf(null, 3).entrySet().iterator(), 4));
+			assertRejected(() -> tree.buildFromSorted(expected.entrySet().iterator(), -1));
+			assertRejected(() -> tree.buildFromSorted(new Integer[] { 1, null }, new String[] { "a", "b" }));
+
+			assertEntries(expected, tree);
+			assertTrue(tree.insert(100, "v100"));
+			assertFalse(tree.insert(3, "other"));
+			assertEquals(11, tree.size());
+		}
+	}
+
+	/**
+	 * Asserts that a tree built from the <code>expected</code> entries by a given factory holds them,
+	 * and is shaped as the factory builds it.
+	 */
+	private static void assertBuilt(TreeFactory<Integer, String> factory, NavigableMap<Integer, String> expected,
+			SearchTree<Integer, String> tree) {
+		String name = factory.getClass().getSimpleName() + " of " + expected.size();
+		assertEntries(expected, tree);
+
+		if (factory instanceof ArrayRBTFactory) {
+			// built by the insertions
+			return;
+		}
+
+		// the linear build is perfectly balanced
+		assertEquals("Depth of the tree of the " + name, minimalDepth(expected.size()), ((AbstractBST<Integer, String>) tree).depth());
+
+		if (tree instanceof RedBlackTree) {
+			RedBlackInvariants.assertRedBlack((RedBlackTree<Integer, String>) tree);
+		} else if (tree instanceof TopDownRedBlackTree) {
+			RedBlackInvariants.assertRedBlack(TopDownRedBlackTreeTest.shape((TopDownRedBlackTree<Integer, String>) tree), expected.size());
+		}
+	}
+
+	/**
+	 * Gets the depth of the shallowest binary tree of a given <code>size</code>, which is <code>ceil(log2(size + 1))</code>.
+	 */
+	private static int minimalDepth(int size) {
+		return 32 - Integer.numberOfLeadingZeros(size);
+	}
+
+	/**
+	 * Gets the shape of a tree ordered by the reversed order of the keys, whose keys are negated,
+	 * so that they're ascending in their natural order.
+	 */
+	private static Shape<RBTNode<Integer, String>, Integer> negated(Shape<RBTNode<Integer, String>, Integer> shape) {
+		return new Shape<RBTNode<Integer, String>, Integer>() {
+
+			@Override
+			public RBTNode<Integer, String> root() {
+				return shape.root();
+			}
+
+			@Override
+			public RBTNode<Integer, String> left(RBTNode<Integer, String> node) {
+				return shape.left(node);
+			}
+
+			@Override
+			public RBTNode<Integer, String> right(RBTNode<Integer, String> node) {
+				return shape.right(node);
+			}
+
+			@Override
+			public RBTNode<Integer, String> parent(RBTNode<Integer, String> node) {
+				return shape.parent(node);
+			}
+
+			@Override
+			public boolean isRed(RBTNode<Integer, String> node) {
+				return shape.isRed(node);
+			}
+
+			@Override
+			public Integer key(RBTNode<Integer, String> node) {
+				return -shape.key(node);
+			}
+		};
+	}
+
+	/**
+	 * Creates a map of the odd keys from <code>1</code> to <code>2 * size - 1</code>, ordered by a given <code>comparator</code>.
+	 */
+	private static NavigableMap<Integer, String> mapOf(Comparator<Integer> comparator, int size) {
+		NavigableMap<Integer, String> map = new TreeMap<>(comparator);
+		for (int i = 0; i < size; i ++) {
+			map.put(2 * i + 1, "v" + (2 * i + 1));
+		}
+		return map;
+	}
+
+	private static void assertRejected(Runnable build) {
+		try {
+			build.run();
+			fail("The entries were built from.");
+		} catch (IllegalArgumentException e) {
+		}
+	}
+
+	/**
+	 * Asserts that a given <code>tree</code> holds the <code>expected</code> entries, iterated over in the same order.
+	 */
+	private static void assertEntries(Map<Integer, String> expected, SearchTree<Integer, String> tree) {
+		assertEquals("size", expected.size(), tree.size());
+
+		Iterator<SearchTree.Entry<Integer, String>> actual = tree.iterator();
+		for (Map.Entry<Integer, String> entry : expected.entrySet()) {
+			assertTrue("Missing entry " + entry, actual.hasNext());
+
+			SearchTree.Entry<Integer, String> next = actual.next();
+			assertEquals(entry.getKey(), next.getKey());
+			assertEquals(entry.getValue(), next.getValue());
+			assertEquals(entry.getValue(), tree.get(entry.getKey()));
+		}
+		assertFalse("Extra entries.", actual.hasNext());
+	}
+}
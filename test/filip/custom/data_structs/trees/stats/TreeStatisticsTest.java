@@ -0,0 +1,250 @@
+package filip.custom.data_structs.trees.stats;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+
+import filip.custom.data_structs.trees.binary.red_black.RedBlackTree;
+
+/**
+ * Tests of the {@link TreeStatistics} of a {@link RedBlackTree}, whose counters must move by exactly
+ * the work done by a known sequence of operations, worked out by hand below.
+ *
+ * @author fiilip
+ *
+ */
+public class TreeStatisticsTest {
+
+	/**
+	 * Inserts <code>10, 20, 30, 15, 25</code>, which is:
+	 * <ul>
+	 * <li><code>10</code>: the black root, nothing compared,</li>
+	 * <li><code>20</code>: 1 comparison, a red child of the black root,</li>
+	 * <li><code>30</code>: 2 comparisons, a red parent without a sibling, so <code>20</code> and <code>10</code>
+	 * are recolored, and <code>10</code> rotated left, in 1 iteration,</li>
+	 * <li><code>15</code>: 2 comparisons, a red parent with a red sibling, so <code>10</code>, <code>30</code>
+	 * and <code>20</code> are recolored in 1 iteration, and the root <code>20</code> is recolored back to black,</li>
+	 * <li><code>25</code>: 2 comparisons, a red child of the black <code>30</code>.</li>
+	 * </ul>
+	 */
+	@Test
+	public void insertions() {
+		RedBlackTree<Integer, String> tree = countingTree();
+		OperationStatistics insertions = tree.getStatistics().getInsertions();
+
+		assertInsert(tree, 10, 0, 0, 0, 0);
+		assertInsert(tree, 20, 1, 0, 0, 0);
+		assertInsert(tree, 30, 2, 1, 2, 1);
+		assertInsert(tree, 15, 2, 0, 4, 1);
+		assertInsert(tree, 25, 2, 0, 0, 0);
+
+		assertCounters(insertions, 5, 7, 1, 6, 2);
+		assertEquals(7 / 5.0, insertions.getMeanPathLength(), 0);
+		assertEquals(2, insertions.getMaxPathLength());
+		assertEquals(1, insertions.getPathLengthHistogram()[0]);
+		assertEquals(1, insertions.getPathLengthHistogram()[1]);
+		assertEquals(3, insertions.getPathLengthHistogram()[2]);
+
+		// a duplicate compares its way down, and changes nothing
+		assertInsert(tree, 15, 3, 0, 0, 0);
+		assertCounters(tree.getStatistics().getLookups(), 0, 0, 0, 0, 0);
+		assertCounters(tree.getStatistics().getRemovals(), 0, 0, 0, 0, 0);
+	}
+
+	/**
+	 * Inserts the mirror image of a left rotation, and of both double rotations, each of which is 2 comparisons,
+	 * 2 recolorings and 1 iteration.
+	 */
+	@Test
+	public void rotations() {
+		// 10 rotated right
+		RedBlackTree<Integer, String> tree = countingTree(30, 20);
+		assertInsert(tree, 10, 2, 1, 2, 1);
+
+		// 20 rotated left, and 30 rotated right
+		tree = countingTree(30, 10);
+		assertInsert(tree, 20, 2, 2, 2, 1);
+
+		// 20 rotated right, and 10 rotated left
+		tree = countingTree(10, 30);
+		assertInsert(tree, 20, 2, 2, 2, 1);
+	}
+
+	/**
+	 * Looks up and removes the keys of the tree of {@link #insertions()}, which is <code>20</code>
+	 * with the children <code>10</code> and <code>30</code>, and the grandchildren <code>15</code> and <code>25</code>.
+	 */
+	@Test
+	public void lookupsAndRemovals() {
+		RedBlackTree<Integer, String> tree = countingTree(10, 20, 30, 15, 25);
+		tree.getStatistics().reset();
+		OperationStatistics lookups = tree.getStatistics().getLookups();
+		OperationStatistics removals = tree.getStatistics().getRemovals();
+
+		assertEquals("v15", tree.get(15));
+		assertCounters(lookups, 1, 3, 0, 0, 0);
+		assertNull(tree.get(99));
+		assertTrue(tree.contains(20));
+		assertCounters(lookups, 3, 3 + 2 + 1, 0, 0, 0);
+		assertEquals(3, lookups.getMaxPathLength());
+
+		// the finger search starts at the last node found, which is where the path is counted from
+		tree.setFingerSearch(true);
+		assertEquals("v25", tree.get(25));
+		assertEquals("v25", tree.get(25));
+		assertCounters(lookups, 5, 6 + 3 + 1, 0, 0, 0);
+		tree.setFingerSearch(false);
+
+		// the black 10 is replaced by its red child, which is recolored to black
+		assertEquals("v10", tree.remove(10));
+		assertCounters(removals, 1, 2, 0, 1, 0);
+
+		// the red leaf 25 is removed as it is
+		assertEquals("v25", tree.remove(25));
+		assertCounters(removals, 2, 5, 0, 1, 0);
+
+		// the missing key changes nothing
+		assertNull(tree.remove(12));
+		assertCounters(removals, 3, 7, 0, 1, 0);
+		assertCounters(tree.getStatistics().getInsertions(), 0, 0, 0, 0, 0);
+	}
+
+	/**
+	 * The statistics are reset by turning them on, kept while they are off, and left unchanged by the operations meanwhile.
+	 */
+	@Test
+	public void turningOnAndOff() {
+		RedBlackTree<Integer, String> tree = new RedBlackTree<>();
+		assertFalse(tree.isStatisticsEnabled());
+		assertNull(tree.getStatistics());
+		tree.insert(1, "v1");
+
+		tree.setStatisticsEnabled(true);
+		TreeStatistics statistics = tree.getStatistics();
+		tree.insert(2, "v2");
+		tree.get(2);
+		tree.setStatisticsEnabled(true);
+		assertSame(statistics, tree.getStatistics());
+
+		tree.setStatisticsEnabled(false);
+		assertSame(statistics, tree.getStatistics());
+		tree.insert(3, "v3");
+		tree.get(3);
+		tree.remove(1);
+		assertCounters(statistics.getInsertions(), 1, 1, 0, 0, 0);
+		assertCounters(statistics.getLookups(), 1, 2, 0, 0, 0);
+		assertCounters(statistics.getRemovals(), 0, 0, 0, 0, 0);
+
+		tree.setStatisticsEnabled(true);
+		assertCounters(tree.getStatistics().getInsertions(), 0, 0, 0, 0, 0);
+		assertCounters(tree.getStatistics().getLookups(), 0, 0, 0, 0, 0);
+		tree.get(3);
+		assertCounters(tree.getStatistics().getLookups(), 1, 2, 0, 0, 0);
+
+		tree.getStatistics().reset();
+		assertCounters(tree.getStatistics().getLookups(), 0, 0, 0, 0, 0);
+		assertEquals(0, tree.getStatistics().getLookups().getMeanPathLength(), 0);
+	}
+
+	/**
+	 * The lookups running concurrently with each other add up to exactly the work of all of them.
+	 */
+	@Test
+	public void concurrentLookups() throws Exception {
+		Integer[] keys = new Integer[1023];
+		for (int i = 0; i < keys.length; i ++) {
+			keys[i] = i;
+		}
+		RedBlackTree<Integer, String> tree = countingTree(keys);
+
+		// the comparisons of a single pass over every key
+		tree.getStatistics().reset();
+		for (Integer key : keys) {
+			tree.get(key);
+		}
+		long comparisons = tree.getStatistics().getLookups().getComparisons();
+		tree.getStatistics().reset();
+
+		int threads = 4;
+		int passes = 25;
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int t = 0; t < threads; t ++) {
+				futures.add(executor.submit(() -> {
+					for (int pass = 0; pass < passes; pass ++) {
+						for (Integer key : keys) {
+							assertEquals("v" + key, tree.get(key));
+						}
+					}
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} finally {
+			executor.shutdown();
+		}
+
+		OperationStatistics lookups = tree.getStatistics().getLookups();
+		assertCounters(lookups, threads * passes * keys.length, threads * passes * comparisons, 0, 0, 0);
+		long histogram = 0;
+		for (long count : lookups.getPathLengthHistogram()) {
+			histogram += count;
+		}
+		assertEquals(lookups.getCount(), histogram);
+	}
+
+	/**
+	 * Creates a tree of the given <code>keys</code> inserted in order, with the statistics turned on before the first one.
+	 */
+	private static RedBlackTree<Integer, String> countingTree(Integer... keys) {
+		RedBlackTree<Integer, String> tree = new RedBlackTree<>();
+		tree.setStatisticsEnabled(true);
+		assertTrue(tree.isStatisticsEnabled());
+
+		for (Integer key : keys) {
+			tree.insert(key, "v" + key);
+		}
+		return tree;
+	}
+
+	/**
+	 * Inserts a given <code>key</code>, and asserts that the counters of the insertions moved by the given work.
+	 */
+	private static void assertInsert(RedBlackTree<Integer, String> tree, int key, int comparisons, int rotations, int recolorings, int fixupIterations) {
+		OperationStatistics insertions = tree.getStatistics().getInsertions();
+		long count = insertions.getCount();
+		long comparisonsBefore = insertions.getComparisons();
+		long rotationsBefore = insertions.getRotations();
+		long recoloringsBefore = insertions.getRecolorings();
+		long fixupIterationsBefore = insertions.getFixupIterations();
+
+		tree.insert(key, "v" + key);
+
+		String insert = "insert " + key;
+		assertEquals(insert, count + 1, insertions.getCount());
+		assertEquals(insert, comparisons, insertions.getComparisons() - comparisonsBefore);
+		assertEquals(insert, rotations, insertions.getRotations() - rotationsBefore);
+		assertEquals(insert, recolorings, insertions.getRecolorings() - recoloringsBefore);
+		assertEquals(insert, fixupIterations, insertions.getFixupIterations() - fixupIterationsBefore);
+	}
+
+	private static void assertCounters(OperationStatistics statistics, long count, long comparisons, long rotations, long recolorings, long fixupIterations) {
+		assertEquals("count", count, statistics.getCount());
+		assertEquals("comparisons", comparisons, statistics.getComparisons());
+		assertEquals("rotations", rotations, statistics.getRotations());
+		assertEquals("recolorings", recolorings, statistics.getRecolorings());
+		assertEquals("fixupIterations", fixupIterations, statistics.getFixupIterations());
+	}
+}